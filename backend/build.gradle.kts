@@ -2,6 +2,7 @@ plugins {
     java
     id("io.quarkus")
     id("org.openapi.generator") version "7.11.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -22,13 +23,19 @@ dependencies {
     implementation("io.quarkus:quarkus-rest-jackson")
     implementation("io.quarkus:quarkus-hibernate-validator")
     implementation("jakarta.validation:jakarta.validation-api:3.0.2")
-    implementation("io.quarkus:quarkus-smallrye-graphql-client")
     implementation("io.quarkus:quarkus-smallrye-fault-tolerance")
     implementation("io.quarkus:quarkus-redis-cache")
+    implementation("io.quarkus:quarkus-micrometer-registry-prometheus")
+    implementation("io.quarkus:quarkus-scheduler")
+    implementation("io.quarkus:quarkus-grpc")
+    implementation("io.quarkus:quarkus-caffeine")
+    implementation("io.quarkus:quarkus-opentelemetry")
+    implementation("io.quarkus:quarkus-smallrye-health")
 
     testImplementation("io.quarkus:quarkus-junit5")
     testImplementation("io.quarkus:quarkus-junit5-mockito")
     testImplementation("io.rest-assured:rest-assured")
+    testImplementation("io.opentelemetry:opentelemetry-sdk-testing")
     testImplementation("com.github.tomakehurst:wiremock-jre8-standalone:2.35.1")
 }
 
@@ -61,6 +68,8 @@ openApiGenerate {
         "interfaceOnly" to "true",
         "returnResponse" to "true",
         "useJakartaEe" to "true",
+        // Parameters are validated by ConversionParameters instead
+        "useBeanValidation" to "false",
         "useSwaggerAnnotations" to "false",
         "useTags" to "true",
         "sourceFolder" to "src/gen/java",
@@ -82,6 +91,22 @@ sourceSets {
     }
 }
 
+jmh {
+    // Allocation per operation matters as much as time for the parsing benchmarks
+    profilers.add("gc")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+}
+
+tasks.register<JavaExec>("jfrReport") {
+    description = "Prints the time per phase in a JFR recording, e.g. ./gradlew jfrReport -Precording=conversion.jfr"
+    group = "help"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("me.owlaukka.jfr.PhaseBreakdown")
+    args(project.findProperty("recording") ?: "")
+}
+
 tasks.named("compileJava").configure {
     dependsOn("openApiGenerate")
 }
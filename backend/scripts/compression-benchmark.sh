@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Measures the bytes on the wire and the latency of representative responses of a running instance, uncompressed
+# and gzipped, over HTTP/1.1 and HTTP/2 in clear text (h2c).
+#
+# Usage: scripts/compression-benchmark.sh [base url] [requests]
+#   base url  The application (default: http://localhost:8080), e.g. started with ./gradlew quarkusDev
+#   requests  Requests per payload and protocol, the latency is their median (default: 50)
+set -euo pipefail
+
+BASE_URL="${1:-http://localhost:8080}"
+REQUESTS="${2:-50}"
+
+if ! curl -sf -o /dev/null "${BASE_URL}/q/health/ready"; then
+    echo "Application not ready at ${BASE_URL}" >&2
+    exit 2
+fi
+
+# Every other currency as a target of the batch conversion
+targets=$(curl -sf "${BASE_URL}/currencies" | jq -r '.[] | select(. != "USD") | "&targetCurrencies=" + .' | tr -d '\n')
+PAYLOADS=(
+    "currencies /currencies"
+    "conversion /conversion?sourceCurrency=USD&targetCurrency=GBP&amount=100"
+    "batch /conversion/batch?sourceCurrency=USD&amount=100${targets}"
+    "series /conversion/series?sourceCurrency=USD&targetCurrency=GBP&amount=100&from=2024-01-01&to=2024-12-31"
+)
+
+# Usage: measure <path> <curl options...>
+# Prints the bytes of a response body as received and the median latency in milliseconds
+measure() {
+    local path="$1"
+    shift
+    for _ in $(seq "$REQUESTS"); do
+        curl -s -o /dev/null -w '%{size_download} %{time_total}\n' "$@" "${BASE_URL}${path}"
+    done | sort -n -k 2 | awk '{ bytes = $1; latencies[NR] = $2 * 1000 }
+        END { printf "%8d B %8.2f ms", bytes, latencies[int(NR * 0.5 + 0.5)] }'
+}
+
+
+printf "%-12s %-22s %-22s %-22s\n" "" "HTTP/1.1 identity" "HTTP/1.1 gzip" "h2c gzip"
+for payload in "${PAYLOADS[@]}"; do
+    read -r name path <<<"$payload"
+    printf "%-12s %-22s %-22s %-22s\n" "$name" \
+        "$(measure "$path" --http1.1 -H 'Accept-Encoding: identity')" \
+        "$(measure "$path" --http1.1 -H 'Accept-Encoding: gzip')" \
+        "$(measure "$path" --http2-prior-knowledge -H 'Accept-Encoding: gzip')"
+done
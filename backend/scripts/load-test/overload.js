@@ -0,0 +1,78 @@
+// Sends a mix of cheap and upstream conversion traffic at a fixed arrival rate, and counts the goodput: the
+// successful responses within the latency objective. Run by scripts/overload-test.sh, see there for the setup.
+//
+// Environment:
+//   BASE_URL   The application (default: http://localhost:8080)
+//   RATE       Requests per second in total, split evenly between cheap and upstream traffic
+//   DURATION   How long to send them (default: 60s)
+//   SLO_MS     Latency a response must meet to count as good (default: 500)
+import http from 'k6/http';
+import {Counter} from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = parseInt(__ENV.RATE, 10);
+const DURATION = __ENV.DURATION || '60s';
+const SLO_MS = parseInt(__ENV.SLO_MS || '500', 10);
+
+const good = new Counter('good');
+const shed = new Counter('shed');
+const failed = new Counter('failed');
+
+function scenario(exec) {
+    return {
+        executor: 'constant-arrival-rate',
+        exec,
+        rate: Math.max(Math.floor(RATE / 2), 1),
+        timeUnit: '1s',
+        duration: DURATION,
+        preAllocatedVUs: 200,
+        maxVUs: 2000,
+    };
+}
+
+export const options = {
+    scenarios: {
+        cheap: scenario('cheap'),
+        upstream: scenario('upstream'),
+    },
+    summaryTrendStats: ['p(50)', 'p(99)', 'max'],
+};
+
+function record(response, traffic) {
+    const tags = {traffic};
+    if (response.status === 503) {
+        shed.add(1, tags);
+    } else if (response.status === 200 && response.timings.duration <= SLO_MS) {
+        good.add(1, tags);
+    } else {
+        failed.add(1, tags);
+    }
+}
+
+// The currencies and a pair in the rate snapshot
+export function cheap() {
+    const response = __ITER % 2 === 0
+        ? http.get(`${BASE_URL}/currencies`, {tags: {traffic: 'cheap'}})
+        : http.get(`${BASE_URL}/conversion?sourceCurrency=USD&targetCurrency=GBP&amount=100`,
+            {tags: {traffic: 'cheap'}});
+    record(response, 'cheap');
+}
+
+// A pair that is not in the rate snapshot, so it is fetched from the slow Swop stub whenever the cache has expired
+export function upstream() {
+    const response = http.get(`${BASE_URL}/conversion?sourceCurrency=JPY&targetCurrency=SEK&amount=100`,
+        {tags: {traffic: 'upstream'}});
+    record(response, 'upstream');
+}
+
+export function handleSummary(data) {
+    const seconds = data.state.testRunDurationMs / 1000;
+    const count = (metric) => (data.metrics[metric] ? data.metrics[metric].values.count : 0);
+    const duration = data.metrics.http_req_duration.values;
+    return {
+        stdout: `  Goodput:   ${(count('good') / seconds).toFixed(1)} responses/s within ${SLO_MS} ms\n`
+            + `  Shed:      ${count('shed')} requests with 503\n`
+            + `  Failed:    ${count('failed')} requests that errored or missed the objective\n`
+            + `  Latency:   p50 ${duration['p(50)'].toFixed(1)} ms, p99 ${duration['p(99)'].toFixed(1)} ms\n`,
+    };
+}
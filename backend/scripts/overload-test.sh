@@ -0,0 +1,118 @@
+#!/usr/bin/env bash
+# Measures the goodput of an overloaded instance, with and without admission control: the conversions and currency
+# lists answered successfully within the latency objective per second, while twice the traffic it can handle comes
+# in. Swop is mocked by the WireMock of docker-compose.yml, with the pair of the upstream traffic answered slowly.
+#
+# Half of the traffic is cheap (the currencies and a pair in the rate snapshot) and half needs Swop (a pair that is
+# not in the snapshot, with a short rates cache expiry so it keeps going upstream). The load is sent by k6 from
+# scripts/load-test/overload.js.
+#
+# Usage: scripts/overload-test.sh <capacity> [application] [seconds]
+#   capacity     Requests per second the instance handles within the objective, e.g. found by raising it until the
+#                run without admission control starts to miss it. Twice this is sent.
+#   application  The native executable, or a jar run with java (default: the native executable in build/)
+#   seconds      How long to send the traffic (default: 60)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+if [[ $# -lt 1 ]]; then
+    sed -n '10,14p' "$0" >&2
+    exit 2
+fi
+CAPACITY="$1"
+APPLICATION="${2:-$(ls build/*-runner 2>/dev/null | head -n 1)}"
+SECONDS_TO_MEASURE="${3:-60}"
+SLO_MS="${SLO_MS:-500}"
+SWOP_DELAY_MS="${SWOP_DELAY_MS:-300}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+WIREMOCK_URL="http://localhost:8099/__admin/mappings"
+
+if [[ -z "$APPLICATION" || ! -f "$APPLICATION" ]]; then
+    echo "Application not found, build it first with: ./gradlew build -Dquarkus.native.enabled=true" >&2
+    exit 2
+fi
+
+REDIS_CONTAINER=""
+APPLICATION_PID=""
+STUB_IDS=()
+cleanup() {
+    [[ -n "$APPLICATION_PID" ]] && kill "$APPLICATION_PID" 2>/dev/null || true
+    [[ -n "$REDIS_CONTAINER" ]] && docker rm -f "$REDIS_CONTAINER" >/dev/null || true
+    for id in "${STUB_IDS[@]}"; do
+        curl -s -o /dev/null -X DELETE "${WIREMOCK_URL}/${id}" || true
+    done
+    (cd .. && docker compose stop wiremock >/dev/null) || true
+}
+trap cleanup EXIT
+
+(cd .. && docker compose up -d wiremock >/dev/null)
+until curl -sf -o /dev/null "$WIREMOCK_URL"; do sleep 0.1; done
+
+# Adds a stub that takes precedence over the mappings in wiremock/
+add_stub() {
+    STUB_IDS+=("$(curl -sf -X POST -H 'Content-Type: application/json' -d "$1" "$WIREMOCK_URL" | jq -r .id)")
+}
+
+add_stub '{
+  "priority": 1,
+  "request": {"method": "POST", "url": "/swop/graphql", "bodyPatterns": [{"contains": "allCurrencies"}]},
+  "response": {"status": 200, "jsonBody": {"data": {"currencies": [
+    {"code": "EUR"}, {"code": "USD"}, {"code": "GBP"}, {"code": "CHF"}, {"code": "JPY"}, {"code": "SEK"}
+  ]}}}
+}'
+add_stub '{
+  "priority": 1,
+  "request": {"method": "POST", "url": "/swop/graphql", "bodyPatterns": [{"matches": ".*quoteCurrencies.*JPY.*SEK.*"}]},
+  "response": {"status": 200, "fixedDelayMilliseconds": '"$SWOP_DELAY_MS"', "jsonBody": {"data": {"latest": [
+    {"baseCurrency": "EUR", "quoteCurrency": "JPY", "quote": 157.12, "date": "2025-02-20"},
+    {"baseCurrency": "EUR", "quoteCurrency": "SEK", "quote": 11.24, "date": "2025-02-20"}
+  ]}}}
+}'
+
+export SWOP_URL=http://localhost:8099/swop/graphql
+export RATES_PROVIDERS=swop
+PROPERTIES=(
+    -Drates.snapshot.file= -Drates.history.file= -Drates.warmup.file= -Dquarkus.http.port="$PORT"
+    # The budgets would otherwise turn the upstream traffic away before admission control sees it
+    -Dswop.quota.per-minute=0 -Dswop.quota.per-day=0 -DRateLimit/value=1000000
+    -Drates.cache.expire-after-write=1s -Dquarkus.cache.redis.rates.expire-after-write=1s
+)
+
+# Usage: measure <label> <admission.enabled>
+measure() {
+    local label="$1"
+    local command=("$APPLICATION")
+    [[ "$APPLICATION" == *.jar ]] && command=(java -jar "$APPLICATION")
+
+    # Each run gets an empty Redis
+    REDIS_CONTAINER=$(docker run -d --rm -p 6379:6379 redis:7-alpine)
+    until docker exec "$REDIS_CONTAINER" redis-cli ping >/dev/null 2>&1; do sleep 0.1; done
+
+    "${command[0]}" "${PROPERTIES[@]}" -Dadmission.enabled="$2" "${command[@]:1}" \
+        >"build/overload-test.log" 2>&1 &
+    APPLICATION_PID=$!
+    until curl -sf -o /dev/null "${BASE_URL}/q/health/ready"; do
+        if ! kill -0 "$APPLICATION_PID" 2>/dev/null; then
+            echo "Application exited, see build/overload-test.log" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+
+    echo "$label"
+    docker run --rm -i --network host \
+        -e BASE_URL="$BASE_URL" -e RATE=$(( CAPACITY * 2 )) -e DURATION="${SECONDS_TO_MEASURE}s" -e SLO_MS="$SLO_MS" \
+        grafana/k6 run --quiet - <scripts/load-test/overload.js
+
+    kill "$APPLICATION_PID"
+    wait "$APPLICATION_PID" 2>/dev/null || true
+    APPLICATION_PID=""
+    docker rm -f "$REDIS_CONTAINER" >/dev/null
+    REDIS_CONTAINER=""
+}
+
+echo "$(( CAPACITY * 2 )) requests/s for ${SECONDS_TO_MEASURE} s against $APPLICATION, objective ${SLO_MS} ms"
+measure "Without admission control" false
+measure "With admission control" true
@@ -0,0 +1,120 @@
+#!/usr/bin/env bash
+# Measures how fast a new instance gets up to speed, with Swop mocked by the WireMock of docker-compose.yml and a
+# throwaway Redis: the time to readiness and to the first successful conversion, the latency of conversions during
+# the first minute after it, and the RSS after startup and at the end.
+#
+# A jar is measured twice, as is and with the AppCDS archive and the startup warm-up, to compare the two.
+#
+# Usage: scripts/startup-benchmark.sh [application] [seconds]
+#   application  The native executable, or a jar run with java (default: the native executable in build/)
+#   seconds      How long to send conversions after the first successful one (default: 60)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+APPLICATION="${1:-$(ls build/*-runner 2>/dev/null | head -n 1)}"
+SECONDS_TO_MEASURE="${2:-60}"
+PORT="${PORT:-8080}"
+BASE_URL="http://localhost:${PORT}"
+URL="${BASE_URL}/conversion?sourceCurrency=USD&targetCurrency=GBP&amount=100"
+
+if [[ -z "$APPLICATION" || ! -f "$APPLICATION" ]]; then
+    echo "Application not found, build it first with: ./gradlew build -Dquarkus.native.enabled=true" >&2
+    exit 2
+fi
+
+REDIS_CONTAINER=""
+APPLICATION_PID=""
+cleanup() {
+    [[ -n "$APPLICATION_PID" ]] && kill "$APPLICATION_PID" 2>/dev/null || true
+    [[ -n "$REDIS_CONTAINER" ]] && docker rm -f "$REDIS_CONTAINER" >/dev/null || true
+    (cd .. && docker compose stop wiremock >/dev/null) || true
+}
+trap cleanup EXIT
+
+(cd .. && docker compose up -d wiremock >/dev/null)
+until curl -sf -o /dev/null http://localhost:8099/__admin/mappings; do sleep 0.1; done
+
+export SWOP_URL=http://localhost:8099/swop/graphql
+export RATES_PROVIDERS=swop
+# Without the snapshot, history and warm-up files every run starts cold
+PROPERTIES=(-Drates.snapshot.file= -Drates.history.file= -Drates.warmup.file= -Dquarkus.http.port="$PORT")
+
+rss_mb() {
+    awk '/^VmRSS:/ { print int($2 / 1024) }' "/proc/$1/status"
+}
+
+millis_since() {
+    echo $(( ($(date +%s%N) - $1) / 1000000 ))
+}
+
+# Prints the percentiles of the latencies (in milliseconds, one per line) in the given file
+percentiles() {
+    sort -n "$1" | awk '{ latencies[NR] = $1 }
+        END {
+            p50 = latencies[int(NR * 0.50 + 0.5)]; p99 = latencies[int(NR * 0.99 + 0.5)]
+            printf "%d requests, p50 %.1f ms, p99 %.1f ms, max %.1f ms", NR, p50, p99, latencies[NR]
+        }'
+}
+
+# Usage: measure <label> <command...>
+measure() {
+    local label="$1"
+    shift
+
+    # Each run gets an empty Redis
+    REDIS_CONTAINER=$(docker run -d --rm -p 6379:6379 redis:7-alpine)
+    until docker exec "$REDIS_CONTAINER" redis-cli ping >/dev/null 2>&1; do sleep 0.1; done
+
+    local started_at
+    started_at=$(date +%s%N)
+    "$@" >"build/startup-benchmark.log" 2>&1 &
+    APPLICATION_PID=$!
+
+    until curl -sf -o /dev/null "${BASE_URL}/q/health/ready"; do
+        if ! kill -0 "$APPLICATION_PID" 2>/dev/null; then
+            echo "Application exited, see build/startup-benchmark.log" >&2
+            exit 1
+        fi
+        sleep 0.005
+    done
+    local ready_ms
+    ready_ms=$(millis_since "$started_at")
+
+    until [[ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" == "200" ]]; do
+        sleep 0.005
+    done
+    local first_conversion_ms startup_rss_mb
+    first_conversion_ms=$(millis_since "$started_at")
+    startup_rss_mb=$(rss_mb "$APPLICATION_PID")
+
+    local latencies
+    latencies=$(mktemp)
+    local until_nanos=$(( $(date +%s%N) + SECONDS_TO_MEASURE * 1000000000 ))
+    while (( $(date +%s%N) < until_nanos )); do
+        curl -s -o /dev/null -w '%{time_total}\n' "$URL" | awk '{ print $1 * 1000 }' >>"$latencies"
+    done
+
+    echo "$label"
+    echo "  Time to readiness:         ${ready_ms} ms"
+    echo "  Time to first conversion:  ${first_conversion_ms} ms"
+    echo "  First ${SECONDS_TO_MEASURE} s of conversions:  $(percentiles "$latencies")"
+    echo "  RSS after first conversion: ${startup_rss_mb} MB, at the end: $(rss_mb "$APPLICATION_PID") MB"
+
+    rm -f "$latencies"
+    kill "$APPLICATION_PID"
+    wait "$APPLICATION_PID" 2>/dev/null || true
+    APPLICATION_PID=""
+    docker rm -f "$REDIS_CONTAINER" >/dev/null
+    REDIS_CONTAINER=""
+}
+
+if [[ "$APPLICATION" == *.jar ]]; then
+    measure "JVM: $APPLICATION" java "${PROPERTIES[@]}" -jar "$APPLICATION"
+    # The archive is only used when the jar is started from the same path it was created with
+    measure "JVM with AppCDS and warm-up: $APPLICATION" \
+        sh -c 'cd "$(dirname "$0")" && exec java -XX:SharedArchiveFile=app-cds.jsa "$@" -jar "$(basename "$0")"' \
+        "$APPLICATION" "${PROPERTIES[@]}" -Dstartup.warm-up.enabled=true
+else
+    measure "Native: $APPLICATION" "$APPLICATION" "${PROPERTIES[@]}"
+fi
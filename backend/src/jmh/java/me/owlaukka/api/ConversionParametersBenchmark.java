@@ -0,0 +1,56 @@
+package me.owlaukka.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Time to validate and parse the parameters of a conversion with {@link ConversionParameters}, against matching
+ * the patterns of the OpenAPI spec with precompiled regular expressions and parsing the amount again with
+ * {@link BigDecimal}, which is what the Bean Validation constraints and the resource did before.
+ * <p>
+ * The regex variant leaves out the rest of what Hibernate Validator does per request (finding the constraints of
+ * the method, building property paths and the violations), so the real difference is larger than shown here.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConversionParametersBenchmark {
+    private static final Pattern CURRENCY = Pattern.compile(ConversionParameters.CURRENCY_PATTERN);
+    private static final Pattern AMOUNT = Pattern.compile(ConversionParameters.AMOUNT_PATTERN);
+
+    @Param({"100", "1250.50"})
+    String amount;
+
+    String sourceCurrency = "USD";
+    String targetCurrency = "EUR";
+
+    @Benchmark
+    public BigDecimal singlePass() {
+        var parameters = new ConversionParameters("convertCurrency");
+        parameters.currency("sourceCurrency", sourceCurrency);
+        parameters.currency("targetCurrency", targetCurrency);
+        var parsedAmount = parameters.amount("amount", amount);
+        parameters.throwIfInvalid();
+        return parsedAmount;
+    }
+
+    @Benchmark
+    public BigDecimal regexThenParse() {
+        if (sourceCurrency.length() != 3 || !CURRENCY.matcher(sourceCurrency).matches()
+                || targetCurrency.length() != 3 || !CURRENCY.matcher(targetCurrency).matches()
+                || !AMOUNT.matcher(amount).matches()) {
+            throw new IllegalArgumentException("Invalid input parameters");
+        }
+        return new BigDecimal(amount);
+    }
+}
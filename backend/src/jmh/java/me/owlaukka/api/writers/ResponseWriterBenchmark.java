@@ -0,0 +1,83 @@
+package me.owlaukka.api.writers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.owlaukka.model.ConversionResponse;
+import me.owlaukka.model.ValidationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and allocation to write a conversion response and a validation error with the response writers, against
+ * the Jackson data binding that wrote them before, into the same reused stream. Run with {@code ./gradlew jmh}.
+ * <p>
+ * A new amount is created for every operation, like for every request, so the String that {@link BigDecimal}
+ * caches after its first {@code toString()} does not make Jackson look cheaper than it is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseWriterBenchmark {
+    private static final LocalDate DATE = LocalDate.parse("2025-02-20");
+
+    ObjectMapper objectMapper;
+    ConversionResponseWriter conversionResponseWriter = new ConversionResponseWriter();
+    ValidationErrorWriter validationErrorWriter = new ValidationErrorWriter();
+    ValidationError validationError = new ValidationError()
+            .fields(List.of("sourceCurrency", "amount"))
+            .message("Invalid input parameters");
+    ByteArrayOutputStream output = new ByteArrayOutputStream(256);
+    long unscaledAmount = 1_250_050;
+
+    @Setup
+    public void setUp() {
+        // Like the ObjectMapper of Quarkus, which writes dates as yyyy-MM-dd
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private ConversionResponse conversionResponse() {
+        return new ConversionResponse().convertedAmount(BigDecimal.valueOf(unscaledAmount++, 2)).date(DATE);
+    }
+
+    @Benchmark
+    public int conversionWithJackson() throws IOException {
+        output.reset();
+        objectMapper.writeValue(output, conversionResponse());
+        return output.size();
+    }
+
+    @Benchmark
+    public int conversionWithWriter() throws IOException {
+        output.reset();
+        conversionResponseWriter.writeTo(conversionResponse(), ConversionResponse.class, null, null, null, null,
+                output);
+        return output.size();
+    }
+
+    @Benchmark
+    public int validationErrorWithJackson() throws IOException {
+        output.reset();
+        objectMapper.writeValue(output, validationError);
+        return output.size();
+    }
+
+    @Benchmark
+    public int validationErrorWithWriter() throws IOException {
+        output.reset();
+        validationErrorWriter.writeTo(validationError, ValidationError.class, null, null, null, null, output);
+        return output.size();
+    }
+}
@@ -0,0 +1,82 @@
+package me.owlaukka.currencyconversion;
+
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.history.RateHistoryStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to convert and write a {@link ConversionSeries} over a quarter, a year and ten years of daily rates, with
+ * business-day rates for 30 currencies recorded since 1999.
+ * <p>
+ * Run with {@code ./gradlew jmh}. With the {@code gc} profiler, {@code gc.alloc.rate.norm} shows that the
+ * allocation per operation does not grow with the length of the range.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConversionSeriesBenchmark {
+    private static final LocalDate FIRST_DATE = LocalDate.parse("1999-01-04");
+    private static final LocalDate LAST_DATE = LocalDate.parse("2024-12-31");
+    private static final String[] CURRENCIES = {
+            "AUD", "BGN", "BRL", "CAD", "CHF", "CNY", "CZK", "DKK", "EUR", "GBP",
+            "HKD", "HUF", "IDR", "ILS", "INR", "ISK", "JPY", "KRW", "MXN", "MYR",
+            "NOK", "NZD", "PHP", "PLN", "RON", "SEK", "SGD", "THB", "TRY", "USD"
+    };
+
+    @Param({"91", "366", "3653"})
+    int days;
+
+    RateHistoryStore rateHistoryStore;
+    ConversionSeries series;
+    OutputStream output = OutputStream.nullOutputStream();
+
+    @Setup
+    public void setUp() throws IOException {
+        var file = Files.createTempFile("rate-history-benchmark", ".bin");
+        file.toFile().deleteOnExit();
+        rateHistoryStore = new RateHistoryStore(Optional.of(file.toString()), FIRST_DATE, 16384);
+
+        var random = new Random(42);
+        for (var date = FIRST_DATE; !date.isAfter(LAST_DATE); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            var rates = EuroRateTable.builder(CURRENCIES.length).date(date);
+            for (var currency : CURRENCIES) {
+                rates.add(currency, BigDecimal.valueOf(random.nextLong(100_000, 200_000_000), 6));
+            }
+            rateHistoryStore.record(rates.build());
+        }
+
+        series = new ConversionSeriesService(rateHistoryStore)
+                .series("GBP", "USD", new BigDecimal("1250.50"), LAST_DATE.minusDays(days - 1), LAST_DATE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        rateHistoryStore.close();
+    }
+
+    @Benchmark
+    public int writeSeries() throws IOException {
+        return series.writeTo(output);
+    }
+}
@@ -0,0 +1,86 @@
+package me.owlaukka.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.protobuf.InvalidProtocolBufferException;
+import me.owlaukka.model.ConversionResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call encoding cost of a conversion over REST and over gRPC: the request is encoded by the client and decoded
+ * by the server, and the response the other way around. The transport and the conversion itself are the same for
+ * both and left out.
+ * <p>
+ * Run with {@code ./gradlew jmh}. Besides the time, the encoded gRPC messages are 17 and 11 bytes against the
+ * 51 byte query string and 45 byte JSON body of REST.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConversionEncodingBenchmark {
+    private static final LocalDate DATE = LocalDate.parse("2025-02-20");
+
+    ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        // Like the ObjectMapper of Quarkus, which writes dates as yyyy-MM-dd
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public BigDecimal rest() throws IOException {
+        // Client: encode the query
+        var query = "sourceCurrency=USD&targetCurrency=EUR&amount=100.50".getBytes(StandardCharsets.UTF_8);
+
+        // Server: decode the query and encode the response
+        String amount = null;
+        for (var parameter : new String(query, StandardCharsets.UTF_8).split("&")) {
+            if (parameter.startsWith("amount=")) {
+                amount = parameter.substring("amount=".length());
+            }
+        }
+        var converted = new BigDecimal(amount).multiply(new BigDecimal("0.9564691749"));
+        var body = objectMapper.writeValueAsBytes(new ConversionResponse()
+                .convertedAmount(converted.setScale(2, RoundingMode.HALF_UP))
+                .date(DATE));
+
+        // Client: decode the response
+        return objectMapper.readValue(body, ConversionResponse.class).getConvertedAmount();
+    }
+
+    @Benchmark
+    public long grpc() throws InvalidProtocolBufferException {
+        var request = ConvertRequest.newBuilder()
+                .setSourceCurrency("USD")
+                .setTargetCurrency("EUR")
+                .setAmount(Decimal.newBuilder().setUnscaled(10050).setScale(2))
+                .build()
+                .toByteArray();
+
+        var decoded = ConvertRequest.parseFrom(request);
+        var amount = BigDecimal.valueOf(decoded.getAmount().getUnscaled(), decoded.getAmount().getScale());
+        var converted = amount.multiply(new BigDecimal("0.9564691749"));
+        var reply = ConvertReply.newBuilder()
+                .setConvertedAmount(ConversionGrpcService.toDecimal(converted.setScale(2, RoundingMode.HALF_UP)))
+                .setDateEpochDay((int) DATE.toEpochDay())
+                .build()
+                .toByteArray();
+
+        return ConvertReply.parseFrom(reply).getConvertedAmount().getUnscaled();
+    }
+}
@@ -0,0 +1,126 @@
+package me.owlaukka.rates.cache;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import me.owlaukka.rates.CurrencyCodes;
+import me.owlaukka.rates.EuroExchangeRate;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode speed of the cache value formats, for a pair of rates (the {@code rates} cache), the list of
+ * all currencies (the {@code all-currencies} cache) and a full rate table.
+ * <p>
+ * Run with {@code ./gradlew jmh}. The size of every encoded value is reported as the {@code bytesStored} secondary
+ * result of the encode benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheValueCodecBenchmark {
+    private static final LocalDate DATE_OF_RATES = LocalDate.parse("2025-02-20");
+
+    @Param({"binary", "json"})
+    String format;
+
+    @Param({"170"})
+    int currencies;
+
+    CacheValueCodec codec;
+    EuroRatesForSourceAndTargetCurrency rates;
+    List<String> currencyCodes;
+    EuroRateTable rateTable;
+    byte[] encodedRates;
+    byte[] encodedCurrencies;
+    byte[] encodedRateTable;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytesStored;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesStored = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        codec = "binary".equals(format)
+                ? new BinaryCacheValueCodec()
+                : new JsonCacheValueCodec(JsonMapper.builder().addModule(new JavaTimeModule()).build());
+
+        var random = new Random(42);
+        var table = EuroRateTable.builder(currencies).date(DATE_OF_RATES);
+        currencyCodes = new ArrayList<>();
+        for (int i = 0; i < currencies; i++) {
+            var packedCode = (i * 193) % CurrencyCodes.CAPACITY;
+            currencyCodes.add(CurrencyCodes.unpack(packedCode));
+            table.add(packedCode, random.nextLong(1, 50_000_000_000L), 6);
+        }
+        rateTable = table.build();
+        rates = new EuroRatesForSourceAndTargetCurrency(
+                new EuroExchangeRate("USD", new BigDecimal("1.045512")),
+                new EuroExchangeRate("GBP", new BigDecimal("0.830177")),
+                DATE_OF_RATES
+        );
+
+        encodedRates = codec.encodeRates(rates);
+        encodedCurrencies = codec.encodeCurrencies(currencyCodes);
+        encodedRateTable = codec.encodeRateTable(rateTable);
+    }
+
+    @Benchmark
+    public byte[] encodeRates(Size size) {
+        var encoded = codec.encodeRates(rates);
+        size.bytesStored = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public EuroRatesForSourceAndTargetCurrency decodeRates() {
+        return codec.decodeRates(encodedRates);
+    }
+
+    @Benchmark
+    public byte[] encodeCurrencies(Size size) {
+        var encoded = codec.encodeCurrencies(currencyCodes);
+        size.bytesStored = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public List<String> decodeCurrencies() {
+        return codec.decodeCurrencies(encodedCurrencies);
+    }
+
+    @Benchmark
+    public byte[] encodeRateTable(Size size) {
+        var encoded = codec.encodeRateTable(rateTable);
+        size.bytesStored = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public EuroRateTable decodeRateTable() {
+        return codec.decodeRateTable(encodedRateTable);
+    }
+}
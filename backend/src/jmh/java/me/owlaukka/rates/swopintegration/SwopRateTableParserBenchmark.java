@@ -0,0 +1,81 @@
+package me.owlaukka.rates.swopintegration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.swopintegration.model.Rate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a full Swop rate table with {@link SwopRateTableParser} to mapping it into {@link Rate} records
+ * the way the typesafe GraphQL client does.
+ * <p>
+ * Run with {@code ./gradlew jmh}. The gc profiler is enabled in the build, so look at {@code gc.alloc.rate.norm}
+ * for the bytes allocated per parsed response next to the time per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SwopRateTableParserBenchmark {
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+
+    @Param({"170"})
+    int currencies;
+
+    byte[] response;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var latest = new StringBuilder("{\"data\":{\"latest\":[");
+        for (int i = 0; i < currencies; i++) {
+            if (i > 0) {
+                latest.append(',');
+            }
+            var code = "" + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26) + (char) ('A' + random.nextInt(26));
+            var quote = BigDecimal.valueOf(random.nextLong(1, 50_000_000_000L), 6);
+            latest.append("{\"baseCurrency\":\"EUR\",\"quoteCurrency\":\"").append(code)
+                    .append("\",\"quote\":").append(quote.toPlainString())
+                    .append(",\"date\":\"2025-02-20\"}");
+        }
+        response = latest.append("]}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public EuroRateTable streamingParser() {
+        return SwopRateTableParser.parse(response);
+    }
+
+    @Benchmark
+    public EuroRateTable rateRecords() throws IOException {
+        var latest = OBJECT_MAPPER.readTree(response).path("data").path("latest");
+        var rates = new ArrayList<Rate>(latest.size());
+        for (var node : latest) {
+            rates.add(OBJECT_MAPPER.treeToValue(node, Rate.class));
+        }
+
+        var rateTable = EuroRateTable.builder(rates.size());
+        LocalDate date = null;
+        for (var rate : rates) {
+            date = rate.date();
+            rateTable.add(rate.quoteCurrency(), rate.quote());
+        }
+        return rateTable.date(date).build();
+    }
+}
@@ -0,0 +1,175 @@
+package me.owlaukka.api;
+
+import me.owlaukka.currencyconversion.CustomValidationException;
+import me.owlaukka.rates.CurrencyCodes;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validates and parses the query parameters of the conversion endpoints in a single pass over every value,
+ * instead of Hibernate Validator matching the constraints of the OpenAPI spec with regular expressions and the
+ * resource parsing the values again afterwards. Bean Validation is turned off for the generated interfaces
+ * ({@code useBeanValidation} in {@code build.gradle.kts}), so the constraints of the spec are checked here:
+ * <ul>
+ *     <li>Currency codes: {@code minLength: 3}, {@code maxLength: 3} and {@code pattern: "^[A-Z]{3}$"}</li>
+ *     <li>Amounts: {@code pattern: "^[0-9]+(.[0-9]{1,2})?$"}, with a dot as the decimal separator</li>
+ *     <li>Dates: {@code pattern: "^[0-9]{4}-[0-9]{2}-[0-9]{2}$"}</li>
+ * </ul>
+ * Every invalid parameter is collected before failing, and the error has the same fields and message as the
+ * {@code ConstraintViolationException} of Hibernate Validator had, e.g.
+ * {@code Invalid input parameters: convertCurrency.amount: must not be null}.
+ * <p>
+ * The gRPC API checks its currency codes with this too, so they are validated the same way.
+ */
+public final class ConversionParameters {
+    static final String CURRENCY_PATTERN = "^[A-Z]{3}$";
+    static final String AMOUNT_PATTERN = "^[0-9]+(.[0-9]{1,2})?$";
+    static final String DATE_PATTERN = "^[0-9]{4}-[0-9]{2}-[0-9]{2}$";
+
+    /**
+     * Amounts with more digits may not fit in a long and are parsed by {@link BigDecimal} instead
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private final String operation;
+    private final List<String> fields = new ArrayList<>(2);
+    private StringBuilder violations;
+
+    /**
+     * @param operation The operationId in the OpenAPI spec, which prefixes the invalid fields
+     */
+    public ConversionParameters(String operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * @return The currency code packed by {@link CurrencyCodes}, or {@link CurrencyCodes#INVALID} if it is not valid
+     */
+    public int currency(String name, String value) {
+        if (value == null) {
+            violation(name, "must not be null");
+            return CurrencyCodes.INVALID;
+        }
+        if (value.length() != 3) {
+            violation(name, "size must be between 3 and 3");
+            violation(name, "must match \"" + CURRENCY_PATTERN + "\"");
+            return CurrencyCodes.INVALID;
+        }
+        var packedCode = CurrencyCodes.pack(value.charAt(0), value.charAt(1), value.charAt(2));
+        if (packedCode == CurrencyCodes.INVALID) {
+            violation(name, "must match \"" + CURRENCY_PATTERN + "\"");
+        }
+        return packedCode;
+    }
+
+    /**
+     * Checks the number of currency codes and every code, stopping at the first invalid one.
+     */
+    void currencies(String name, List<String> values, int minItems, int maxItems) {
+        if (values == null) {
+            violation(name, "must not be null");
+            return;
+        }
+        if (values.size() < minItems || values.size() > maxItems) {
+            violation(name, "size must be between " + minItems + " and " + maxItems);
+            return;
+        }
+        for (var value : values) {
+            if (currency(name, value) == CurrencyCodes.INVALID) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return The amount with the scale it was given with, e.g. 100.50 has the scale 2, or null if it is not valid
+     */
+    BigDecimal amount(String name, String value) {
+        if (value == null) {
+            violation(name, "must not be null");
+            return null;
+        }
+        var length = value.length();
+        long unscaled = 0;
+        var digits = 0;
+        var scale = -1;
+        for (int i = 0; i < length; i++) {
+            var c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0 && digits > 0) {
+                scale = 0;
+            } else {
+                scale = Integer.MAX_VALUE;
+                break;
+            }
+        }
+        if (digits == 0 || scale == 0 || scale > 2) {
+            violation(name, "must match \"" + AMOUNT_PATTERN + "\"");
+            return null;
+        }
+        scale = Math.max(scale, 0);
+        if (digits > MAX_LONG_DIGITS) {
+            return new BigDecimal(value);
+        }
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    /**
+     * Checks the format of a date. Whether it is an actual date (e.g. not 2025-02-30) is left to the caller.
+     *
+     * @return The date, or null if it is not given or is not valid
+     */
+    String date(String name, String value, boolean required) {
+        if (value == null) {
+            if (required) {
+                violation(name, "must not be null");
+            }
+            return null;
+        }
+        if (value.length() != 10 || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || !digits(value, 0, 4) || !digits(value, 5, 7) || !digits(value, 8, 10)) {
+            violation(name, "must match \"" + DATE_PATTERN + "\"");
+            return null;
+        }
+        return value;
+    }
+
+    /**
+     * @throws CustomValidationException if any of the parameters was not valid
+     */
+    public void throwIfInvalid() {
+        if (violations != null) {
+            throw new CustomValidationException("Invalid input parameters: " + violations, List.copyOf(fields));
+        }
+    }
+
+    private static boolean digits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            var c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void violation(String name, String message) {
+        var field = operation + "." + name;
+        if (violations == null) {
+            violations = new StringBuilder(64);
+        } else {
+            violations.append(", ");
+        }
+        violations.append(field).append(": ").append(message);
+        if (!fields.contains(field)) {
+            fields.add(field);
+        }
+    }
+}
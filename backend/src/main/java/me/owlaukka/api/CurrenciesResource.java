@@ -3,6 +3,8 @@ package me.owlaukka.api;
 import io.smallrye.faulttolerance.api.RateLimit;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import me.owlaukka.currencyconversion.CurrencyConversionService;
 import org.slf4j.Logger;
@@ -16,6 +18,12 @@ public class CurrenciesResource implements CurrenciesApi {
     @Inject
     CurrencyConversionService currencyConversionService;
 
+    @Inject
+    PrecompressedCurrencies precompressedCurrencies;
+
+    @Context
+    HttpHeaders httpHeaders;
+
     @Override
     @RateLimit // Default rate limit is 100 requests per second
     public Response getSupportedCurrencies() {
@@ -24,6 +32,7 @@ public class CurrenciesResource implements CurrenciesApi {
 
         logger.debug("Returning {} supported currencies", currencies.size());
 
-        return Response.ok(currencies).build();
+        var acceptEncoding = httpHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING);
+        return precompressedCurrencies.response(currencies, acceptEncoding);
     }
 }
@@ -3,14 +3,23 @@ package me.owlaukka.api;
 import io.smallrye.faulttolerance.api.RateLimit;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import me.owlaukka.currencyconversion.ConversionResult;
+import me.owlaukka.currencyconversion.ConversionSeriesService;
 import me.owlaukka.currencyconversion.CurrencyConversionService;
+import me.owlaukka.jfr.ConversionRequestEvent;
+import me.owlaukka.model.BatchConversionResponse;
 import me.owlaukka.model.ConversionResponse;
+import me.owlaukka.model.TargetConversion;
 import me.owlaukka.model.ValidationError;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @ApplicationScoped
@@ -18,29 +27,63 @@ public class CurrencyConversionResource implements ConversionApi {
 
     private static final Logger logger = LoggerFactory.getLogger(CurrencyConversionResource.class);
 
+    /**
+     * maxItems of targetCurrencies in the OpenAPI spec, and the max number of requests in a gRPC batch
+     */
+    public static final int MAX_TARGET_CURRENCIES = 50;
+
     @Inject
     CurrencyConversionService currencyConversionService;
 
+    @Inject
+    ConversionSeriesService conversionSeriesService;
+
+    /**
+     * Recorded as a {@link ConversionRequestEvent} for JFR.
+     */
     @Override
     @RateLimit // Default rate limit is 100 requests per second
     public Response convertCurrency(
             String sourceCurrency,
             String targetCurrency,
-            String amount
+            String amount,
+            String date
     ) {
-        logger.info("Currency conversion request received: {} to {}, amount: {}", sourceCurrency, targetCurrency, amount);
-        // Amount is validated by Validators in the OpenAPI spec
-        var parsedAmount = new BigDecimal(amount);
+        var event = new ConversionRequestEvent();
+        event.begin();
+        try {
+            var response = convert(sourceCurrency, targetCurrency, amount, date);
+            event.finish("convertCurrency", sourceCurrency, targetCurrency, response.getStatus());
+            return response;
+        } catch (RuntimeException e) {
+            event.finish("convertCurrency", sourceCurrency, targetCurrency, e);
+            throw e;
+        }
+    }
+
+    private Response convert(String sourceCurrency, String targetCurrency, String amount, String date) {
+        logger.info("Currency conversion request received: {} to {}, amount: {}, date: {}", sourceCurrency, targetCurrency, amount, date);
+        var parameters = new ConversionParameters("convertCurrency");
+        parameters.currency("sourceCurrency", sourceCurrency);
+        parameters.currency("targetCurrency", targetCurrency);
+        var parsedAmount = parameters.amount("amount", amount);
+        parameters.date("date", date, false);
+        parameters.throwIfInvalid();
 
         if (parsedAmount.compareTo(BigDecimal.ZERO) <= 0) {
-            logger.warn("Invalid amount requested for conversion: {} (must be positive)", amount);
-            var error = new ValidationError()
-                    .fields(List.of("convertCurrency.amount"))
-                    .message("Amount must be positive");
-            return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+            return amountNotPositive(amount, "convertCurrency.amount");
         }
 
-        var conversion = currencyConversionService.convert(sourceCurrency, targetCurrency, parsedAmount);
+        ConversionResult conversion;
+        if (date == null) {
+            conversion = currencyConversionService.convert(sourceCurrency, targetCurrency, parsedAmount);
+        } else {
+            var parsedDate = parseDate(date);
+            if (parsedDate == null) {
+                return dateNotValid(date, "convertCurrency.date");
+            }
+            conversion = currencyConversionService.convertAt(sourceCurrency, targetCurrency, parsedAmount, parsedDate);
+        }
 
         ConversionResponse response = new ConversionResponse()
                 .convertedAmount(conversion.convertedAmount())
@@ -48,4 +91,106 @@ public class CurrencyConversionResource implements ConversionApi {
 
         return Response.ok(response).build();
     }
+
+    @Override
+    @RateLimit
+    public Response convertCurrencyBatch(
+            String sourceCurrency,
+            List<String> targetCurrencies,
+            String amount
+    ) {
+        logger.info("Batch currency conversion request received: {} to {}, amount: {}", sourceCurrency, targetCurrencies, amount);
+        var parameters = new ConversionParameters("convertCurrencyBatch");
+        parameters.currency("sourceCurrency", sourceCurrency);
+        parameters.currencies("targetCurrencies", targetCurrencies, 1, MAX_TARGET_CURRENCIES);
+        var parsedAmount = parameters.amount("amount", amount);
+        parameters.throwIfInvalid();
+
+        if (parsedAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            return amountNotPositive(amount, "convertCurrencyBatch.amount");
+        }
+
+        var conversion = currencyConversionService.convertToMany(sourceCurrency, targetCurrencies, parsedAmount);
+
+        var conversions = conversion.convertedAmounts().entrySet().stream()
+                .map(converted -> new TargetConversion()
+                        .currency(converted.getKey())
+                        .convertedAmount(converted.getValue()))
+                .toList();
+        BatchConversionResponse response = new BatchConversionResponse()
+                .conversions(conversions)
+                .date(conversion.date());
+
+        return Response.ok(response).build();
+    }
+
+    @Override
+    @RateLimit
+    public Response convertCurrencySeries(
+            String sourceCurrency,
+            String targetCurrency,
+            String amount,
+            String from,
+            String to
+    ) {
+        logger.info("Currency conversion series request received: {} to {}, amount: {}, from {} to {}",
+                sourceCurrency, targetCurrency, amount, from, to);
+        var parameters = new ConversionParameters("convertCurrencySeries");
+        parameters.currency("sourceCurrency", sourceCurrency);
+        parameters.currency("targetCurrency", targetCurrency);
+        var parsedAmount = parameters.amount("amount", amount);
+        parameters.date("from", from, true);
+        parameters.date("to", to, true);
+        parameters.throwIfInvalid();
+
+        if (parsedAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            return amountNotPositive(amount, "convertCurrencySeries.amount");
+        }
+        var parsedFrom = parseDate(from);
+        if (parsedFrom == null) {
+            return dateNotValid(from, "convertCurrencySeries.from");
+        }
+        var parsedTo = parseDate(to);
+        if (parsedTo == null) {
+            return dateNotValid(to, "convertCurrencySeries.to");
+        }
+
+        // Validated before streaming starts so errors still get their own status code
+        var series = conversionSeriesService.series(sourceCurrency, targetCurrency, parsedAmount, parsedFrom, parsedTo);
+
+        StreamingOutput output = outputStream -> {
+            var days = series.writeTo(outputStream);
+            logger.info("Converted {} {} to {} for {} days from {} to {}",
+                    amount, sourceCurrency, targetCurrency, days, series.from(), series.to());
+        };
+        return Response.ok(output, MediaType.APPLICATION_JSON_TYPE).build();
+    }
+
+    /**
+     * @return The date, or null if it is not a valid date. The format is validated by {@link ConversionParameters},
+     * but e.g. 2025-02-30 still matches it
+     */
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Response dateNotValid(String date, String field) {
+        logger.warn("Invalid date requested for conversion: {}", date);
+        var error = new ValidationError()
+                .fields(List.of(field))
+                .message("Date is not valid");
+        return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+    }
+
+    private static Response amountNotPositive(String amount, String field) {
+        logger.warn("Invalid amount requested for conversion: {} (must be positive)", amount);
+        var error = new ValidationError()
+                .fields(List.of(field))
+                .message("Amount must be positive");
+        return Response.status(Response.Status.BAD_REQUEST).entity(error).build();
+    }
 }
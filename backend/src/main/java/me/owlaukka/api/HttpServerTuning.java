@@ -0,0 +1,45 @@
+package me.owlaukka.api;
+
+import io.quarkus.vertx.http.HttpServerOptionsCustomizer;
+import io.vertx.core.http.HttpServerOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Settings of the HTTP server that Quarkus has no configuration properties for.
+ * <ul>
+ *     <li>Responses smaller than {@code http.compression.threshold} bytes are not compressed. Compressing a small
+ *     JSON body, e.g. a single conversion, costs more CPU than the bytes it saves.</li>
+ *     <li>The HTTP/2 flow control windows of {@code http.http2.stream-window-size} per stream and
+ *     {@code http.http2.connection-window-size} per connection. With the default of 64 KiB, a client running many
+ *     streams over one connection waits for window updates on large responses, e.g. a long conversion series.</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class HttpServerTuning implements HttpServerOptionsCustomizer {
+
+    @ConfigProperty(name = "http.compression.threshold", defaultValue = "1024")
+    int compressionThreshold;
+
+    @ConfigProperty(name = "http.http2.stream-window-size", defaultValue = "1048576")
+    int streamWindowSize;
+
+    @ConfigProperty(name = "http.http2.connection-window-size", defaultValue = "4194304")
+    int connectionWindowSize;
+
+    @Override
+    public void customizeHttpServer(HttpServerOptions options) {
+        tune(options);
+    }
+
+    @Override
+    public void customizeHttpsServer(HttpServerOptions options) {
+        tune(options);
+    }
+
+    private void tune(HttpServerOptions options) {
+        options.setCompressionContentSizeThreshold(compressionThreshold);
+        options.getInitialSettings().setInitialWindowSize(streamWindowSize);
+        options.setHttp2ConnectionWindowSize(connectionWindowSize);
+    }
+}
@@ -0,0 +1,76 @@
+package me.owlaukka.api;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import me.owlaukka.jfr.JfrRecordings;
+import me.owlaukka.model.Error;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+/**
+ * Starts and stops a JFR recording of the running application, see {@link JfrRecordings}.
+ * <p>
+ * Not part of the OpenAPI spec since it is for operating the service, not for clients. Only available when
+ * {@code admin.enabled} is true, so it should be kept behind the internal network. {@code POST /admin/jfr/start}
+ * starts a recording and {@code POST /admin/jfr/stop} stops it and returns the recording as a {@code .jfr} file,
+ * which can be opened in JDK Mission Control or summarized with {@code ./gradlew jfrReport}.
+ */
+@Path("/admin/jfr")
+@ApplicationScoped
+public class JfrRecordingResource {
+
+    @Inject
+    JfrRecordings jfrRecordings;
+
+    @ConfigProperty(name = "admin.enabled", defaultValue = "false")
+    boolean adminEnabled;
+
+    @POST
+    @Path("/start")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response startRecording() throws IOException, ParseException {
+        checkEnabled();
+        if (!jfrRecordings.start()) {
+            return conflict("A recording is already running");
+        }
+        return Response.accepted().build();
+    }
+
+    @POST
+    @Path("/stop")
+    @Produces({MediaType.APPLICATION_OCTET_STREAM, MediaType.APPLICATION_JSON})
+    public Response stopRecording() throws IOException {
+        checkEnabled();
+        var file = jfrRecordings.stop();
+        if (file == null) {
+            return conflict("No recording is running");
+        }
+        return Response.ok(file.toFile(), MediaType.APPLICATION_OCTET_STREAM_TYPE)
+                .header("Content-Disposition", "attachment; filename=\"" + file.getFileName() + "\"")
+                .build();
+    }
+
+    private void checkEnabled() {
+        if (!adminEnabled) {
+            throw new NotFoundException();
+        }
+    }
+
+    private static Response conflict(String message) {
+        var error = new Error()
+                .code(Response.Status.CONFLICT.name())
+                .message(message);
+        return Response.status(Response.Status.CONFLICT)
+                .entity(error)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package me.owlaukka.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The JSON body of the list of supported currencies, serialized and gzipped once per list instead of on every
+ * request. The list only changes when the currencies are fetched from upstream again.
+ * <p>
+ * Bodies of at least {@code http.compression.threshold} bytes are sent gzipped to clients that accept it. The
+ * {@code Content-Encoding} set here makes the HTTP layer pass the body as is instead of compressing it again.
+ */
+@ApplicationScoped
+public class PrecompressedCurrencies {
+    private final ObjectMapper objectMapper;
+    private final int threshold;
+
+    private volatile Bodies bodies;
+
+    @Inject
+    PrecompressedCurrencies(
+            ObjectMapper objectMapper,
+            @ConfigProperty(name = "http.compression.threshold", defaultValue = "1024") int threshold
+    ) {
+        this.objectMapper = objectMapper;
+        this.threshold = threshold;
+    }
+
+    public Response response(List<String> currencies, String acceptEncoding) {
+        var current = bodiesOf(currencies);
+        var response = Response.ok().type(MediaType.APPLICATION_JSON).header(HttpHeaders.VARY, "Accept-Encoding");
+        if (current.gzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.entity(current.gzip()).header(HttpHeaders.CONTENT_ENCODING, "gzip").build();
+        }
+        return response.entity(current.json()).build();
+    }
+
+    private Bodies bodiesOf(List<String> currencies) {
+        var current = bodies;
+        if (current != null && current.currencies().equals(currencies)) {
+            return current;
+        }
+        try {
+            var json = objectMapper.writeValueAsBytes(currencies);
+            current = new Bodies(List.copyOf(currencies), json, json.length >= threshold ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        bodies = current;
+        return current;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        var compressed = new ByteArrayOutputStream(body.length / 4);
+        try (var gzip = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * @param acceptEncoding The {@code Accept-Encoding} header of the request, may be null
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean anyAccepted = null;
+        for (var coding : acceptEncoding.split(",")) {
+            var parts = coding.split(";");
+            var name = parts[0].trim().toLowerCase(Locale.ROOT);
+            var accepted = parts.length < 2 || !isZeroWeight(parts[1].trim());
+            if (name.equals("gzip")) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                anyAccepted = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(anyAccepted);
+    }
+
+    private static boolean isZeroWeight(String parameter) {
+        if (!parameter.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(parameter.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private record Bodies(List<String> currencies, byte[] json, byte[] gzip) {
+    }
+}
@@ -0,0 +1,79 @@
+package me.owlaukka.api;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import me.owlaukka.currencyconversion.CustomValidationException;
+import me.owlaukka.rates.stream.RateStreamPublisher;
+import me.owlaukka.rates.stream.RateStreamSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.regex.Pattern;
+
+/**
+ * Server-sent events stream of the rates of currency pairs, pushed every time the rates change.
+ * <p>
+ * Not part of the OpenAPI spec since the generated interfaces can only return a single {@code Response}.
+ * {@code GET /rates/stream?pairs=USD-EUR&pairs=GBP-USD} sends one {@code rates} event with the current rates right
+ * away and another one every time they are refreshed, see {@link RateStreamPublisher}.
+ */
+@Path("/rates/stream")
+@ApplicationScoped
+public class RateStreamResource {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateStreamResource.class);
+
+    static final int MAX_PAIRS = 50;
+    private static final Pattern PAIR = Pattern.compile("^[A-Z]{3}-[A-Z]{3}$");
+
+    @Inject
+    RateStreamPublisher rateStreamPublisher;
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void streamRates(
+            @QueryParam("pairs") List<String> pairs,
+            @Context SseEventSink eventSink,
+            @Context Sse sse
+    ) {
+        logger.info("Rate stream requested for pairs: {}", pairs);
+        if (pairs == null || pairs.isEmpty() || pairs.size() > MAX_PAIRS
+                || !pairs.stream().allMatch(pair -> PAIR.matcher(pair).matches())) {
+            logger.warn("Invalid pairs requested for rate stream: {}", pairs);
+            throw new CustomValidationException(
+                    "Pairs must be 1 to " + MAX_PAIRS + " currency pairs like USD-EUR", List.of("streamRates.pairs"));
+        }
+
+        // The publisher cancels the subscription once the sink is closed, see RateStreamSink.isClosed
+        rateStreamPublisher.subscribe(pairs, new RateStreamSink() {
+            @Override
+            public CompletionStage<?> send(String id, String data) {
+                if (eventSink.isClosed()) {
+                    return CompletableFuture.failedFuture(new IllegalStateException("Rate stream is closed"));
+                }
+                return eventSink.send(sse.newEventBuilder().id(id).name("rates").data(data).build());
+            }
+
+            @Override
+            public boolean isClosed() {
+                return eventSink.isClosed();
+            }
+
+            @Override
+            public void close() {
+                eventSink.close();
+            }
+        });
+    }
+}
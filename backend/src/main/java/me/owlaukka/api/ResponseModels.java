@@ -0,0 +1,28 @@
+package me.owlaukka.api;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import me.owlaukka.model.BatchConversionResponse;
+import me.owlaukka.model.ConversionResponse;
+import me.owlaukka.model.Error;
+import me.owlaukka.model.TargetConversion;
+import me.owlaukka.model.ValidationError;
+
+/**
+ * Registers the generated models that are written as {@link jakarta.ws.rs.core.Response} entities for reflection
+ * in a native image. Quarkus only registers the types resource methods return, and these are hidden behind
+ * {@code Response}. Jackson serializes them through their getters, so their fields are left out.
+ */
+@RegisterForReflection(
+        targets = {
+                ConversionResponse.class,
+                BatchConversionResponse.class,
+                TargetConversion.class,
+                Error.class,
+                ValidationError.class
+        },
+        fields = false
+)
+final class ResponseModels {
+    private ResponseModels() {
+    }
+}
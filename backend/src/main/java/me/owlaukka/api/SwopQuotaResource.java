@@ -0,0 +1,38 @@
+package me.owlaukka.api;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import me.owlaukka.rates.swopintegration.SwopQuota;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Shows how much of the Swop call budgets is left, see {@link SwopQuota}.
+ * <p>
+ * Not part of the OpenAPI spec since it is for operating the service, not for clients. Only available when
+ * {@code admin.enabled} is true. {@code GET /admin/swop/quota} returns the budgets, the calls made in the current
+ * minute and day, the calls of the day by method and when the daily budget is forecast to run out.
+ */
+@Path("/admin/swop/quota")
+@ApplicationScoped
+public class SwopQuotaResource {
+
+    @Inject
+    SwopQuota swopQuota;
+
+    @ConfigProperty(name = "admin.enabled", defaultValue = "false")
+    boolean adminEnabled;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public SwopQuota.QuotaStatus getQuota() {
+        if (!adminEnabled) {
+            throw new NotFoundException();
+        }
+        return swopQuota.status();
+    }
+}
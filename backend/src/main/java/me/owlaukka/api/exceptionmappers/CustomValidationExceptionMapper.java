@@ -5,17 +5,21 @@ import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
 import me.owlaukka.currencyconversion.CustomValidationException;
+import me.owlaukka.logging.ThrottledLogger;
 import me.owlaukka.model.ValidationError;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 @Provider
 public class CustomValidationExceptionMapper implements ExceptionMapper<CustomValidationException> {
     private static final Logger logger = LoggerFactory.getLogger(CustomValidationExceptionMapper.class);
+    private static final ThrottledLogger throttledLogger = new ThrottledLogger(logger, Duration.ofSeconds(10));
 
     @Override
     public Response toResponse(CustomValidationException e) {
-        logger.warn("Validation error: {} - Fields: {}", e.getMessage(), e.getFields());
+        throttledLogger.warn("Validation error: {} - Fields: {}", e.getMessage(), e.getFields());
         ValidationError error = new ValidationError()
                 .fields(e.getFields())
                 .message(e.getMessage());
@@ -4,18 +4,22 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
+import me.owlaukka.logging.ThrottledLogger;
 import me.owlaukka.model.Error;
 import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 @Provider
 public class ExchangeRateIntegrationBadRequestExceptionMapper implements ExceptionMapper<ExchangeRateIntegrationBadRequestException> {
     private static final Logger logger = LoggerFactory.getLogger(ExchangeRateIntegrationBadRequestExceptionMapper.class);
+    private static final ThrottledLogger throttledLogger = new ThrottledLogger(logger, Duration.ofSeconds(10));
 
     @Override
     public Response toResponse(ExchangeRateIntegrationBadRequestException e) {
-        logger.warn("Bad request to exchange rate integration: {}", e.getMessage());
+        throttledLogger.warn("Bad request to exchange rate integration: {}", e.getMessage());
         Error error = new Error()
                 .code(Response.Status.BAD_REQUEST.name())
                 .message("Bad request to exchange rate integration");
@@ -0,0 +1,46 @@
+package me.owlaukka.api.exceptionmappers;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import me.owlaukka.logging.ThrottledLogger;
+import me.owlaukka.model.Error;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Answers with 503 when every rate provider was timed out, full (bulkhead) or had its circuit open, instead of the
+ * 500 of {@link GlobalExceptionMapper}. Rate limits have their own {@link RateLimitExceptionMapper}.
+ */
+@Provider
+public class FaultToleranceExceptionMapper implements ExceptionMapper<FaultToleranceException> {
+    private static final Logger logger = LoggerFactory.getLogger(FaultToleranceExceptionMapper.class);
+    private static final ThrottledLogger throttledLogger = new ThrottledLogger(logger, Duration.ofSeconds(10));
+
+    /**
+     * The default delay of the circuit breakers before they let calls through again
+     */
+    private static final String CIRCUIT_OPEN_RETRY_AFTER_SECONDS = "5";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @Override
+    public Response toResponse(FaultToleranceException exception) {
+        throttledLogger.warn("Exchange rate providers unavailable: {}", exception.toString());
+        var error = new Error()
+                .code(Response.Status.SERVICE_UNAVAILABLE.name())
+                .message("Service temporarily unavailable");
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, exception instanceof CircuitBreakerOpenException
+                        ? CIRCUIT_OPEN_RETRY_AFTER_SECONDS
+                        : RETRY_AFTER_SECONDS)
+                .entity(error)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
@@ -5,15 +5,18 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
+import me.owlaukka.logging.ThrottledLogger;
 import me.owlaukka.model.ValidationError;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.stream.Collectors;
 
 @Provider
 public class ValidationExceptionMapper implements ExceptionMapper<ConstraintViolationException> {
     private static final Logger logger = LoggerFactory.getLogger(ValidationExceptionMapper.class);
+    private static final ThrottledLogger throttledLogger = new ThrottledLogger(logger, Duration.ofSeconds(10));
 
     @Override
     public Response toResponse(ConstraintViolationException e) {
@@ -21,7 +24,7 @@ public class ValidationExceptionMapper implements ExceptionMapper<ConstraintViol
                 .map(violation -> violation.getPropertyPath().toString())
                 .collect(Collectors.toSet());
 
-        logger.warn("Validation error: {} - Fields: {}", e.getMessage(), invalidFields);
+        throttledLogger.warn("Validation error: {} - Fields: {}", e.getMessage(), invalidFields);
 
         ValidationError error = new ValidationError()
                 .fields(invalidFields.stream().toList())
@@ -0,0 +1,39 @@
+package me.owlaukka.api.writers;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import me.owlaukka.model.Error;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Writes an {@link Error} straight into bytes, e.g. {@code {"code":"NOT_FOUND","message":"Not found"}}, the same
+ * bytes Jackson writes for it.
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class ErrorWriter implements MessageBodyWriter<Error> {
+    private static final byte[] CODE = JsonBuffer.ascii("{\"code\":");
+    private static final byte[] MESSAGE = JsonBuffer.ascii(",\"message\":");
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == Error.class;
+    }
+
+    @Override
+    public void writeTo(Error error, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        new JsonBuffer(128)
+                .raw(CODE).string(error.getCode())
+                .raw(MESSAGE).string(error.getMessage())
+                .raw('}')
+                .writeTo(entityStream);
+    }
+}
@@ -0,0 +1,210 @@
+package me.owlaukka.api.writers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Growing byte buffer the response writers write their JSON into, formatted exactly like the Jackson
+ * {@code ObjectMapper} of Quarkus does it:
+ * <ul>
+ *     <li>Strings are escaped like Jackson: {@code "} and {@code \}, the control characters with a short escape
+ *     ({@code \b \t \n \f \r}) and the other control characters and surrogates as a unicode escape with upper
+ *     case hex digits. Everything else is written as UTF-8.</li>
+ *     <li>{@link BigDecimal}s are written as numbers in the form of {@link BigDecimal#toString()}.</li>
+ *     <li>{@link LocalDate}s are written as {@code "yyyy-MM-dd"} strings.</li>
+ * </ul>
+ * Amounts whose unscaled value fits a long and dates of years 0-9999 are written digit by digit without creating
+ * a String. Other values fall back to their {@code toString()}, which is also what Jackson writes for them.
+ */
+final class JsonBuffer {
+    static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+    // BigDecimal#toString switches to scientific notation below this adjusted exponent
+    private static final int MIN_PLAIN_EXPONENT = -6;
+    private static final int MAX_LONG_DIGITS = 19;
+
+    /**
+     * The escape of each ASCII character: 0 if none, the character after the backslash for a short escape and -1
+     * for a unicode escape
+     */
+    private static final int[] ESCAPES = new int[128];
+
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            ESCAPES[i] = -1;
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\r'] = 'r';
+    }
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < MAX_LONG_DIGITS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private byte[] bytes;
+    private int position;
+
+    JsonBuffer(int capacity) {
+        bytes = new byte[capacity];
+    }
+
+    static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    JsonBuffer raw(byte[] ascii) {
+        ensureCapacity(ascii.length);
+        System.arraycopy(ascii, 0, bytes, position, ascii.length);
+        position += ascii.length;
+        return this;
+    }
+
+    JsonBuffer raw(char ascii) {
+        ensureCapacity(1);
+        bytes[position++] = (byte) ascii;
+        return this;
+    }
+
+    JsonBuffer string(String value) {
+        if (value == null) {
+            return raw(NULL);
+        }
+        // The longest encoding of a char is the 6 bytes of a unicode escape
+        ensureCapacity(value.length() * 6 + 2);
+        bytes[position++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c < 0x80) {
+                var escape = ESCAPES[c];
+                if (escape == 0) {
+                    bytes[position++] = (byte) c;
+                } else if (escape > 0) {
+                    bytes[position++] = '\\';
+                    bytes[position++] = (byte) escape;
+                } else {
+                    writeUnicodeEscape(c);
+                }
+            } else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | c >> 6);
+                bytes[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // Like Jackson, which escapes both halves of a pair instead of writing the code point as UTF-8
+                writeUnicodeEscape(c);
+            } else {
+                bytes[position++] = (byte) (0xE0 | c >> 12);
+                bytes[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        bytes[position++] = '"';
+        return this;
+    }
+
+    JsonBuffer number(BigDecimal value) {
+        if (value == null) {
+            return raw(NULL);
+        }
+        var unscaledValue = value.unscaledValue();
+        var scale = value.scale();
+        if (unscaledValue.bitLength() >= Long.SIZE - 1 || scale < 0) {
+            return raw(ascii(value.toString()));
+        }
+        var unscaled = unscaledValue.longValue();
+        var negative = unscaled < 0;
+        var magnitude = Math.abs(unscaled);
+        var digits = digitCount(magnitude);
+        if (digits - 1 - scale < MIN_PLAIN_EXPONENT) {
+            return raw(ascii(value.toString()));
+        }
+
+        // Sign, leading "0." and zeros, and the digits with a decimal point
+        ensureCapacity(1 + Math.max(digits, scale + 1) + 1);
+        if (negative) {
+            bytes[position++] = '-';
+        }
+        if (scale == 0) {
+            writeDigits(magnitude, digits);
+        } else if (digits > scale) {
+            var divisor = POWERS_OF_TEN[scale];
+            writeDigits(magnitude / divisor, digits - scale);
+            bytes[position++] = '.';
+            writeDigits(magnitude % divisor, scale);
+        } else {
+            bytes[position++] = '0';
+            bytes[position++] = '.';
+            writeDigits(magnitude, scale);
+        }
+        return this;
+    }
+
+    JsonBuffer date(LocalDate value) {
+        if (value == null) {
+            return raw(NULL);
+        }
+        var year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return raw('"').raw(ascii(value.toString())).raw('"');
+        }
+        ensureCapacity(12);
+        bytes[position++] = '"';
+        writeDigits(year, 4);
+        bytes[position++] = '-';
+        writeDigits(value.getMonthValue(), 2);
+        bytes[position++] = '-';
+        writeDigits(value.getDayOfMonth(), 2);
+        bytes[position++] = '"';
+        return this;
+    }
+
+    private void writeUnicodeEscape(char c) {
+        bytes[position++] = '\\';
+        bytes[position++] = 'u';
+        bytes[position++] = HEX[c >> 12];
+        bytes[position++] = HEX[c >> 8 & 0xF];
+        bytes[position++] = HEX[c >> 4 & 0xF];
+        bytes[position++] = HEX[c & 0xF];
+    }
+
+    void writeTo(OutputStream output) throws IOException {
+        output.write(bytes, 0, position);
+    }
+
+    /**
+     * Writes the value zero-padded to the given number of digits. The capacity must have been ensured.
+     */
+    private void writeDigits(long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            bytes[position + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private static int digitCount(long magnitude) {
+        var digits = 1;
+        while (digits < MAX_LONG_DIGITS && magnitude >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + additional));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package me.owlaukka.api.writers;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import me.owlaukka.model.ValidationError;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Writes a {@link ValidationError} straight into bytes, e.g.
+ * {@code {"fields":["amount"],"message":"Invalid input parameters"}}, the same bytes Jackson writes for it.
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class ValidationErrorWriter implements MessageBodyWriter<ValidationError> {
+    private static final byte[] FIELDS = JsonBuffer.ascii("{\"fields\":");
+    private static final byte[] MESSAGE = JsonBuffer.ascii(",\"message\":");
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == ValidationError.class;
+    }
+
+    @Override
+    public void writeTo(ValidationError error, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream)
+            throws IOException {
+        var json = new JsonBuffer(128).raw(FIELDS);
+        var fields = error.getFields();
+        if (fields == null) {
+            json.raw(JsonBuffer.NULL);
+        } else {
+            json.raw('[');
+            for (int i = 0; i < fields.size(); i++) {
+                if (i > 0) {
+                    json.raw(',');
+                }
+                json.string(fields.get(i));
+            }
+            json.raw(']');
+        }
+        json.raw(MESSAGE).string(error.getMessage())
+                .raw('}')
+                .writeTo(entityStream);
+    }
+}
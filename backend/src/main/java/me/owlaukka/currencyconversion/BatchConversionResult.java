@@ -0,0 +1,14 @@
+package me.owlaukka.currencyconversion;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Represents the result of converting one amount to many currencies.
+ *
+ * @param convertedAmounts The converted amounts by target currency, in the order the target currencies were given
+ * @param date             The date of the rates used, same for all conversions
+ */
+public record BatchConversionResult(Map<String, BigDecimal> convertedAmounts, LocalDate date) {
+}
@@ -0,0 +1,120 @@
+package me.owlaukka.currencyconversion;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import me.owlaukka.jfr.CacheLookupEvent;
+import me.owlaukka.rates.CurrencyCodes;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+/**
+ * Caches the results of the most requested conversions, since most requests are for a few pairs and round amounts.
+ * <p>
+ * Results are only cached while they are converted with the rates of the fresh {@link RateSnapshot}, and the
+ * version of the snapshot is part of the key, so a refreshed snapshot is never answered with the old results. They
+ * are also all dropped as soon as a new snapshot is taken into use.
+ * <p>
+ * The cache holds at most {@code conversion.result-cache.max-size} results, 0 disables it. It is a Caffeine cache,
+ * whose TinyLFU admission only lets a new result replace a cached one when it has been asked for more often, so
+ * one-off amounts don't push out the popular ones. The hit ratio is the {@code conversion.result-cache.hit-ratio}
+ * gauge, next to the usual {@code cache_*} metrics of the {@code conversion-results} cache.
+ */
+@ApplicationScoped
+public class ConversionResultCache {
+    private static final Logger logger = LoggerFactory.getLogger(ConversionResultCache.class);
+
+    private static final String CACHE_NAME = "conversion-results";
+
+    private final RateSnapshotHolder snapshotHolder;
+    private final Cache<Key, ConversionResult> results;
+
+    ConversionResultCache(
+            RateSnapshotHolder snapshotHolder,
+            @ConfigProperty(name = "conversion.result-cache.max-size", defaultValue = "10000") long maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.snapshotHolder = snapshotHolder;
+        if (maxSize <= 0) {
+            logger.info("Conversion result cache is disabled");
+            this.results = null;
+            return;
+        }
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+        Gauge.builder("conversion.result-cache.hit-ratio", results, cache -> cache.stats().hitRate())
+                .description("Share of conversions answered from the conversion result cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param convert Converts the amount when the result is not cached, may throw e.g. when a currency is not valid
+     * @return The cached result, or the result of {@code convert}, which is cached if it can be
+     */
+    @WithSpan
+    public ConversionResult get(
+            String sourceCurrency,
+            String targetCurrency,
+            BigDecimal amount,
+            Supplier<ConversionResult> convert
+    ) {
+        var key = keyOf(sourceCurrency, targetCurrency, amount);
+        if (key == null) {
+            return convert.get();
+        }
+        var lookup = new CacheLookupEvent();
+        lookup.begin();
+        try {
+            return results.get(key, ignored -> {
+                lookup.markLoaded();
+                return convert.get();
+            });
+        } finally {
+            lookup.finish(CACHE_NAME, 1);
+        }
+    }
+
+    void onSnapshotUpdated(@Observes RateSnapshot snapshot) {
+        if (results != null) {
+            results.invalidateAll();
+        }
+    }
+
+    /**
+     * @return The key, or null if the result can not be cached: the cache is disabled, the pair is not converted
+     * with the snapshot or the amount has more than 2 decimals
+     */
+    private Key keyOf(String sourceCurrency, String targetCurrency, BigDecimal amount) {
+        if (results == null) {
+            return null;
+        }
+        var snapshot = snapshotHolder.fresh();
+        if (snapshot == null || !snapshot.rates().contains(sourceCurrency) || !snapshot.rates().contains(targetCurrency)) {
+            return null;
+        }
+        // 5, 5.0 and 5.00 convert to the same result, so they share the key
+        if (amount.scale() > 2 || amount.precision() - amount.scale() > 16) {
+            return null;
+        }
+        var cents = amount.movePointRight(2).longValueExact();
+        var pair = CurrencyCodes.pack(sourceCurrency) << 15 | CurrencyCodes.pack(targetCurrency);
+        return new Key(snapshot.version(), pair, cents);
+    }
+
+    private record Key(long snapshotVersion, int packedPair, long cents) {
+    }
+}
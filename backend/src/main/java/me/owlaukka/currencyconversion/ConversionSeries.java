@@ -0,0 +1,202 @@
+package me.owlaukka.currencyconversion;
+
+import me.owlaukka.rates.history.RateHistoryStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * An amount converted with the rates of every day in a date range, written lazily as JSON:
+ * <pre>{@code
+ * {"sourceCurrency":"GBP","targetCurrency":"USD","conversions":[{"date":"2025-02-14","convertedAmount":126.43},...]}
+ * }</pre>
+ * Nothing is converted before {@link #writeTo} is called. The days are then read from the {@link RateHistoryStore}
+ * one after another, converted with {@link LongConversion} and written into a reused buffer, so writing a range of
+ * years does not allocate anything per day. Days without rates for both currencies are left out.
+ */
+public final class ConversionSeries {
+    private static final int BUFFER_SIZE = 8192;
+    // Longest entry: {"date":"yyyy-MM-dd","convertedAmount":<19 digits>.<2 digits>},
+    private static final int MAX_ENTRY_BYTES = 64;
+
+    private static final byte[] DATE = ascii("{\"date\":\"");
+    private static final byte[] CONVERTED_AMOUNT = ascii("\",\"convertedAmount\":");
+    private static final byte[] END = ascii("]}");
+
+    private final RateHistoryStore rateHistoryStore;
+    private final String sourceCurrency;
+    private final String targetCurrency;
+    private final BigDecimal amount;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    ConversionSeries(RateHistoryStore rateHistoryStore, String sourceCurrency, String targetCurrency,
+                     BigDecimal amount, LocalDate from, LocalDate to) {
+        this.rateHistoryStore = rateHistoryStore;
+        this.sourceCurrency = sourceCurrency;
+        this.targetCurrency = targetCurrency;
+        this.amount = amount;
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDate from() {
+        return from;
+    }
+
+    public LocalDate to() {
+        return to;
+    }
+
+    /**
+     * Converts the amount for every day of the range and writes the result to the stream.
+     *
+     * @return The number of days written
+     */
+    public int writeTo(OutputStream output) throws IOException {
+        var writer = new Writer(output, amount);
+        writer.write(ascii("{\"sourceCurrency\":\"" + sourceCurrency
+                + "\",\"targetCurrency\":\"" + targetCurrency + "\",\"conversions\":["));
+        try {
+            rateHistoryStore.scan(sourceCurrency, targetCurrency, from, to, writer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.write(END);
+        writer.flush();
+        return writer.days;
+    }
+
+    private static final class Writer implements RateHistoryStore.RatePairConsumer {
+        private final OutputStream output;
+        private final BigDecimal amount;
+        private final long unscaledAmount;
+        private final int amountScale;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int days;
+
+        Writer(OutputStream output, BigDecimal amount) {
+            this.output = output;
+            this.amount = amount;
+            var fitsLong = amount.unscaledValue().bitLength() < Long.SIZE;
+            this.unscaledAmount = fitsLong ? amount.unscaledValue().longValue() : LongConversion.OVERFLOW;
+            this.amountScale = amount.scale();
+        }
+
+        @Override
+        public void accept(long epochDay, long sourceUnscaledRate, int sourceScale, long targetUnscaledRate, int targetScale) {
+            try {
+                if (position > BUFFER_SIZE - MAX_ENTRY_BYTES) {
+                    flushBuffer();
+                }
+                if (days > 0) {
+                    buffer[position++] = ',';
+                }
+                write(DATE);
+                writeDate(epochDay);
+                write(CONVERTED_AMOUNT);
+
+                var converted = unscaledAmount == LongConversion.OVERFLOW
+                        ? LongConversion.OVERFLOW
+                        : LongConversion.convert(unscaledAmount, amountScale,
+                        sourceUnscaledRate, sourceScale, targetUnscaledRate, targetScale);
+                if (converted != LongConversion.OVERFLOW) {
+                    writeCents(converted);
+                } else {
+                    // Only amounts or rates too large for longs end up here
+                    write(ascii(CurrencyConversionServiceImpl.convertAmount(amount,
+                            BigDecimal.valueOf(sourceUnscaledRate, sourceScale),
+                            BigDecimal.valueOf(targetUnscaledRate, targetScale)).toPlainString()));
+                    if (position == BUFFER_SIZE) {
+                        flushBuffer();
+                    }
+                }
+                buffer[position++] = '}';
+                days++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Writes the epoch day as yyyy-MM-dd, using the days-to-civil algorithm of
+         * <a href="https://howardhinnant.github.io/date_algorithms.html">Howard Hinnant</a> instead of a LocalDate.
+         */
+        private void writeDate(long epochDay) {
+            var days = epochDay + 719468;
+            var era = Math.floorDiv(days, 146097);
+            var dayOfEra = days - era * 146097;
+            var yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+            var dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+            var shiftedMonth = (5 * dayOfYear + 2) / 153;
+            var day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+            var month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+            var year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+            writeDigits(year, 4);
+            buffer[position++] = '-';
+            writeDigits(month, 2);
+            buffer[position++] = '-';
+            writeDigits(day, 2);
+        }
+
+        private void writeCents(long cents) {
+            var whole = cents / 100;
+            var start = position;
+            do {
+                buffer[position++] = (byte) ('0' + whole % 10);
+                whole /= 10;
+            } while (whole > 0);
+            reverse(start, position - 1);
+            buffer[position++] = '.';
+            writeDigits((int) (cents % 100), 2);
+        }
+
+        private void writeDigits(int value, int digits) {
+            for (int i = digits - 1; i >= 0; i--) {
+                buffer[position + i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position += digits;
+        }
+
+        private void reverse(int first, int last) {
+            while (first < last) {
+                var swapped = buffer[first];
+                buffer[first++] = buffer[last];
+                buffer[last--] = swapped;
+            }
+        }
+
+        void write(byte[] bytes) throws IOException {
+            if (position + bytes.length > BUFFER_SIZE) {
+                flushBuffer();
+            }
+            if (bytes.length > BUFFER_SIZE) {
+                output.write(bytes);
+                return;
+            }
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void flush() throws IOException {
+            flushBuffer();
+            output.flush();
+        }
+
+        private void flushBuffer() throws IOException {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,70 @@
+package me.owlaukka.currencyconversion;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.rates.history.RateHistoryStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Converts an amount with the rates of every day in a date range, from the {@link RateHistoryStore}.
+ * <p>
+ * Works next to {@link CurrencyConversionService}, which converts with the rates of a single day. The request is
+ * validated here, but the conversion itself is only done while the returned {@link ConversionSeries} is written.
+ */
+@ApplicationScoped
+public class ConversionSeriesService {
+    private static final Logger logger = LoggerFactory.getLogger(ConversionSeriesService.class);
+
+    private final RateHistoryStore rateHistoryStore;
+
+    public ConversionSeriesService(RateHistoryStore rateHistoryStore) {
+        this.rateHistoryStore = rateHistoryStore;
+    }
+
+    /**
+     * @param sourceCurrency The ISO 4217 currency code of the source currency
+     * @param targetCurrency The ISO 4217 currency code of the target currency
+     * @param amount         The amount to convert (must be positive)
+     * @param from           The first date to convert at
+     * @param to             The last date to convert at, not in the future
+     * @return The conversion for every day of the range, not yet converted
+     * @throws CustomValidationException if the range is not valid or a currency has no historical rates
+     */
+    public ConversionSeries series(String sourceCurrency, String targetCurrency, BigDecimal amount,
+                                   LocalDate from, LocalDate to) {
+        logger.debug("Converting {} {} to {} from {} to {}", amount, sourceCurrency, targetCurrency, from, to);
+
+        if (from.isAfter(to)) {
+            logger.warn("Invalid date range requested: {} to {}", from, to);
+            throw new CustomValidationException("Start of the date range can not be after its end",
+                    List.of("convertCurrencySeries.from", "convertCurrencySeries.to"));
+        }
+        if (to.isAfter(LocalDate.now(Clock.systemUTC()))) {
+            logger.warn("Conversion series requested up to a future date: {}", to);
+            throw new CustomValidationException("Date can not be in the future", List.of("convertCurrencySeries.to"));
+        }
+
+        var isSourceCurrencyValid = rateHistoryStore.hasCurrency(sourceCurrency);
+        var isTargetCurrencyValid = rateHistoryStore.hasCurrency(targetCurrency);
+        if (!isSourceCurrencyValid && !isTargetCurrencyValid) {
+            logger.warn("Invalid source and target currency provided: {} and {}", sourceCurrency, targetCurrency);
+            throw new CustomValidationException("Source and target currencies are not valid",
+                    List.of("convertCurrencySeries.sourceCurrency", "convertCurrencySeries.targetCurrency"));
+        }
+        if (!isSourceCurrencyValid) {
+            logger.warn("Invalid source currency provided: {}", sourceCurrency);
+            throw new CustomValidationException("Source currency is not valid", List.of("convertCurrencySeries.sourceCurrency"));
+        }
+        if (!isTargetCurrencyValid) {
+            logger.warn("Invalid target currency provided: {}", targetCurrency);
+            throw new CustomValidationException("Target currency is not valid", List.of("convertCurrencySeries.targetCurrency"));
+        }
+
+        return new ConversionSeries(rateHistoryStore, sourceCurrency, targetCurrency, amount, from, to);
+    }
+}
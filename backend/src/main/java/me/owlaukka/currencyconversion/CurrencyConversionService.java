@@ -1,6 +1,7 @@
 package me.owlaukka.currencyconversion;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -18,5 +19,29 @@ public interface CurrencyConversionService {
      */
     ConversionResult convert(String sourceCurrency, String targetCurrency, BigDecimal amount);
 
+    /**
+     * Converts an amount from one currency to another using the rates of the given date.
+     *
+     * @param sourceCurrency The ISO 4217 currency code of the source currency
+     * @param targetCurrency The ISO 4217 currency code of the target currency
+     * @param amount         The amount to convert (must be positive)
+     * @param date           The date of the rates to use, not in the future
+     * @return A ConversionResult containing the converted amount and the date of the rates that were used
+     * @throws CustomValidationException if the date is in the future, there are no rates for it or the currencies
+     *                                   did not have rates on it
+     */
+    ConversionResult convertAt(String sourceCurrency, String targetCurrency, BigDecimal amount, LocalDate date);
+
+    /**
+     * Converts an amount from one currency to many currencies using rates from the same date.
+     *
+     * @param sourceCurrency   The ISO 4217 currency code of the source currency
+     * @param targetCurrencies The ISO 4217 currency codes of the target currencies
+     * @param amount           The amount to convert (must be positive)
+     * @return A BatchConversionResult containing the converted amounts and the date of the rates
+     * @throws CustomValidationException if any of the currencies is not supported
+     */
+    BatchConversionResult convertToMany(String sourceCurrency, List<String> targetCurrencies, BigDecimal amount);
+
     List<String> getAllSupportedCurrencies();
 }
\ No newline at end of file
@@ -1,28 +1,71 @@
 package me.owlaukka.currencyconversion;
 
+import io.opentelemetry.instrumentation.annotations.SpanAttribute;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
 import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.jfr.CurrencyCheckEvent;
+import me.owlaukka.logging.ThrottledLogger;
 import me.owlaukka.rates.ExchangeRateService;
+import me.owlaukka.rates.KnownCurrencies;
+import me.owlaukka.rates.cache.EuroRateCache;
+import me.owlaukka.rates.history.RateHistoryStore;
+import me.owlaukka.rates.warmup.PopularPairs;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @ApplicationScoped
 public class CurrencyConversionServiceImpl implements CurrencyConversionService {
 
     private static final Logger logger = LoggerFactory.getLogger(CurrencyConversionServiceImpl.class);
-    
+    private static final ThrottledLogger invalidInputLogger = new ThrottledLogger(logger, Duration.ofSeconds(10));
+
+    // Shared since they never change and have no stack trace
+    private static final CustomValidationException SOURCE_AND_TARGET_NOT_VALID = new CustomValidationException(
+            "Source and target currencies are not valid",
+            List.of("convertCurrency.sourceCurrency", "convertCurrency.targetCurrency"));
+    private static final CustomValidationException SOURCE_NOT_VALID = new CustomValidationException(
+            "Source currency is not valid", List.of("convertCurrency.sourceCurrency"));
+    private static final CustomValidationException TARGET_NOT_VALID = new CustomValidationException(
+            "Target currency is not valid", List.of("convertCurrency.targetCurrency"));
+
     private final ExchangeRateService exchangeRateService;
+    private final EuroRateCache euroRateCache;
+    private final RateHistoryStore rateHistoryStore;
+    private final ConversionResultCache conversionResultCache;
+    private final PopularPairs popularPairs;
+    private final KnownCurrencies knownCurrencies;
 
-    CurrencyConversionServiceImpl(ExchangeRateService exchangeRateService) {
+    CurrencyConversionServiceImpl(
+            ExchangeRateService exchangeRateService,
+            EuroRateCache euroRateCache,
+            RateHistoryStore rateHistoryStore,
+            ConversionResultCache conversionResultCache,
+            PopularPairs popularPairs,
+            KnownCurrencies knownCurrencies
+    ) {
         this.exchangeRateService = exchangeRateService;
+        this.euroRateCache = euroRateCache;
+        this.rateHistoryStore = rateHistoryStore;
+        this.conversionResultCache = conversionResultCache;
+        this.popularPairs = popularPairs;
+        this.knownCurrencies = knownCurrencies;
         logger.debug("CurrencyConversionServiceImpl initialized with exchange rate service");
     }
 
     /**
      * Converts an amount from one currency to another.
+     * <p>
+     * Popular conversions are answered from the {@link ConversionResultCache} while the rates come from the rate
+     * snapshot. Every pair is counted in {@link PopularPairs} for warming up the caches.
      *
      * @param sourceCurrency The ISO 4217 currency code of the source currency
      * @param targetCurrency The ISO 4217 currency code of the target currency
@@ -30,7 +73,18 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
      * @return A ConversionResult containing the converted amount and the date of conversion
      */
     @Override
-    public ConversionResult convert(String sourceCurrency, String targetCurrency, BigDecimal amount) {
+    @WithSpan
+    public ConversionResult convert(
+            @SpanAttribute("currency.source") String sourceCurrency,
+            @SpanAttribute("currency.target") String targetCurrency,
+            BigDecimal amount
+    ) {
+        popularPairs.record(sourceCurrency, targetCurrency);
+        return conversionResultCache.get(sourceCurrency, targetCurrency, amount,
+                () -> convertWithLatestRates(sourceCurrency, targetCurrency, amount));
+    }
+
+    private ConversionResult convertWithLatestRates(String sourceCurrency, String targetCurrency, BigDecimal amount) {
         logger.debug("Converting {} {} to {}", amount, sourceCurrency, targetCurrency);
         checkCurrenciesExist(sourceCurrency, targetCurrency);
 
@@ -41,11 +95,7 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
         var targetRate = exchangeRate.targetRate().rate();
         logger.debug("Exchange rates - {}: {}, {}: {}", sourceCurrency, sourceRate, targetCurrency, targetRate);
 
-        var amountInEur = amount.divide(sourceRate, 10, RoundingMode.HALF_UP);
-        logger.trace("Amount in EUR (intermediate): {}", amountInEur);
-
-        var amountInTargetCurrency = amountInEur.multiply(targetRate);
-        var roundedAmountInTargetCurrency = amountInTargetCurrency.setScale(2, RoundingMode.HALF_UP);
+        var roundedAmountInTargetCurrency = convertAmount(amount, sourceRate, targetRate);
 
         logger.info("Converted {} {} to {} {} using rates from {}",
                 amount, sourceCurrency, roundedAmountInTargetCurrency, targetCurrency, exchangeRate.dateOfRates());
@@ -53,7 +103,108 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
         return new ConversionResult(roundedAmountInTargetCurrency, exchangeRate.dateOfRates());
     }
 
+    /**
+     * Converts an amount from one currency to another using the rates of the given date.
+     * <p>
+     * Today's conversions use the latest rates like {@link #convert}. Past dates are looked up from the
+     * {@link RateHistoryStore}, using the latest day with rates on or before the date.
+     *
+     * @param sourceCurrency The ISO 4217 currency code of the source currency
+     * @param targetCurrency The ISO 4217 currency code of the target currency
+     * @param amount         The amount to convert
+     * @param date           The date of the rates to use
+     * @return A ConversionResult containing the converted amount and the date of the rates that were used
+     */
+    @Override
+    @WithSpan
+    public ConversionResult convertAt(
+            @SpanAttribute("currency.source") String sourceCurrency,
+            @SpanAttribute("currency.target") String targetCurrency,
+            BigDecimal amount,
+            LocalDate date
+    ) {
+        var today = LocalDate.now(Clock.systemUTC());
+        if (date.isAfter(today)) {
+            logger.warn("Conversion requested for a future date: {}", date);
+            throw new CustomValidationException("Date can not be in the future", List.of("convertCurrency.date"));
+        }
+        if (date.equals(today)) {
+            return convert(sourceCurrency, targetCurrency, amount);
+        }
+
+        logger.debug("Converting {} {} to {} at {}", amount, sourceCurrency, targetCurrency, date);
+        var dateOfRates = rateHistoryStore.dateOfRatesOn(date).orElseThrow(() -> {
+            logger.warn("No historical rates available for {}", date);
+            return new CustomValidationException("No rates available for the date", List.of("convertCurrency.date"));
+        });
+
+        var sourceRate = rateHistoryStore.rate(dateOfRates, sourceCurrency);
+        var targetRate = rateHistoryStore.rate(dateOfRates, targetCurrency);
+        checkCurrenciesValid(sourceCurrency, sourceRate != null, targetCurrency, targetRate != null);
+
+        var roundedAmountInTargetCurrency = convertAmount(amount, sourceRate, targetRate);
+
+        logger.info("Converted {} {} to {} {} using historical rates from {}",
+                amount, sourceCurrency, roundedAmountInTargetCurrency, targetCurrency, dateOfRates);
+
+        return new ConversionResult(roundedAmountInTargetCurrency, dateOfRates);
+    }
+
+    /**
+     * Converts an amount from one currency to many currencies.
+     * <p>
+     * Rates for all the currencies are read from the cache at once (see {@link EuroRateCache}) instead of one pair
+     * at a time, so the number of Redis and upstream calls does not grow with the number of target currencies.
+     *
+     * @param sourceCurrency   The ISO 4217 currency code of the source currency
+     * @param targetCurrencies The ISO 4217 currency codes of the target currencies
+     * @param amount           The amount to convert
+     * @return A BatchConversionResult containing the converted amounts and the date of the rates
+     */
+    @Override
+    @WithSpan
+    public BatchConversionResult convertToMany(
+            @SpanAttribute("currency.source") String sourceCurrency,
+            @SpanAttribute("currency.targets") List<String> targetCurrencies,
+            BigDecimal amount
+    ) {
+        logger.debug("Converting {} {} to {}", amount, sourceCurrency, targetCurrencies);
+
+        if (knownCurrencies.isKnownUnsupported(sourceCurrency)) {
+            throw invalidBatchSourceCurrency(sourceCurrency);
+        }
+        var knownInvalidTargetCurrencies = targetCurrencies.stream().filter(knownCurrencies::isKnownUnsupported).toList();
+        if (!knownInvalidTargetCurrencies.isEmpty()) {
+            throw invalidBatchTargetCurrencies(knownInvalidTargetCurrencies);
+        }
+
+        var currencyCodes = new LinkedHashSet<String>();
+        currencyCodes.add(sourceCurrency);
+        currencyCodes.addAll(targetCurrencies);
+        var rates = euroRateCache.getEuroRates(List.copyOf(currencyCodes));
+
+        var sourceRate = rates.rate(sourceCurrency);
+        if (sourceRate == null) {
+            throw invalidBatchSourceCurrency(sourceCurrency);
+        }
+        var invalidTargetCurrencies = targetCurrencies.stream().filter(currency -> !rates.contains(currency)).toList();
+        if (!invalidTargetCurrencies.isEmpty()) {
+            throw invalidBatchTargetCurrencies(invalidTargetCurrencies);
+        }
+
+        var convertedAmounts = new LinkedHashMap<String, BigDecimal>();
+        for (var targetCurrency : targetCurrencies) {
+            convertedAmounts.put(targetCurrency, convertAmount(amount, sourceRate, rates.rate(targetCurrency)));
+        }
+
+        logger.info("Converted {} {} to {} currencies using rates from {}",
+                amount, sourceCurrency, convertedAmounts.size(), rates.date());
+
+        return new BatchConversionResult(convertedAmounts, rates.date());
+    }
+
     @Override
+    @WithSpan
     public List<String> getAllSupportedCurrencies() {
         logger.debug("Retrieving all supported currencies");
         var currencies = exchangeRateService.getAllSupportedCurrencies();
@@ -61,28 +212,82 @@ public class CurrencyConversionServiceImpl implements CurrencyConversionService
         return currencies;
     }
 
+    static BigDecimal convertAmount(BigDecimal amount, BigDecimal sourceRate, BigDecimal targetRate) {
+        var amountInEur = amount.divide(sourceRate, 10, RoundingMode.HALF_UP);
+        logger.trace("Amount in EUR (intermediate): {}", amountInEur);
+
+        var amountInTargetCurrency = amountInEur.multiply(targetRate);
+        return amountInTargetCurrency.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static CustomValidationException invalidBatchSourceCurrency(String sourceCurrency) {
+        invalidInputLogger.warn("Invalid source currency provided: {}", sourceCurrency);
+        return new CustomValidationException("Source currency is not valid", List.of("convertCurrencyBatch.sourceCurrency"));
+    }
+
+    private static CustomValidationException invalidBatchTargetCurrencies(List<String> invalidTargetCurrencies) {
+        invalidInputLogger.warn("Invalid target currencies provided: {}", invalidTargetCurrencies);
+        return new CustomValidationException(
+                "Target currencies are not valid: " + String.join(", ", invalidTargetCurrencies),
+                List.of("convertCurrencyBatch.targetCurrencies"));
+    }
+
+    /**
+     * Currencies known not to be supported (see {@link KnownCurrencies}) are rejected without looking them up.
+     * Recorded as a {@link CurrencyCheckEvent} for JFR.
+     */
     private void checkCurrenciesExist(String sourceCurrency, String targetCurrency) {
+        var event = new CurrencyCheckEvent();
+        event.begin();
+        try {
+            checkCurrenciesExist(sourceCurrency, targetCurrency, event);
+            event.finish(sourceCurrency, targetCurrency, null);
+        } catch (RuntimeException e) {
+            event.finish(sourceCurrency, targetCurrency, e);
+            throw e;
+        }
+    }
+
+    private void checkCurrenciesExist(String sourceCurrency, String targetCurrency, CurrencyCheckEvent event) {
         logger.debug("Validating currencies: {} and {}", sourceCurrency, targetCurrency);
-        
-        var currencies = exchangeRateService.getCurrencies(List.of(sourceCurrency, targetCurrency));
+
+        var isSourceCurrencyKnownUnsupported = knownCurrencies.isKnownUnsupported(sourceCurrency);
+        var isTargetCurrencyKnownUnsupported = knownCurrencies.isKnownUnsupported(targetCurrency);
+        if (isSourceCurrencyKnownUnsupported || isTargetCurrencyKnownUnsupported) {
+            checkCurrenciesValid(sourceCurrency, !isSourceCurrencyKnownUnsupported,
+                    targetCurrency, !isTargetCurrencyKnownUnsupported);
+        }
+
+        event.markLookedUp();
+        var requestedCurrencies = List.of(sourceCurrency, targetCurrency);
+        var currencies = exchangeRateService.getCurrencies(requestedCurrencies);
+        knownCurrencies.recordLookup(requestedCurrencies, currencies);
 
         var isSourceCurrencyValid = currencies.stream().anyMatch(currency -> currency.equals(sourceCurrency));
         var isTargetCurrencyValid = currencies.stream().anyMatch(currency -> currency.equals(targetCurrency));
+        checkCurrenciesValid(sourceCurrency, isSourceCurrencyValid, targetCurrency, isTargetCurrencyValid);
+
+        logger.debug("Currency validation successful for {} and {}", sourceCurrency, targetCurrency);
+    }
 
+    private static void checkCurrenciesValid(
+            String sourceCurrency,
+            boolean isSourceCurrencyValid,
+            String targetCurrency,
+            boolean isTargetCurrencyValid
+    ) {
         if (!isSourceCurrencyValid && !isTargetCurrencyValid) {
-            logger.warn("Invalid source and target currency provided: {} and {}", sourceCurrency, targetCurrency);
-            throw new CustomValidationException("Source and target currencies are not valid", List.of("convertCurrency.sourceCurrency", "convertCurrency.targetCurrency"));
+            invalidInputLogger.warn("Invalid source and target currency provided: {} and {}", sourceCurrency, targetCurrency);
+            throw SOURCE_AND_TARGET_NOT_VALID;
         }
         if (!isSourceCurrencyValid) {
-            logger.warn("Invalid source currency provided: {}", sourceCurrency);
-            throw new CustomValidationException("Source currency is not valid", List.of("convertCurrency.sourceCurrency"));
+            invalidInputLogger.warn("Invalid source currency provided: {}", sourceCurrency);
+            throw SOURCE_NOT_VALID;
         }
 
         if (!isTargetCurrencyValid) {
-            logger.warn("Invalid target currency provided: {}", targetCurrency);
-            throw new CustomValidationException("Target currency is not valid", List.of("convertCurrency.targetCurrency"));
+            invalidInputLogger.warn("Invalid target currency provided: {}", targetCurrency);
+            throw TARGET_NOT_VALID;
         }
-
-        logger.debug("Currency validation successful for {} and {}", sourceCurrency, targetCurrency);
     }
 }
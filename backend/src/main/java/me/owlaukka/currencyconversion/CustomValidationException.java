@@ -2,11 +2,17 @@ package me.owlaukka.currencyconversion;
 
 import java.util.List;
 
+/**
+ * Invalid input from the user. These are expected and common (e.g. bots trying random currency codes), so the
+ * exception has no stack trace, which would be most of the cost of a failed request, and instances that never
+ * change can be shared.
+ */
 public class CustomValidationException extends RuntimeException {
     private final List<String> fields;
     private final String message;
 
     public CustomValidationException(String message, List<String> fields) {
+        super(message, null, false, false);
         this.fields = fields;
         this.message = message;
     }
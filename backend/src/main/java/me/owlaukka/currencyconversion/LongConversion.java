@@ -0,0 +1,131 @@
+package me.owlaukka.currencyconversion;
+
+/**
+ * The conversion of {@link CurrencyConversionServiceImpl} done with longs instead of {@link java.math.BigDecimal}s,
+ * for converting over many days without allocating.
+ * <p>
+ * Gives exactly the same result: the amount in EUR is rounded half up to 10 decimals and the amount in the target
+ * currency half up to 2 decimals. Values are given as unscaled values and scales. Products are kept in 128 bits
+ * before dividing, so only amounts whose EUR value with 10 decimals or result with 2 decimals does not fit in a
+ * long (about 900 million EUR), or scales more than 18 apart, return {@link #OVERFLOW}, and the caller has to fall
+ * back to {@code BigDecimal}. Only positive amounts and rates are supported.
+ */
+final class LongConversion {
+    static final long OVERFLOW = -1;
+
+    private static final int EUR_SCALE = 10;
+    private static final int RESULT_SCALE = 2;
+    private static final long[] POWERS_OF_TEN = new long[19];
+    private static final long HALF_WORD = 1L << 32;
+    private static final long LOW_BITS = HALF_WORD - 1;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private LongConversion() {
+    }
+
+    /**
+     * @return The converted amount as an unscaled value of scale 2, or {@link #OVERFLOW}
+     */
+    static long convert(long amount, int amountScale, long sourceRate, int sourceScale, long targetRate, int targetScale) {
+        if (amount <= 0 || sourceRate <= 0 || targetRate <= 0) {
+            return OVERFLOW;
+        }
+
+        // amount / sourceRate at scale 10: amount * 10^(10 + sourceScale - amountScale) / sourceRate
+        var exponent = (long) EUR_SCALE + sourceScale - amountScale;
+        long amountInEur;
+        if (exponent >= 0) {
+            amountInEur = multiplyDivideHalfUp(amount, powerOfTen(exponent), sourceRate);
+        } else {
+            amountInEur = multiplyDivideHalfUp(amount, 1, multiply(sourceRate, powerOfTen(-exponent)));
+        }
+
+        // amountInEur * targetRate has scale 10 + targetScale
+        var droppedDigits = (long) EUR_SCALE + targetScale - RESULT_SCALE;
+        if (droppedDigits < 0) {
+            return OVERFLOW;
+        }
+        return multiplyDivideHalfUp(amountInEur, targetRate, powerOfTen(droppedDigits));
+    }
+
+    private static long powerOfTen(long exponent) {
+        return exponent < POWERS_OF_TEN.length ? POWERS_OF_TEN[(int) exponent] : OVERFLOW;
+    }
+
+    private static long multiply(long a, long b) {
+        if (a == OVERFLOW || b == OVERFLOW) {
+            return OVERFLOW;
+        }
+        var product = a * b;
+        return Math.multiplyHigh(a, b) == 0 && product >= 0 ? product : OVERFLOW;
+    }
+
+    /**
+     * @return {@code a * b / divisor} rounded half up for non-negative values, or {@link #OVERFLOW} if any of
+     * them is it or the result does not fit
+     */
+    private static long multiplyDivideHalfUp(long a, long b, long divisor) {
+        if (a == OVERFLOW || b == OVERFLOW || divisor == OVERFLOW) {
+            return OVERFLOW;
+        }
+        var high = Math.multiplyHigh(a, b);
+        var low = a * b;
+        if (high >= divisor) {
+            return OVERFLOW;
+        }
+        var quotient = high == 0 && low >= 0 ? low / divisor : divideUnsigned(high, low, divisor);
+        if (quotient < 0) {
+            return OVERFLOW;
+        }
+        // The remainder is below the divisor, so the low 64 bits are enough to get it
+        var remainder = low - quotient * divisor;
+        return remainder >= divisor - remainder ? quotient + 1 : quotient;
+    }
+
+    /**
+     * Divides the unsigned 128-bit value {@code high:low} by {@code divisor}, which must be greater than
+     * {@code high}. This is {@code divlu} from Hacker's Delight (2nd ed., figure 9-3).
+     */
+    private static long divideUnsigned(long high, long low, long divisor) {
+        var shift = Long.numberOfLeadingZeros(divisor);
+        divisor <<= shift;
+        var divisorHigh = divisor >>> 32;
+        var divisorLow = divisor & LOW_BITS;
+
+        var dividendHigh = shift == 0 ? high : high << shift | low >>> (64 - shift);
+        var dividendLow = low << shift;
+        var dividendLow1 = dividendLow >>> 32;
+        var dividendLow0 = dividendLow & LOW_BITS;
+
+        var quotient1 = Long.divideUnsigned(dividendHigh, divisorHigh);
+        var remainder = dividendHigh - quotient1 * divisorHigh;
+        while (Long.compareUnsigned(quotient1, HALF_WORD) >= 0
+                || Long.compareUnsigned(quotient1 * divisorLow, remainder * HALF_WORD + dividendLow1) > 0) {
+            quotient1--;
+            remainder += divisorHigh;
+            if (Long.compareUnsigned(remainder, HALF_WORD) >= 0) {
+                break;
+            }
+        }
+
+        var dividendMiddle = dividendHigh * HALF_WORD + dividendLow1 - quotient1 * divisor;
+        var quotient0 = Long.divideUnsigned(dividendMiddle, divisorHigh);
+        remainder = dividendMiddle - quotient0 * divisorHigh;
+        while (Long.compareUnsigned(quotient0, HALF_WORD) >= 0
+                || Long.compareUnsigned(quotient0 * divisorLow, remainder * HALF_WORD + dividendLow0) > 0) {
+            quotient0--;
+            remainder += divisorHigh;
+            if (Long.compareUnsigned(remainder, HALF_WORD) >= 0) {
+                break;
+            }
+        }
+
+        return quotient1 * HALF_WORD + quotient0;
+    }
+}
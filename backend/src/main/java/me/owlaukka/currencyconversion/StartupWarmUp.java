@@ -0,0 +1,231 @@
+package me.owlaukka.currencyconversion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.ws.rs.core.MediaType;
+import me.owlaukka.api.writers.ConversionResponseWriter;
+import me.owlaukka.model.BatchConversionResponse;
+import me.owlaukka.model.ConversionResponse;
+import me.owlaukka.model.TargetConversion;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.cache.CacheValueCodecs;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the JIT before the readiness check passes, so a new instance (e.g. when scaling out) does not serve its
+ * first seconds of conversions with interpreted code. Turned on with {@code startup.warm-up.enabled}. Class
+ * loading is covered by the AppCDS archive of the JVM build instead.
+ * <p>
+ * Neither phase of the warm-up calls Redis or a rate provider, so it does not use the Swop quota:
+ * <ol>
+ *     <li>{@code startup.warm-up.http-requests} requests to the instance's own conversion endpoints that are
+ *     answered without rates: invalid parameters, and a date before any rate history. These go through Vert.x,
+ *     the filters, {@code ConversionParameters}, the exception mappers and the JSON error responses. They are
+ *     spaced to stay under the rate limit of the endpoints.</li>
+ *     <li>{@code startup.warm-up.iterations} conversions with a stub rate table using the same code as real ones,
+ *     with the rates encoded and decoded by {@link CacheValueCodecs} like in Redis, and the responses written the
+ *     way the REST layer writes them: single conversions by {@link ConversionResponseWriter}, and batches by the
+ *     {@link ObjectMapper}.</li>
+ * </ol>
+ * A warm-up that fails is logged and the instance becomes ready anyway. The time it took is the
+ * {@code startup.warm-up.duration} timer.
+ */
+@Readiness
+@ApplicationScoped
+public class StartupWarmUp implements HealthCheck {
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmUp.class);
+
+    /**
+     * The conversion endpoints are rate limited to 100 requests per second
+     */
+    private static final Duration HTTP_REQUEST_INTERVAL = Duration.ofMillis(12);
+    private static final Duration SERVER_START_TIMEOUT = Duration.ofSeconds(30);
+    private static final List<String> HTTP_REQUESTS = List.of(
+            "/conversion?sourceCurrency=usd&targetCurrency=EUR&amount=100",
+            "/conversion?sourceCurrency=USD&targetCurrency=EUR&amount=100.001",
+            "/conversion?sourceCurrency=USD&targetCurrency=EUR&amount=100&date=1900-01-01",
+            "/conversion/batch?sourceCurrency=USD&targetCurrencies=EUR&targetCurrencies=gbp&amount=100"
+    );
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    private static final LocalDate STUB_DATE = LocalDate.of(2025, 1, 1);
+    private static final EuroRateTable STUB_RATES = EuroRateTable.of(STUB_DATE, Map.of(
+            "EUR", BigDecimal.ONE,
+            "USD", new BigDecimal("1.0455"),
+            "GBP", new BigDecimal("0.8301"),
+            "JPY", new BigDecimal("157.12"),
+            "SEK", new BigDecimal("11.2345"),
+            "CHF", new BigDecimal("0.9412")
+    ));
+
+    private final boolean enabled;
+    private final int httpRequests;
+    private final int iterations;
+    private final int port;
+    private final ObjectMapper objectMapper;
+    private final ConversionResponseWriter conversionResponseWriter = new ConversionResponseWriter();
+    private final CacheValueCodecs codecs;
+    private final Timer duration;
+    private volatile boolean done;
+    private long sink;
+
+    StartupWarmUp(
+            @ConfigProperty(name = "startup.warm-up.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "startup.warm-up.http-requests", defaultValue = "250") int httpRequests,
+            @ConfigProperty(name = "startup.warm-up.iterations", defaultValue = "20000") int iterations,
+            @ConfigProperty(name = "quarkus.http.port", defaultValue = "8080") int port,
+            ObjectMapper objectMapper,
+            CacheValueCodecs codecs,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.httpRequests = httpRequests;
+        this.iterations = iterations;
+        this.port = port;
+        this.objectMapper = objectMapper;
+        this.codecs = codecs;
+        this.duration = Timer.builder("startup.warm-up.duration")
+                .description("Time the JIT warm-up took before the instance became ready")
+                .register(meterRegistry);
+        this.done = !enabled;
+    }
+
+    /**
+     * Runs in its own thread, since the HTTP server only starts after the startup event.
+     */
+    void onStart(@Observes StartupEvent startupEvent) {
+        if (!enabled) {
+            return;
+        }
+        var thread = new Thread(() -> warmUp(URI.create("http://localhost:" + port)), "startup-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("startup-warm-up")
+                .status(done)
+                .withData("enabled", enabled)
+                .build();
+    }
+
+    /**
+     * @param baseUri The URI of this instance's HTTP server
+     * @return The number of HTTP requests that were answered
+     */
+    int warmUp(URI baseUri) {
+        logger.info("Warming up with {} HTTP requests and {} conversions", httpRequests, iterations);
+        var answered = 0;
+        var startedAt = System.nanoTime();
+        try {
+            answered = warmUpHttp(baseUri);
+            warmUpConversions();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Warm-up failed, continuing without it: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            var nanos = System.nanoTime() - startedAt;
+            duration.record(nanos, TimeUnit.NANOSECONDS);
+            done = true;
+            logger.info("Warmed up in {} ms", TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+        return answered;
+    }
+
+    private int warmUpHttp(URI baseUri) throws IOException, InterruptedException {
+        var answered = 0;
+        try (var httpClient = HttpClient.newHttpClient()) {
+            for (int i = 0; i < httpRequests; i++) {
+                var request = HttpRequest.newBuilder(baseUri.resolve(HTTP_REQUESTS.get(i % HTTP_REQUESTS.size())))
+                        .header("Accept", "application/json")
+                        .GET()
+                        .build();
+                var response = i == 0
+                        ? sendWhenServerIsUp(httpClient, request)
+                        : httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                sink += response.body().length;
+                answered++;
+                Thread.sleep(HTTP_REQUEST_INTERVAL.toMillis());
+            }
+        }
+        return answered;
+    }
+
+    private static HttpResponse<byte[]> sendWhenServerIsUp(HttpClient httpClient, HttpRequest request)
+            throws IOException, InterruptedException {
+        var deadline = System.nanoTime() + SERVER_START_TIMEOUT.toNanos();
+        while (true) {
+            try {
+                return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (ConnectException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    private void warmUpConversions() throws IOException {
+        var rates = codecs.decodeRateTable(codecs.encodeRateTable(STUB_RATES));
+        var size = rates.size();
+        var body = new ByteArrayOutputStream(64);
+        for (int i = 0; i < iterations; i++) {
+            var source = i % size;
+            var target = (i / size + 1 + source) % size;
+            var amount = BigDecimal.valueOf(i % 100_000 + 1, 2);
+
+            var pair = rates.euroRatesFor(rates.currencyCodeAt(source), rates.currencyCodeAt(target), "warm-up");
+            var cachedPair = codecs.decodeRates(codecs.encodeRates(pair));
+            var converted = CurrencyConversionServiceImpl.convertAmount(
+                    amount, cachedPair.sourceRate().rate(), cachedPair.targetRate().rate());
+            sink += LongConversion.convert(amount.unscaledValue().longValue(), amount.scale(),
+                    rates.unscaledRateAt(source), rates.scaleAt(source),
+                    rates.unscaledRateAt(target), rates.scaleAt(target));
+
+            var response = new ConversionResponse()
+                    .convertedAmount(converted)
+                    .date(cachedPair.dateOfRates());
+            body.reset();
+            conversionResponseWriter.writeTo(response, ConversionResponse.class, ConversionResponse.class,
+                    NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE, null, body);
+            sink += body.size();
+            if (i % 10 == 0) {
+                var batchResponse = new BatchConversionResponse()
+                        .conversions(List.of(
+                                new TargetConversion().currency(cachedPair.targetRate().currencyCode())
+                                        .convertedAmount(converted),
+                                new TargetConversion().currency(cachedPair.sourceRate().currencyCode())
+                                        .convertedAmount(amount)))
+                        .date(cachedPair.dateOfRates());
+                sink += objectMapper.writeValueAsBytes(batchResponse).length;
+            }
+        }
+        logger.debug("Warm-up wrote {} bytes", sink);
+    }
+}
@@ -0,0 +1,144 @@
+package me.owlaukka.filter;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import me.owlaukka.logging.ThrottledLogger;
+import me.owlaukka.model.Error;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import me.owlaukka.rates.warmup.RateCacheWarmer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Admits the requests of the conversion and currency endpoints through the {@link AdmissionController}, and answers
+ * the ones it sheds with 503 and a {@code Retry-After} of {@code admission.retry-after}.
+ * <p>
+ * A request is cheap when it can be answered without calling a rate provider: the list of currencies, conversions
+ * with historical rates, and conversions whose currencies are all in the fresh rate snapshot or whose pair was
+ * loaded into the cache by the latest warm-up. Other conversions are likely to need an upstream call. Other
+ * endpoints, e.g. the rate stream and the admin endpoints, are not limited.
+ * <p>
+ * Runs on the worker thread of the request, since the endpoints are blocking, so waiting for a slot does not block
+ * the event loop.
+ */
+@Provider
+@Priority(2)
+public class AdmissionControlFilter implements ContainerRequestFilter, ContainerResponseFilter {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+    private static final ThrottledLogger shedLogger = new ThrottledLogger(logger, Duration.ofSeconds(10));
+    private static final String ADMITTED_COST = AdmissionControlFilter.class.getName() + ".cost";
+
+    private final AdmissionController admissionController;
+    private final RateSnapshotHolder snapshotHolder;
+    private final RateCacheWarmer rateCacheWarmer;
+    private final String retryAfterSeconds;
+
+    AdmissionControlFilter(
+            AdmissionController admissionController,
+            RateSnapshotHolder snapshotHolder,
+            RateCacheWarmer rateCacheWarmer,
+            @ConfigProperty(name = "admission.retry-after", defaultValue = "1s") Duration retryAfter
+    ) {
+        this.admissionController = admissionController;
+        this.snapshotHolder = snapshotHolder;
+        this.rateCacheWarmer = rateCacheWarmer;
+        this.retryAfterSeconds = String.valueOf(Math.max(retryAfter.toSeconds(), 1));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        var uriInfo = requestContext.getUriInfo();
+        var cost = costOf(uriInfo.getPath(), uriInfo.getQueryParameters());
+        if (cost == null) {
+            return;
+        }
+        if (!admissionController.admit(cost)) {
+            shedLogger.warn("Overloaded, shedding {} request to {}", cost, uriInfo.getPath());
+            requestContext.abortWith(serviceUnavailable());
+            return;
+        }
+        requestContext.setProperty(ADMITTED_COST, cost);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (requestContext.getProperty(ADMITTED_COST) instanceof AdmissionController.Cost cost) {
+            admissionController.release(cost);
+        }
+    }
+
+    /**
+     * @return The cost of a request to the path, or null if the requests to it are not limited
+     */
+    AdmissionController.Cost costOf(String path, MultivaluedMap<String, String> queryParameters) {
+        var relativePath = path.startsWith("/") ? path.substring(1) : path;
+        return switch (relativePath) {
+            case "currencies", "conversion/series" -> AdmissionController.Cost.CHEAP;
+            case "conversion" -> isHistorical(queryParameters.getFirst("date"))
+                    || isWarm(queryParameters.getFirst("sourceCurrency"),
+                    queryParameters.getOrDefault("targetCurrency", List.of()))
+                    ? AdmissionController.Cost.CHEAP
+                    : AdmissionController.Cost.UPSTREAM;
+            case "conversion/batch" -> isWarm(queryParameters.getFirst("sourceCurrency"),
+                    queryParameters.getOrDefault("targetCurrencies", List.of()))
+                    ? AdmissionController.Cost.CHEAP
+                    : AdmissionController.Cost.UPSTREAM;
+            default -> null;
+        };
+    }
+
+    /**
+     * A date that is not valid is cheap too, since the request is rejected before any rates are needed.
+     */
+    private static boolean isHistorical(String date) {
+        if (date == null) {
+            return false;
+        }
+        try {
+            return LocalDate.parse(date).isBefore(LocalDate.now(Clock.systemUTC()));
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Missing currencies are cheap too, since the request is rejected before any rates are needed.
+     */
+    private boolean isWarm(String sourceCurrency, List<String> targetCurrencies) {
+        if (sourceCurrency == null || targetCurrencies.isEmpty()) {
+            return true;
+        }
+        var snapshot = snapshotHolder.fresh();
+        if (snapshot != null && snapshot.rates().contains(sourceCurrency)
+                && targetCurrencies.stream().allMatch(snapshot.rates()::contains)) {
+            return true;
+        }
+        return targetCurrencies.size() == 1 && rateCacheWarmer.isWarm(sourceCurrency, targetCurrencies.get(0));
+    }
+
+    private Response serviceUnavailable() {
+        var error = new Error()
+                .code(Response.Status.SERVICE_UNAVAILABLE.name())
+                .message("Too many requests at the moment. Try again in about " + retryAfterSeconds + " seconds");
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .entity(error)
+                .type(MediaType.APPLICATION_JSON)
+                .build();
+    }
+}
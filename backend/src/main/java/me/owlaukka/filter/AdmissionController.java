@@ -0,0 +1,154 @@
+package me.owlaukka.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits how many requests are handled at the same time, so an overloaded instance answers the requests it takes
+ * in time and turns the rest away right away, instead of letting every request queue until it times out.
+ * <p>
+ * At most {@code admission.max-concurrent} requests are handled at the same time. Of these, at most
+ * {@code admission.upstream-share} may be requests that likely need a call to a rate provider, so the cheap
+ * requests answered from memory or the caches always have room:
+ * <ul>
+ *     <li>A cheap request that finds every slot taken waits for one for at most {@code admission.queue-timeout}.</li>
+ *     <li>A request that needs a provider does not wait at all, and is not admitted while cheap requests are
+ *     waiting. It would hold its slot for the duration of the upstream call, which is what makes the others wait.
+ *     </li>
+ * </ul>
+ * Metrics: {@code admission.requests} counts the requests by {@code cost} and {@code result} (admitted or shed) and
+ * {@code admission.in-flight} is the requests being handled.
+ */
+@ApplicationScoped
+public class AdmissionController {
+
+    enum Cost {
+        /**
+         * Answered from memory or the caches, e.g. the list of currencies or a pair in the rate snapshot
+         */
+        CHEAP,
+        /**
+         * Likely needs a call to a rate provider
+         */
+        UPSTREAM
+    }
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final int maxUpstream;
+    private final long queueTimeoutNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Map<Cost, Counter> admitted = new EnumMap<>(Cost.class);
+    private final Map<Cost, Counter> shed = new EnumMap<>(Cost.class);
+
+    private int inFlight;
+    private int upstreamInFlight;
+    private int waitingCheap;
+
+    AdmissionController(
+            @ConfigProperty(name = "admission.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "admission.max-concurrent", defaultValue = "64") int maxConcurrent,
+            @ConfigProperty(name = "admission.upstream-share", defaultValue = "0.5") double upstreamShare,
+            @ConfigProperty(name = "admission.queue-timeout", defaultValue = "100ms") Duration queueTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.maxUpstream = (int) Math.floor(maxConcurrent * upstreamShare);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        for (var cost : Cost.values()) {
+            admitted.put(cost, counter(meterRegistry, cost, "admitted"));
+            shed.put(cost, counter(meterRegistry, cost, "shed"));
+        }
+        Gauge.builder("admission.in-flight", this, controller -> controller.inFlight)
+                .description("Requests being handled")
+                .register(meterRegistry);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, Cost cost, String result) {
+        return Counter.builder("admission.requests")
+                .tag("cost", cost.name().toLowerCase())
+                .tag("result", result)
+                .description("Requests by whether they were admitted or shed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return True if the request may be handled, after which {@link #release(Cost)} must be called once it is done
+     */
+    boolean admit(Cost cost) {
+        if (!enabled) {
+            return true;
+        }
+        var isAdmitted = cost == Cost.CHEAP ? admitCheap() : admitUpstream();
+        (isAdmitted ? admitted : shed).get(cost).increment();
+        return isAdmitted;
+    }
+
+    private boolean admitCheap() {
+        lock.lock();
+        try {
+            if (inFlight >= maxConcurrent) {
+                waitingCheap++;
+                try {
+                    var remainingNanos = queueTimeoutNanos;
+                    while (inFlight >= maxConcurrent) {
+                        if (remainingNanos <= 0) {
+                            return false;
+                        }
+                        remainingNanos = released.awaitNanos(remainingNanos);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } finally {
+                    waitingCheap--;
+                }
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean admitUpstream() {
+        lock.lock();
+        try {
+            if (waitingCheap > 0 || upstreamInFlight >= maxUpstream || inFlight >= maxConcurrent) {
+                return false;
+            }
+            inFlight++;
+            upstreamInFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(Cost cost) {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            inFlight--;
+            if (cost == Cost.UPSTREAM) {
+                upstreamInFlight--;
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package me.owlaukka.filter;
 
+import io.opentelemetry.api.trace.Span;
 import jakarta.annotation.Priority;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
@@ -10,13 +11,18 @@ import me.owlaukka.logging.MDCUtils;
 
 import java.util.UUID;
 
+/**
+ * Puts the ID of the request into the MDC for logging. The ID is the OpenTelemetry trace ID of the request, so the
+ * logs of a request can be found from its trace and the other way around, or a random UUID if it is not traced.
+ */
 @Provider
 @Priority(1)
 public class RequestIdFilter implements ContainerRequestFilter, ContainerResponseFilter {
 
     @Override
     public void filter(ContainerRequestContext requestContext) {
-        var requestId = UUID.randomUUID().toString();
+        var spanContext = Span.current().getSpanContext();
+        var requestId = spanContext.isValid() ? spanContext.getTraceId() : UUID.randomUUID().toString();
         MDCUtils.setRequestId(requestId);
     }
 
@@ -24,4 +30,4 @@ public class RequestIdFilter implements ContainerRequestFilter, ContainerRespons
     public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
         MDCUtils.clearRequestId();
     }
-}
\ No newline at end of file
+}
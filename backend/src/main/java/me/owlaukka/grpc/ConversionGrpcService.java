@@ -0,0 +1,145 @@
+package me.owlaukka.grpc;
+
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.faulttolerance.api.RateLimit;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import me.owlaukka.api.ConversionParameters;
+import me.owlaukka.api.CurrencyConversionResource;
+import me.owlaukka.currencyconversion.ConversionResult;
+import me.owlaukka.currencyconversion.CurrencyConversionService;
+import me.owlaukka.currencyconversion.CustomValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC API of the conversions for internal callers, see {@code conversion.proto}. Uses the same
+ * {@link CurrencyConversionService} as the REST API, with the same validation and the errors mapped to status codes
+ * by {@link GrpcStatusMapper}.
+ */
+@GrpcService
+public class ConversionGrpcService implements Conversion {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversionGrpcService.class);
+
+    private final CurrencyConversionService currencyConversionService;
+
+    ConversionGrpcService(CurrencyConversionService currencyConversionService) {
+        this.currencyConversionService = currencyConversionService;
+    }
+
+    @Override
+    @Blocking
+    @RateLimit
+    public Uni<ConvertReply> convert(ConvertRequest request) {
+        return Uni.createFrom().item(() -> convert(request, "convert"))
+                .onFailure().transform(GrpcStatusMapper::toStatusException);
+    }
+
+    /**
+     * Converts the requests on a worker thread as they arrive, since converting may have to wait for the exchange
+     * rate provider. A batch takes one permit of the rate limit, so like the batches of the REST API it can have at
+     * most {@link CurrencyConversionResource#MAX_TARGET_CURRENCIES} requests, and fails before converting any more.
+     */
+    @Override
+    @RateLimit
+    public Uni<ConvertBatchReply> convertBatch(Multi<ConvertRequest> requests) {
+        var index = new AtomicInteger();
+        return requests
+                .emitOn(Infrastructure.getDefaultWorkerPool())
+                .map(request -> {
+                    var i = index.getAndIncrement();
+                    if (i >= CurrencyConversionResource.MAX_TARGET_CURRENCIES) {
+                        throw new CustomValidationException("Invalid input parameters: convertBatch: size must be at most "
+                                + CurrencyConversionResource.MAX_TARGET_CURRENCIES, List.of("convertBatch"));
+                    }
+                    return convert(request, "convertBatch[" + i + "]");
+                })
+                .collect().in(ConvertBatchReply::newBuilder, ConvertBatchReply.Builder::addResults)
+                .map(ConvertBatchReply.Builder::build)
+                .invoke(reply -> logger.info("Converted a batch of {} amounts", reply.getResultsCount()))
+                .onFailure().transform(GrpcStatusMapper::toStatusException);
+    }
+
+    @Override
+    @Blocking
+    @RateLimit
+    public Uni<ListCurrenciesReply> listCurrencies(ListCurrenciesRequest request) {
+        return Uni.createFrom().item(() -> ListCurrenciesReply.newBuilder()
+                        .addAllCurrencies(currencyConversionService.getAllSupportedCurrencies())
+                        .build())
+                .onFailure().transform(GrpcStatusMapper::toStatusException);
+    }
+
+    private ConvertReply convert(ConvertRequest request, String field) {
+        logger.debug("gRPC currency conversion request received: {} to {}, amount: {}, date: {}",
+                request.getSourceCurrency(), request.getTargetCurrency(), request.getAmount(),
+                request.hasDateEpochDay() ? request.getDateEpochDay() : null);
+        checkCurrencyCodes(request, field);
+        var amount = amountOf(request, field + ".amount");
+
+        ConversionResult conversion;
+        if (request.hasDateEpochDay()) {
+            conversion = currencyConversionService.convertAt(request.getSourceCurrency(), request.getTargetCurrency(),
+                    amount, LocalDate.ofEpochDay(request.getDateEpochDay()));
+        } else {
+            conversion = currencyConversionService.convert(request.getSourceCurrency(), request.getTargetCurrency(),
+                    amount);
+        }
+
+        return ConvertReply.newBuilder()
+                .setConvertedAmount(toDecimal(conversion.convertedAmount()))
+                .setDateEpochDay((int) conversion.date().toEpochDay())
+                .build();
+    }
+
+    /**
+     * Checks the currency codes with the same {@link ConversionParameters} as the REST API. Protobuf has no null
+     * strings, so an empty code is treated as a missing one.
+     */
+    private static void checkCurrencyCodes(ConvertRequest request, String field) {
+        var parameters = new ConversionParameters(field);
+        parameters.currency("sourceCurrency", emptyToNull(request.getSourceCurrency()));
+        parameters.currency("targetCurrency", emptyToNull(request.getTargetCurrency()));
+        parameters.throwIfInvalid();
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * @return The amount, which like in the REST API must be positive and have at most 2 decimals
+     */
+    private static BigDecimal amountOf(ConvertRequest request, String field) {
+        if (!request.hasAmount()) {
+            throw new CustomValidationException("Invalid input parameters: " + field + ": must not be null",
+                    List.of(field));
+        }
+        var amount = request.getAmount();
+        if (amount.getScale() < 0 || amount.getScale() > 2) {
+            throw new CustomValidationException("Amount must have at most 2 decimals", List.of(field));
+        }
+        if (amount.getUnscaled() <= 0) {
+            throw new CustomValidationException("Amount must be positive", List.of(field));
+        }
+        return BigDecimal.valueOf(amount.getUnscaled(), amount.getScale());
+    }
+
+    /**
+     * @throws ArithmeticException if the unscaled value does not fit in 64 bits
+     */
+    static Decimal toDecimal(BigDecimal value) {
+        return Decimal.newBuilder()
+                .setUnscaled(value.unscaledValue().longValueExact())
+                .setScale(value.scale())
+                .build();
+    }
+}
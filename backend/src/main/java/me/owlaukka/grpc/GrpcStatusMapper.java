@@ -0,0 +1,69 @@
+package me.owlaukka.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.smallrye.faulttolerance.api.RateLimitException;
+import me.owlaukka.currencyconversion.CustomValidationException;
+import me.owlaukka.logging.ThrottledLogger;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * The gRPC counterpart of the exception mappers of the REST API, with the same messages:
+ * <ul>
+ *     <li>{@link CustomValidationException}: {@code INVALID_ARGUMENT}, with the invalid fields in the
+ *     {@code invalid-fields} trailer as a comma separated list</li>
+ *     <li>{@link ExchangeRateIntegrationBadRequestException}: {@code INVALID_ARGUMENT}</li>
+ *     <li>{@link ExchangeRateIntegrationException}: {@code UNAVAILABLE}</li>
+ *     <li>{@link RateLimitException}: {@code RESOURCE_EXHAUSTED}</li>
+ *     <li>A converted amount too large for a {@code Decimal}: {@code OUT_OF_RANGE}</li>
+ *     <li>Anything else: {@code INTERNAL}</li>
+ * </ul>
+ */
+final class GrpcStatusMapper {
+    private static final Logger logger = LoggerFactory.getLogger(GrpcStatusMapper.class);
+    private static final ThrottledLogger throttledLogger = new ThrottledLogger(logger, Duration.ofSeconds(10));
+
+    static final Metadata.Key<String> INVALID_FIELDS =
+            Metadata.Key.of("invalid-fields", Metadata.ASCII_STRING_MARSHALLER);
+
+    private GrpcStatusMapper() {
+    }
+
+    static StatusRuntimeException toStatusException(Throwable exception) {
+        if (exception instanceof StatusRuntimeException statusException) {
+            return statusException;
+        }
+        if (exception instanceof CustomValidationException e) {
+            throttledLogger.warn("Validation error: {} - Fields: {}", e.getMessage(), e.getFields());
+            var trailers = new Metadata();
+            trailers.put(INVALID_FIELDS, String.join(",", e.getFields()));
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException(trailers);
+        }
+        if (exception instanceof ExchangeRateIntegrationBadRequestException e) {
+            throttledLogger.warn("Bad request to exchange rate integration: {}", e.getMessage());
+            return Status.INVALID_ARGUMENT.withDescription("Bad request to exchange rate integration").asRuntimeException();
+        }
+        if (exception instanceof ExchangeRateIntegrationException e) {
+            logger.error("Exchange rate integration error: {}", e.getMessage(), e);
+            return Status.UNAVAILABLE.withDescription("Service temporarily unavailable").asRuntimeException();
+        }
+        if (exception instanceof RateLimitException e) {
+            logger.info("Rate limit exceeded. Retry after: {} ms", e.getRetryAfterMillis());
+            return Status.RESOURCE_EXHAUSTED
+                    .withDescription("Too many requests. Try again in about " + e.getRetryAfterMillis() / 1000 + " seconds")
+                    .asRuntimeException();
+        }
+        if (exception instanceof ArithmeticException e) {
+            logger.warn("Converted amount does not fit in a Decimal: {}", e.getMessage());
+            return Status.OUT_OF_RANGE.withDescription("Converted amount is too large").asRuntimeException();
+        }
+        logger.error("Unhandled exception: {}", exception.getMessage(), exception);
+        return Status.INTERNAL.withDescription("Something went wrong").asRuntimeException();
+    }
+}
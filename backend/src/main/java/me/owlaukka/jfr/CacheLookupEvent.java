@@ -0,0 +1,52 @@
+package me.owlaukka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Getting values from a cache, including loading them on a miss. Whatever the loading did (e.g. an
+ * {@link UpstreamCallEvent}) is recorded as its own event in the middle of this one.
+ */
+@Name("me.owlaukka.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Currency Converter", "Cache"})
+@Description("Getting values from a cache, including loading them on a miss")
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Keys")
+    int keys;
+
+    @Label("Hit")
+    @Description("Whether all the values were found from the cache")
+    boolean hit;
+
+    private transient boolean loading;
+
+    /**
+     * Marks the lookup as a miss, to be called when the values are loaded.
+     */
+    public void markLoaded() {
+        loading = true;
+    }
+
+    /**
+     * Commits the event if it is enabled. The fields are only filled in then.
+     */
+    public void finish(String cache, int keys) {
+        end();
+        if (shouldCommit()) {
+            this.cache = cache;
+            this.keys = keys;
+            this.hit = !loading;
+            commit();
+        }
+    }
+}
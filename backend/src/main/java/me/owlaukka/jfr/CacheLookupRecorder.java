@@ -0,0 +1,35 @@
+package me.owlaukka.jfr;
+
+import io.quarkus.cache.CacheResult;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Records a {@link CacheLookupEvent} around the {@code @CacheResult} interceptor, which has the priority
+ * {@code PLATFORM_BEFORE + 2}. The lookup is a miss if {@link UpstreamCallRecorder} is reached inside it.
+ */
+@UpstreamCall
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 1)
+public class CacheLookupRecorder {
+    static final String EVENT_KEY = CacheLookupEvent.class.getName();
+
+    @AroundInvoke
+    Object record(InvocationContext context) throws Exception {
+        var cacheResult = context.getMethod().getAnnotation(CacheResult.class);
+        var event = new CacheLookupEvent();
+        if (cacheResult == null || !event.isEnabled()) {
+            return context.proceed();
+        }
+
+        context.getContextData().put(EVENT_KEY, event);
+        event.begin();
+        try {
+            return context.proceed();
+        } finally {
+            event.finish(cacheResult.cacheName(), 1);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package me.owlaukka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A conversion request handled by the REST API, from receiving the parameters to returning the response entity.
+ * Writing the entity is the {@link ResponseWriteEvent} that follows it.
+ */
+@Name("me.owlaukka.ConversionRequest")
+@Label("Conversion Request")
+@Category({"Currency Converter", "API"})
+@Description("Conversion request handled by the REST API, without writing the response")
+@StackTrace(false)
+public class ConversionRequestEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Source Currency")
+    String sourceCurrency;
+
+    @Label("Target Currency")
+    String targetCurrency;
+
+    @Label("Outcome")
+    @Description("HTTP status of the response, or the exception the request failed with")
+    String outcome;
+
+    /**
+     * Commits the event if it is enabled. The fields are only filled in then.
+     */
+    public void finish(String operation, String sourceCurrency, String targetCurrency, int status) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.sourceCurrency = sourceCurrency;
+            this.targetCurrency = targetCurrency;
+            this.outcome = String.valueOf(status);
+            commit();
+        }
+    }
+
+    /**
+     * Commits the event of a failed request if it is enabled.
+     */
+    public void finish(String operation, String sourceCurrency, String targetCurrency, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.sourceCurrency = sourceCurrency;
+            this.targetCurrency = targetCurrency;
+            this.outcome = Outcomes.of(failure);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package me.owlaukka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Checking that the source and target currencies of a conversion are supported.
+ */
+@Name("me.owlaukka.CurrencyCheck")
+@Label("Currency Check")
+@Category({"Currency Converter", "Conversion"})
+@Description("Checking that the currencies of a conversion are supported")
+@StackTrace(false)
+public class CurrencyCheckEvent extends Event {
+
+    @Label("Source Currency")
+    String sourceCurrency;
+
+    @Label("Target Currency")
+    String targetCurrency;
+
+    @Label("Looked Up")
+    @Description("Whether the currencies were looked up, false when they were rejected locally")
+    boolean lookedUp;
+
+    @Label("Outcome")
+    String outcome;
+
+    private transient boolean lookingUp;
+
+    /**
+     * Marks that the currencies are looked up from the caches or upstream instead of being rejected locally.
+     */
+    public void markLookedUp() {
+        lookingUp = true;
+    }
+
+    /**
+     * Commits the event if it is enabled. The fields are only filled in then.
+     *
+     * @param failure Why the currencies were not valid, or null if they were
+     */
+    public void finish(String sourceCurrency, String targetCurrency, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.sourceCurrency = sourceCurrency;
+            this.targetCurrency = targetCurrency;
+            this.lookedUp = lookingUp;
+            this.outcome = Outcomes.of(failure);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package me.owlaukka.jfr;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts and stops a JFR recording on demand, one at a time. The recording uses the JDK's {@code profile} settings,
+ * and the events of this application ({@link ConversionRequestEvent} etc.) are enabled in it by default.
+ * <p>
+ * A recording stops by itself after {@code jfr.recording.max-duration}, so one that is forgotten does not keep on
+ * going. It can still be stopped and dumped after that.
+ */
+@ApplicationScoped
+public class JfrRecordings {
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordings.class);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private Recording recording;
+
+    JfrRecordings(
+            @ConfigProperty(name = "jfr.recording.directory") String directory,
+            @ConfigProperty(name = "jfr.recording.max-duration", defaultValue = "10m") Duration maxDuration
+    ) {
+        this.directory = Path.of(directory);
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * @return False if a recording was already started
+     */
+    public synchronized boolean start() throws IOException, ParseException {
+        if (recording != null) {
+            return false;
+        }
+        var newRecording = new Recording(Configuration.getConfiguration("profile"));
+        newRecording.setName("currency-converter");
+        newRecording.setToDisk(true);
+        newRecording.setDuration(maxDuration);
+        newRecording.start();
+        recording = newRecording;
+        logger.info("Started JFR recording, stopping it in {} at the latest", maxDuration);
+        return true;
+    }
+
+    /**
+     * Stops the recording and dumps it to a file in {@code jfr.recording.directory}.
+     *
+     * @return The file, or null if no recording was started
+     */
+    public synchronized Path stop() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        try (var stopped = recording) {
+            recording = null;
+            if (stopped.getState() == RecordingState.RUNNING) {
+                stopped.stop();
+            }
+            Files.createDirectories(directory);
+            var file = directory.resolve("conversion-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+            stopped.dump(file);
+            logger.info("Stopped JFR recording and dumped it to {}", file);
+            return file;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package me.owlaukka.jfr;
+
+final class Outcomes {
+    static final String OK = "ok";
+
+    private Outcomes() {
+    }
+
+    /**
+     * @return {@link #OK}, or the simple name of the exception the phase failed with
+     */
+    static String of(Throwable failure) {
+        return failure == null ? OK : failure.getClass().getSimpleName();
+    }
+}
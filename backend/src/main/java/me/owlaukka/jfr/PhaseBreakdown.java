@@ -0,0 +1,178 @@
+package me.owlaukka.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prints how the time of the requests in a JFR recording was split between their phases, e.g. to see whether a p99
+ * spike went to validation, Redis, Swop, fault tolerance or writing the response.
+ * <p>
+ * The phases are the events of this application ({@link ConversionRequestEvent} etc.). They nest, e.g. an upstream
+ * call inside a cache lookup inside a currency check, so the time of a phase is its self time: its duration minus
+ * the events recorded inside it on the same thread. The time an upstream call waited in fault tolerance before its
+ * first attempt is a phase of its own.
+ * <p>
+ * Run with {@code ./gradlew jfrReport -Precording=<file>}, for a recording from {@code POST /admin/jfr/stop}.
+ */
+public final class PhaseBreakdown {
+    private static final String EVENT_PREFIX = "me.owlaukka.";
+
+    private PhaseBreakdown() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 || args[0].isBlank()) {
+            System.err.println("Usage: PhaseBreakdown <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(format(analyze(Path.of(args[0]))));
+    }
+
+    /**
+     * @return Self times of every phase by the name of the phase
+     */
+    static Map<String, Phase> analyze(Path recording) throws IOException {
+        var eventsByThread = new HashMap<Long, List<RecordedEvent>>();
+        try (var file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                var event = file.readEvent();
+                if (event.getEventType().getName().startsWith(EVENT_PREFIX) && event.getThread() != null) {
+                    eventsByThread.computeIfAbsent(event.getThread().getJavaThreadId(), ignored -> new ArrayList<>())
+                            .add(event);
+                }
+            }
+        }
+
+        var phases = new TreeMap<String, Phase>();
+        for (var events : eventsByThread.values()) {
+            // Outer events first when they start at the same time
+            events.sort(Comparator.comparing(RecordedEvent::getStartTime)
+                    .thenComparing(RecordedEvent::getEndTime, Comparator.reverseOrder()));
+            addSelfTimes(events, phases);
+        }
+        return phases;
+    }
+
+    private static void addSelfTimes(List<RecordedEvent> events, Map<String, Phase> phases) {
+        var open = new ArrayDeque<Frame>();
+        for (var event : events) {
+            while (!open.isEmpty() && open.peek().event.getEndTime().isBefore(event.getEndTime())) {
+                open.pop().addTo(phases);
+            }
+            if (!open.isEmpty()) {
+                open.peek().childNanos += event.getDuration().toNanos();
+            }
+            open.push(new Frame(event));
+        }
+        while (!open.isEmpty()) {
+            open.pop().addTo(phases);
+        }
+    }
+
+    static String format(Map<String, Phase> phases) {
+        var totalNanos = phases.values().stream().mapToLong(Phase::totalNanos).sum();
+        var report = new StringBuilder(String.format("%-48s %8s %10s %6s %9s %9s %9s%n",
+                "Phase", "Count", "Total ms", "Share", "p50 ms", "p99 ms", "Max ms"));
+        phases.values().stream()
+                .sorted(Comparator.comparingLong(Phase::totalNanos).reversed())
+                .forEach(phase -> report.append(String.format("%-48s %8d %10.1f %5.1f%% %9.3f %9.3f %9.3f%n",
+                        phase.name(),
+                        phase.count(),
+                        millis(phase.totalNanos()),
+                        totalNanos == 0 ? 0.0 : 100.0 * phase.totalNanos() / totalNanos,
+                        millis(phase.percentileNanos(0.5)),
+                        millis(phase.percentileNanos(0.99)),
+                        millis(phase.percentileNanos(1.0)))));
+        return report.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * @return The name of the event without the prefix, with the cache or operation for the events that have one
+     */
+    private static String phaseName(RecordedEvent event) {
+        var name = event.getEventType().getName().substring(EVENT_PREFIX.length());
+        if (event.hasField("cache")) {
+            return name + " " + event.getString("cache");
+        }
+        if (event.hasField("provider") && event.hasField("operation")) {
+            return name + " " + event.getString("provider") + "." + event.getString("operation");
+        }
+        return name;
+    }
+
+    private static final class Frame {
+        private final RecordedEvent event;
+        private long childNanos;
+
+        private Frame(RecordedEvent event) {
+            this.event = event;
+        }
+
+        private void addTo(Map<String, Phase> phases) {
+            var name = phaseName(event);
+            var selfNanos = event.getDuration().toNanos() - childNanos;
+            if (event.hasField("faultToleranceWait")) {
+                var waitNanos = event.getDuration("faultToleranceWait").toNanos();
+                phases.computeIfAbsent("FaultToleranceWait " + name.substring(name.indexOf(' ') + 1), Phase::new)
+                        .add(waitNanos);
+                selfNanos -= waitNanos;
+            }
+            phases.computeIfAbsent(name, Phase::new).add(Math.max(selfNanos, 0));
+        }
+    }
+
+    static final class Phase {
+        private final String name;
+        private long[] selfNanos = new long[16];
+        private int count;
+        private long totalNanos;
+
+        private Phase(String name) {
+            this.name = name;
+        }
+
+        private void add(long nanos) {
+            if (count == selfNanos.length) {
+                selfNanos = Arrays.copyOf(selfNanos, count * 2);
+            }
+            selfNanos[count++] = nanos;
+            totalNanos += nanos;
+        }
+
+        String name() {
+            return name;
+        }
+
+        int count() {
+            return count;
+        }
+
+        long totalNanos() {
+            return totalNanos;
+        }
+
+        long percentileNanos(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            var sorted = Arrays.copyOf(selfNanos, count);
+            Arrays.sort(sorted);
+            return sorted[Math.max((int) Math.ceil(percentile * count) - 1, 0)];
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package me.owlaukka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Serializing a response entity and writing it out, recorded by {@link ResponseWriteRecorder}.
+ */
+@Name("me.owlaukka.ResponseWrite")
+@Label("Response Write")
+@Category({"Currency Converter", "API"})
+@Description("Serializing and writing a response entity")
+@StackTrace(false)
+public class ResponseWriteEvent extends Event {
+
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("Media Type")
+    String mediaType;
+
+    @Label("Outcome")
+    String outcome;
+
+    void finish(Class<?> entityType, Object mediaType, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.entityType = entityType == null ? null : entityType.getSimpleName();
+            this.mediaType = mediaType == null ? null : mediaType.toString();
+            this.outcome = Outcomes.of(failure);
+            commit();
+        }
+    }
+}
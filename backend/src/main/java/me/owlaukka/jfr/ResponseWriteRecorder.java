@@ -0,0 +1,34 @@
+package me.owlaukka.jfr;
+
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+
+/**
+ * Records a {@link ResponseWriteEvent} around writing every response entity.
+ */
+@Provider
+public class ResponseWriteRecorder implements WriterInterceptor {
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        var event = new ResponseWriteEvent();
+        if (!event.isEnabled()) {
+            context.proceed();
+            return;
+        }
+
+        event.begin();
+        Throwable failure = null;
+        try {
+            context.proceed();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            event.finish(context.getType(), context.getMediaType(), failure);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package me.owlaukka.jfr;
+
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+/**
+ * Counts the attempts of the {@link UpstreamCallEvent} started by {@link UpstreamCallRecorder}. Runs inside the
+ * fault tolerance interceptor, which proceeds once per attempt.
+ */
+@UpstreamCall
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_AFTER + 20)
+public class UpstreamAttemptRecorder {
+
+    @AroundInvoke
+    Object record(InvocationContext context) throws Exception {
+        if (context.getContextData().get(UpstreamCallRecorder.EVENT_KEY) instanceof UpstreamCallEvent event) {
+            event.attemptStarted();
+        }
+        return context.proceed();
+    }
+}
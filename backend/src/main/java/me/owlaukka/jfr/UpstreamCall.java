@@ -0,0 +1,23 @@
+package me.owlaukka.jfr;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records JFR events of a method that calls an upstream provider, on three levels:
+ * <ul>
+ *     <li>{@link CacheLookupRecorder}: outside {@code @CacheResult}, a {@link CacheLookupEvent} if the method has it</li>
+ *     <li>{@link UpstreamCallRecorder}: outside fault tolerance, an {@link UpstreamCallEvent} for the whole call</li>
+ *     <li>{@link UpstreamAttemptRecorder}: inside fault tolerance, counts the attempts of the call</li>
+ * </ul>
+ * Events are only created while a recording has them enabled, so this costs next to nothing otherwise.
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface UpstreamCall {
+}
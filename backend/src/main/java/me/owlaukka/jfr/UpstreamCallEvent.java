@@ -0,0 +1,69 @@
+package me.owlaukka.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A call to an upstream provider with its fault tolerance, i.e. from entering the bulkhead to the last retry. Recorded
+ * by {@link UpstreamCallRecorder} around the methods annotated with {@link UpstreamCall}.
+ */
+@Name("me.owlaukka.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Currency Converter", "Upstream"})
+@Description("Call to an upstream provider, including fault tolerance and retries")
+@StackTrace(false)
+public class UpstreamCallEvent extends Event {
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Attempts")
+    @Description("Number of calls made to the provider, 0 if fault tolerance rejected the call")
+    int attempts;
+
+    @Label("Fault Tolerance Wait")
+    @Description("Time from entering fault tolerance to the first attempt, e.g. in the bulkhead and circuit breaker")
+    @Timespan(Timespan.NANOSECONDS)
+    long faultToleranceWait;
+
+    @Label("Circuit State")
+    @Description("State of the circuit breaker after the call")
+    String circuitState;
+
+    @Label("Outcome")
+    String outcome;
+
+    private transient long startedAtNanos;
+    private transient long firstAttemptAtNanos;
+
+    void start() {
+        begin();
+        startedAtNanos = System.nanoTime();
+    }
+
+    void attemptStarted() {
+        if (attempts++ == 0) {
+            firstAttemptAtNanos = System.nanoTime();
+        }
+    }
+
+    void finish(String provider, String operation, String circuitState, Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            this.provider = provider;
+            this.operation = operation;
+            this.faultToleranceWait = attempts == 0 ? 0 : firstAttemptAtNanos - startedAtNanos;
+            this.circuitState = circuitState;
+            this.outcome = Outcomes.of(failure);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package me.owlaukka.jfr;
+
+import io.smallrye.faulttolerance.api.CircuitBreakerMaintenance;
+import io.smallrye.faulttolerance.api.CircuitBreakerName;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import me.owlaukka.rates.ExchangeRateProvider;
+
+/**
+ * Records an {@link UpstreamCallEvent} around the fault tolerance interceptor, which has the priority
+ * {@code PLATFORM_AFTER + 10}, so the event covers the bulkhead, circuit breaker and every retry.
+ * <p>
+ * The state of the circuit breaker is only known for methods with a {@link CircuitBreakerName}.
+ */
+@UpstreamCall
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_AFTER)
+public class UpstreamCallRecorder {
+    static final String EVENT_KEY = UpstreamCallEvent.class.getName();
+
+    @Inject
+    CircuitBreakerMaintenance circuitBreakerMaintenance;
+
+    @AroundInvoke
+    Object record(InvocationContext context) throws Exception {
+        if (context.getContextData().get(CacheLookupRecorder.EVENT_KEY) instanceof CacheLookupEvent lookup) {
+            lookup.markLoaded();
+        }
+        var event = new UpstreamCallEvent();
+        if (!event.isEnabled()) {
+            return context.proceed();
+        }
+
+        context.getContextData().put(EVENT_KEY, event);
+        event.start();
+        Throwable failure = null;
+        try {
+            return context.proceed();
+        } catch (Exception e) {
+            failure = e;
+            throw e;
+        } finally {
+            var provider = context.getTarget() instanceof ExchangeRateProvider exchangeRateProvider
+                    ? exchangeRateProvider.name()
+                    : context.getMethod().getDeclaringClass().getSimpleName();
+            event.finish(provider, context.getMethod().getName(), circuitState(context), failure);
+        }
+    }
+
+    private String circuitState(InvocationContext context) {
+        var circuitBreakerName = context.getMethod().getAnnotation(CircuitBreakerName.class);
+        if (circuitBreakerName == null) {
+            return null;
+        }
+        try {
+            return circuitBreakerMaintenance.currentState(circuitBreakerName.value()).name();
+        } catch (IllegalArgumentException e) {
+            // Not created yet, or fault tolerance is disabled
+            return null;
+        }
+    }
+}
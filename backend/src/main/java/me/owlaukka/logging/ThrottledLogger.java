@@ -0,0 +1,81 @@
+package me.owlaukka.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Logs warnings about bad input at most once per {@code interval} for the same call site, so a flood of bad
+ * requests (e.g. bots trying random currency codes) does not turn into a flood of log lines.
+ * <p>
+ * Warnings are told apart by their format string, not the formatted message, so warnings about different
+ * currencies from the same call site share one window and the number of windows is bounded by the call sites. The
+ * first warning of a window is logged with its arguments and the number of warnings left out since the previous
+ * one. The ones left out are logged at DEBUG, and are not formatted at all unless DEBUG is enabled.
+ */
+public final class ThrottledLogger {
+    private final Logger logger;
+    private final long intervalNanos;
+    private final LongSupplier nanoTime;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public ThrottledLogger(Logger logger, Duration interval) {
+        this(logger, interval, System::nanoTime);
+    }
+
+    ThrottledLogger(Logger logger, Duration interval, LongSupplier nanoTime) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public void warn(String format, Object... arguments) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        var now = nanoTime.getAsLong();
+        var window = windows.get(format);
+        if (window == null) {
+            window = windows.computeIfAbsent(format, ignored -> new Window(now - intervalNanos));
+        }
+        var suppressed = window.tryStart(now, intervalNanos);
+        if (suppressed < 0) {
+            if (logger.isDebugEnabled()) {
+                logger.debug(format, arguments);
+            }
+            return;
+        }
+        var message = MessageFormatter.arrayFormat(format, arguments).getMessage();
+        if (suppressed == 0) {
+            logger.warn(message);
+        } else {
+            logger.warn("{} ({} similar warnings suppressed)", message, suppressed);
+        }
+    }
+
+    private static final class Window {
+        private final AtomicLong startedAt;
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Window(long startedAt) {
+            this.startedAt = new AtomicLong(startedAt);
+        }
+
+        /**
+         * @return The number of warnings suppressed since the last one if a new window was started and this
+         * warning should be logged, otherwise -1
+         */
+        private long tryStart(long now, long intervalNanos) {
+            var started = startedAt.get();
+            if (now - started >= intervalNanos && startedAt.compareAndSet(started, now)) {
+                return suppressed.getAndSet(0);
+            }
+            suppressed.incrementAndGet();
+            return -1;
+        }
+    }
+}
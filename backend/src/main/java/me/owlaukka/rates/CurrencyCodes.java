@@ -0,0 +1,63 @@
+package me.owlaukka.rates;
+
+/**
+ * Packs three letter ISO 4217 currency codes into a small int so they can be stored in primitive arrays and used
+ * as array indexes instead of Strings.
+ * <p>
+ * Every letter takes 5 bits, so a packed code is always between 0 and {@link #CAPACITY} - 1. Unpacking returns the
+ * same String instance for the same code, which doubles as interning of currency codes read from responses.
+ */
+public final class CurrencyCodes {
+    public static final int INVALID = -1;
+    public static final int CAPACITY = 1 << 15;
+
+    private static final String[] UNPACKED = new String[CAPACITY];
+
+    private CurrencyCodes() {
+    }
+
+    /**
+     * @return The packed code, or {@link #INVALID} if the code is not exactly three letters from A to Z
+     */
+    public static int pack(CharSequence code) {
+        if (code == null || code.length() != 3) {
+            return INVALID;
+        }
+        return pack(code.charAt(0), code.charAt(1), code.charAt(2));
+    }
+
+    public static int pack(char first, char second, char third) {
+        if (!isLetter(first) || !isLetter(second) || !isLetter(third)) {
+            return INVALID;
+        }
+        return (first - 'A') << 10 | (second - 'A') << 5 | (third - 'A');
+    }
+
+    /**
+     * Packs three ASCII bytes starting from {@code offset}, e.g. straight from a response buffer.
+     */
+    public static int pack(byte[] bytes, int offset) {
+        return pack((char) bytes[offset], (char) bytes[offset + 1], (char) bytes[offset + 2]);
+    }
+
+    public static String unpack(int packedCode) {
+        if (packedCode < 0 || packedCode >= CAPACITY) {
+            throw new IllegalArgumentException("Not a packed currency code: " + packedCode);
+        }
+        // Racing threads may both create the String, which is harmless since they are equal
+        var code = UNPACKED[packedCode];
+        if (code == null) {
+            code = new String(new char[]{
+                    (char) ('A' + (packedCode >> 10 & 0x1F)),
+                    (char) ('A' + (packedCode >> 5 & 0x1F)),
+                    (char) ('A' + (packedCode & 0x1F))
+            });
+            UNPACKED[packedCode] = code;
+        }
+        return code;
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+}
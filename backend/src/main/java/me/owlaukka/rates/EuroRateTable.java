@@ -0,0 +1,291 @@
+package me.owlaukka.rates;
+
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationInvalidResponseException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A full table of exchange rates from EUR to every currency a provider knows about, all valid on the same date.
+ * <p>
+ * Rates are kept in primitive arrays sorted by packed currency code (see {@link CurrencyCodes}) with every rate
+ * stored as an unscaled value and a scale, so a table of a couple hundred currencies is a handful of arrays
+ * instead of a map of Strings and BigDecimals. Rates are turned back into BigDecimals only when asked for.
+ */
+public final class EuroRateTable {
+    private static final MathContext MAX_LONG_PRECISION = new MathContext(18);
+
+    private final LocalDate date;
+    private final int[] packedCodes;
+    private final long[] unscaledRates;
+    private final int[] scales;
+
+    private EuroRateTable(LocalDate date, int[] packedCodes, long[] unscaledRates, int[] scales) {
+        this.date = date;
+        this.packedCodes = packedCodes;
+        this.unscaledRates = unscaledRates;
+        this.scales = scales;
+    }
+
+    public static EuroRateTable of(LocalDate date, Map<String, BigDecimal> rates) {
+        if (rates == null) {
+            throw new ExchangeRateIntegrationInvalidResponseException("Rate table is missing its rates");
+        }
+        var builder = builder(rates.size()).date(date);
+        rates.forEach(builder::add);
+        return builder.build();
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public LocalDate date() {
+        return date;
+    }
+
+    public int size() {
+        return packedCodes.length;
+    }
+
+    /**
+     * @return Index of the currency in this table, or a negative number if the table does not have it
+     */
+    public int indexOf(int packedCode) {
+        return packedCode == CurrencyCodes.INVALID ? -1 : Arrays.binarySearch(packedCodes, packedCode);
+    }
+
+    public int indexOf(String currencyCode) {
+        return indexOf(CurrencyCodes.pack(currencyCode));
+    }
+
+    public boolean contains(String currencyCode) {
+        return indexOf(currencyCode) >= 0;
+    }
+
+    public int packedCodeAt(int index) {
+        return packedCodes[index];
+    }
+
+    public String currencyCodeAt(int index) {
+        return CurrencyCodes.unpack(packedCodes[index]);
+    }
+
+    public long unscaledRateAt(int index) {
+        return unscaledRates[index];
+    }
+
+    public int scaleAt(int index) {
+        return scales[index];
+    }
+
+    public BigDecimal rateAt(int index) {
+        return BigDecimal.valueOf(unscaledRates[index], scales[index]);
+    }
+
+    /**
+     * @return The rate from EUR to the given currency, or null if the table does not have it
+     */
+    public BigDecimal rate(String currencyCode) {
+        var index = indexOf(currencyCode);
+        return index < 0 ? null : rateAt(index);
+    }
+
+    /**
+     * @param sourceCurrency The ISO 4217 currency code of the source currency
+     * @param targetCurrency The ISO 4217 currency code of the target currency
+     * @param providerName   Name of the provider the table came from, used in error messages
+     * @return The rates for given currencies
+     * @throws ExchangeRateIntegrationBadRequestException If the table does not contain either of the currencies
+     */
+    public EuroRatesForSourceAndTargetCurrency euroRatesFor(String sourceCurrency, String targetCurrency,
+                                                            String providerName) {
+        return new EuroRatesForSourceAndTargetCurrency(
+                euroRateFor(sourceCurrency, providerName),
+                euroRateFor(targetCurrency, providerName),
+                date
+        );
+    }
+
+    /**
+     * @return The given currency codes that are present in this table, in the given order
+     */
+    public List<String> supportedOf(List<String> currencyCodes) {
+        return currencyCodes.stream().filter(this::contains).toList();
+    }
+
+    /**
+     * @return A table with only the rates of given currencies that are present in this table
+     */
+    public EuroRateTable select(Collection<String> currencyCodes) {
+        var selected = builder(currencyCodes.size()).date(date);
+        for (var currencyCode : currencyCodes) {
+            var index = indexOf(currencyCode);
+            if (index >= 0) {
+                selected.add(packedCodes[index], unscaledRates[index], scales[index]);
+            }
+        }
+        return selected.build();
+    }
+
+    /**
+     * @return All currency codes in this table sorted alphabetically
+     */
+    public List<String> currencyCodes() {
+        var codes = new ArrayList<String>(packedCodes.length);
+        for (int packedCode : packedCodes) {
+            codes.add(CurrencyCodes.unpack(packedCode));
+        }
+        return codes;
+    }
+
+    private EuroExchangeRate euroRateFor(String currencyCode, String providerName) {
+        var rate = rate(currencyCode);
+        if (rate == null) {
+            throw new ExchangeRateIntegrationBadRequestException(
+                    "Given currency code '" + currencyCode + "' not found from " + providerName
+            );
+        }
+        return new EuroExchangeRate(currencyCode, rate);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EuroRateTable other)) {
+            return false;
+        }
+        return date.equals(other.date)
+                && Arrays.equals(packedCodes, other.packedCodes)
+                && Arrays.equals(unscaledRates, other.unscaledRates)
+                && Arrays.equals(scales, other.scales);
+    }
+
+    @Override
+    public int hashCode() {
+        var result = date.hashCode();
+        result = 31 * result + Arrays.hashCode(packedCodes);
+        result = 31 * result + Arrays.hashCode(unscaledRates);
+        return 31 * result + Arrays.hashCode(scales);
+    }
+
+    @Override
+    public String toString() {
+        return "EuroRateTable[date=" + date + ", size=" + size() + "]";
+    }
+
+    /**
+     * Collects rates straight into primitive arrays, e.g. while reading a response.
+     * <p>
+     * Every rate is validated when added. Currency codes that are not three letters from A to Z can not be requested
+     * through the API, so they are silently left out. If a currency is added more than once the first rate is kept.
+     */
+    public static final class Builder {
+        private LocalDate date;
+        private int size;
+        private int[] packedCodes;
+        private long[] unscaledRates;
+        private int[] scales;
+
+        private Builder(int expectedSize) {
+            var capacity = Math.max(expectedSize, 8);
+            this.packedCodes = new int[capacity];
+            this.unscaledRates = new long[capacity];
+            this.scales = new int[capacity];
+        }
+
+        public Builder date(LocalDate date) {
+            this.date = date;
+            return this;
+        }
+
+        public Builder add(String currencyCode, BigDecimal rate) {
+            if (currencyCode == null || rate == null) {
+                throw new ExchangeRateIntegrationInvalidResponseException("Rate is missing required fields");
+            }
+            if (rate.signum() <= 0) {
+                throw new ExchangeRateIntegrationInvalidResponseException(
+                        "Rate for " + currencyCode + " is zero or non-positive");
+            }
+            return add(CurrencyCodes.pack(currencyCode), rate);
+        }
+
+        public Builder add(int packedCode, BigDecimal rate) {
+            if (rate.signum() <= 0) {
+                throw new ExchangeRateIntegrationInvalidResponseException("Rate is zero or non-positive");
+            }
+            var compact = rate.unscaledValue().bitLength() < Long.SIZE ? rate : compact(rate);
+            return add(packedCode, compact.unscaledValue().longValue(), compact.scale());
+        }
+
+        public Builder add(int packedCode, long unscaledRate, int scale) {
+            if (unscaledRate <= 0) {
+                throw new ExchangeRateIntegrationInvalidResponseException("Rate is zero or non-positive");
+            }
+            if (packedCode == CurrencyCodes.INVALID) {
+                return this;
+            }
+            if (size == packedCodes.length) {
+                var capacity = size * 2;
+                packedCodes = Arrays.copyOf(packedCodes, capacity);
+                unscaledRates = Arrays.copyOf(unscaledRates, capacity);
+                scales = Arrays.copyOf(scales, capacity);
+            }
+            packedCodes[size] = packedCode;
+            unscaledRates[size] = unscaledRate;
+            scales[size] = scale;
+            size++;
+            return this;
+        }
+
+        public EuroRateTable build() {
+            if (date == null) {
+                throw new ExchangeRateIntegrationInvalidResponseException("Rate table is missing its date");
+            }
+
+            // Sort by packed code through an index so the three arrays stay in step
+            var order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = (long) packedCodes[i] << 32 | i;
+            }
+            Arrays.sort(order);
+
+            var sortedCodes = new int[size];
+            var sortedRates = new long[size];
+            var sortedScales = new int[size];
+            var count = 0;
+            for (long entry : order) {
+                var packedCode = (int) (entry >>> 32);
+                var index = (int) entry;
+                if (count > 0 && sortedCodes[count - 1] == packedCode) {
+                    continue;
+                }
+                sortedCodes[count] = packedCode;
+                sortedRates[count] = unscaledRates[index];
+                sortedScales[count] = scales[index];
+                count++;
+            }
+
+            return new EuroRateTable(
+                    date,
+                    Arrays.copyOf(sortedCodes, count),
+                    Arrays.copyOf(sortedRates, count),
+                    Arrays.copyOf(sortedScales, count)
+            );
+        }
+
+        private static BigDecimal compact(BigDecimal rate) {
+            var stripped = rate.stripTrailingZeros();
+            return stripped.unscaledValue().bitLength() < Long.SIZE ? stripped : stripped.round(MAX_LONG_PRECISION);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package me.owlaukka.rates;
+
+import java.util.List;
+
+/**
+ * A single upstream source of EUR-based exchange rates.
+ * <p>
+ * Providers are not injected directly by the rest of the application. {@link RoutingExchangeRateServiceImpl}
+ * picks one per call based on recent health and latency and fails over to the next one when a provider is down.
+ * Each provider is expected to guard its own upstream with fault tolerance (circuit breaker, timeout etc.).
+ */
+public interface ExchangeRateProvider {
+
+    /**
+     * @return The name used to enable the provider in the {@code rates.providers} configuration
+     */
+    String name();
+
+    /**
+     * Retrieves the exchange rates from EUR to the given source and target currencies.
+     *
+     * @param sourceCurrency The ISO 4217 currency code of the source currency
+     * @param targetCurrency The ISO 4217 currency code of the target currency
+     * @return The exchange rates from EUR to given currencies
+     */
+    EuroRatesForSourceAndTargetCurrency getEuroRatesForSourceAndTargetCurrency(
+            String sourceCurrency,
+            String targetCurrency
+    );
+
+    /**
+     * @param currencyCodes The ISO 4217 currency codes to check
+     * @return The subset of given currency codes this provider has rates for
+     */
+    List<String> getCurrencies(List<String> currencyCodes);
+
+    List<String> getAllSupportedCurrencies();
+
+    /**
+     * Retrieves the latest exchange rates from EUR to all of the given currencies in one upstream call.
+     *
+     * @param currencyCodes The ISO 4217 currency codes to get rates for
+     * @return The rates from EUR to given currencies. Currencies the provider does not have are left out
+     */
+    EuroRateTable getEuroRates(List<String> currencyCodes);
+
+    /**
+     * Retrieves the latest rates from EUR to every currency the provider has, with as few upstream calls as the
+     * provider allows.
+     *
+     * @return The full table of rates from EUR
+     */
+    EuroRateTable getLatestRateTable();
+}
@@ -15,7 +15,31 @@ public interface ExchangeRateService {
             String targetCurrency
     );
 
+    /**
+     * @param currencyCodes The ISO 4217 currency codes to check
+     * @return The subset of given currency codes the {@link #authoritativeProvider()} supports
+     */
     List<String> getCurrencies(List<String> currencyCodes);
 
     List<String> getAllSupportedCurrencies();
+
+    /**
+     * Retrieves the exchange rates from EUR to all of the given currencies at once.
+     *
+     * @param currencyCodes The ISO 4217 currency codes to get rates for
+     * @return The rates from EUR to given currencies. Unknown currencies are left out
+     */
+    EuroRateTable getEuroRates(List<String> currencyCodes);
+
+    /**
+     * Retrieves the latest exchange rates from EUR to every supported currency in one go.
+     *
+     * @return The full table of rates from EUR
+     */
+    EuroRateTable getLatestRateTable();
+
+    /**
+     * @return The name of the provider that is asked which currencies are supported and for the full rate table
+     */
+    String authoritativeProvider();
 }
\ No newline at end of file
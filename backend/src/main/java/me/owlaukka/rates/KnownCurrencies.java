@@ -0,0 +1,189 @@
+package me.owlaukka.rates;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Tells apart currency codes that are known not to be supported, so requests with made up codes (e.g.
+ * {@code QQQ}) can be rejected without asking Redis or Swop, and can't be used to use up the Swop quota.
+ * <p>
+ * While there is a fresh {@link RateSnapshot} from the authoritative provider (see
+ * {@link ExchangeRateService#authoritativeProvider()}), its list of all supported currencies is the whole universe
+ * of currencies and anything not in it is unsupported. Without one, codes that the authoritative provider has said
+ * are not supported are remembered in a negative cache for
+ * {@code rates.currencies.negative-cache.expire-after-write}. Answers of other providers are never trusted, since
+ * they know only some of the currencies.
+ * <p>
+ * Both are bit sets over every possible packed code (see {@link CurrencyCodes}), so they take 4 KB each however
+ * many different codes are asked for. Metrics: {@code currencies.rejected-locally} counts the codes rejected
+ * without a lookup, and {@code currencies.negative-cache.size} and {@code currencies.known.size} the codes in each
+ * set.
+ */
+@ApplicationScoped
+public class KnownCurrencies {
+    private static final int WORDS = CurrencyCodes.CAPACITY / Long.SIZE;
+
+    private final RateSnapshotHolder snapshotHolder;
+    private final String authoritativeProvider;
+    private final long negativeExpireAfterNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicLongArray unsupported = new AtomicLongArray(WORDS);
+    private final AtomicLong unsupportedSince;
+    private final Counter rejectedLocally;
+    private volatile Universe universe = new Universe(-1, null);
+
+    @Inject
+    KnownCurrencies(
+            RateSnapshotHolder snapshotHolder,
+            ExchangeRateService exchangeRateService,
+            @ConfigProperty(name = "rates.currencies.negative-cache.expire-after-write", defaultValue = "10m")
+            Duration negativeExpireAfter,
+            MeterRegistry meterRegistry
+    ) {
+        this(snapshotHolder, exchangeRateService.authoritativeProvider(), negativeExpireAfter, meterRegistry, System::nanoTime);
+    }
+
+    KnownCurrencies(
+            RateSnapshotHolder snapshotHolder,
+            String authoritativeProvider,
+            Duration negativeExpireAfter,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoTime
+    ) {
+        this.snapshotHolder = snapshotHolder;
+        this.authoritativeProvider = authoritativeProvider;
+        this.negativeExpireAfterNanos = negativeExpireAfter.toNanos();
+        this.nanoTime = nanoTime;
+        this.unsupportedSince = new AtomicLong(nanoTime.getAsLong());
+        this.rejectedLocally = Counter.builder("currencies.rejected-locally")
+                .description("Currency codes rejected as unsupported without looking them up")
+                .register(meterRegistry);
+        Gauge.builder("currencies.negative-cache.size", this, KnownCurrencies::unsupportedCount)
+                .description("Currency codes remembered as unsupported")
+                .register(meterRegistry);
+        Gauge.builder("currencies.known.size", this, known -> {
+                    var bits = known.universe.bits;
+                    return bits == null ? 0 : bitCount(bits);
+                })
+                .description("Supported currency codes in the latest rate snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return True if the code is not a valid currency code, or is known not to be supported. False means it may
+     * still be unsupported and has to be looked up
+     */
+    public boolean isKnownUnsupported(String currencyCode) {
+        var packedCode = CurrencyCodes.pack(currencyCode);
+        if (packedCode == CurrencyCodes.INVALID) {
+            rejectedLocally.increment();
+            return true;
+        }
+        var bits = currentUniverse();
+        if (bits != null ? !isSet(bits, packedCode) : isUnsupported(packedCode)) {
+            rejectedLocally.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers which of the looked up codes the authoritative provider did not have.
+     *
+     * @param requested The codes that were looked up
+     * @param supported The codes out of them that are supported, as answered by
+     *                  {@link ExchangeRateService#getCurrencies(java.util.List)} which only the authoritative provider
+     *                  (or a snapshot of it) answers
+     */
+    public void recordLookup(Collection<String> requested, Collection<String> supported) {
+        expireUnsupported();
+        for (var code : requested) {
+            if (!supported.contains(code)) {
+                var packedCode = CurrencyCodes.pack(code);
+                if (packedCode != CurrencyCodes.INVALID) {
+                    var word = packedCode >>> 6;
+                    var bit = 1L << packedCode;
+                    unsupported.getAndUpdate(word, value -> value | bit);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The supported codes of the fresh snapshot as a bit set, or null if there is no fresh snapshot from the
+     * authoritative provider
+     */
+    private long[] currentUniverse() {
+        var snapshot = snapshotHolder.fresh();
+        if (snapshot == null || !snapshot.isFrom(authoritativeProvider) || snapshot.currencies().isEmpty()) {
+            return null;
+        }
+        var current = universe;
+        if (current.version != snapshot.version()) {
+            current = new Universe(snapshot.version(), toBits(snapshot.currencies()));
+            universe = current;
+        }
+        return current.bits;
+    }
+
+    private boolean isUnsupported(int packedCode) {
+        expireUnsupported();
+        return (unsupported.get(packedCode >>> 6) & 1L << packedCode) != 0;
+    }
+
+    private void expireUnsupported() {
+        var since = unsupportedSince.get();
+        var now = nanoTime.getAsLong();
+        if (now - since >= negativeExpireAfterNanos && unsupportedSince.compareAndSet(since, now)) {
+            for (int i = 0; i < WORDS; i++) {
+                unsupported.set(i, 0);
+            }
+        }
+    }
+
+    private int unsupportedCount() {
+        var count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            count += Long.bitCount(unsupported.get(i));
+        }
+        return count;
+    }
+
+    private static long[] toBits(Collection<String> currencyCodes) {
+        var bits = new long[WORDS];
+        for (var code : currencyCodes) {
+            var packedCode = CurrencyCodes.pack(code);
+            if (packedCode != CurrencyCodes.INVALID) {
+                bits[packedCode >>> 6] |= 1L << packedCode;
+            }
+        }
+        return bits;
+    }
+
+    private static boolean isSet(long[] bits, int packedCode) {
+        return (bits[packedCode >>> 6] & 1L << packedCode) != 0;
+    }
+
+    private static int bitCount(long[] bits) {
+        var count = 0;
+        for (var word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private record Universe(long version, long[] bits) {
+    }
+}
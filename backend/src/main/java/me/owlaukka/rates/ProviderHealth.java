@@ -0,0 +1,62 @@
+package me.owlaukka.rates;
+
+/**
+ * Recent health of a single {@link ExchangeRateProvider} as seen by {@link RoutingExchangeRateServiceImpl}.
+ * <p>
+ * Latency is tracked as an exponentially weighted moving average so a single slow call does not reorder providers.
+ */
+class ProviderHealth {
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final ExchangeRateProvider provider;
+    private final int configuredPriority;
+
+    private long averageLatencyNanos;
+    private int consecutiveFailures;
+    private long lastFailureAtNanos;
+
+    ProviderHealth(ExchangeRateProvider provider, int configuredPriority) {
+        this.provider = provider;
+        this.configuredPriority = configuredPriority;
+    }
+
+    ExchangeRateProvider provider() {
+        return provider;
+    }
+
+    int configuredPriority() {
+        return configuredPriority;
+    }
+
+    synchronized void recordSuccess(long latencyNanos) {
+        averageLatencyNanos = averageLatencyNanos == 0
+                ? latencyNanos
+                : (long) (averageLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - averageLatencyNanos));
+        consecutiveFailures = 0;
+    }
+
+    synchronized void recordFailure(long nowNanos) {
+        consecutiveFailures++;
+        lastFailureAtNanos = nowNanos;
+    }
+
+    /**
+     * A provider that has failed is considered unhealthy until the cooldown has passed since its latest failure.
+     * After that it gets tried again in its normal place.
+     */
+    synchronized boolean isHealthy(long nowNanos, long failureCooldownNanos) {
+        return consecutiveFailures == 0 || nowNanos - lastFailureAtNanos >= failureCooldownNanos;
+    }
+
+    synchronized boolean isSlow(long slowLatencyThresholdNanos) {
+        return averageLatencyNanos > slowLatencyThresholdNanos;
+    }
+
+    synchronized long averageLatencyNanos() {
+        return averageLatencyNanos;
+    }
+
+    synchronized int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+}
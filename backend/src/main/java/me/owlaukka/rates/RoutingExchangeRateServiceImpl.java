@@ -0,0 +1,262 @@
+package me.owlaukka.rates;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import me.owlaukka.logging.ThrottledLogger;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationQuotaExceededException;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Routes exchange rate requests to the enabled {@link ExchangeRateProvider}s.
+ * <p>
+ * The first provider of {@code rates.providers} is the authoritative one. Only it is asked which currencies exist
+ * and for the full rate table, since the others (e.g. ECB) know only some of the currencies: a fallback would
+ * reject valid currencies and shrink the list of supported ones. When it fails, these fail too.
+ * <p>
+ * Rate lookups are tried in the configured order, except that providers which failed recently or have been slow
+ * are moved to the back. If a provider fails the same lookup is retried with the next one that has rates for all
+ * of its currencies, so a single provider being down does not take the whole service down.
+ * <p>
+ * Bad requests (e.g. unknown currency) are not failed over, since the provider did answer.
+ * <p>
+ * Lookups of rates and currencies are answered from the fresh {@link RateSnapshot} when it has everything asked
+ * for, without calling any provider (or their caches). Currencies only when the snapshot is from the authoritative
+ * provider, e.g. not one persisted before {@code rates.providers} changed.
+ * <p>
+ * When a provider refuses a call because its budget of calls is used up
+ * ({@link ExchangeRateIntegrationQuotaExceededException}), lookups of rates and currencies are answered from the
+ * latest snapshot however old it is, if it has them ({@code swop.quota.degrade-to-stale}). The full rate table never
+ * is, since it is what refreshes the snapshot. These stale answers are made here and not by the provider, so they
+ * never end up in the caches of the provider. A refused call does not count as a failure of the provider.
+ */
+@ApplicationScoped
+public class RoutingExchangeRateServiceImpl implements ExchangeRateService {
+    private static final Logger logger = LoggerFactory.getLogger(RoutingExchangeRateServiceImpl.class);
+    private static final ThrottledLogger quotaLogger = new ThrottledLogger(logger, Duration.ofSeconds(10));
+
+    private final List<ProviderHealth> providers;
+    private final RateSnapshotHolder snapshotHolder;
+    private final long failureCooldownNanos;
+    private final long slowLatencyThresholdNanos;
+    private final LongSupplier nanoTime;
+    private final boolean degradeToStale;
+
+    @Inject
+    RoutingExchangeRateServiceImpl(
+            @Any Instance<ExchangeRateProvider> availableProviders,
+            @ConfigProperty(name = "rates.providers", defaultValue = "swop") List<String> enabledProviders,
+            @ConfigProperty(name = "rates.routing.failure-cooldown", defaultValue = "30s") Duration failureCooldown,
+            @ConfigProperty(name = "rates.routing.slow-latency-threshold", defaultValue = "2s") Duration slowLatencyThreshold,
+            RateSnapshotHolder snapshotHolder,
+            @ConfigProperty(name = "swop.quota.degrade-to-stale", defaultValue = "true") boolean degradeToStale
+    ) {
+        this(selectProviders(availableProviders, enabledProviders), failureCooldown, slowLatencyThreshold, System::nanoTime,
+                snapshotHolder, degradeToStale);
+    }
+
+    RoutingExchangeRateServiceImpl(
+            List<ExchangeRateProvider> providers,
+            Duration failureCooldown,
+            Duration slowLatencyThreshold,
+            LongSupplier nanoTime,
+            RateSnapshotHolder snapshotHolder,
+            boolean degradeToStale
+    ) {
+        if (providers.isEmpty()) {
+            throw new IllegalStateException("At least one exchange rate provider must be enabled");
+        }
+        var providerHealths = new ArrayList<ProviderHealth>();
+        for (int i = 0; i < providers.size(); i++) {
+            providerHealths.add(new ProviderHealth(providers.get(i), i));
+        }
+        this.providers = List.copyOf(providerHealths);
+        this.failureCooldownNanos = failureCooldown.toNanos();
+        this.slowLatencyThresholdNanos = slowLatencyThreshold.toNanos();
+        this.nanoTime = nanoTime;
+        this.snapshotHolder = snapshotHolder;
+        this.degradeToStale = degradeToStale;
+        logger.info("Exchange rate providers enabled in order: {}", providers.stream().map(ExchangeRateProvider::name).toList());
+    }
+
+    private static List<ExchangeRateProvider> selectProviders(
+            Instance<ExchangeRateProvider> availableProviders,
+            List<String> enabledProviders
+    ) {
+        var available = availableProviders.stream().toList();
+        return enabledProviders.stream()
+                .map(String::trim)
+                .map(name -> available.stream()
+                        .filter(provider -> provider.name().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Unknown exchange rate provider configured: " + name)))
+                .toList();
+    }
+
+    @Override
+    public EuroRatesForSourceAndTargetCurrency getEuroRatesForSourceAndTargetCurrency(
+            String sourceCurrency,
+            String targetCurrency
+    ) {
+        var snapshot = snapshotHolder.fresh();
+        if (snapshot != null && snapshot.rates().contains(sourceCurrency) && snapshot.rates().contains(targetCurrency)) {
+            return snapshot.rates().euroRatesFor(sourceCurrency, targetCurrency, "rate snapshot");
+        }
+        return routeRates("rates", List.of(sourceCurrency, targetCurrency),
+                provider -> provider.getEuroRatesForSourceAndTargetCurrency(sourceCurrency, targetCurrency),
+                stale -> stale.rates().contains(sourceCurrency) && stale.rates().contains(targetCurrency)
+                        ? stale.rates().euroRatesFor(sourceCurrency, targetCurrency, "rate snapshot")
+                        : null);
+    }
+
+    @Override
+    public List<String> getCurrencies(List<String> currencyCodes) {
+        var snapshot = snapshotHolder.fresh();
+        if (snapshot != null && snapshot.isFrom(authoritativeProvider())
+                && snapshot.currencies().containsAll(currencyCodes)) {
+            return currencyCodes;
+        }
+        return callAuthoritative("currencies", provider -> provider.getCurrencies(currencyCodes),
+                stale -> currencyCodes.stream().filter(stale.currencies()::contains).toList());
+    }
+
+    @Override
+    public List<String> getAllSupportedCurrencies() {
+        return callAuthoritative("all-currencies", ExchangeRateProvider::getAllSupportedCurrencies,
+                RateSnapshot::currencies);
+    }
+
+    @Override
+    public EuroRateTable getEuroRates(List<String> currencyCodes) {
+        var snapshot = snapshotHolder.fresh();
+        if (snapshot != null && currencyCodes.stream().allMatch(snapshot.rates()::contains)) {
+            return snapshot.rates().select(currencyCodes);
+        }
+        return routeRates("rates-batch", currencyCodes, provider -> provider.getEuroRates(currencyCodes), stale -> {
+            var staleRates = stale.rates().select(currencyCodes.stream().filter(stale.rates()::contains).toList());
+            return staleRates.size() == 0 ? null : staleRates;
+        });
+    }
+
+    @Override
+    public EuroRateTable getLatestRateTable() {
+        return callAuthoritative("rate-table", ExchangeRateProvider::getLatestRateTable, stale -> null);
+    }
+
+    @Override
+    public String authoritativeProvider() {
+        return providers.get(0).provider().name();
+    }
+
+    /**
+     * @param stale Answers from a stale snapshot of the authoritative provider, null if it can't
+     */
+    private <T> T callAuthoritative(
+            String operation,
+            Function<ExchangeRateProvider, T> call,
+            Function<RateSnapshot, T> stale
+    ) {
+        var health = providers.get(0);
+        var startedAt = nanoTime.getAsLong();
+        try {
+            var result = call.apply(health.provider());
+            health.recordSuccess(nanoTime.getAsLong() - startedAt);
+            return result;
+        } catch (ExchangeRateIntegrationBadRequestException e) {
+            health.recordSuccess(nanoTime.getAsLong() - startedAt);
+            throw e;
+        } catch (ExchangeRateIntegrationQuotaExceededException e) {
+            return staleAnswer(e, snapshot -> snapshot.isFrom(health.provider().name()) ? stale.apply(snapshot) : null);
+        } catch (ExchangeRateIntegrationException | FaultToleranceException e) {
+            health.recordFailure(nanoTime.getAsLong());
+            logger.error("Exchange rate provider '{}' failed for {}, which is not failed over: {}",
+                    health.provider().name(), operation, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * @param stale Answers from a stale snapshot if a provider refused the call, null if it can't
+     */
+    private <T> T routeRates(
+            String operation,
+            List<String> currencyCodes,
+            Function<ExchangeRateProvider, T> call,
+            Function<RateSnapshot, T> stale
+    ) {
+        RuntimeException lastFailure = null;
+        ExchangeRateIntegrationQuotaExceededException quotaExceeded = null;
+
+        for (var health : providersInPreferredOrder()) {
+            var provider = health.provider();
+            var startedAt = nanoTime.getAsLong();
+            try {
+                if (health != providers.get(0) && !provider.getCurrencies(currencyCodes).containsAll(currencyCodes)) {
+                    logger.debug("Exchange rate provider '{}' does not have all of {}, skipping it for {}",
+                            provider.name(), currencyCodes, operation);
+                    continue;
+                }
+                var result = call.apply(provider);
+                health.recordSuccess(nanoTime.getAsLong() - startedAt);
+                return result;
+            } catch (ExchangeRateIntegrationBadRequestException e) {
+                health.recordSuccess(nanoTime.getAsLong() - startedAt);
+                throw e;
+            } catch (ExchangeRateIntegrationQuotaExceededException e) {
+                logger.debug("Exchange rate provider '{}' refused {}: {}", provider.name(), operation, e.getMessage());
+                quotaExceeded = e;
+                lastFailure = e;
+            } catch (ExchangeRateIntegrationException | FaultToleranceException e) {
+                health.recordFailure(nanoTime.getAsLong());
+                logger.warn("Exchange rate provider '{}' failed for {}: {}", provider.name(), operation, e.getMessage());
+                lastFailure = e;
+            }
+        }
+
+        if (quotaExceeded != null) {
+            return staleAnswer(quotaExceeded, stale);
+        }
+        logger.error("All exchange rate providers that have {} failed for {}", currencyCodes, operation);
+        throw lastFailure;
+    }
+
+    /**
+     * @return The answer from the latest snapshot however old it is
+     * @throws ExchangeRateIntegrationQuotaExceededException If stale answers are not used, or there is no snapshot
+     *                                                       that has the answer
+     */
+    private <T> T staleAnswer(ExchangeRateIntegrationQuotaExceededException e, Function<RateSnapshot, T> stale) {
+        var snapshot = snapshotHolder.latest();
+        var answer = degradeToStale && snapshot != null ? stale.apply(snapshot) : null;
+        if (answer == null) {
+            throw e;
+        }
+        quotaLogger.warn("{}, using data fetched at {}", e.getMessage(), snapshot.fetchedAt());
+        return answer;
+    }
+
+    List<ProviderHealth> providersInPreferredOrder() {
+        var now = nanoTime.getAsLong();
+        return providers.stream()
+                .sorted(Comparator
+                        .comparing((ProviderHealth health) -> !health.isHealthy(now, failureCooldownNanos))
+                        .thenComparing(health -> health.isSlow(slowLatencyThresholdNanos))
+                        .thenComparingInt(ProviderHealth::configuredPriority))
+                .toList();
+    }
+}
@@ -0,0 +1,237 @@
+package me.owlaukka.rates.cache;
+
+import me.owlaukka.rates.CurrencyCodes;
+import me.owlaukka.rates.EuroExchangeRate;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
+
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact fixed-width binary encoding of cached values.
+ * <p>
+ * Every value starts with a three byte header: {@link #MAGIC}, the format {@link #VERSION} and the type of the
+ * value. After that:
+ * <ul>
+ * <li>currency codes are packed into two bytes (see {@link CurrencyCodes})</li>
+ * <li>decimals are a one byte scale followed by an eight byte unscaled value</li>
+ * <li>dates are four byte epoch days</li>
+ * <li>lists are a two byte count followed by the fixed-width entries</li>
+ * </ul>
+ * A pair of rates takes 29 bytes this way, compared to around 130 as JSON. Values with currency codes that are not
+ * three letters from A to Z, or decimals that do not fit in the fixed widths, can not be encoded.
+ * <p>
+ * The magic byte is never the first byte of JSON, so values written by older versions can be told apart. A newer
+ * {@link #VERSION} may only add fields to the end of a value, so instances not yet upgraded can still read it:
+ * values of any version from 1 up are read, ignoring whatever comes after the fields of this version.
+ */
+public final class BinaryCacheValueCodec implements CacheValueCodec {
+    static final byte MAGIC = (byte) 0xB5;
+    static final byte VERSION = 1;
+
+    static final byte TYPE_RATES = 1;
+    static final byte TYPE_CURRENCIES = 2;
+    static final byte TYPE_RATE = 3;
+    static final byte TYPE_RATE_TABLE = 4;
+
+    private static final int HEADER_BYTES = 3;
+    private static final int CODE_BYTES = Short.BYTES;
+    private static final int DECIMAL_BYTES = Byte.BYTES + Long.BYTES;
+    private static final int DATE_BYTES = Integer.BYTES;
+    private static final int COUNT_BYTES = Short.BYTES;
+    private static final int MAX_COUNT = 0xFFFF;
+
+    @Override
+    public byte[] encodeRates(EuroRatesForSourceAndTargetCurrency rates) {
+        var source = rates.sourceRate();
+        var target = rates.targetRate();
+        if (!isEncodable(source.currencyCode(), source.rate()) || !isEncodable(target.currencyCode(), target.rate())) {
+            return null;
+        }
+
+        var buffer = allocate(TYPE_RATES, DATE_BYTES + 2 * (CODE_BYTES + DECIMAL_BYTES));
+        putDate(buffer, rates.dateOfRates());
+        putCode(buffer, CurrencyCodes.pack(source.currencyCode()));
+        putDecimal(buffer, source.rate());
+        putCode(buffer, CurrencyCodes.pack(target.currencyCode()));
+        putDecimal(buffer, target.rate());
+        return buffer.array();
+    }
+
+    @Override
+    public EuroRatesForSourceAndTargetCurrency decodeRates(byte[] bytes) {
+        var buffer = read(bytes, TYPE_RATES);
+        try {
+            var date = getDate(buffer);
+            var source = new EuroExchangeRate(getCode(buffer), getDecimal(buffer));
+            var target = new EuroExchangeRate(getCode(buffer), getDecimal(buffer));
+            return new EuroRatesForSourceAndTargetCurrency(source, target, date);
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    @Override
+    public byte[] encodeCurrencies(List<String> currencyCodes) {
+        if (currencyCodes.size() > MAX_COUNT) {
+            return null;
+        }
+        var buffer = allocate(TYPE_CURRENCIES, COUNT_BYTES + currencyCodes.size() * CODE_BYTES);
+        buffer.putShort((short) currencyCodes.size());
+        for (var currencyCode : currencyCodes) {
+            var packedCode = CurrencyCodes.pack(currencyCode);
+            if (packedCode == CurrencyCodes.INVALID) {
+                return null;
+            }
+            putCode(buffer, packedCode);
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public List<String> decodeCurrencies(byte[] bytes) {
+        var buffer = read(bytes, TYPE_CURRENCIES);
+        try {
+            var count = Short.toUnsignedInt(buffer.getShort());
+            var currencyCodes = new ArrayList<String>(count);
+            for (int i = 0; i < count; i++) {
+                currencyCodes.add(getCode(buffer));
+            }
+            return currencyCodes;
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    @Override
+    public byte[] encodeRate(CachedRate rate) {
+        if (!fitsDecimal(rate.rate())) {
+            return null;
+        }
+        var buffer = allocate(TYPE_RATE, DATE_BYTES + DECIMAL_BYTES);
+        putDate(buffer, rate.date());
+        putDecimal(buffer, rate.rate());
+        return buffer.array();
+    }
+
+    @Override
+    public CachedRate decodeRate(byte[] bytes) {
+        var buffer = read(bytes, TYPE_RATE);
+        try {
+            return new CachedRate(getDate(buffer), getDecimal(buffer));
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    @Override
+    public byte[] encodeRateTable(EuroRateTable rateTable) {
+        if (rateTable.size() > MAX_COUNT) {
+            return null;
+        }
+        var buffer = allocate(TYPE_RATE_TABLE, DATE_BYTES + COUNT_BYTES + rateTable.size() * (CODE_BYTES + DECIMAL_BYTES));
+        putDate(buffer, rateTable.date());
+        buffer.putShort((short) rateTable.size());
+        for (int i = 0; i < rateTable.size(); i++) {
+            if (!fitsScale(rateTable.scaleAt(i))) {
+                return null;
+            }
+            putCode(buffer, rateTable.packedCodeAt(i));
+            buffer.put((byte) rateTable.scaleAt(i));
+            buffer.putLong(rateTable.unscaledRateAt(i));
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public EuroRateTable decodeRateTable(byte[] bytes) {
+        var buffer = read(bytes, TYPE_RATE_TABLE);
+        try {
+            var date = getDate(buffer);
+            var count = Short.toUnsignedInt(buffer.getShort());
+            var rateTable = EuroRateTable.builder(count).date(date);
+            for (int i = 0; i < count; i++) {
+                var packedCode = Short.toUnsignedInt(buffer.getShort());
+                var scale = buffer.get();
+                rateTable.add(packedCode, buffer.getLong(), scale);
+            }
+            return rateTable.build();
+        } catch (BufferUnderflowException e) {
+            throw truncated(e);
+        }
+    }
+
+    /**
+     * @return True if the value was written by this codec, whatever its version
+     */
+    static boolean isBinary(byte[] bytes) {
+        return bytes.length > 0 && bytes[0] == MAGIC;
+    }
+
+    private static ByteBuffer allocate(byte type, int bodyBytes) {
+        return ByteBuffer.allocate(HEADER_BYTES + bodyBytes)
+                .put(MAGIC)
+                .put(VERSION)
+                .put(type);
+    }
+
+    private static ByteBuffer read(byte[] bytes, byte expectedType) {
+        if (bytes.length < HEADER_BYTES || bytes[0] != MAGIC) {
+            throw new IllegalArgumentException("Not a binary cache value");
+        }
+        if (bytes[1] < 1) {
+            throw new IllegalArgumentException("Unsupported binary cache value version " + bytes[1]);
+        }
+        if (bytes[2] != expectedType) {
+            throw new IllegalArgumentException("Expected binary cache value of type " + expectedType + " but was " + bytes[2]);
+        }
+        return ByteBuffer.wrap(bytes, HEADER_BYTES, bytes.length - HEADER_BYTES);
+    }
+
+    private static IllegalArgumentException truncated(BufferUnderflowException e) {
+        return new IllegalArgumentException("Binary cache value is truncated", e);
+    }
+
+    private static boolean isEncodable(String currencyCode, BigDecimal rate) {
+        return CurrencyCodes.pack(currencyCode) != CurrencyCodes.INVALID && fitsDecimal(rate);
+    }
+
+    private static boolean fitsDecimal(BigDecimal value) {
+        return value.unscaledValue().bitLength() < Long.SIZE && fitsScale(value.scale());
+    }
+
+    private static boolean fitsScale(int scale) {
+        return scale >= Byte.MIN_VALUE && scale <= Byte.MAX_VALUE;
+    }
+
+    private static void putDate(ByteBuffer buffer, LocalDate date) {
+        buffer.putInt(Math.toIntExact(date.toEpochDay()));
+    }
+
+    private static LocalDate getDate(ByteBuffer buffer) {
+        return LocalDate.ofEpochDay(buffer.getInt());
+    }
+
+    private static void putCode(ByteBuffer buffer, int packedCode) {
+        buffer.putShort((short) packedCode);
+    }
+
+    private static String getCode(ByteBuffer buffer) {
+        return CurrencyCodes.unpack(Short.toUnsignedInt(buffer.getShort()));
+    }
+
+    private static void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        buffer.put((byte) value.scale());
+        buffer.putLong(value.unscaledValue().longValue());
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer) {
+        var scale = buffer.get();
+        return BigDecimal.valueOf(buffer.getLong(), scale);
+    }
+}
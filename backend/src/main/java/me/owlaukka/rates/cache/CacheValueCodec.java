@@ -0,0 +1,31 @@
+package me.owlaukka.rates.cache;
+
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
+
+import java.util.List;
+
+/**
+ * Turns the values kept in Redis into bytes and back.
+ * <p>
+ * Encoders may return null when a value can not be represented in their format, in which case the value is
+ * stored in another format instead (see {@link CacheValueCodecs}).
+ */
+public interface CacheValueCodec {
+
+    byte[] encodeRates(EuroRatesForSourceAndTargetCurrency rates);
+
+    EuroRatesForSourceAndTargetCurrency decodeRates(byte[] bytes);
+
+    byte[] encodeCurrencies(List<String> currencyCodes);
+
+    List<String> decodeCurrencies(byte[] bytes);
+
+    byte[] encodeRate(CachedRate rate);
+
+    CachedRate decodeRate(byte[] bytes);
+
+    byte[] encodeRateTable(EuroRateTable rateTable);
+
+    EuroRateTable decodeRateTable(byte[] bytes);
+}
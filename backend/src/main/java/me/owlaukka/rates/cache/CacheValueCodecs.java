@@ -0,0 +1,154 @@
+package me.owlaukka.rates.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.redis.datasource.codecs.Codec;
+import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The codec used for every value the application keeps in Redis.
+ * <p>
+ * Values are written in the format chosen with {@code rates.cache.value-format} ({@code json} by default), or as
+ * JSON if the binary format can not represent them. Reading does not depend on the setting: the format of every
+ * value is recognized from its first byte. The default stays {@code json} for the first release that can read the
+ * binary format, since instances of older releases only read JSON and fail on anything else. Switch to
+ * {@code binary} once no such instance is left.
+ * <p>
+ * Registered as a Redis {@link Codec} bean, so the {@code rates}, {@code currencies} and {@code all-currencies}
+ * caches of {@code @CacheResult} use it too.
+ */
+@ApplicationScoped
+public class CacheValueCodecs implements CacheValueCodec, Codec {
+    private static final Logger logger = LoggerFactory.getLogger(CacheValueCodecs.class);
+
+    public enum Format {
+        BINARY,
+        JSON
+    }
+
+    private final BinaryCacheValueCodec binary = new BinaryCacheValueCodec();
+    private final JsonCacheValueCodec json;
+    private final Format format;
+
+    CacheValueCodecs(
+            ObjectMapper objectMapper,
+            @ConfigProperty(name = "rates.cache.value-format", defaultValue = "json") Format format
+    ) {
+        this.json = new JsonCacheValueCodec(objectMapper);
+        this.format = format;
+        logger.info("Writing cache values as {}", format);
+    }
+
+    @Override
+    public byte[] encodeRates(EuroRatesForSourceAndTargetCurrency rates) {
+        return encode(rates, binary::encodeRates, json::encodeRates);
+    }
+
+    @Override
+    public EuroRatesForSourceAndTargetCurrency decodeRates(byte[] bytes) {
+        return decoderFor(bytes).decodeRates(bytes);
+    }
+
+    @Override
+    public byte[] encodeCurrencies(List<String> currencyCodes) {
+        return encode(currencyCodes, binary::encodeCurrencies, json::encodeCurrencies);
+    }
+
+    @Override
+    public List<String> decodeCurrencies(byte[] bytes) {
+        return decoderFor(bytes).decodeCurrencies(bytes);
+    }
+
+    @Override
+    public byte[] encodeRate(CachedRate rate) {
+        return encode(rate, binary::encodeRate, json::encodeRate);
+    }
+
+    @Override
+    public CachedRate decodeRate(byte[] bytes) {
+        return decoderFor(bytes).decodeRate(bytes);
+    }
+
+    @Override
+    public byte[] encodeRateTable(EuroRateTable rateTable) {
+        return encode(rateTable, binary::encodeRateTable, json::encodeRateTable);
+    }
+
+    @Override
+    public EuroRateTable decodeRateTable(byte[] bytes) {
+        return decoderFor(bytes).decodeRateTable(bytes);
+    }
+
+    @Override
+    public boolean canHandle(Type type) {
+        return type == EuroRatesForSourceAndTargetCurrency.class || isListOfStrings(type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] encode(Object item) {
+        if (item instanceof EuroRatesForSourceAndTargetCurrency rates) {
+            return encodeRates(rates);
+        }
+        if (item instanceof List<?> currencyCodes) {
+            return encodeCurrencies((List<String>) currencyCodes);
+        }
+        throw new IllegalArgumentException("Unsupported cache value " + item.getClass());
+    }
+
+    /**
+     * The caches this is registered for store either a pair of rates or a list of currencies, which can be told
+     * apart from the type byte of the binary header or from the first character of JSON.
+     */
+    @Override
+    public Object decode(byte[] item) {
+        if (BinaryCacheValueCodec.isBinary(item)) {
+            return item.length > 2 && item[2] == BinaryCacheValueCodec.TYPE_CURRENCIES
+                    ? binary.decodeCurrencies(item)
+                    : binary.decodeRates(item);
+        }
+        return firstNonWhitespace(item) == '['
+                ? json.decodeCurrencies(item)
+                : json.decodeRates(item);
+    }
+
+    private <T> byte[] encode(T value, Function<T, byte[]> binaryEncoder, Function<T, byte[]> jsonEncoder) {
+        if (format == Format.BINARY) {
+            var encoded = binaryEncoder.apply(value);
+            if (encoded != null) {
+                return encoded;
+            }
+            logger.debug("Cache value can not be encoded as binary, writing it as JSON: {}", value);
+        }
+        return jsonEncoder.apply(value);
+    }
+
+    private CacheValueCodec decoderFor(byte[] bytes) {
+        return BinaryCacheValueCodec.isBinary(bytes) ? binary : json;
+    }
+
+    private static boolean isListOfStrings(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() == List.class
+                && parameterized.getActualTypeArguments().length == 1
+                && parameterized.getActualTypeArguments()[0] == String.class;
+    }
+
+    private static int firstNonWhitespace(byte[] bytes) {
+        for (byte b : bytes) {
+            if (!Character.isWhitespace(b)) {
+                return b;
+            }
+        }
+        return -1;
+    }
+}
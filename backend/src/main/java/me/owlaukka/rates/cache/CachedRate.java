@@ -0,0 +1,10 @@
+package me.owlaukka.rates.cache;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rate from EUR to a single currency as stored under the currency's own key in {@link EuroRateCache}.
+ */
+public record CachedRate(LocalDate date, BigDecimal rate) {
+}
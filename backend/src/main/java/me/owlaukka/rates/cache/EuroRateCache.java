@@ -0,0 +1,190 @@
+package me.owlaukka.rates.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.redis.client.Command;
+import io.vertx.mutiny.redis.client.Redis;
+import io.vertx.mutiny.redis.client.Request;
+import io.vertx.mutiny.redis.client.Response;
+import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.jfr.CacheLookupEvent;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.ExchangeRateService;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis cache of EUR rates with one key per currency, for conversions that need the rates of many currencies.
+ * <p>
+ * {@code @CacheResult} reads one key per call, so rates for N currencies would take N round trips to Redis. Here
+ * all keys of a request are read with a single {@code MGET}. If any of them is missing the rates of all requested
+ * currencies are fetched with one upstream call (so the rates of one request are always from the same date) and
+ * written back with pipelined {@code SET}s in one more round trip.
+ * <p>
+ * Redis is only asked when the fresh {@link RateSnapshotHolder snapshot} does not have all the rates, like
+ * {@link ExchangeRateService#getEuroRatesForSourceAndTargetCurrency(String, String)} does. Cached rates can be up to
+ * {@code rates.cache.expire-after-write} older than the snapshot, so otherwise a batch could be converted with
+ * other rates than a single conversion of the same pair.
+ * <p>
+ * Values are encoded with {@link CacheValueCodecs}. The cache is only an optimization: if Redis is unavailable or
+ * a value can not be decoded the rates are fetched from upstream instead.
+ * <p>
+ * Every lookup is recorded as a {@link CacheLookupEvent} for JFR.
+ */
+@ApplicationScoped
+public class EuroRateCache {
+    private static final Logger logger = LoggerFactory.getLogger(EuroRateCache.class);
+
+    static final String KEY_PREFIX = "rates:eur:";
+    private static final String CACHE_NAME = "rates-eur";
+
+    private final Redis redis;
+    private final ExchangeRateService exchangeRateService;
+    private final RateSnapshotHolder snapshotHolder;
+    private final CacheValueCodec codec;
+    private final String expireAfterWriteSeconds;
+    private final DistributionSummary roundTrips;
+    private final Counter hits;
+    private final Counter misses;
+
+    EuroRateCache(
+            Redis redis,
+            ExchangeRateService exchangeRateService,
+            RateSnapshotHolder snapshotHolder,
+            CacheValueCodecs codec,
+            @ConfigProperty(name = "rates.cache.expire-after-write", defaultValue = "1h") Duration expireAfterWrite,
+            MeterRegistry meterRegistry
+    ) {
+        this.redis = redis;
+        this.exchangeRateService = exchangeRateService;
+        this.snapshotHolder = snapshotHolder;
+        this.codec = codec;
+        this.expireAfterWriteSeconds = String.valueOf(expireAfterWrite.toSeconds());
+        this.roundTrips = DistributionSummary.builder("rates.cache.redis.round-trips")
+                .description("Successful Redis round trips per batch of rates")
+                .register(meterRegistry);
+        this.hits = Counter.builder("rates.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("rates.cache.lookups").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * @param currencyCodes The ISO 4217 currency codes to get rates for
+     * @return The rates from EUR to given currencies, all from the same date. Unknown currencies are left out
+     */
+    @WithSpan
+    public EuroRateTable getEuroRates(List<String> currencyCodes) {
+        var snapshot = snapshotHolder.fresh();
+        if (snapshot != null && currencyCodes.stream().allMatch(snapshot.rates()::contains)) {
+            return snapshot.rates().select(currencyCodes);
+        }
+
+        var lookup = new CacheLookupEvent();
+        lookup.begin();
+        try {
+            var response = mget(currencyCodes);
+            var cached = response == null ? null : readFromCache(currencyCodes, response);
+            if (cached != null) {
+                roundTrips.record(1);
+                logger.debug("All {} rates found from cache for {}", currencyCodes.size(), cached.date());
+                return cached;
+            }
+
+            lookup.markLoaded();
+            var fresh = exchangeRateService.getEuroRates(currencyCodes);
+            var succeededRoundTrips = (response == null ? 0 : 1) + (writeToCache(fresh) ? 1 : 0);
+            if (succeededRoundTrips > 0) {
+                roundTrips.record(succeededRoundTrips);
+            }
+            return fresh;
+        } finally {
+            lookup.finish(CACHE_NAME, currencyCodes.size());
+        }
+    }
+
+    /**
+     * @return The cached values of given currencies, or null if Redis could not be read
+     */
+    private Response mget(List<String> currencyCodes) {
+        var mget = Request.cmd(Command.MGET);
+        currencyCodes.forEach(currencyCode -> mget.arg(KEY_PREFIX + currencyCode));
+
+        try {
+            return redis.sendAndAwait(mget);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read rates from Redis, getting them from upstream: {}", e.getMessage());
+            misses.increment(currencyCodes.size());
+            return null;
+        }
+    }
+
+    /**
+     * @return Rates of all given currencies, or null if any of them is missing or they are not from the same date
+     */
+    private EuroRateTable readFromCache(List<String> currencyCodes, Response response) {
+        var rateTable = EuroRateTable.builder(currencyCodes.size());
+        LocalDate dateOfRates = null;
+        var found = 0;
+        for (int i = 0; i < currencyCodes.size(); i++) {
+            var value = response.get(i);
+            if (value == null) {
+                continue;
+            }
+            CachedRate cachedRate;
+            try {
+                cachedRate = codec.decodeRate(value.toBytes().getBytes());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Failed to decode cached rate of {}, refreshing it: {}", currencyCodes.get(i), e.getMessage());
+                continue;
+            }
+            if (dateOfRates != null && !dateOfRates.equals(cachedRate.date())) {
+                logger.debug("Cached rates are from different dates, refreshing all of them");
+                dateOfRates = null;
+                found = 0;
+                break;
+            }
+            dateOfRates = cachedRate.date();
+            rateTable.add(currencyCodes.get(i), cachedRate.rate());
+            found++;
+        }
+
+        hits.increment(found);
+        misses.increment(currencyCodes.size() - found);
+        return found == currencyCodes.size() && dateOfRates != null ? rateTable.date(dateOfRates).build() : null;
+    }
+
+    /**
+     * @return True if the rates were written to Redis
+     */
+    private boolean writeToCache(EuroRateTable rateTable) {
+        var sets = new ArrayList<Request>(rateTable.size());
+        for (int i = 0; i < rateTable.size(); i++) {
+            sets.add(Request.cmd(Command.SET)
+                    .arg(KEY_PREFIX + rateTable.currencyCodeAt(i))
+                    .arg(Buffer.buffer(codec.encodeRate(new CachedRate(rateTable.date(), rateTable.rateAt(i)))))
+                    .arg("EX")
+                    .arg(expireAfterWriteSeconds));
+        }
+        if (sets.isEmpty()) {
+            return false;
+        }
+
+        try {
+            redis.batchAndAwait(sets);
+            logger.debug("Cached {} rates for {}", sets.size(), rateTable.date());
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write rates to Redis: {}", e.getMessage());
+            return false;
+        }
+    }
+}
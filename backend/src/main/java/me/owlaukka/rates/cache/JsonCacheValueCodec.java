@@ -0,0 +1,106 @@
+package me.owlaukka.rates.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON encoding of cached values, the same format the Redis cache used before {@link BinaryCacheValueCodec}.
+ * Values already in Redis are read with this, and it can still be chosen for writing while a new version is
+ * being rolled out.
+ */
+public final class JsonCacheValueCodec implements CacheValueCodec {
+    private static final TypeReference<List<String>> CURRENCY_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public JsonCacheValueCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] encodeRates(EuroRatesForSourceAndTargetCurrency rates) {
+        return write(rates);
+    }
+
+    @Override
+    public EuroRatesForSourceAndTargetCurrency decodeRates(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, EuroRatesForSourceAndTargetCurrency.class);
+        } catch (IOException e) {
+            throw invalid(e);
+        }
+    }
+
+    @Override
+    public byte[] encodeCurrencies(List<String> currencyCodes) {
+        return write(currencyCodes);
+    }
+
+    @Override
+    public List<String> decodeCurrencies(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, CURRENCY_LIST);
+        } catch (IOException e) {
+            throw invalid(e);
+        }
+    }
+
+    @Override
+    public byte[] encodeRate(CachedRate rate) {
+        return write(rate);
+    }
+
+    @Override
+    public CachedRate decodeRate(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, CachedRate.class);
+        } catch (IOException e) {
+            throw invalid(e);
+        }
+    }
+
+    @Override
+    public byte[] encodeRateTable(EuroRateTable rateTable) {
+        var rates = new LinkedHashMap<String, BigDecimal>();
+        for (int i = 0; i < rateTable.size(); i++) {
+            rates.put(rateTable.currencyCodeAt(i), rateTable.rateAt(i));
+        }
+        return write(new RateTableJson(rateTable.date(), rates));
+    }
+
+    @Override
+    public EuroRateTable decodeRateTable(byte[] bytes) {
+        try {
+            var rateTable = objectMapper.readValue(bytes, RateTableJson.class);
+            return EuroRateTable.of(rateTable.date(), rateTable.rates());
+        } catch (IOException e) {
+            throw invalid(e);
+        }
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to write cache value as JSON", e);
+        }
+    }
+
+    private static IllegalArgumentException invalid(IOException e) {
+        return new IllegalArgumentException("Invalid JSON cache value", e);
+    }
+
+    record RateTableJson(LocalDate date, Map<String, BigDecimal> rates) {
+    }
+}
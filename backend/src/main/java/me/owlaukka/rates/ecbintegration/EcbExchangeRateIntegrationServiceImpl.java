@@ -0,0 +1,189 @@
+package me.owlaukka.rates.ecbintegration;
+
+import io.smallrye.faulttolerance.api.CircuitBreakerName;
+import io.smallrye.faulttolerance.api.ExponentialBackoff;
+import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
+import me.owlaukka.rates.ExchangeRateProvider;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationInvalidResponseException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationTransientException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Retry;
+import org.eclipse.microprofile.faulttolerance.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Exchange rates from the ECB euro foreign exchange reference rates.
+ * <p>
+ * ECB publishes a single XML file with all rates once per working day, so the whole table is fetched at once and
+ * kept in memory until {@code rates.ecb.refresh-interval} has passed. It supports fewer currencies than Swop,
+ * which makes it a fallback rather than a replacement.
+ */
+@ApplicationScoped
+public class EcbExchangeRateIntegrationServiceImpl implements ExchangeRateProvider {
+    private static final Logger logger = LoggerFactory.getLogger(EcbExchangeRateIntegrationServiceImpl.class);
+
+    static final String PROVIDER_NAME = "ecb";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final HttpClient httpClient;
+    private final URI dailyRatesUrl;
+    private final Duration refreshInterval;
+    private final AtomicReference<FetchedRates> latestRates = new AtomicReference<>();
+
+    EcbExchangeRateIntegrationServiceImpl(
+            @ConfigProperty(name = "rates.ecb.url") String dailyRatesUrl,
+            @ConfigProperty(name = "rates.ecb.refresh-interval", defaultValue = "1h") Duration refreshInterval
+    ) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        this.dailyRatesUrl = URI.create(dailyRatesUrl);
+        this.refreshInterval = refreshInterval;
+        logger.debug("EcbExchangeRateIntegrationServiceImpl initialized with URL {}", dailyRatesUrl);
+    }
+
+    @Override
+    public String name() {
+        return PROVIDER_NAME;
+    }
+
+    /**
+     * Retrieves the latest exchange rates from EUR to the given currencies from the ECB daily reference rates.
+     * <p>
+     * Has its own bulkhead, circuit breaker, timeout and retry separate from other providers, with the same policy
+     * as Swop: only transient failures (failed connections, timeouts, status 408, 425, 429 and 5xx) are retried,
+     * with exponential backoff. Unknown currencies and invalid responses are neither retried nor counted by the
+     * circuit breaker, since ECB did answer and the same table would be returned again.
+     *
+     * @param sourceCurrency The ISO 4217 currency code of the source currency
+     * @param targetCurrency The ISO 4217 currency code of the target currency
+     * @return The exchange rate from EUR to given currencies
+     * @throws ExchangeRateIntegrationException If the request fails to ECB
+     */
+    @Override
+    @Bulkhead
+    @CircuitBreakerName("ecb-pair-rates")
+    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = {ExchangeRateIntegrationInvalidResponseException.class,
+            ExchangeRateIntegrationBadRequestException.class})
+    @Timeout(5000)
+    @Retry(maxRetries = 2, delay = 200, jitter = 100, retryOn = ExchangeRateIntegrationTransientException.class)
+    @ExponentialBackoff(maxDelay = 1000)
+    public EuroRatesForSourceAndTargetCurrency getEuroRatesForSourceAndTargetCurrency(
+            String sourceCurrency,
+            String targetCurrency
+    ) throws ExchangeRateIntegrationException {
+        logger.info("Fetching Euro exchange rates from ECB for source:{} and target:{}", sourceCurrency, targetCurrency);
+        return getLatestRates().euroRatesFor(sourceCurrency, targetCurrency, "ECB");
+    }
+
+    @Override
+    @Bulkhead
+    @CircuitBreakerName("ecb-currencies")
+    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = ExchangeRateIntegrationInvalidResponseException.class)
+    @Timeout(5000)
+    @Retry(maxRetries = 2, delay = 200, jitter = 100, retryOn = ExchangeRateIntegrationTransientException.class)
+    @ExponentialBackoff(maxDelay = 1000)
+    public List<String> getCurrencies(List<String> currencyCodes) {
+        logger.info("Validating currencies against ECB: {}", currencyCodes);
+        return getLatestRates().supportedOf(currencyCodes);
+    }
+
+    @Override
+    @Bulkhead
+    @CircuitBreakerName("ecb-all-currencies")
+    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = ExchangeRateIntegrationInvalidResponseException.class)
+    @Timeout(5000)
+    @Retry(maxRetries = 2, delay = 200, jitter = 100, retryOn = ExchangeRateIntegrationTransientException.class)
+    @ExponentialBackoff(maxDelay = 1000)
+    public List<String> getAllSupportedCurrencies() {
+        logger.info("Retrieving all supported currencies from ECB");
+        return getLatestRates().currencyCodes();
+    }
+
+    @Override
+    @Bulkhead
+    @CircuitBreakerName("ecb-rates")
+    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = ExchangeRateIntegrationInvalidResponseException.class)
+    @Timeout(5000)
+    @Retry(maxRetries = 2, delay = 200, jitter = 100, retryOn = ExchangeRateIntegrationTransientException.class)
+    @ExponentialBackoff(maxDelay = 1000)
+    public EuroRateTable getEuroRates(List<String> currencyCodes) {
+        logger.info("Fetching Euro exchange rates from ECB for {}", currencyCodes);
+        return getLatestRates().select(currencyCodes);
+    }
+
+    @Override
+    @Bulkhead
+    @CircuitBreakerName("ecb-rate-table")
+    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = ExchangeRateIntegrationInvalidResponseException.class)
+    @Timeout(5000)
+    @Retry(maxRetries = 2, delay = 200, jitter = 100, retryOn = ExchangeRateIntegrationTransientException.class)
+    @ExponentialBackoff(maxDelay = 1000)
+    public EuroRateTable getLatestRateTable() {
+        logger.info("Retrieving full rate table from ECB");
+        return getLatestRates();
+    }
+
+    private EuroRateTable getLatestRates() {
+        var cached = latestRates.get();
+        if (cached != null && Instant.now().isBefore(cached.fetchedAt().plus(refreshInterval))) {
+            return cached.rates();
+        }
+
+        var fetched = new FetchedRates(getRatesFromEcb(), Instant.now());
+        latestRates.set(fetched);
+        logger.info("Refreshed ECB rates for {} with {} currencies", fetched.rates().date(), fetched.rates().size());
+        return fetched.rates();
+    }
+
+    private EuroRateTable getRatesFromEcb() {
+        var request = HttpRequest.newBuilder(dailyRatesUrl)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/xml")
+                .GET()
+                .build();
+        try {
+            logger.debug("Making HTTP call to ECB for daily rates");
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (var body = response.body()) {
+                if (response.statusCode() != 200) {
+                    var message = "ECB responded with status " + response.statusCode();
+                    if (ExchangeRateIntegrationTransientException.isTransientStatus(response.statusCode())) {
+                        throw new ExchangeRateIntegrationTransientException(message, null);
+                    }
+                    throw new ExchangeRateIntegrationException(message);
+                }
+                var tables = EcbRatesXmlParser.parse(body);
+                if (tables.isEmpty()) {
+                    throw new ExchangeRateIntegrationInvalidResponseException("ECB response did not contain any rates");
+                }
+                return tables.get(0);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to get exchange rates from ECB: {}", e.getMessage(), e);
+            throw new ExchangeRateIntegrationTransientException("Failed to get exchange rates from ECB", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExchangeRateIntegrationException("Interrupted while getting exchange rates from ECB", e);
+        }
+    }
+
+    private record FetchedRates(EuroRateTable rates, Instant fetchedAt) {
+    }
+}
@@ -0,0 +1,103 @@
+package me.owlaukka.rates.ecbintegration;
+
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationInvalidResponseException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the euro foreign exchange reference rate XML published by the ECB.
+ * <p>
+ * The same format is used for the daily file (one day) and the historical files (one {@code Cube} per day, newest
+ * first), so this returns one table per day in the order they appear in the document:
+ * <pre>{@code
+ * <Cube>
+ *   <Cube time="2025-02-20">
+ *     <Cube currency="USD" rate="1.0455"/>
+ *     ...
+ * }</pre>
+ * ECB rates are quoted against EUR, so EUR itself is added to every table with a rate of 1.
+ */
+public final class EcbRatesXmlParser {
+    private static final String CUBE = "Cube";
+    private static final String EURO = "EUR";
+    private static final int EXPECTED_CURRENCIES_PER_DAY = 32;
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private EcbRatesXmlParser() {
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    public static List<EuroRateTable> parse(InputStream xml) {
+        var tables = new ArrayList<EuroRateTable>();
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(xml);
+
+            EuroRateTable.Builder currentTable = null;
+
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT || !CUBE.equals(reader.getLocalName())) {
+                    continue;
+                }
+
+                var time = reader.getAttributeValue(null, "time");
+                if (time != null) {
+                    addTable(tables, currentTable);
+                    currentTable = EuroRateTable.builder(EXPECTED_CURRENCIES_PER_DAY).date(LocalDate.parse(time));
+                    continue;
+                }
+
+                var currency = reader.getAttributeValue(null, "currency");
+                var rate = reader.getAttributeValue(null, "rate");
+                if (currency != null && rate != null) {
+                    if (currentTable == null) {
+                        throw new ExchangeRateIntegrationInvalidResponseException("ECB rate is not inside a dated Cube");
+                    }
+                    currentTable.add(currency, new BigDecimal(rate));
+                }
+            }
+            addTable(tables, currentTable);
+
+            return tables;
+        } catch (XMLStreamException | DateTimeParseException | NumberFormatException e) {
+            throw new ExchangeRateIntegrationInvalidResponseException("Failed to parse rates from ECB", e);
+        } finally {
+            closeQuietly(reader);
+        }
+    }
+
+    private static void addTable(List<EuroRateTable> tables, EuroRateTable.Builder table) {
+        if (table == null) {
+            return;
+        }
+        tables.add(table.add(EURO, BigDecimal.ONE).build());
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader == null) {
+            return;
+        }
+        try {
+            reader.close();
+        } catch (XMLStreamException ignored) {
+            // Nothing useful to do, the stream itself is closed by the caller
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package me.owlaukka.rates.exceptions;
 
+/**
+ * The exchange rate provider answered, but does not have what was asked for, e.g. an unknown currency. Caused by
+ * the input of the user, so like {@link me.owlaukka.currencyconversion.CustomValidationException} it has no stack
+ * trace.
+ */
 public class ExchangeRateIntegrationBadRequestException extends RuntimeException {
     public ExchangeRateIntegrationBadRequestException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
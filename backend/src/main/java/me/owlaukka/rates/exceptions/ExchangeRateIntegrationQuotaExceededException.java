@@ -0,0 +1,11 @@
+package me.owlaukka.rates.exceptions;
+
+/**
+ * A call to a provider was refused before it was made, because the budget of calls to it has been used up.
+ * Retrying it right away would be refused too, and it says nothing about the health of the provider.
+ */
+public class ExchangeRateIntegrationQuotaExceededException extends ExchangeRateIntegrationException {
+    public ExchangeRateIntegrationQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package me.owlaukka.rates.exceptions;
+
+/**
+ * A call to a provider failed in a way that may well succeed when tried again, e.g. the connection failed or the
+ * provider was overloaded. The only failure that is retried.
+ */
+public class ExchangeRateIntegrationTransientException extends ExchangeRateIntegrationException {
+    public ExchangeRateIntegrationTransientException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * @return True if an HTTP response with the status is worth retrying: timeouts, rate limits and server errors
+     */
+    public static boolean isTransientStatus(int statusCode) {
+        return statusCode == 408 || statusCode == 425 || statusCode == 429 || statusCode >= 500;
+    }
+}
@@ -0,0 +1,71 @@
+package me.owlaukka.rates.history;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import me.owlaukka.rates.ecbintegration.EcbRatesXmlParser;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Imports old rates into the {@link RateHistoryStore} from {@code rates.history.backfill.file}, e.g. the full
+ * history published by the ECB as {@code eurofxref-hist.xml}.
+ * <p>
+ * The import runs in the background on startup so it does not delay serving requests. Days that are already in
+ * the history keep their recorded rates, so the same file can be imported again on every start.
+ */
+@ApplicationScoped
+public class RateHistoryBackfill {
+    private static final Logger logger = LoggerFactory.getLogger(RateHistoryBackfill.class);
+
+    private final RateHistoryStore historyStore;
+    private final Optional<Path> backfillFile;
+
+    RateHistoryBackfill(
+            RateHistoryStore historyStore,
+            @ConfigProperty(name = "rates.history.backfill.file") Optional<String> backfillFile
+    ) {
+        this.historyStore = historyStore;
+        this.backfillFile = backfillFile.filter(file -> !file.isBlank()).map(Path::of);
+    }
+
+    void startBackfill(@Observes StartupEvent startupEvent) {
+        if (backfillFile.isEmpty()) {
+            return;
+        }
+        var thread = new Thread(() -> importFile(backfillFile.get()), "rate-history-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return The number of days imported
+     */
+    public int importFile(Path file) {
+        if (!Files.exists(file)) {
+            logger.warn("Rate history backfill file {} does not exist", file);
+            return 0;
+        }
+        logger.info("Importing rate history from {}", file);
+        try (var input = new BufferedInputStream(Files.newInputStream(file))) {
+            var tables = EcbRatesXmlParser.parse(input);
+            var rates = 0;
+            for (var table : tables) {
+                rates += historyStore.record(table);
+            }
+            logger.info("Imported {} new rates for {} days from {}", rates, tables.size(), file);
+            return tables.size();
+        } catch (IOException | ExchangeRateIntegrationException e) {
+            logger.warn("Failed to import rate history from {}: {}", file, e.getMessage());
+            return 0;
+        }
+    }
+}
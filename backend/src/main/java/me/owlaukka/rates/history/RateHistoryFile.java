@@ -0,0 +1,284 @@
+package me.owlaukka.rates.history;
+
+import me.owlaukka.rates.CurrencyCodes;
+import me.owlaukka.rates.EuroRateTable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Append-only, memory-mapped time series of daily EUR rates.
+ * <p>
+ * The file has one fixed size row per day, starting from the first day given when the file was created, and
+ * one column per currency. Finding the rate of a currency on a day is two array lookups and one read from the
+ * mapped file:
+ * <pre>
+ *    0  int   magic "RHST"
+ *    4  int   format version
+ *    8  int   first day, epoch day
+ *   12  int   number of days
+ *   16  int   number of columns in use
+ *   64  int[255] packed currency code of every column
+ * 4096  rows, 2048 bytes each: long "day has rates" marker followed by 255 long rates
+ * </pre>
+ * Every rate is a single long with the unscaled value in the upper 56 bits and the scale in the lowest 8 bits,
+ * zero meaning no rate. Columns are added as new currencies appear and rows are filled in as days are recorded.
+ * Nothing already written is ever changed, so readers never need a lock. Values are written with release and read
+ * with acquire semantics so a reader that sees a row's marker also sees its rates.
+ * <p>
+ * The file is sparse: days that are never recorded take no disk space or memory.
+ */
+final class RateHistoryFile implements Closeable {
+    static final int MAGIC = 0x52485354;
+    static final int FORMAT_VERSION = 1;
+    static final int MAX_COLUMNS = 255;
+
+    private static final int FIRST_DAY_OFFSET = 8;
+    private static final int DAYS_OFFSET = 12;
+    private static final int COLUMNS_OFFSET = 16;
+    private static final int DICTIONARY_OFFSET = 64;
+    private static final int DATA_OFFSET = 4096;
+    private static final int ROW_BYTES = (MAX_COLUMNS + 1) * Long.BYTES;
+    private static final long HAS_RATES = 1;
+    // Offsets into a mapped buffer are ints
+    static final int MAX_DAYS = (Integer.MAX_VALUE - DATA_OFFSET) / ROW_BYTES;
+
+    private static final int SCALE_BITS = 8;
+    private static final long MAX_UNSCALED = (1L << (Long.SIZE - SCALE_BITS - 1)) - 1;
+    private static final MathContext MAX_UNSCALED_PRECISION = new MathContext(16);
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final long firstDay;
+    private final int days;
+    // Column + 1 of every packed currency code, 0 when the currency has no column. Written in record() and read
+    // without a lock, so published with release/acquire like the rows
+    private final AtomicIntegerArray columnsByCode = new AtomicIntegerArray(CurrencyCodes.CAPACITY);
+
+    private RateHistoryFile(FileChannel channel, ByteBuffer buffer, long firstDay, int days) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.firstDay = firstDay;
+        this.days = days;
+    }
+
+    /**
+     * Opens the file, creating it for {@code days} days from {@code firstDay} if it does not exist. An existing
+     * file keeps the range it was created with.
+     */
+    static RateHistoryFile open(Path file, LocalDate firstDay, int days) throws IOException {
+        if (days <= 0 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Rate history must have between 1 and " + MAX_DAYS + " days: " + days);
+        }
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            var isNew = channel.size() == 0;
+            var size = isNew ? DATA_OFFSET + (long) days * ROW_BYTES : channel.size();
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            if (isNew) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, FORMAT_VERSION);
+                buffer.putInt(FIRST_DAY_OFFSET, Math.toIntExact(firstDay.toEpochDay()));
+                buffer.putInt(DAYS_OFFSET, days);
+                buffer.putInt(COLUMNS_OFFSET, 0);
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Not a rate history file of version " + FORMAT_VERSION + ": " + file);
+            } else if (buffer.getInt(DAYS_OFFSET) <= 0 || buffer.getInt(DAYS_OFFSET) > MAX_DAYS
+                    || size != DATA_OFFSET + (long) buffer.getInt(DAYS_OFFSET) * ROW_BYTES) {
+                throw new IOException("Rate history file is corrupted: " + file);
+            }
+
+            var history = new RateHistoryFile(channel, buffer, buffer.getInt(FIRST_DAY_OFFSET), buffer.getInt(DAYS_OFFSET));
+            history.loadColumns();
+            return history;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void loadColumns() throws IOException {
+        var columns = buffer.getInt(COLUMNS_OFFSET);
+        if (columns < 0 || columns > MAX_COLUMNS) {
+            throw new IOException("Rate history file has an invalid number of columns: " + columns);
+        }
+        for (int column = 0; column < columns; column++) {
+            var packedCode = buffer.getInt(DICTIONARY_OFFSET + column * Integer.BYTES);
+            if (packedCode < 0 || packedCode >= CurrencyCodes.CAPACITY) {
+                throw new IOException("Rate history file has an invalid currency code: " + packedCode);
+            }
+            columnsByCode.set(packedCode, column + 1);
+        }
+    }
+
+    LocalDate firstDate() {
+        return LocalDate.ofEpochDay(firstDay);
+    }
+
+    LocalDate lastDate() {
+        return LocalDate.ofEpochDay(firstDay + days - 1);
+    }
+
+    boolean hasRates(LocalDate date) {
+        var row = rowOffset(date);
+        return row >= 0 && (long) LONGS.getAcquire(buffer, row) == HAS_RATES;
+    }
+
+    /**
+     * @return The rate from EUR to the currency on the given day, or null if there is none
+     */
+    BigDecimal rate(LocalDate date, int packedCode) {
+        var row = rowOffset(date);
+        var column = columnOf(packedCode);
+        if (row < 0 || column == 0) {
+            return null;
+        }
+        var value = (long) LONGS.getAcquire(buffer, row + column * Long.BYTES);
+        return value == 0 ? null : BigDecimal.valueOf(value >> SCALE_BITS, (byte) value);
+    }
+
+    /**
+     * Calls the consumer with the rates of both currencies for every day from {@code fromDay} to {@code toDay}
+     * (epoch days, inclusive) that has rates for both, in order. Days outside the range of the file are skipped.
+     * The rows are read one after another straight from the mapped file, without allocating anything per day.
+     */
+    void scan(long fromDay, long toDay, int sourcePackedCode, int targetPackedCode,
+              RateHistoryStore.RatePairConsumer consumer) {
+        var sourceColumn = columnOf(sourcePackedCode);
+        var targetColumn = columnOf(targetPackedCode);
+        if (sourceColumn == 0 || targetColumn == 0) {
+            return;
+        }
+        var sourceOffset = sourceColumn * Long.BYTES;
+        var targetOffset = targetColumn * Long.BYTES;
+
+        var lastDay = Math.min(toDay, firstDay + days - 1);
+        for (var day = Math.max(fromDay, firstDay); day <= lastDay; day++) {
+            var row = DATA_OFFSET + (int) (day - firstDay) * ROW_BYTES;
+            var source = (long) LONGS.getAcquire(buffer, row + sourceOffset);
+            var target = (long) LONGS.getAcquire(buffer, row + targetOffset);
+            if (source != 0 && target != 0) {
+                consumer.accept(day, source >> SCALE_BITS, (byte) source, target >> SCALE_BITS, (byte) target);
+            }
+        }
+    }
+
+    boolean hasCurrency(int packedCode) {
+        return columnOf(packedCode) != 0;
+    }
+
+    /**
+     * Records the rates of one day. Rates already recorded for the day are kept as they are.
+     *
+     * @return The number of rates written, or -1 if the day is outside the range of the file
+     */
+    synchronized int record(EuroRateTable rates) {
+        var row = rowOffset(rates.date());
+        if (row < 0) {
+            return -1;
+        }
+
+        var written = 0;
+        for (int i = 0; i < rates.size(); i++) {
+            var column = columnFor(rates.packedCodeAt(i));
+            if (column == 0) {
+                continue;
+            }
+            var offset = row + column * Long.BYTES;
+            if ((long) LONGS.getAcquire(buffer, offset) == 0) {
+                LONGS.setRelease(buffer, offset, pack(rates.rateAt(i)));
+                written++;
+            }
+        }
+        LONGS.setRelease(buffer, row, HAS_RATES);
+        return written;
+    }
+
+    /**
+     * @return The currency codes of all columns, in the order they were added
+     */
+    String[] currencyCodes() {
+        var columns = (int) INTS.getAcquire(buffer, COLUMNS_OFFSET);
+        var codes = new String[columns];
+        for (int column = 0; column < columns; column++) {
+            codes[column] = CurrencyCodes.unpack(buffer.getInt(DICTIONARY_OFFSET + column * Integer.BYTES));
+        }
+        return codes;
+    }
+
+    void force() {
+        ((MappedByteBuffer) buffer).force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int rowOffset(LocalDate date) {
+        var day = date.toEpochDay() - firstDay;
+        return day < 0 || day >= days ? -1 : DATA_OFFSET + (int) day * ROW_BYTES;
+    }
+
+    private int columnOf(int packedCode) {
+        return packedCode < 0 || packedCode >= CurrencyCodes.CAPACITY ? 0 : columnsByCode.getAcquire(packedCode);
+    }
+
+    private int columnFor(int packedCode) {
+        var column = columnsByCode.getAcquire(packedCode);
+        if (column != 0) {
+            return column;
+        }
+        var columns = buffer.getInt(COLUMNS_OFFSET);
+        if (columns == MAX_COLUMNS) {
+            return 0;
+        }
+        buffer.putInt(DICTIONARY_OFFSET + columns * Integer.BYTES, packedCode);
+        INTS.setRelease(buffer, COLUMNS_OFFSET, columns + 1);
+        columnsByCode.setRelease(packedCode, columns + 1);
+        return columns + 1;
+    }
+
+    private static long pack(BigDecimal rate) {
+        var value = rate;
+        if (!fits(value)) {
+            value = value.stripTrailingZeros();
+        }
+        if (!fits(value)) {
+            value = value.round(MAX_UNSCALED_PRECISION);
+        }
+        if (!fits(value)) {
+            throw new IllegalArgumentException("Rate can not be stored in rate history: " + rate);
+        }
+        return value.unscaledValue().longValueExact() << SCALE_BITS | (value.scale() & 0xFF);
+    }
+
+    private static boolean fits(BigDecimal value) {
+        return value.unscaledValue().bitLength() < Long.SIZE
+                && value.unscaledValue().longValue() <= MAX_UNSCALED
+                && value.scale() >= Byte.MIN_VALUE && value.scale() <= Byte.MAX_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return "RateHistoryFile[" + firstDate() + ".." + lastDate() + ", currencies=" + Arrays.toString(currencyCodes()) + "]";
+    }
+}
@@ -0,0 +1,137 @@
+package me.owlaukka.rates.history;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.rates.CurrencyCodes;
+import me.owlaukka.rates.EuroRateTable;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Daily EUR rates of past days, kept in a memory-mapped {@link RateHistoryFile}.
+ * <p>
+ * Rates are recorded by {@link me.owlaukka.rates.snapshot.RateSnapshotRefresher} every time it fetches new rates and
+ * by {@link RateHistoryBackfill} from a bulk file of old rates. Lookups read the mapped file directly and never
+ * call Redis or upstream.
+ * <p>
+ * The file is {@code rates.history.file}. If that is not set, the history lives in a temporary file and is lost
+ * when the application stops.
+ */
+@ApplicationScoped
+public class RateHistoryStore {
+    private static final Logger logger = LoggerFactory.getLogger(RateHistoryStore.class);
+
+    /**
+     * Rates are not published on weekends and holidays, so a day without rates uses the rates of the latest day
+     * before it, looking back at most this many days.
+     */
+    static final int MAX_DAYS_WITHOUT_RATES = 7;
+
+    /**
+     * Receives the rates of two currencies on one day, as unscaled values and scales so no objects are needed.
+     */
+    @FunctionalInterface
+    public interface RatePairConsumer {
+        void accept(long epochDay, long sourceUnscaledRate, int sourceScale, long targetUnscaledRate, int targetScale);
+    }
+
+    private final RateHistoryFile historyFile;
+
+    public RateHistoryStore(
+            @ConfigProperty(name = "rates.history.file") Optional<String> file,
+            @ConfigProperty(name = "rates.history.first-date", defaultValue = "1999-01-04") LocalDate firstDate,
+            @ConfigProperty(name = "rates.history.capacity-days", defaultValue = "16384") int capacityDays
+    ) {
+        try {
+            var path = file.filter(f -> !f.isBlank()).map(Path::of).orElse(null);
+            if (path == null) {
+                path = Files.createTempFile("rate-history", ".bin");
+                path.toFile().deleteOnExit();
+            } else if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            this.historyFile = RateHistoryFile.open(path, firstDate, capacityDays);
+            logger.info("Opened rate history {} from {}", historyFile, path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open rate history file", e);
+        }
+    }
+
+    /**
+     * Records the rates of the day of the table. Rates that are already recorded for that day are not changed.
+     *
+     * @return The number of rates that were not recorded before
+     */
+    public int record(EuroRateTable rates) {
+        var written = historyFile.record(rates);
+        if (written < 0) {
+            logger.warn("Rates for {} are outside the rate history range {}..{}, not recording them",
+                    rates.date(), historyFile.firstDate(), historyFile.lastDate());
+            return 0;
+        }
+        logger.debug("Recorded {} new rates for {} to rate history", written, rates.date());
+        return written;
+    }
+
+    public boolean hasRates(LocalDate date) {
+        return historyFile.hasRates(date);
+    }
+
+    /**
+     * @return The latest day on or before the given date that has rates, or empty if there are none within
+     * {@value #MAX_DAYS_WITHOUT_RATES} days
+     */
+    public Optional<LocalDate> dateOfRatesOn(LocalDate date) {
+        for (int daysBack = 0; daysBack <= MAX_DAYS_WITHOUT_RATES; daysBack++) {
+            var candidate = date.minusDays(daysBack);
+            if (historyFile.hasRates(candidate)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return The rate from EUR to the currency on exactly the given day, or null if there is none
+     */
+    public BigDecimal rate(LocalDate date, String currencyCode) {
+        var packedCode = CurrencyCodes.pack(currencyCode);
+        return packedCode == CurrencyCodes.INVALID ? null : historyFile.rate(date, packedCode);
+    }
+
+    /**
+     * @return Whether the currency has a rate on any day of the history
+     */
+    public boolean hasCurrency(String currencyCode) {
+        return historyFile.hasCurrency(CurrencyCodes.pack(currencyCode));
+    }
+
+    /**
+     * Calls the consumer for every day from {@code from} to {@code to} (inclusive) that has rates for both
+     * currencies, oldest first. Reads the days one after another from the mapped file as the consumer is called,
+     * so a long range does not need to be loaded first.
+     */
+    public void scan(String sourceCurrency, String targetCurrency, LocalDate from, LocalDate to,
+                     RatePairConsumer consumer) {
+        historyFile.scan(from.toEpochDay(), to.toEpochDay(),
+                CurrencyCodes.pack(sourceCurrency), CurrencyCodes.pack(targetCurrency), consumer);
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            historyFile.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close rate history file: {}", e.getMessage());
+        }
+    }
+}
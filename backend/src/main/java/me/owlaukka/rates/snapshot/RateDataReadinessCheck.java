@@ -0,0 +1,111 @@
+package me.owlaukka.rates.snapshot;
+
+import io.smallrye.faulttolerance.api.CircuitBreakerMaintenance;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Considers the instance ready only once it has a fresh {@link RateSnapshot} with the list of supported currencies
+ * and the rates, so a new instance gets no traffic while every conversion would still have to wait for Swop.
+ * <p>
+ * An instance whose snapshot has gone stale (older than {@code rates.snapshot.max-age}, e.g. because Swop has been
+ * down) is reported as degraded and taken out of load balancing until a refresh succeeds. This is only a readiness
+ * check, so the instance is not restarted, and it keeps refreshing the snapshot in the meantime.
+ * <p>
+ * Reports the age of the data and the state of the circuit breakers of the providers. Turned off with
+ * {@code rates.readiness.enabled}.
+ */
+@Readiness
+@ApplicationScoped
+public class RateDataReadinessCheck implements HealthCheck {
+    static final String NAME = "rate-data";
+
+    /**
+     * Circuit breakers of the providers, named with {@code @CircuitBreakerName}
+     */
+    static final List<String> CIRCUIT_BREAKERS = List.of(
+            "swop-pair-rates",
+            "swop-currencies",
+            "swop-all-currencies",
+            "swop-rates",
+            "swop-rate-table",
+            "ecb-pair-rates",
+            "ecb-currencies",
+            "ecb-all-currencies",
+            "ecb-rates",
+            "ecb-rate-table"
+    );
+
+    private final boolean enabled;
+    private final RateSnapshotHolder snapshotHolder;
+    private final CircuitBreakerMaintenance circuitBreakerMaintenance;
+    private final Supplier<Instant> clock;
+
+    @Inject
+    RateDataReadinessCheck(
+            @ConfigProperty(name = "rates.readiness.enabled", defaultValue = "true") boolean enabled,
+            RateSnapshotHolder snapshotHolder,
+            CircuitBreakerMaintenance circuitBreakerMaintenance
+    ) {
+        this(enabled, snapshotHolder, circuitBreakerMaintenance, Instant::now);
+    }
+
+    RateDataReadinessCheck(
+            boolean enabled,
+            RateSnapshotHolder snapshotHolder,
+            CircuitBreakerMaintenance circuitBreakerMaintenance,
+            Supplier<Instant> clock
+    ) {
+        this.enabled = enabled;
+        this.snapshotHolder = snapshotHolder;
+        this.circuitBreakerMaintenance = circuitBreakerMaintenance;
+        this.clock = clock;
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        var response = HealthCheckResponse.named(NAME).withData("enabled", enabled);
+        addCircuitStates(response);
+        if (!enabled) {
+            return response.up().build();
+        }
+
+        var latest = snapshotHolder.latest();
+        if (latest == null || latest.currencies().isEmpty() || latest.rates().size() == 0) {
+            return response.down().withData("reason", "Rate data is not loaded yet").build();
+        }
+
+        response.withData("version", latest.version())
+                .withData("fetchedAt", latest.fetchedAt().toString())
+                .withData("ageSeconds", Duration.between(latest.fetchedAt(), clock.get()).toSeconds())
+                .withData("currencies", latest.currencies().size())
+                .withData("rates", latest.rates().size());
+        if (snapshotHolder.fresh() == null) {
+            return response.down()
+                    .withData("degraded", true)
+                    .withData("reason", "Rate data is stale")
+                    .build();
+        }
+        return response.up().withData("degraded", false).build();
+    }
+
+    private void addCircuitStates(HealthCheckResponseBuilder response) {
+        for (var name : CIRCUIT_BREAKERS) {
+            try {
+                response.withData("circuit." + name, circuitBreakerMaintenance.currentState(name).name());
+            } catch (IllegalArgumentException e) {
+                // Not created yet, the provider is not enabled, or fault tolerance is disabled
+            }
+        }
+    }
+}
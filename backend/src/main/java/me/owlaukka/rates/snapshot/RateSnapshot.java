@@ -0,0 +1,42 @@
+package me.owlaukka.rates.snapshot;
+
+import me.owlaukka.rates.EuroRateTable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The latest full table of rates and list of supported currencies, as fetched together by
+ * {@link RateSnapshotRefresher}.
+ *
+ * @param version    Increases every time the snapshot is replaced, 0 for a snapshot that is not yet in use
+ * @param provider   Name of the provider the snapshot was fetched from, or null if not known (e.g. an old file)
+ * @param rates      Rates from EUR to every currency
+ * @param currencies All supported currency codes
+ * @param fetchedAt  When the snapshot was fetched from upstream
+ */
+public record RateSnapshot(
+        long version,
+        String provider,
+        EuroRateTable rates,
+        List<String> currencies,
+        Instant fetchedAt
+) {
+
+    public boolean isFresh(Instant now, Duration maxAge) {
+        return !now.isAfter(fetchedAt.plus(maxAge));
+    }
+
+    /**
+     * @return True if the snapshot was fetched from the given provider, so its list of currencies can be trusted
+     * as that provider's
+     */
+    public boolean isFrom(String providerName) {
+        return providerName.equals(provider);
+    }
+
+    RateSnapshot withVersion(long version) {
+        return new RateSnapshot(version, provider, rates, currencies, fetchedAt);
+    }
+}
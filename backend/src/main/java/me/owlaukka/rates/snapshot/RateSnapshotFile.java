@@ -0,0 +1,148 @@
+package me.owlaukka.rates.snapshot;
+
+import me.owlaukka.rates.CurrencyCodes;
+import me.owlaukka.rates.EuroRateTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Reads and writes a {@link RateSnapshot} as a local binary file.
+ * <p>
+ * The layout is fixed-width and aligned so the file can be memory-mapped and read in place:
+ * <pre>
+ *  0  int   magic "RSNP"
+ *  4  int   format version
+ *  8  long  fetched at, epoch millis
+ * 16  int   date of rates, epoch day
+ * 20  int   number of rates
+ * 24  int   number of currencies
+ * 28  int   length of the provider name in bytes, 0 if not known
+ * 32  rates, 16 bytes each: int packed currency code, int scale, long unscaled rate
+ *     currencies, 4 bytes each: int packed currency code
+ *     provider name, UTF-8
+ * </pre>
+ * Version 1 files had no provider name (the length was a reserved 0) and are still read, as snapshots of an
+ * unknown provider.
+ * Files are written to a temporary file first and then moved over the old one, so a reader never sees a
+ * half-written snapshot.
+ */
+public final class RateSnapshotFile {
+    static final int MAGIC = 0x52534E50;
+    static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_BYTES = 32;
+    private static final int RATE_BYTES = 16;
+    private static final int CURRENCY_BYTES = 4;
+
+    private RateSnapshotFile() {
+    }
+
+    public static void write(Path file, RateSnapshot snapshot) throws IOException {
+        var rates = snapshot.rates();
+        var currencies = snapshot.currencies().stream()
+                .mapToInt(CurrencyCodes::pack)
+                .filter(packedCode -> packedCode != CurrencyCodes.INVALID)
+                .toArray();
+        var provider = snapshot.provider() == null
+                ? new byte[0]
+                : snapshot.provider().getBytes(StandardCharsets.UTF_8);
+
+        var buffer = ByteBuffer.allocate(HEADER_BYTES + rates.size() * RATE_BYTES + currencies.length * CURRENCY_BYTES
+                        + provider.length)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putLong(snapshot.fetchedAt().toEpochMilli())
+                .putInt(Math.toIntExact(rates.date().toEpochDay()))
+                .putInt(rates.size())
+                .putInt(currencies.length)
+                .putInt(provider.length);
+        for (int i = 0; i < rates.size(); i++) {
+            buffer.putInt(rates.packedCodeAt(i))
+                    .putInt(rates.scaleAt(i))
+                    .putLong(rates.unscaledRateAt(i));
+        }
+        for (int packedCode : currencies) {
+            buffer.putInt(packedCode);
+        }
+        buffer.put(provider);
+
+        var directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        var temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporaryFile, buffer.array());
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * @return The snapshot in the file, with version 0
+     * @throws IOException If the file can not be read or is not a snapshot file of a supported version
+     */
+    public static RateSnapshot read(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("Rate snapshot file is too short: " + file);
+            }
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a rate snapshot file: " + file);
+            }
+            var version = buffer.getInt(4);
+            if (version != 1 && version != FORMAT_VERSION) {
+                throw new IOException("Unsupported rate snapshot file version " + version + ": " + file);
+            }
+            var fetchedAt = Instant.ofEpochMilli(buffer.getLong(8));
+            var date = LocalDate.ofEpochDay(buffer.getInt(16));
+            var rateCount = buffer.getInt(20);
+            var currencyCount = buffer.getInt(24);
+            var providerLength = buffer.getInt(28);
+            if (rateCount < 0 || currencyCount < 0 || providerLength < 0 || size != HEADER_BYTES
+                    + (long) rateCount * RATE_BYTES + (long) currencyCount * CURRENCY_BYTES + providerLength) {
+                throw new IOException("Rate snapshot file is corrupted: " + file);
+            }
+
+            var rates = EuroRateTable.builder(rateCount).date(date);
+            for (int i = 0; i < rateCount; i++) {
+                var offset = HEADER_BYTES + i * RATE_BYTES;
+                rates.add(validCode(buffer.getInt(offset), file), buffer.getLong(offset + 8), buffer.getInt(offset + 4));
+            }
+            var currenciesOffset = HEADER_BYTES + rateCount * RATE_BYTES;
+            var currencies = new ArrayList<String>(currencyCount);
+            for (int i = 0; i < currencyCount; i++) {
+                currencies.add(CurrencyCodes.unpack(validCode(buffer.getInt(currenciesOffset + i * CURRENCY_BYTES), file)));
+            }
+            String provider = null;
+            if (providerLength > 0) {
+                var providerBytes = new byte[providerLength];
+                buffer.get(currenciesOffset + currencyCount * CURRENCY_BYTES, providerBytes);
+                provider = new String(providerBytes, StandardCharsets.UTF_8);
+            }
+
+            return new RateSnapshot(0, provider, rates.build(), currencies, fetchedAt);
+        } catch (RuntimeException e) {
+            throw new IOException("Rate snapshot file is corrupted: " + file, e);
+        }
+    }
+
+    private static int validCode(int packedCode, Path file) throws IOException {
+        if (packedCode < 0 || packedCode >= CurrencyCodes.CAPACITY) {
+            throw new IOException("Rate snapshot file has an invalid currency code: " + file);
+        }
+        return packedCode;
+    }
+}
@@ -0,0 +1,63 @@
+package me.owlaukka.rates.snapshot;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the latest {@link RateSnapshot} in memory for serving requests without calling Redis or upstream.
+ * <p>
+ * A snapshot is only handed out while it is younger than {@code rates.snapshot.max-age}, so an instance whose
+ * refreshes keep failing falls back to the normal path instead of serving old rates forever.
+ */
+@ApplicationScoped
+public class RateSnapshotHolder {
+    private final AtomicReference<RateSnapshot> snapshot = new AtomicReference<>();
+    private final Duration maxAge;
+    private final Supplier<Instant> clock;
+
+    @Inject
+    RateSnapshotHolder(@ConfigProperty(name = "rates.snapshot.max-age", defaultValue = "1h") Duration maxAge) {
+        this(maxAge, Instant::now);
+    }
+
+    public RateSnapshotHolder(Duration maxAge, Supplier<Instant> clock) {
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * @return The latest snapshot if it is still fresh, otherwise null
+     */
+    public RateSnapshot fresh() {
+        var current = snapshot.get();
+        return current != null && current.isFresh(clock.get(), maxAge) ? current : null;
+    }
+
+    /**
+     * @return The latest snapshot however old it is, or null if there has not been one
+     */
+    public RateSnapshot latest() {
+        return snapshot.get();
+    }
+
+    /**
+     * Replaces the current snapshot with a newer one. Snapshots fetched before the current one are ignored, so
+     * a snapshot loaded from disk never replaces one just fetched from upstream.
+     *
+     * @return The snapshot now in use
+     */
+    public RateSnapshot update(RateSnapshot newSnapshot) {
+        return snapshot.updateAndGet(current -> {
+            if (current != null && newSnapshot.fetchedAt().isBefore(current.fetchedAt())) {
+                return current;
+            }
+            return newSnapshot.withVersion(current == null ? 1 : current.version() + 1);
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package me.owlaukka.rates.snapshot;
+
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import me.owlaukka.rates.ExchangeRateService;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import me.owlaukka.rates.history.RateHistoryStore;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps the {@link RateSnapshotHolder} up to date and persists every snapshot to {@code rates.snapshot.file}.
+ * <p>
+ * On startup the persisted snapshot is loaded before the HTTP server starts accepting requests, so a new instance
+ * (e.g. during a deploy or when scaling out) can answer its first conversions from warm data instead of all of
+ * them going to Redis and upstream at once. After that the snapshot is refreshed every
+ * {@code rates.snapshot.refresh-interval}. A failed refresh keeps the previous snapshot.
+ * <p>
+ * Every refreshed rate table is also recorded to the {@link RateHistoryStore}, so the history grows by itself, and
+ * fired as a CDI event of {@link RateSnapshot} for anyone pushing rates to clients.
+ */
+@ApplicationScoped
+public class RateSnapshotRefresher {
+    private static final Logger logger = LoggerFactory.getLogger(RateSnapshotRefresher.class);
+
+    private final ExchangeRateService exchangeRateService;
+    private final RateSnapshotHolder snapshotHolder;
+    private final RateHistoryStore historyStore;
+    private final Event<RateSnapshot> snapshotUpdated;
+    private final Optional<Path> snapshotFile;
+
+    RateSnapshotRefresher(
+            ExchangeRateService exchangeRateService,
+            RateSnapshotHolder snapshotHolder,
+            RateHistoryStore historyStore,
+            Event<RateSnapshot> snapshotUpdated,
+            @ConfigProperty(name = "rates.snapshot.file") Optional<String> snapshotFile
+    ) {
+        this.exchangeRateService = exchangeRateService;
+        this.snapshotHolder = snapshotHolder;
+        this.historyStore = historyStore;
+        this.snapshotUpdated = snapshotUpdated;
+        this.snapshotFile = snapshotFile.filter(file -> !file.isBlank()).map(Path::of);
+    }
+
+    void loadPersistedSnapshot(@Observes StartupEvent startupEvent) {
+        if (snapshotFile.isEmpty() || !Files.exists(snapshotFile.get())) {
+            logger.info("No persisted rate snapshot to load");
+            return;
+        }
+        try {
+            var snapshot = snapshotHolder.update(RateSnapshotFile.read(snapshotFile.get()));
+            logger.info("Loaded rate snapshot of {} rates for {} fetched at {} from {}",
+                    snapshot.rates().size(), snapshot.rates().date(), snapshot.fetchedAt(), snapshotFile.get());
+        } catch (IOException e) {
+            logger.warn("Failed to load persisted rate snapshot, starting without it: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(
+            identity = "rate-snapshot-refresh",
+            every = "${rates.snapshot.refresh-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void refresh() {
+        RateSnapshot snapshot;
+        try {
+            var fetchedAt = Instant.now();
+            var rates = exchangeRateService.getLatestRateTable();
+            var currencies = exchangeRateService.getAllSupportedCurrencies();
+            var provider = exchangeRateService.authoritativeProvider();
+            snapshot = snapshotHolder.update(new RateSnapshot(0, provider, rates, currencies, fetchedAt));
+        } catch (ExchangeRateIntegrationException | FaultToleranceException e) {
+            logger.warn("Failed to refresh rate snapshot, keeping the previous one: {}", e.getMessage());
+            return;
+        }
+        logger.info("Refreshed rate snapshot to version {} with {} rates for {}",
+                snapshot.version(), snapshot.rates().size(), snapshot.rates().date());
+
+        historyStore.record(snapshot.rates());
+        snapshotUpdated.fire(snapshot);
+        persist(snapshot);
+    }
+
+    private void persist(RateSnapshot snapshot) {
+        if (snapshotFile.isEmpty()) {
+            return;
+        }
+        try {
+            RateSnapshotFile.write(snapshotFile.get(), snapshot);
+            logger.debug("Persisted rate snapshot to {}", snapshotFile.get());
+        } catch (IOException e) {
+            logger.warn("Failed to persist rate snapshot to {}: {}", snapshotFile.get(), e.getMessage());
+        }
+    }
+}
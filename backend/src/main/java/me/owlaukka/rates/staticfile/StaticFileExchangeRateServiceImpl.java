@@ -0,0 +1,107 @@
+package me.owlaukka.rates.staticfile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
+import me.owlaukka.rates.ExchangeRateProvider;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Exchange rates read from a local JSON file, meant for tests and working offline.
+ * <p>
+ * The file is given with {@code rates.static.file} and looks like:
+ * <pre>{@code
+ * { "date": "2025-02-20", "rates": { "EUR": 1, "USD": 1.0455, "GBP": 0.8301 } }
+ * }</pre>
+ * It is read once on first use. There is no fault tolerance here since nothing goes over the network.
+ */
+@ApplicationScoped
+public class StaticFileExchangeRateServiceImpl implements ExchangeRateProvider {
+    private static final Logger logger = LoggerFactory.getLogger(StaticFileExchangeRateServiceImpl.class);
+
+    static final String PROVIDER_NAME = "static";
+
+    private final ObjectMapper objectMapper;
+    private final Optional<String> ratesFile;
+    private volatile EuroRateTable rates;
+
+    StaticFileExchangeRateServiceImpl(
+            ObjectMapper objectMapper,
+            @ConfigProperty(name = "rates.static.file") Optional<String> ratesFile
+    ) {
+        this.objectMapper = objectMapper;
+        this.ratesFile = ratesFile;
+    }
+
+    @Override
+    public String name() {
+        return PROVIDER_NAME;
+    }
+
+    @Override
+    public EuroRatesForSourceAndTargetCurrency getEuroRatesForSourceAndTargetCurrency(
+            String sourceCurrency,
+            String targetCurrency
+    ) {
+        return getRates().euroRatesFor(sourceCurrency, targetCurrency, "static rates file");
+    }
+
+    @Override
+    public List<String> getCurrencies(List<String> currencyCodes) {
+        return getRates().supportedOf(currencyCodes);
+    }
+
+    @Override
+    public List<String> getAllSupportedCurrencies() {
+        return getRates().currencyCodes();
+    }
+
+    @Override
+    public EuroRateTable getEuroRates(List<String> currencyCodes) {
+        return getRates().select(currencyCodes);
+    }
+
+    @Override
+    public EuroRateTable getLatestRateTable() {
+        return getRates();
+    }
+
+    private EuroRateTable getRates() {
+        var loaded = rates;
+        if (loaded == null) {
+            loaded = readRatesFile();
+            rates = loaded;
+        }
+        return loaded;
+    }
+
+    private EuroRateTable readRatesFile() {
+        var path = Path.of(ratesFile.orElseThrow(() ->
+                new ExchangeRateIntegrationException("Static rates provider is enabled but rates.static.file is not set")));
+        try (var input = Files.newInputStream(path)) {
+            var contents = objectMapper.readValue(input, StaticRatesFile.class);
+            var table = EuroRateTable.of(contents.date(), contents.rates());
+            logger.info("Loaded {} static rates for {} from {}", table.size(), table.date(), path);
+            return table;
+        } catch (IOException e) {
+            logger.error("Failed to read static rates from {}: {}", path, e.getMessage(), e);
+            throw new ExchangeRateIntegrationException("Failed to read static rates from " + path, e);
+        }
+    }
+
+    private record StaticRatesFile(LocalDate date, Map<String, BigDecimal> rates) {
+    }
+}
@@ -0,0 +1,284 @@
+package me.owlaukka.rates.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes the rates of currency pairs to subscribers every time the rate snapshot changes.
+ * <p>
+ * Subscribers asking for the same set of pairs share a group, and every update is serialized once per group
+ * instead of once per subscriber. Every subscriber has its own buffer of at most {@code rates.stream.buffer-size}
+ * updates while earlier ones are still being written to it. When the buffer of a slow subscriber is full, its
+ * oldest update is dropped since a newer one replaces it anyway, and a subscriber that has had to drop
+ * {@code rates.stream.max-dropped} updates in a row is disconnected.
+ * <p>
+ * Subscribers whose sink has been closed, e.g. by the client disconnecting, are cancelled every
+ * {@code rates.stream.closed-check-interval}, so they don't stay subscribed until the next update fails to be sent.
+ */
+@ApplicationScoped
+public class RateStreamPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(RateStreamPublisher.class);
+
+    /**
+     * Decimals of the rate of a pair, the same as the amount in EUR has when converting.
+     */
+    static final int RATE_SCALE = 10;
+
+    private final RateSnapshotHolder snapshotHolder;
+    private final int bufferSize;
+    private final int maxDropped;
+    private final ConcurrentHashMap<String, PairSet> pairSets = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    RateStreamPublisher(
+            RateSnapshotHolder snapshotHolder,
+            @ConfigProperty(name = "rates.stream.buffer-size", defaultValue = "4") int bufferSize,
+            @ConfigProperty(name = "rates.stream.max-dropped", defaultValue = "8") int maxDropped,
+            MeterRegistry meterRegistry
+    ) {
+        this.snapshotHolder = snapshotHolder;
+        this.bufferSize = bufferSize;
+        this.maxDropped = maxDropped;
+        meterRegistry.gauge("rates.stream.subscribers", subscribers);
+        this.dropped = Counter.builder("rates.stream.dropped")
+                .description("Rate updates dropped because a subscriber was too slow to receive them")
+                .register(meterRegistry);
+        this.disconnected = Counter.builder("rates.stream.slow-consumers.disconnected")
+                .description("Subscribers disconnected for dropping too many updates in a row")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to the rates of the given pairs, e.g. {@code USD-EUR}. The current rates are sent right away if
+     * there are any, and then again every time they change.
+     *
+     * @param pairs Currency pairs as {@code SOURCE-TARGET}
+     * @return The subscription, to be cancelled when the subscriber goes away
+     */
+    public Subscription subscribe(List<String> pairs, RateStreamSink sink) {
+        var subscriber = new Subscriber(sink);
+        var pairSet = pairSets.compute(keyOf(pairs), (key, existing) -> {
+            var group = existing != null ? existing : new PairSet(key);
+            subscriber.pairSet = group;
+            group.subscribers.add(subscriber);
+            return group;
+        });
+        logger.debug("Subscribed to rates of {}, {} subscribers in total", pairSet.key, subscribers.incrementAndGet());
+
+        var snapshot = snapshotHolder.latest();
+        if (snapshot != null) {
+            subscriber.offer(pairSet.update(snapshot));
+        }
+        return subscriber;
+    }
+
+    @Scheduled(
+            identity = "rate-stream-closed-check",
+            every = "${rates.stream.closed-check-interval:30s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void cancelClosed() {
+        for (var pairSet : pairSets.values()) {
+            for (var subscriber : pairSet.subscribers) {
+                if (subscriber.sink.isClosed()) {
+                    logger.debug("Rate stream subscriber of {} has closed", pairSet.key);
+                    subscriber.cancel();
+                }
+            }
+        }
+    }
+
+    void onSnapshotUpdated(@Observes RateSnapshot snapshot) {
+        publish(snapshot);
+    }
+
+    /**
+     * Sends the rates of the snapshot to every subscriber.
+     */
+    public void publish(RateSnapshot snapshot) {
+        for (var pairSet : pairSets.values()) {
+            var update = pairSet.update(snapshot);
+            for (var subscriber : pairSet.subscribers) {
+                subscriber.offer(update);
+            }
+        }
+        logger.debug("Published rates of snapshot version {} to {} pair sets", snapshot.version(), pairSets.size());
+    }
+
+    int subscriberCount() {
+        return subscribers.get();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        pairSets.computeIfPresent(subscriber.pairSet.key, (key, pairSet) -> {
+            pairSet.subscribers.remove(subscriber);
+            return pairSet.subscribers.isEmpty() ? null : pairSet;
+        });
+        logger.debug("Unsubscribed from rates of {}, {} subscribers left", subscriber.pairSet.key, subscribers.decrementAndGet());
+    }
+
+    /**
+     * The pairs in a fixed order, so the same set of pairs always gets the same group.
+     */
+    private static String keyOf(List<String> pairs) {
+        return String.join(",", new TreeSet<>(pairs));
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    private record Update(String id, String data) {
+    }
+
+    private static final class PairSet {
+        private final String key;
+        private final String[] sourceCurrencies;
+        private final String[] targetCurrencies;
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private Update latest;
+        private long latestVersion = -1;
+
+        private PairSet(String key) {
+            this.key = key;
+            var pairs = key.split(",");
+            this.sourceCurrencies = new String[pairs.length];
+            this.targetCurrencies = new String[pairs.length];
+            for (int i = 0; i < pairs.length; i++) {
+                sourceCurrencies[i] = pairs[i].substring(0, 3);
+                targetCurrencies[i] = pairs[i].substring(4, 7);
+            }
+        }
+
+        /**
+         * The update of the snapshot for this set of pairs, serialized only once per snapshot:
+         * <pre>{@code
+         * {"version":7,"date":"2025-02-20","rates":{"USD-EUR":0.9564710069,"GBP-USD":null}}
+         * }</pre>
+         * A pair whose currency is not in the snapshot has a null rate.
+         */
+        private synchronized Update update(RateSnapshot snapshot) {
+            if (snapshot.version() == latestVersion) {
+                return latest;
+            }
+            var rates = snapshot.rates();
+            var json = new StringBuilder(48 + 32 * sourceCurrencies.length)
+                    .append("{\"version\":").append(snapshot.version())
+                    .append(",\"date\":\"").append(rates.date())
+                    .append("\",\"rates\":{");
+            for (int i = 0; i < sourceCurrencies.length; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append('"').append(sourceCurrencies[i]).append('-').append(targetCurrencies[i]).append("\":");
+                var sourceRate = rates.rate(sourceCurrencies[i]);
+                var targetRate = rates.rate(targetCurrencies[i]);
+                if (sourceRate == null || targetRate == null) {
+                    json.append("null");
+                } else {
+                    json.append(targetRate.divide(sourceRate, RATE_SCALE, RoundingMode.HALF_UP).toPlainString());
+                }
+            }
+            json.append("}}");
+
+            latest = new Update(String.valueOf(snapshot.version()), json.toString());
+            latestVersion = snapshot.version();
+            return latest;
+        }
+    }
+
+    private final class Subscriber implements Subscription {
+        private final RateStreamSink sink;
+        private final ArrayDeque<Update> buffer = new ArrayDeque<>(bufferSize);
+        private volatile PairSet pairSet;
+        private boolean sending;
+        private boolean closed;
+        private int droppedInARow;
+
+        private Subscriber(RateStreamSink sink) {
+            this.sink = sink;
+        }
+
+        private void offer(Update update) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    dropped.increment();
+                    if (++droppedInARow >= maxDropped) {
+                        logger.info("Disconnecting slow rate stream subscriber of {} after {} dropped updates",
+                                pairSet.key, droppedInARow);
+                        disconnected.increment();
+                        closeLocked();
+                        return;
+                    }
+                }
+                buffer.addLast(update);
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            sendNext();
+        }
+
+        private void sendNext() {
+            Update next;
+            synchronized (this) {
+                next = closed ? null : buffer.pollFirst();
+                if (next == null) {
+                    sending = false;
+                    return;
+                }
+            }
+            sink.send(next.id(), next.data()).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    logger.debug("Rate stream subscriber of {} is gone: {}", pairSet.key, error.getMessage());
+                    cancel();
+                    return;
+                }
+                synchronized (this) {
+                    droppedInARow = 0;
+                }
+                sendNext();
+            });
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closeLocked();
+            }
+        }
+
+        private void closeLocked() {
+            closed = true;
+            buffer.clear();
+            unsubscribe(this);
+            sink.close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package me.owlaukka.rates.stream;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Where the updates of one subscriber of the {@link RateStreamPublisher} are sent, e.g. a server-sent events
+ * connection.
+ */
+public interface RateStreamSink {
+    /**
+     * Sends one update. The publisher does not send the next update of the subscriber before this completes.
+     *
+     * @param id   Id of the update, the version of the rate snapshot
+     * @param data The update as JSON
+     * @return Completes when the update has been written, exceptionally if the subscriber is gone
+     */
+    CompletionStage<?> send(String id, String data);
+
+    /**
+     * @return True once the subscriber has gone away, e.g. the client disconnected, even if nothing has been sent
+     * since
+     */
+    boolean isClosed();
+
+    void close();
+}
@@ -1,18 +1,18 @@
 package me.owlaukka.rates.swopintegration;
 
-import io.smallrye.graphql.client.typesafe.api.GraphQLClientApi;
 import me.owlaukka.rates.swopintegration.model.Currency;
 import me.owlaukka.rates.swopintegration.model.Rate;
-import org.eclipse.microprofile.graphql.NonNull;
 
 import java.util.List;
 
-@GraphQLClientApi(configKey = "swop-api")
+/**
+ * The queries of the Swop GraphQL API that are used, implemented by {@link SwopGraphQLClient}.
+ */
 public interface SwopApiClientApi {
 
-    List<Rate> latest(List<@NonNull String> quoteCurrencies);
+    List<Rate> latest(List<String> quoteCurrencies);
 
-    List<Currency> currencies(List<@NonNull String> currencyCodes);
+    List<Currency> currencies(List<String> currencyCodes);
 
     List<Currency> currencies();
 }
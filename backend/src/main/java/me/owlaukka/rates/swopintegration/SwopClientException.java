@@ -0,0 +1,17 @@
+package me.owlaukka.rates.swopintegration;
+
+/**
+ * A failed call to Swop, with the {@link SwopFailureKind kind} of the failure.
+ */
+public class SwopClientException extends RuntimeException {
+    private final SwopFailureKind kind;
+
+    SwopClientException(SwopFailureKind kind, String message) {
+        super(message);
+        this.kind = kind;
+    }
+
+    SwopFailureKind kind() {
+        return kind;
+    }
+}
@@ -1,14 +1,21 @@
 package me.owlaukka.rates.swopintegration;
 
+import io.opentelemetry.instrumentation.annotations.WithSpan;
 import io.quarkus.cache.CacheResult;
-import io.smallrye.graphql.client.GraphQLClientException;
+import io.smallrye.faulttolerance.api.CircuitBreakerName;
+import io.smallrye.faulttolerance.api.ExponentialBackoff;
 import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.jfr.UpstreamCall;
+import me.owlaukka.logging.ThrottledLogger;
 import me.owlaukka.rates.EuroExchangeRate;
+import me.owlaukka.rates.EuroRateTable;
 import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
-import me.owlaukka.rates.ExchangeRateService;
+import me.owlaukka.rates.ExchangeRateProvider;
 import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
 import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
 import me.owlaukka.rates.exceptions.ExchangeRateIntegrationInvalidResponseException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationQuotaExceededException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationTransientException;
 import me.owlaukka.rates.swopintegration.model.Currency;
 import me.owlaukka.rates.swopintegration.model.Rate;
 import org.eclipse.microprofile.faulttolerance.Bulkhead;
@@ -18,26 +25,51 @@ import org.eclipse.microprofile.faulttolerance.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.List;
 
+/**
+ * Gets rates and currencies from Swop, with fault tolerance and caches in front of every call.
+ * <p>
+ * Calls refused by the {@link SwopQuota} are thrown as {@link ExchangeRateIntegrationQuotaExceededException}s. They
+ * are not retried, do not count as failures for the circuit breakers and are never cached. Answering them from the
+ * latest rate snapshot is left to {@link me.owlaukka.rates.RoutingExchangeRateServiceImpl}, so stale answers are
+ * not cached for the full time to live of fresh ones.
+ */
 @ApplicationScoped
-public class SwopExchangeRateIntegrationServiceImpl implements ExchangeRateService {
+public class SwopExchangeRateIntegrationServiceImpl implements ExchangeRateProvider {
     private static final Logger logger = LoggerFactory.getLogger(SwopExchangeRateIntegrationServiceImpl.class);
+    private static final ThrottledLogger unknownCurrencyLogger = new ThrottledLogger(logger, Duration.ofSeconds(10));
+
+    static final String PROVIDER_NAME = "swop";
     
     private final SwopApiClientApi swopApiClientApi;
+    private final SwopRateTableClient swopRateTableClient;
+    private final SwopRetryBudget retryBudget;
 
-    SwopExchangeRateIntegrationServiceImpl(SwopApiClientApi swopApiClientApi) {
+    SwopExchangeRateIntegrationServiceImpl(
+            SwopApiClientApi swopApiClientApi,
+            SwopRateTableClient swopRateTableClient,
+            SwopRetryBudget retryBudget
+    ) {
         this.swopApiClientApi = swopApiClientApi;
+        this.swopRateTableClient = swopRateTableClient;
+        this.retryBudget = retryBudget;
         logger.debug("SwopExchangeRateIntegrationServiceImpl initialized with API client");
     }
 
+    @Override
+    public String name() {
+        return PROVIDER_NAME;
+    }
+
     private static Rate findRateFromResponse(String currencyCode, List<Rate> rates) {
         logger.trace("Looking for rate for currency {} in response with {} rates", currencyCode, rates.size());
         return rates.stream()
                 .filter(r -> r.quoteCurrency().equals(currencyCode))
                 .findFirst()
                 .orElseThrow(() -> {
-                    logger.warn("Currency code '{}' not found in Swop API response", currencyCode);
+                    unknownCurrencyLogger.warn("Currency code '{}' not found in Swop API response", currencyCode);
                     return new ExchangeRateIntegrationBadRequestException(
                             "Given currency code '" + currencyCode + "' not found from Swop"
                     );
@@ -50,8 +82,11 @@ public class SwopExchangeRateIntegrationServiceImpl implements ExchangeRateServi
      * <li>Supports maximum 10 concurrent calls to the external API (bulkhead).</li>
      * <li>Will stop allowing requests for 5 seconds when half of 6 requests fail (circuit breaker).</li>
      * <li>Will timeout after 5 seconds.</li>
-     * <li>Will retry once with a 1 second delay if the request fails. This should be tweaked to only
-     * retry on certain exceptions.</li>
+     * <li>Will retry transient failures (see {@link SwopGraphQLClient}) twice, after about 200 ms and 400 ms with
+     * 100 ms of jitter, as long as the shared {@link SwopRetryBudget} allows. Timeouts are not retried, since the
+     * attempt already took the time a user is willing to wait.</li>
+     * <li>Unknown currencies and invalid responses are not retried and do not count as failures for the circuit
+     * breaker, since Swop did answer.</li>
      *
      * @param sourceCurrency The ISO 4217 currency code of the source currency
      * @param targetCurrency The ISO 4217 currency code of the target currency
@@ -59,10 +94,15 @@ public class SwopExchangeRateIntegrationServiceImpl implements ExchangeRateServi
      * @throws ExchangeRateIntegrationException If the request fails to Swop
      */
     @Override
+    @WithSpan
+    @UpstreamCall
     @Bulkhead
-    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = ExchangeRateIntegrationInvalidResponseException.class)
+    @CircuitBreakerName("swop-pair-rates")
+    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = {ExchangeRateIntegrationInvalidResponseException.class,
+            ExchangeRateIntegrationBadRequestException.class, ExchangeRateIntegrationQuotaExceededException.class})
     @Timeout(5000)
-    @Retry(maxRetries = 1, delay = 1000, abortOn = ExchangeRateIntegrationInvalidResponseException.class)
+    @Retry(maxRetries = 2, delay = 200, jitter = 100, retryOn = ExchangeRateIntegrationTransientException.class)
+    @ExponentialBackoff(maxDelay = 1000)
     @CacheResult(cacheName = "rates")
     public EuroRatesForSourceAndTargetCurrency getEuroRatesForSourceAndTargetCurrency(
             String sourceCurrency,
@@ -96,10 +136,15 @@ public class SwopExchangeRateIntegrationServiceImpl implements ExchangeRateServi
     }
 
     @Override
+    @WithSpan
+    @UpstreamCall
     @Bulkhead
-    @CircuitBreaker(requestVolumeThreshold = 6)
+    @CircuitBreakerName("swop-currencies")
+    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = {
+            ExchangeRateIntegrationBadRequestException.class, ExchangeRateIntegrationQuotaExceededException.class})
     @Timeout(5000)
-    @Retry(maxRetries = 1, delay = 1000)
+    @Retry(maxRetries = 2, delay = 200, jitter = 100, retryOn = ExchangeRateIntegrationTransientException.class)
+    @ExponentialBackoff(maxDelay = 1000)
     @CacheResult(cacheName = "currencies")
     public List<String> getCurrencies(List<String> currencyCodes) {
         logger.info("Validating currencies: {}", currencyCodes);
@@ -115,10 +160,14 @@ public class SwopExchangeRateIntegrationServiceImpl implements ExchangeRateServi
     }
 
     @Override
+    @WithSpan
+    @UpstreamCall
     @Bulkhead
-    @CircuitBreaker(requestVolumeThreshold = 6)
+    @CircuitBreakerName("swop-all-currencies")
+    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = ExchangeRateIntegrationQuotaExceededException.class)
     @Timeout(5000)
-    @Retry(maxRetries = 1, delay = 1000)
+    @Retry(maxRetries = 2, delay = 200, jitter = 100, retryOn = ExchangeRateIntegrationTransientException.class)
+    @ExponentialBackoff(maxDelay = 1000)
     @CacheResult(cacheName = "all-currencies")
     public List<String> getAllSupportedCurrencies() {
         logger.info("Retrieving all supported currencies from Swop");
@@ -133,17 +182,106 @@ public class SwopExchangeRateIntegrationServiceImpl implements ExchangeRateServi
         return allCurrencies;
     }
 
+    /**
+     * Retrieves the latest exchange rates from EUR to all of the given currencies in one request.
+     * <p>
+     * Has the same fault tolerance as {@link #getEuroRatesForSourceAndTargetCurrency(String, String)}. Not cached
+     * here, the callers cache the rates per currency.
+     *
+     * @param currencyCodes The ISO 4217 currency codes to get rates for
+     * @return The rates from EUR to given currencies that Swop has
+     * @throws ExchangeRateIntegrationBadRequestException If Swop has none of the given currencies
+     * @throws ExchangeRateIntegrationException           If the request fails to Swop
+     */
+    @Override
+    @WithSpan
+    @UpstreamCall
+    @Bulkhead
+    @CircuitBreakerName("swop-rates")
+    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = {ExchangeRateIntegrationInvalidResponseException.class,
+            ExchangeRateIntegrationBadRequestException.class, ExchangeRateIntegrationQuotaExceededException.class})
+    @Timeout(5000)
+    @Retry(maxRetries = 2, delay = 200, jitter = 100, retryOn = ExchangeRateIntegrationTransientException.class)
+    @ExponentialBackoff(maxDelay = 1000)
+    public EuroRateTable getEuroRates(List<String> currencyCodes) throws ExchangeRateIntegrationException {
+        logger.info("Fetching Euro exchange rates for {}", currencyCodes);
+
+        var rates = getRatesFromSwop(currencyCodes);
+        if (rates.isEmpty()) {
+            throw new ExchangeRateIntegrationBadRequestException("None of given currency codes " + currencyCodes + " found from Swop");
+        }
+
+        var rateTable = EuroRateTable.builder(rates.size()).date(rates.get(0).date());
+        for (var rate : rates) {
+            if (!rate.date().equals(rates.get(0).date())) {
+                logger.error("Date mismatch in rates response: {} and {}", rates.get(0).date(), rate.date());
+                throw new ExchangeRateIntegrationInvalidResponseException("Dates of rates from Swop are different");
+            }
+            rateTable.add(rate.quoteCurrency(), rate.quote());
+        }
+
+        logger.info("Successfully retrieved {} Euro rates with date: {}", rates.size(), rates.get(0).date());
+        return rateTable.build();
+    }
+
+    /**
+     * Retrieves the latest exchange rates from EUR to every currency Swop has, in one request.
+     * <p>
+     * Has the same fault tolerance as {@link #getEuroRatesForSourceAndTargetCurrency(String, String)}.
+     *
+     * @return The full table of rates from EUR
+     * @throws ExchangeRateIntegrationException If the request fails to Swop
+     */
+    @Override
+    @WithSpan
+    @UpstreamCall
+    @Bulkhead
+    @CircuitBreakerName("swop-rate-table")
+    @CircuitBreaker(requestVolumeThreshold = 6, skipOn = {
+            ExchangeRateIntegrationInvalidResponseException.class, ExchangeRateIntegrationQuotaExceededException.class})
+    @Timeout(5000)
+    @Retry(maxRetries = 2, delay = 200, jitter = 100, retryOn = ExchangeRateIntegrationTransientException.class)
+    @ExponentialBackoff(maxDelay = 1000)
+    public EuroRateTable getLatestRateTable() throws ExchangeRateIntegrationException {
+        logger.info("Fetching full Euro exchange rate table from Swop");
+
+        EuroRateTable rateTable;
+        try {
+            rateTable = swopRateTableClient.latestRateTable();
+            retryBudget.recordSuccess();
+        } catch (SwopClientException e) {
+            logger.error("Failed to get rate table from Swop: {}", e.getMessage());
+            throw classify("Failed to get rate table from Swop", e, false);
+        }
+
+        logger.info("Successfully retrieved {} Euro rates with date: {}", rateTable.size(), rateTable.date());
+        return rateTable;
+    }
+
+    private List<Rate> getRatesFromSwop(List<String> currencyCodes) throws ExchangeRateIntegrationException {
+        try {
+            logger.debug("Making API call to Swop for rates: {}", currencyCodes);
+            var rates = swopApiClientApi.latest(currencyCodes);
+            retryBudget.recordSuccess();
+            logger.debug("Received {} rates from Swop API", rates.size());
+            return rates;
+        } catch (SwopClientException e) {
+            logger.error("Failed to get exchange rates from Swop for {}: {}", currencyCodes, e.getMessage(), e);
+            throw classify("Failed to get exchange rates", e, true);
+        }
+    }
+
     private List<Rate> getRatesFromSwop(String sourceCurrency, String targetCurrency) throws ExchangeRateIntegrationException {
         try {
             logger.debug("Making API call to Swop for rates: {} and {}", sourceCurrency, targetCurrency);
             var rates = swopApiClientApi.latest(List.of(sourceCurrency, targetCurrency));
+            retryBudget.recordSuccess();
             logger.debug("Received {} rates from Swop API", rates.size());
             return rates;
-        } catch (GraphQLClientException e) {
+        } catch (SwopClientException e) {
             logger.error("Failed to get exchange rates from Swop for {} and {}: {}",
                     sourceCurrency, targetCurrency, e.getMessage(), e);
-            // TODO: look at the exception and decide if it's a bad request or something else
-            throw new ExchangeRateIntegrationException("Failed to get exchange rates", e);
+            throw classify("Failed to get exchange rates", e, true);
         }
     }
 
@@ -151,13 +289,13 @@ public class SwopExchangeRateIntegrationServiceImpl implements ExchangeRateServi
         try {
             logger.debug("Making API call to Swop to validate currencies: {}", currencyCodes);
             var currencies = swopApiClientApi.currencies(currencyCodes);
+            retryBudget.recordSuccess();
             logger.debug("Received {} validated currencies from Swop", currencies.size());
             return currencies;
-        } catch (GraphQLClientException e) {
+        } catch (SwopClientException e) {
             logger.error("Failed to get supported currencies from Swop for codes {}: {}",
                     currencyCodes, e.getMessage(), e);
-            // TODO: look at the exception and decide if it's a bad request or something else
-            throw new ExchangeRateIntegrationException("Failed to get supported currencies for codes: " + currencyCodes, e);
+            throw classify("Failed to get supported currencies for codes: " + currencyCodes, e, true);
         }
     }
 
@@ -165,12 +303,33 @@ public class SwopExchangeRateIntegrationServiceImpl implements ExchangeRateServi
         try {
             logger.debug("Making API call to Swop for all supported currencies");
             var currencies = swopApiClientApi.currencies();
+            retryBudget.recordSuccess();
             logger.debug("Received {} currencies from Swop", currencies.size());
             return currencies;
-        } catch (GraphQLClientException e) {
+        } catch (SwopClientException e) {
             logger.error("Failed to get all supported currencies from Swop: {}", e.getMessage(), e);
-            // TODO: look at the exception and decide if it's a bad request or something else
-            throw new ExchangeRateIntegrationException("Failed to get all supported currencies from Swop", e);
+            throw classify("Failed to get all supported currencies from Swop", e, false);
         }
     }
+
+    /**
+     * Turns a failed call into the exception that tells the fault tolerance and the user what happened. Transient
+     * failures take a token from the {@link SwopRetryBudget}, and are only retried while it has enough left.
+     * Calls that had no input from the user can not be bad requests. Swop not accepting one of those means its answer
+     * can not be used, like an invalid response, and should not trip the circuit breakers that skip invalid responses.
+     *
+     * @param userInput True if the call was made with currency codes given by the user
+     */
+    private RuntimeException classify(String message, SwopClientException e, boolean userInput) {
+        return switch (e.kind()) {
+            case TRANSIENT -> retryBudget.recordFailureAndAllowRetry()
+                    ? new ExchangeRateIntegrationTransientException(message, e)
+                    : new ExchangeRateIntegrationException(message + " and the retry budget is used up", e);
+            case BAD_REQUEST -> userInput
+                    ? new ExchangeRateIntegrationBadRequestException(message + ": " + e.getMessage())
+                    : new ExchangeRateIntegrationInvalidResponseException(message, e);
+            case INVALID_RESPONSE -> new ExchangeRateIntegrationInvalidResponseException(message, e);
+            case REJECTED -> new ExchangeRateIntegrationException(message, e);
+        };
+    }
 }
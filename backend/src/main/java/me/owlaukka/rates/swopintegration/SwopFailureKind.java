@@ -0,0 +1,58 @@
+package me.owlaukka.rates.swopintegration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationTransientException;
+
+import java.util.Set;
+
+/**
+ * What kind of failure a call to Swop was, which decides whether it is retried and whether the user is told their
+ * request was bad.
+ */
+enum SwopFailureKind {
+    /**
+     * The connection failed or timed out, or Swop was overloaded or down. Worth retrying.
+     */
+    TRANSIENT,
+    /**
+     * Swop did not accept the currencies that were asked for.
+     */
+    BAD_REQUEST,
+    /**
+     * Swop answered, but the response could not be used.
+     */
+    INVALID_RESPONSE,
+    /**
+     * Swop refused the call itself, e.g. because of an invalid API key. Not caused by the user, but retrying does
+     * not help either.
+     */
+    REJECTED;
+
+    /**
+     * Codes and classifications of GraphQL errors about the request. The only variables of the queries are the
+     * currency codes of the user.
+     */
+    private static final Set<String> BAD_REQUEST_ERRORS = Set.of(
+            "BAD_USER_INPUT", "GRAPHQL_VALIDATION_FAILED", "ValidationError");
+
+    static SwopFailureKind ofStatus(int statusCode) {
+        if (ExchangeRateIntegrationTransientException.isTransientStatus(statusCode)) {
+            return TRANSIENT;
+        }
+        return statusCode == 400 || statusCode == 422 ? BAD_REQUEST : REJECTED;
+    }
+
+    /**
+     * @param errors The {@code errors} of a GraphQL response
+     */
+    static SwopFailureKind ofErrors(JsonNode errors) {
+        for (var error : errors) {
+            var extensions = error.path("extensions");
+            if (BAD_REQUEST_ERRORS.contains(extensions.path("code").asText())
+                    || BAD_REQUEST_ERRORS.contains(extensions.path("classification").asText())) {
+                return BAD_REQUEST;
+            }
+        }
+        return TRANSIENT;
+    }
+}
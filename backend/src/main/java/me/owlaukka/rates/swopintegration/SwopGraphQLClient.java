@@ -0,0 +1,115 @@
+package me.owlaukka.rates.swopintegration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.rates.swopintegration.model.Currency;
+import me.owlaukka.rates.swopintegration.model.Rate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * Calls the Swop GraphQL API with the queries of {@link SwopQueries}.
+ * <p>
+ * Replaces the SmallRye typesafe client, which generated a proxy for {@link SwopApiClientApi} and built the query of
+ * every method from its signature with reflection on the first call. That slowed down the first conversions after
+ * startup and needed reflection configuration in a native image. Failures are thrown as
+ * {@link SwopClientException}s classified by {@link SwopFailureKind}:
+ * <ul>
+ *     <li>Failed connections, timeouts, status 408, 425, 429 and 5xx are transient.</li>
+ *     <li>Status 400 and 422 and GraphQL errors about the input are bad requests. Other GraphQL errors are
+ *     transient.</li>
+ *     <li>Other statuses, e.g. 401 for an invalid API key, are rejections.</li>
+ *     <li>A response that is not valid JSON or does not have the result is invalid.</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class SwopGraphQLClient implements SwopApiClientApi {
+    private static final Logger logger = LoggerFactory.getLogger(SwopGraphQLClient.class);
+
+    private final SwopHttpClient swopHttpClient;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader ratesReader;
+    private final ObjectReader currenciesReader;
+
+    SwopGraphQLClient(SwopHttpClient swopHttpClient, ObjectMapper objectMapper) {
+        this.swopHttpClient = swopHttpClient;
+        this.objectMapper = objectMapper;
+        this.ratesReader = objectMapper.readerForListOf(Rate.class);
+        this.currenciesReader = objectMapper.readerForListOf(Currency.class);
+    }
+
+    @Override
+    public List<Rate> latest(List<String> quoteCurrencies) {
+        var request = SwopQueries.request(SwopQueries.LATEST_REQUEST_PREFIX, toJson(quoteCurrencies));
+        return execute("latest", request, "latest", ratesReader);
+    }
+
+    @Override
+    public List<Currency> currencies(List<String> currencyCodes) {
+        var request = SwopQueries.request(SwopQueries.CURRENCIES_REQUEST_PREFIX, toJson(currencyCodes));
+        return execute("currencies", request, "currencies", currenciesReader);
+    }
+
+    @Override
+    public List<Currency> currencies() {
+        return execute("allCurrencies", SwopQueries.ALL_CURRENCIES_REQUEST, "currencies", currenciesReader);
+    }
+
+    private byte[] toJson(List<String> currencyCodes) {
+        try {
+            return objectMapper.writeValueAsBytes(currencyCodes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Currency codes can not be written as JSON", e);
+        }
+    }
+
+    /**
+     * @param operation The name of the query in {@link SwopQueries}
+     * @param field     The field of {@code data} in the response that has the result
+     */
+    private <T> List<T> execute(String operation, byte[] request, String field, ObjectReader resultReader) {
+        HttpResponse<byte[]> response;
+        try {
+            response = swopHttpClient.post(operation, request);
+        } catch (IOException e) {
+            throw new SwopClientException(SwopFailureKind.TRANSIENT, "Failed to call Swop: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SwopClientException(SwopFailureKind.TRANSIENT, "Interrupted while calling Swop");
+        }
+        if (response.statusCode() != 200) {
+            throw new SwopClientException(SwopFailureKind.ofStatus(response.statusCode()),
+                    "Swop responded with status " + response.statusCode());
+        }
+
+        JsonNode body;
+        try {
+            body = objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new SwopClientException(SwopFailureKind.INVALID_RESPONSE,
+                    "Invalid response from Swop: " + e.getMessage());
+        }
+        var errors = body.path("errors");
+        if (!errors.isEmpty()) {
+            logger.debug("Swop responded to {} with errors: {}", field, errors);
+            throw new SwopClientException(SwopFailureKind.ofErrors(errors), "Swop responded with errors: " + errors);
+        }
+        var result = body.path("data").path(field);
+        if (!result.isArray()) {
+            throw new SwopClientException(SwopFailureKind.INVALID_RESPONSE, "Swop responded without " + field);
+        }
+        try {
+            return resultReader.readValue(result);
+        } catch (IOException e) {
+            throw new SwopClientException(SwopFailureKind.INVALID_RESPONSE,
+                    "Invalid response from Swop: " + e.getMessage());
+        }
+    }
+}
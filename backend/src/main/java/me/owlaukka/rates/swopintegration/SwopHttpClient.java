@@ -0,0 +1,66 @@
+package me.owlaukka.rates.swopintegration;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationQuotaExceededException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Posts GraphQL requests to Swop with the JDK HTTP client. Every request is counted against the {@link SwopQuota}.
+ * <p>
+ * The JDK client is not instrumented by OpenTelemetry, so every request is traced here and the trace context is
+ * added to its headers.
+ */
+@ApplicationScoped
+public class SwopHttpClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final HttpClient httpClient;
+    private final URI url;
+    private final String authorization;
+    private final OpenTelemetry openTelemetry;
+    private final SwopQuota quota;
+
+    SwopHttpClient(
+            @ConfigProperty(name = "swop.url") String url,
+            @ConfigProperty(name = "swop.authorization") String authorization,
+            OpenTelemetry openTelemetry,
+            SwopQuota quota
+    ) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        this.url = URI.create(url);
+        this.authorization = authorization;
+        this.openTelemetry = openTelemetry;
+        this.quota = quota;
+    }
+
+    /**
+     * @param operation The name of the GraphQL operation, which the calls are counted by in the {@link SwopQuota}
+     * @param body      The GraphQL request as JSON
+     * @return The response, whatever its status
+     * @throws ExchangeRateIntegrationQuotaExceededException If the budget of calls to Swop has been used up
+     */
+    @WithSpan(kind = SpanKind.CLIENT)
+    public HttpResponse<byte[]> post(String operation, byte[] body) throws IOException, InterruptedException {
+        quota.acquire(operation);
+        var request = HttpRequest.newBuilder(url)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        openTelemetry.getPropagators().getTextMapPropagator()
+                .inject(Context.current(), request, HttpRequest.Builder::header);
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,51 @@
+package me.owlaukka.rates.swopintegration;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The GraphQL queries sent to Swop, written out in full instead of being generated from the methods of
+ * {@link SwopApiClientApi} by a typesafe client proxy when they are first called.
+ * <p>
+ * Queries without variables are kept as ready-made request bodies, and the ones with a variable as the body up to
+ * the value of the variable. Only constants, so the class is initialized already when building a native image.
+ */
+final class SwopQueries {
+    static final String LATEST =
+            "query latest($quoteCurrencies: [String!]) { latest(quoteCurrencies: $quoteCurrencies) { baseCurrency quoteCurrency quote date } }";
+    static final String CURRENCIES =
+            "query currencies($currencyCodes: [String!]) { currencies(currencyCodes: $currencyCodes) { code } }";
+    static final String ALL_CURRENCIES = "query allCurrencies { currencies { code } }";
+    static final String LATEST_RATE_TABLE = "query latestRateTable { latest { quoteCurrency quote date } }";
+
+    static final byte[] LATEST_REQUEST_PREFIX = requestPrefix(LATEST, "quoteCurrencies");
+    static final byte[] CURRENCIES_REQUEST_PREFIX = requestPrefix(CURRENCIES, "currencyCodes");
+    static final byte[] ALL_CURRENCIES_REQUEST = request(ALL_CURRENCIES);
+    static final byte[] LATEST_RATE_TABLE_REQUEST = request(LATEST_RATE_TABLE);
+
+    private static final byte[] REQUEST_SUFFIX = "}}".getBytes(StandardCharsets.UTF_8);
+
+    private SwopQueries() {
+    }
+
+    /**
+     * @param prefix        One of the request prefixes
+     * @param variableValue The value of the variable of the query as JSON
+     * @return The request body
+     */
+    static byte[] request(byte[] prefix, byte[] variableValue) {
+        var request = new byte[prefix.length + variableValue.length + REQUEST_SUFFIX.length];
+        System.arraycopy(prefix, 0, request, 0, prefix.length);
+        System.arraycopy(variableValue, 0, request, prefix.length, variableValue.length);
+        System.arraycopy(REQUEST_SUFFIX, 0, request, prefix.length + variableValue.length, REQUEST_SUFFIX.length);
+        return request;
+    }
+
+    // The queries have no quotes or backslashes, so they don't need to be escaped in JSON
+    private static byte[] request(String query) {
+        return ("{\"query\":\"" + query + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] requestPrefix(String query, String variable) {
+        return ("{\"query\":\"" + query + "\",\"variables\":{\"" + variable + "\":").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,188 @@
+package me.owlaukka.rates.swopintegration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationQuotaExceededException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Budget of calls to Swop, which is metered and paid per request.
+ * <p>
+ * Every request to Swop, including retries, takes one call out of both the budget of the current minute
+ * ({@code swop.quota.per-minute}) and of the current UTC day ({@code swop.quota.per-day}). A budget of 0 is
+ * unlimited. Once either is used up, calls are refused with an
+ * {@link ExchangeRateIntegrationQuotaExceededException} until the window changes.
+ * <p>
+ * Background calls (e.g. warming up the caches) should check {@link #allowsBackgroundCalls()} first. It leaves
+ * {@code swop.quota.background-reserve} of both budgets to the calls users are waiting for.
+ * <p>
+ * Metrics: {@code swop.calls} counts the calls by method and whether they were allowed, {@code swop.quota.remaining}
+ * is the remaining budget by window and {@code swop.quota.exhaustion-forecast} the seconds until the daily budget
+ * runs out at today's rate of calls (-1 if it will last the day).
+ */
+@ApplicationScoped
+public class SwopQuota {
+    private final long perMinute;
+    private final long perDay;
+    private final double backgroundReserve;
+    private final Supplier<Instant> clock;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> allowedCalls = new ConcurrentHashMap<>();
+    private final Map<String, Counter> refusedCalls = new ConcurrentHashMap<>();
+    private final Map<String, Long> callsTodayByMethod = new TreeMap<>();
+
+    private Instant minute = Instant.EPOCH;
+    private Instant day = Instant.EPOCH;
+    private long callsThisMinute;
+    private long callsToday;
+
+    @Inject
+    SwopQuota(
+            @ConfigProperty(name = "swop.quota.per-minute", defaultValue = "0") long perMinute,
+            @ConfigProperty(name = "swop.quota.per-day", defaultValue = "0") long perDay,
+            @ConfigProperty(name = "swop.quota.background-reserve", defaultValue = "0.2") double backgroundReserve,
+            MeterRegistry meterRegistry
+    ) {
+        this(perMinute, perDay, backgroundReserve, meterRegistry, Instant::now);
+    }
+
+    public SwopQuota(long perMinute, long perDay, double backgroundReserve, MeterRegistry meterRegistry,
+                     Supplier<Instant> clock) {
+        this.perMinute = perMinute;
+        this.perDay = perDay;
+        this.backgroundReserve = backgroundReserve;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        Gauge.builder("swop.quota.remaining", this, quota -> quota.status().remainingThisMinute())
+                .tag("window", "minute")
+                .description("Calls left in the Swop budget of the current minute, -1 if unlimited")
+                .register(meterRegistry);
+        Gauge.builder("swop.quota.remaining", this, quota -> quota.status().remainingToday())
+                .tag("window", "day")
+                .description("Calls left in the Swop budget of the current day, -1 if unlimited")
+                .register(meterRegistry);
+        Gauge.builder("swop.quota.exhaustion-forecast", this, quota -> {
+                    var exhaustion = quota.status().forecastExhaustion();
+                    return exhaustion == null ? -1 : Duration.between(quota.clock.get(), exhaustion).toSeconds();
+                })
+                .description("Seconds until the daily Swop budget runs out at today's rate, -1 if it will last the day")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one call out of the budgets.
+     *
+     * @param method The method of the Swop API that is called, e.g. {@code latest}
+     * @throws ExchangeRateIntegrationQuotaExceededException If either budget has been used up
+     */
+    public void acquire(String method) {
+        synchronized (this) {
+            rollWindows(clock.get());
+            if (perMinute > 0 && callsThisMinute >= perMinute || perDay > 0 && callsToday >= perDay) {
+                counter(refusedCalls, method, "refused").increment();
+                throw new ExchangeRateIntegrationQuotaExceededException(
+                        "Swop call budget used up (" + callsThisMinute + "/" + perMinute + " this minute, "
+                                + callsToday + "/" + perDay + " today)");
+            }
+            callsThisMinute++;
+            callsToday++;
+            callsTodayByMethod.merge(method, 1L, Long::sum);
+        }
+        counter(allowedCalls, method, "allowed").increment();
+    }
+
+    /**
+     * @return True if there is more budget left than the reserve for calls users are waiting for
+     */
+    public boolean allowsBackgroundCalls() {
+        var status = status();
+        return (perMinute <= 0 || status.remainingThisMinute() > perMinute * backgroundReserve)
+                && (perDay <= 0 || status.remainingToday() > perDay * backgroundReserve);
+    }
+
+    public synchronized QuotaStatus status() {
+        var now = clock.get();
+        rollWindows(now);
+        return new QuotaStatus(
+                perMinute,
+                callsThisMinute,
+                perMinute > 0 ? Math.max(perMinute - callsThisMinute, 0) : -1,
+                perDay,
+                callsToday,
+                perDay > 0 ? Math.max(perDay - callsToday, 0) : -1,
+                Map.copyOf(callsTodayByMethod),
+                forecastExhaustion(now)
+        );
+    }
+
+    /**
+     * @return When the daily budget runs out if calls keep coming at the average rate of today so far, or null if
+     * it lasts until the end of the day
+     */
+    private Instant forecastExhaustion(Instant now) {
+        if (perDay <= 0 || callsToday == 0) {
+            return null;
+        }
+        if (callsToday >= perDay) {
+            return now;
+        }
+        var elapsedNanos = Math.max(Duration.between(day, now).toNanos(), 1);
+        var nanosPerCall = (double) elapsedNanos / callsToday;
+        var exhaustion = now.plusNanos((long) (nanosPerCall * (perDay - callsToday)));
+        return exhaustion.isBefore(day.plus(1, ChronoUnit.DAYS)) ? exhaustion : null;
+    }
+
+    private void rollWindows(Instant now) {
+        var currentMinute = now.truncatedTo(ChronoUnit.MINUTES);
+        if (!currentMinute.equals(minute)) {
+            minute = currentMinute;
+            callsThisMinute = 0;
+        }
+        var currentDay = now.atOffset(ZoneOffset.UTC).truncatedTo(ChronoUnit.DAYS).toInstant();
+        if (!currentDay.equals(day)) {
+            day = currentDay;
+            callsToday = 0;
+            callsTodayByMethod.clear();
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String method, String result) {
+        return counters.computeIfAbsent(method, ignored -> Counter.builder("swop.calls")
+                .tag("method", method)
+                .tag("result", result)
+                .description("Calls to Swop by method")
+                .register(meterRegistry));
+    }
+
+    /**
+     * @param remainingThisMinute -1 if there is no budget per minute
+     * @param remainingToday      -1 if there is no budget per day
+     * @param forecastExhaustion  When the daily budget runs out at today's rate, or null if it lasts the day
+     */
+    @RegisterForReflection
+    public record QuotaStatus(
+            long perMinute,
+            long usedThisMinute,
+            long remainingThisMinute,
+            long perDay,
+            long usedToday,
+            long remainingToday,
+            Map<String, Long> callsTodayByMethod,
+            Instant forecastExhaustion
+    ) {
+    }
+}
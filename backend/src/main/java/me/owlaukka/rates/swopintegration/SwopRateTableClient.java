@@ -0,0 +1,60 @@
+package me.owlaukka.rates.swopintegration;
+
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationInvalidResponseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Fetches the full table of latest EUR rates from Swop in one GraphQL query.
+ * <p>
+ * {@link SwopApiClientApi#latest(java.util.List)} asks for given quote currencies and maps every rate into a
+ * {@link me.owlaukka.rates.swopintegration.model.Rate} record. For a full refresh this leaves out the quote
+ * currencies (so Swop returns all of them) and asks only for the fields that are needed
+ * ({@link SwopQueries#LATEST_RATE_TABLE}). The response bytes are handed to {@link SwopRateTableParser} without
+ * first being decoded into a String or a JSON tree.
+ */
+@ApplicationScoped
+public class SwopRateTableClient {
+    private static final Logger logger = LoggerFactory.getLogger(SwopRateTableClient.class);
+
+    private final SwopHttpClient swopHttpClient;
+
+    SwopRateTableClient(SwopHttpClient swopHttpClient) {
+        this.swopHttpClient = swopHttpClient;
+    }
+
+    /**
+     * @return Rates from EUR to every currency Swop has
+     * @throws SwopClientException                            If the request to Swop fails, classified like in
+     *                                                        {@link SwopGraphQLClient}
+     * @throws ExchangeRateIntegrationInvalidResponseException If the response is not valid
+     */
+    @WithSpan
+    public EuroRateTable latestRateTable() {
+        byte[] body;
+        try {
+            logger.debug("Making API call to Swop for the full rate table");
+            var response = swopHttpClient.post("latestRateTable", SwopQueries.LATEST_RATE_TABLE_REQUEST);
+            if (response.statusCode() != 200) {
+                throw new SwopClientException(SwopFailureKind.ofStatus(response.statusCode()),
+                        "Swop responded with status " + response.statusCode());
+            }
+            body = response.body();
+        } catch (IOException e) {
+            throw new SwopClientException(SwopFailureKind.TRANSIENT,
+                    "Failed to get rate table from Swop: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SwopClientException(SwopFailureKind.TRANSIENT, "Interrupted while getting rate table from Swop");
+        }
+
+        var rateTable = SwopRateTableParser.parse(body);
+        logger.debug("Received {} rates from Swop for {}", rateTable.size(), rateTable.date());
+        return rateTable;
+    }
+}
@@ -0,0 +1,250 @@
+package me.owlaukka.rates.swopintegration;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.owlaukka.rates.CurrencyCodes;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationInvalidResponseException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Streaming parser for the response of {@link SwopQueries#LATEST_RATE_TABLE}.
+ * <p>
+ * The response bytes are read once with a token parser, without building a JSON tree or {@code Rate} records.
+ * Currency codes are packed straight from the parser's character buffer (see {@link CurrencyCodes}), quotes are
+ * read from their textual form into an unscaled long and a scale, and dates are compared as characters and parsed
+ * only once. Only quotes with more digits than fit in a long fall back to BigDecimal.
+ * <p>
+ * Validation matches {@link me.owlaukka.rates.swopintegration.model.Rate}: all fields are required and quotes must
+ * be positive. All rates must also be for the same date. GraphQL {@code errors} are read into a tree and classified
+ * like in {@link SwopGraphQLClient}.
+ */
+public final class SwopRateTableParser {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int DATE_LENGTH = "2025-02-20".length();
+    private static final int EXPECTED_RATES = 192;
+
+    private SwopRateTableParser() {
+    }
+
+    /**
+     * @throws SwopClientException                            If Swop responded with GraphQL errors
+     * @throws ExchangeRateIntegrationInvalidResponseException If the response is not valid
+     */
+    public static EuroRateTable parse(byte[] response) {
+        try (var parser = MAPPER.createParser(response)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new ExchangeRateIntegrationInvalidResponseException("Failed to parse rate table from Swop", e);
+        }
+    }
+
+    private static EuroRateTable parse(JsonParser parser) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+
+        EuroRateTable rateTable = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var valueToken = parser.nextToken();
+            if ("data".equals(field) && valueToken == JsonToken.START_OBJECT) {
+                rateTable = parseData(parser);
+            } else if ("errors".equals(field) && valueToken == JsonToken.START_ARRAY) {
+                JsonNode errors = parser.readValueAsTree();
+                if (!errors.isEmpty()) {
+                    throw new SwopClientException(SwopFailureKind.ofErrors(errors), "Swop responded with errors: " + errors);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (rateTable == null) {
+            throw new ExchangeRateIntegrationInvalidResponseException("Swop response is missing data");
+        }
+        return rateTable;
+    }
+
+    private static EuroRateTable parseData(JsonParser parser) throws IOException {
+        EuroRateTable rateTable = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var valueToken = parser.nextToken();
+            if ("latest".equals(field) && valueToken == JsonToken.START_ARRAY) {
+                rateTable = parseLatest(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return rateTable;
+    }
+
+    private static EuroRateTable parseLatest(JsonParser parser) throws IOException {
+        var rateTable = EuroRateTable.builder(EXPECTED_RATES);
+        var rate = new RateFields();
+        char[] dateOfRates = null;
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expect(token, JsonToken.START_OBJECT);
+            rate.read(parser);
+
+            if (dateOfRates == null) {
+                dateOfRates = Arrays.copyOf(rate.date, DATE_LENGTH);
+            } else if (!Arrays.equals(dateOfRates, rate.date)) {
+                throw new ExchangeRateIntegrationInvalidResponseException("Dates of rates from Swop are different");
+            }
+
+            if (rate.bigQuote == null) {
+                rateTable.add(rate.packedCode, rate.unscaledQuote, rate.scale);
+            } else {
+                rateTable.add(rate.packedCode, rate.bigQuote);
+            }
+        }
+
+        if (dateOfRates == null) {
+            throw new ExchangeRateIntegrationInvalidResponseException("Swop response did not contain any rates");
+        }
+        try {
+            return rateTable.date(LocalDate.parse(new String(dateOfRates))).build();
+        } catch (DateTimeParseException e) {
+            throw new ExchangeRateIntegrationInvalidResponseException("Rate-response from Swop API has an invalid date", e);
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new ExchangeRateIntegrationInvalidResponseException(
+                    "Unexpected " + actual + " in Swop response, expected " + expected);
+        }
+    }
+
+    /**
+     * Fields of the rate object currently being read. Reused for every rate so reading a rate allocates nothing.
+     */
+    private static final class RateFields {
+        private final char[] date = new char[DATE_LENGTH];
+        private boolean hasCode;
+        private boolean hasQuote;
+        private boolean hasDate;
+        private int packedCode;
+        private long unscaledQuote;
+        private int scale;
+        private BigDecimal bigQuote;
+
+        void read(JsonParser parser) throws IOException {
+            hasCode = false;
+            hasQuote = false;
+            hasDate = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                var valueToken = parser.nextToken();
+                switch (field) {
+                    case "quoteCurrency" -> readCode(parser, valueToken);
+                    case "quote" -> readQuote(parser, valueToken);
+                    case "date" -> readDate(parser, valueToken);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (!hasCode || !hasQuote || !hasDate) {
+                throw new ExchangeRateIntegrationInvalidResponseException("Rate-response from Swop API is missing required fields");
+            }
+        }
+
+        private void readCode(JsonParser parser, JsonToken token) throws IOException {
+            if (token != JsonToken.VALUE_STRING) {
+                return;
+            }
+            var chars = parser.getTextCharacters();
+            var offset = parser.getTextOffset();
+            packedCode = parser.getTextLength() == 3
+                    ? CurrencyCodes.pack(chars[offset], chars[offset + 1], chars[offset + 2])
+                    : CurrencyCodes.INVALID;
+            hasCode = true;
+        }
+
+        private void readDate(JsonParser parser, JsonToken token) throws IOException {
+            if (token != JsonToken.VALUE_STRING) {
+                return;
+            }
+            if (parser.getTextLength() != DATE_LENGTH) {
+                throw new ExchangeRateIntegrationInvalidResponseException("Rate-response from Swop API has an invalid date");
+            }
+            System.arraycopy(parser.getTextCharacters(), parser.getTextOffset(), date, 0, DATE_LENGTH);
+            hasDate = true;
+        }
+
+        private void readQuote(JsonParser parser, JsonToken token) throws IOException {
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+                return;
+            }
+            bigQuote = readPlainDecimal(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())
+                    ? null
+                    : parser.getDecimalValue();
+            if (bigQuote == null ? unscaledQuote <= 0 : bigQuote.signum() <= 0) {
+                throw new ExchangeRateIntegrationInvalidResponseException("Rate-response from Swop API has a zero or non-positive rate");
+            }
+            hasQuote = true;
+        }
+
+        /**
+         * Reads a JSON number such as {@code 1.0455}, {@code 157} or {@code 1.2E-5} into {@link #unscaledQuote}
+         * and {@link #scale}.
+         *
+         * @return false if the digits do not fit in a long
+         */
+        private boolean readPlainDecimal(char[] chars, int offset, int length) {
+            var end = offset + length;
+            var negative = false;
+            var fraction = false;
+            long unscaled = 0;
+            var digitsAfterPoint = 0;
+            var exponent = 0;
+
+            var i = offset;
+            if (chars[i] == '-') {
+                negative = true;
+                i++;
+            }
+            for (; i < end; i++) {
+                var c = chars[i];
+                if (c >= '0' && c <= '9') {
+                    if (unscaled > (Long.MAX_VALUE - 9) / 10) {
+                        return false;
+                    }
+                    unscaled = unscaled * 10 + (c - '0');
+                    if (fraction) {
+                        digitsAfterPoint++;
+                    }
+                } else if (c == '.') {
+                    fraction = true;
+                } else if (c == 'e' || c == 'E') {
+                    exponent = readExponent(chars, i + 1, end);
+                    break;
+                }
+            }
+
+            unscaledQuote = negative ? -unscaled : unscaled;
+            scale = digitsAfterPoint - exponent;
+            return true;
+        }
+
+        private static int readExponent(char[] chars, int offset, int end) {
+            var negative = chars[offset] == '-';
+            var i = chars[offset] == '-' || chars[offset] == '+' ? offset + 1 : offset;
+            var exponent = 0;
+            for (; i < end; i++) {
+                exponent = exponent * 10 + (chars[i] - '0');
+            }
+            return negative ? -exponent : exponent;
+        }
+    }
+}
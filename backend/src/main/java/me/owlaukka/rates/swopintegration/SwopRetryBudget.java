@@ -0,0 +1,69 @@
+package me.owlaukka.rates.swopintegration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Budget of retries shared by all calls to Swop, so that when Swop is struggling the retries of every request
+ * together do not multiply the load on it.
+ * <p>
+ * Works like the retry throttling of gRPC: the budget starts full with {@code swop.retry.budget.max-tokens} tokens.
+ * Every transient failure takes one token and every successful call gives back
+ * {@code swop.retry.budget.token-ratio} tokens. Failed calls are retried only while more than half of the tokens
+ * are left, so with the defaults retries stop after 5 failures in a row, and only come back while there are more
+ * than 10 successful calls per failure.
+ * <p>
+ * Metrics: {@code swop.retry.budget.tokens} is the tokens left and {@code swop.retry.budget.denied} counts the
+ * failed calls that were not retried because of the budget.
+ */
+@ApplicationScoped
+public class SwopRetryBudget {
+    /**
+     * Tokens are counted in thousandths, so that the ratio does not need floating point arithmetic
+     */
+    private static final int SCALE = 1000;
+
+    private final int maxTokens;
+    private final int tokenRatio;
+    private final AtomicInteger tokens;
+    private final Counter denied;
+
+    SwopRetryBudget(
+            @ConfigProperty(name = "swop.retry.budget.max-tokens", defaultValue = "10") int maxTokens,
+            @ConfigProperty(name = "swop.retry.budget.token-ratio", defaultValue = "0.1") double tokenRatio,
+            MeterRegistry meterRegistry
+    ) {
+        this.maxTokens = maxTokens * SCALE;
+        this.tokenRatio = (int) Math.round(tokenRatio * SCALE);
+        this.tokens = new AtomicInteger(this.maxTokens);
+        Gauge.builder("swop.retry.budget.tokens", tokens, current -> (double) current.get() / SCALE)
+                .description("Tokens left in the budget of retries of calls to Swop")
+                .register(meterRegistry);
+        this.denied = Counter.builder("swop.retry.budget.denied")
+                .description("Failed calls to Swop that were not retried because the retry budget was used up")
+                .register(meterRegistry);
+    }
+
+    void recordSuccess() {
+        tokens.updateAndGet(current -> Math.min(current + tokenRatio, maxTokens));
+    }
+
+    /**
+     * Takes a token for a transient failure.
+     *
+     * @return True if the failed call may be retried
+     */
+    boolean recordFailureAndAllowRetry() {
+        var remaining = tokens.updateAndGet(current -> Math.max(current - SCALE, 0));
+        if (remaining > maxTokens / 2) {
+            return true;
+        }
+        denied.increment();
+        return false;
+    }
+}
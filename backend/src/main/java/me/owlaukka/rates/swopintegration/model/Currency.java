@@ -1,4 +1,7 @@
 package me.owlaukka.rates.swopintegration.model;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
 public record Currency(String code) {
 }
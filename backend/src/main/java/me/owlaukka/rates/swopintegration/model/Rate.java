@@ -1,5 +1,6 @@
 package me.owlaukka.rates.swopintegration.model;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
 
 import java.math.BigDecimal;
@@ -10,6 +11,7 @@ import java.time.LocalDate;
  * <p>
  * This could be generated from the GraphQL-schema.
  */
+@RegisterForReflection
 public record Rate(String baseCurrency, String quoteCurrency, BigDecimal quote, LocalDate date) {
     /**
      * Not really needed, but just in case. The Schema of Swop API does specify them being non-null.
@@ -0,0 +1,141 @@
+package me.owlaukka.rates.warmup;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import me.owlaukka.rates.CurrencyCodes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps track of the most requested currency pairs with the Space-Saving algorithm: a fixed number of counters,
+ * where a pair that has no counter takes over the one with the smallest count. Any pair requested more often than
+ * once every {@code capacity} requests is guaranteed to have a counter, so the memory stays the same however many
+ * different pairs are requested.
+ * <p>
+ * Recording is on the path of every conversion, so it never waits: when another thread is recording at the same
+ * time the request is simply not counted. Popular pairs are requested so often that this does not change which
+ * pairs are on top.
+ */
+@ApplicationScoped
+public class PopularPairs {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int[] pairs;
+    private final long[] counts;
+    private int size;
+
+    PopularPairs(@ConfigProperty(name = "rates.warmup.pairs", defaultValue = "20") int topPairs) {
+        // More counters than pairs asked for makes the counts of the top pairs more accurate
+        this.pairs = new int[4 * topPairs];
+        this.counts = new long[4 * topPairs];
+    }
+
+    /**
+     * Counts one request of the pair. Currency codes that are not three letters from A to Z are ignored.
+     */
+    public void record(String sourceCurrency, String targetCurrency) {
+        var source = CurrencyCodes.pack(sourceCurrency);
+        var target = CurrencyCodes.pack(targetCurrency);
+        if (source == CurrencyCodes.INVALID || target == CurrencyCodes.INVALID) {
+            return;
+        }
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            add(source << 15 | target, 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts the pairs as requested once each, e.g. the pairs that were popular before a restart.
+     */
+    public void seed(List<String> pairs) {
+        lock.lock();
+        try {
+            for (var pair : pairs) {
+                if (pair.length() != 7 || pair.charAt(3) != '-') {
+                    continue;
+                }
+                var source = CurrencyCodes.pack(pair.charAt(0), pair.charAt(1), pair.charAt(2));
+                var target = CurrencyCodes.pack(pair.charAt(4), pair.charAt(5), pair.charAt(6));
+                if (source != CurrencyCodes.INVALID && target != CurrencyCodes.INVALID) {
+                    add(source << 15 | target, 1);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void add(int pair, long count) {
+        if (pairs.length == 0) {
+            return;
+        }
+        var smallest = 0;
+        for (int i = 0; i < size; i++) {
+            if (pairs[i] == pair) {
+                counts[i] += count;
+                return;
+            }
+            if (counts[i] < counts[smallest]) {
+                smallest = i;
+            }
+        }
+        if (size < pairs.length) {
+            pairs[size] = pair;
+            counts[size] = count;
+            size++;
+            return;
+        }
+        // The new pair may have been requested as many times as the pair it replaces without being counted
+        pairs[smallest] = pair;
+        counts[smallest] += count;
+    }
+
+    /**
+     * @return At most {@code limit} pairs as {@code SOURCE-TARGET}, the most requested first
+     */
+    public List<String> top(int limit) {
+        int[] pairsCopy;
+        long[] countsCopy;
+        lock.lock();
+        try {
+            pairsCopy = Arrays.copyOf(pairs, size);
+            countsCopy = Arrays.copyOf(counts, size);
+        } finally {
+            lock.unlock();
+        }
+        var order = new Integer[pairsCopy.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> countsCopy[i]).reversed());
+
+        var top = new ArrayList<String>(Math.min(limit, order.length));
+        for (int i = 0; i < order.length && i < limit; i++) {
+            var pair = pairsCopy[order[i]];
+            top.add(CurrencyCodes.unpack(pair >>> 15) + "-" + CurrencyCodes.unpack(pair & (CurrencyCodes.CAPACITY - 1)));
+        }
+        return top;
+    }
+
+    /**
+     * Halves every count, so pairs that were popular a long time ago give way to the ones popular now.
+     */
+    public void decay() {
+        lock.lock();
+        try {
+            for (int i = 0; i < size; i++) {
+                counts[i] >>= 1;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
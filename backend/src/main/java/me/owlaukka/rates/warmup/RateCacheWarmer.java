@@ -0,0 +1,189 @@
+package me.owlaukka.rates.warmup;
+
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CompositeCacheKey;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import me.owlaukka.rates.ExchangeRateService;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import me.owlaukka.rates.swopintegration.SwopQuota;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Loads the list of all currencies and the rates of the most requested pairs (see {@link PopularPairs}) into the
+ * caches before users ask for them, so the first user of a pair after a restart or an expired cache entry does not
+ * have to wait for Swop.
+ * <p>
+ * The warm-up runs on startup and then every {@code rates.warmup.interval} ({@code off} disables it), which is a
+ * bit shorter than the expiration of the {@code rates} cache, so the rates of popular pairs are reloaded just
+ * before they would expire. Pairs the fresh rate snapshot has are skipped, since conversions of them don't reach the cache at all. Calls are
+ * spaced by {@code rates.warmup.call-interval} to keep the warm-up well within the Swop quota, and the warm-up stops
+ * once the quota has no more than its reserve for user requests left (see {@link SwopQuota#allowsBackgroundCalls()}).
+ * <p>
+ * The popular pairs are written to {@code rates.warmup.file} after every warm-up, so the next instance knows which
+ * pairs to warm up on startup.
+ */
+@ApplicationScoped
+public class RateCacheWarmer {
+    private static final Logger logger = LoggerFactory.getLogger(RateCacheWarmer.class);
+
+    private final ExchangeRateService exchangeRateService;
+    private final RateSnapshotHolder snapshotHolder;
+    private final PopularPairs popularPairs;
+    private final SwopQuota swopQuota;
+    private final Cache ratesCache;
+    private final int topPairs;
+    private final Duration callInterval;
+    private final Optional<Path> pairsFile;
+    private volatile Set<String> warmPairs = Set.of();
+
+    RateCacheWarmer(
+            ExchangeRateService exchangeRateService,
+            RateSnapshotHolder snapshotHolder,
+            PopularPairs popularPairs,
+            SwopQuota swopQuota,
+            @CacheName("rates") Cache ratesCache,
+            @ConfigProperty(name = "rates.warmup.pairs", defaultValue = "20") int topPairs,
+            @ConfigProperty(name = "rates.warmup.call-interval", defaultValue = "1s") Duration callInterval,
+            @ConfigProperty(name = "rates.warmup.file") Optional<String> pairsFile
+    ) {
+        this.exchangeRateService = exchangeRateService;
+        this.snapshotHolder = snapshotHolder;
+        this.popularPairs = popularPairs;
+        this.swopQuota = swopQuota;
+        this.ratesCache = ratesCache;
+        this.topPairs = topPairs;
+        this.callInterval = callInterval;
+        this.pairsFile = pairsFile.filter(file -> !file.isBlank()).map(Path::of);
+    }
+
+    void loadPopularPairs(@Observes StartupEvent startupEvent) {
+        popularPairs.seed(readPairs());
+    }
+
+    /**
+     * The first warm-up runs right after startup, with the pairs that were popular before the restart.
+     */
+    @Scheduled(
+            identity = "rate-cache-warm-up",
+            every = "${rates.warmup.interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP
+    )
+    void scheduledWarmUp() {
+        warmUp();
+        popularPairs.decay();
+    }
+
+    /**
+     * @return The number of pairs whose rates were loaded
+     */
+    int warmUp() {
+        var pairs = popularPairs.top(topPairs);
+        if (!swopQuota.allowsBackgroundCalls()) {
+            logger.info("Skipping the warm-up, the Swop quota is reserved for user requests");
+            return 0;
+        }
+        logger.info("Warming up the caches with all currencies and {} popular pairs", pairs.size());
+        try {
+            exchangeRateService.getAllSupportedCurrencies();
+        } catch (ExchangeRateIntegrationException | FaultToleranceException e) {
+            logger.warn("Failed to warm up the list of all currencies, skipping the warm-up: {}", e.getMessage());
+            return 0;
+        }
+
+        var warmed = 0;
+        var warmedPairs = new HashSet<String>();
+        for (var pair : pairs) {
+            var sourceCurrency = pair.substring(0, 3);
+            var targetCurrency = pair.substring(4);
+            var snapshot = snapshotHolder.fresh();
+            if (snapshot != null && snapshot.rates().contains(sourceCurrency) && snapshot.rates().contains(targetCurrency)) {
+                continue;
+            }
+            if (!pause()) {
+                break;
+            }
+            if (!swopQuota.allowsBackgroundCalls()) {
+                logger.info("Stopping the warm-up, the rest of the Swop quota is reserved for user requests");
+                break;
+            }
+            try {
+                // Invalidated first, otherwise the entry that is about to expire would just be read back
+                ratesCache.invalidate(new CompositeCacheKey(sourceCurrency, targetCurrency)).await().indefinitely();
+                exchangeRateService.getEuroRatesForSourceAndTargetCurrency(sourceCurrency, targetCurrency);
+                warmedPairs.add(pair);
+                warmed++;
+            } catch (ExchangeRateIntegrationBadRequestException e) {
+                logger.debug("Skipping warm-up of {}: {}", pair, e.getMessage());
+            } catch (ExchangeRateIntegrationException | FaultToleranceException e) {
+                logger.warn("Failed to warm up rates of {}, skipping the rest: {}", pair, e.getMessage());
+                break;
+            }
+        }
+        warmPairs = Set.copyOf(warmedPairs);
+        logger.info("Warmed up the rates of {} popular pairs", warmed);
+        writePairs(pairs);
+        return warmed;
+    }
+
+    /**
+     * @return True if the rates of the pair were loaded into the cache by the latest warm-up, so a conversion of it
+     * most likely does not call the rate providers
+     */
+    public boolean isWarm(String sourceCurrency, String targetCurrency) {
+        return warmPairs.contains(sourceCurrency + "-" + targetCurrency);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(callInterval.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private List<String> readPairs() {
+        if (pairsFile.isEmpty() || !Files.exists(pairsFile.get())) {
+            return List.of();
+        }
+        try {
+            var pairs = Files.readAllLines(pairsFile.get());
+            logger.info("Loaded {} popular pairs to warm up from {}", pairs.size(), pairsFile.get());
+            return pairs;
+        } catch (IOException e) {
+            logger.warn("Failed to read popular pairs from {}: {}", pairsFile.get(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void writePairs(List<String> pairs) {
+        if (pairsFile.isEmpty() || pairs.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(pairsFile.get().toAbsolutePath().getParent());
+            Files.write(pairsFile.get(), pairs);
+        } catch (IOException e) {
+            logger.warn("Failed to write popular pairs to {}: {}", pairsFile.get(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package me.owlaukka.api;
+
+import me.owlaukka.currencyconversion.CustomValidationException;
+import me.owlaukka.rates.CurrencyCodes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConversionParametersTest {
+
+    private final ConversionParameters parameters = new ConversionParameters("convertCurrency");
+
+    @ParameterizedTest(name = "should parse amount {0} like BigDecimal does")
+    @ValueSource(strings = {"0", "5", "007", "1000.45", "543.4", "100.50", "999999999999999999", "12345678901234567890.12"})
+    void Should_ParseAmountLikeBigDecimal_When_AmountIsValid(String amount) {
+        // When
+        var parsed = parameters.amount("amount", amount);
+
+        // Then
+        assertEquals(new BigDecimal(amount), parsed);
+        parameters.throwIfInvalid();
+    }
+
+    @ParameterizedTest(name = "should reject amount \"{0}\"")
+    @ValueSource(strings = {"", "-5", "+5", "100.123", "100.", ".5", "1,5", "1x50", "1.2.3", "1e5", " 5"})
+    void Should_RejectAmount_When_ItDoesNotMatchPattern(String amount) {
+        // When
+        var parsed = parameters.amount("amount", amount);
+        var exception = assertThrows(CustomValidationException.class, parameters::throwIfInvalid);
+
+        // Then
+        assertNull(parsed);
+        assertEquals(List.of("convertCurrency.amount"), exception.getFields());
+        assertEquals("Invalid input parameters: convertCurrency.amount: must match \"^[0-9]+(.[0-9]{1,2})?$\"",
+                exception.getMessage());
+    }
+
+    @Test
+    void Should_ReturnPackedCode_When_CurrencyIsValid() {
+        // When
+        var packedCode = parameters.currency("sourceCurrency", "USD");
+
+        // Then
+        assertEquals(CurrencyCodes.pack("USD"), packedCode);
+        parameters.throwIfInvalid();
+    }
+
+    @Test
+    void Should_ReportSizeAndPattern_When_CurrencyHasWrongLength() {
+        // When
+        parameters.currency("sourceCurrency", "USDA");
+        parameters.currency("targetCurrency", "low");
+        var exception = assertThrows(CustomValidationException.class, parameters::throwIfInvalid);
+
+        // Then
+        assertEquals(List.of("convertCurrency.sourceCurrency", "convertCurrency.targetCurrency"), exception.getFields());
+        assertEquals("Invalid input parameters: "
+                        + "convertCurrency.sourceCurrency: size must be between 3 and 3, "
+                        + "convertCurrency.sourceCurrency: must match \"^[A-Z]{3}$\", "
+                        + "convertCurrency.targetCurrency: must match \"^[A-Z]{3}$\"",
+                exception.getMessage());
+    }
+
+    @Test
+    void Should_ReportMissingParameters_When_TheyAreNull() {
+        // When
+        parameters.currency("sourceCurrency", null);
+        parameters.amount("amount", null);
+        parameters.date("date", null, false);
+        var exception = assertThrows(CustomValidationException.class, parameters::throwIfInvalid);
+
+        // Then
+        assertEquals(List.of("convertCurrency.sourceCurrency", "convertCurrency.amount"), exception.getFields());
+        assertEquals("Invalid input parameters: convertCurrency.sourceCurrency: must not be null, "
+                + "convertCurrency.amount: must not be null", exception.getMessage());
+    }
+
+    @ParameterizedTest(name = "should reject date \"{0}\"")
+    @ValueSource(strings = {"2025-2-20", "2025/02/20", "20250220", "2025-02-2a", "02-20-2025"})
+    void Should_RejectDate_When_ItDoesNotMatchPattern(String date) {
+        // When
+        parameters.date("date", date, false);
+        var exception = assertThrows(CustomValidationException.class, parameters::throwIfInvalid);
+
+        // Then
+        assertEquals(List.of("convertCurrency.date"), exception.getFields());
+        assertEquals("Invalid input parameters: convertCurrency.date: must match \"^[0-9]{4}-[0-9]{2}-[0-9]{2}$\"",
+                exception.getMessage());
+    }
+
+    @Test
+    void Should_AcceptDateThatOnlyMatchesFormat() {
+        // When
+        var date = parameters.date("date", "2025-02-30", true);
+
+        // Then
+        assertEquals("2025-02-30", date);
+        parameters.throwIfInvalid();
+    }
+
+    @Test
+    void Should_RejectCurrencies_When_ThereAreTooManyOrAnyIsInvalid() {
+        // Given
+        var batchParameters = new ConversionParameters("convertCurrencyBatch");
+
+        // When
+        batchParameters.currencies("targetCurrencies", Collections.nCopies(51, "EUR"), 1, 50);
+        var tooMany = assertThrows(CustomValidationException.class, batchParameters::throwIfInvalid);
+        var invalidParameters = new ConversionParameters("convertCurrencyBatch");
+        invalidParameters.currencies("targetCurrencies", List.of("EUR", "gbp"), 1, 50);
+        var invalid = assertThrows(CustomValidationException.class, invalidParameters::throwIfInvalid);
+
+        // Then
+        assertEquals("Invalid input parameters: convertCurrencyBatch.targetCurrencies: size must be between 1 and 50",
+                tooMany.getMessage());
+        assertEquals(List.of("convertCurrencyBatch.targetCurrencies"), invalid.getFields());
+    }
+}
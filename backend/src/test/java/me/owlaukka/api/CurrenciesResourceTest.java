@@ -2,16 +2,24 @@ package me.owlaukka.api;
 
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
 import jakarta.ws.rs.core.Response;
 import me.owlaukka.currencyconversion.CurrencyConversionService;
 import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import static io.restassured.RestAssured.given;
+import static io.restassured.config.DecoderConfig.decoderConfig;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 public class CurrenciesResourceTest {
@@ -60,4 +68,46 @@ public class CurrenciesResourceTest {
                 .body("code", equalTo(Response.Status.SERVICE_UNAVAILABLE.name()))
                 .body("message", equalTo("Service temporarily unavailable"));
     }
+
+    @Test
+    void Should_ReturnPrecompressedCurrencies_When_ClientAcceptsGzip() throws IOException {
+        var returnedCurrencies = IntStream.range(0, 200)
+                .mapToObj(i -> "" + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26) + "X")
+                .toList();
+        Mockito.when(currencyConversionService.getAllSupportedCurrencies())
+                .thenReturn(returnedCurrencies);
+
+        var body = given()
+                .config(RestAssured.config().decoderConfig(decoderConfig().noContentDecoders()))
+                .header("Accept-Encoding", "gzip")
+                .when()
+                .get("/currencies")
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", "gzip")
+                .header("Vary", "Accept-Encoding")
+                .extract().asByteArray();
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            var json = new String(gzip.readAllBytes());
+            assertTrue(json.startsWith("[\"AAX\",\"ABX\""), json);
+        }
+    }
+
+    @Test
+    void Should_ReturnUncompressedCurrencies_When_BodyIsUnderThreshold() {
+        var returnedCurrencies = List.of("USD", "EUR");
+        Mockito.when(currencyConversionService.getAllSupportedCurrencies())
+                .thenReturn(returnedCurrencies);
+
+        given()
+                .config(RestAssured.config().decoderConfig(decoderConfig().noContentDecoders()))
+                .header("Accept-Encoding", "gzip")
+                .when()
+                .get("/currencies")
+                .then()
+                .statusCode(200)
+                .header("Content-Encoding", nullValue())
+                .body("$", equalTo(returnedCurrencies));
+    }
 }
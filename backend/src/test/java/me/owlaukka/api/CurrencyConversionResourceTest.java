@@ -3,7 +3,10 @@ package me.owlaukka.api;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.ws.rs.core.Response;
+import me.owlaukka.currencyconversion.BatchConversionResult;
 import me.owlaukka.currencyconversion.ConversionResult;
+import me.owlaukka.currencyconversion.ConversionSeries;
+import me.owlaukka.currencyconversion.ConversionSeriesService;
 import me.owlaukka.currencyconversion.CurrencyConversionService;
 import me.owlaukka.currencyconversion.CustomValidationException;
 import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
@@ -14,8 +17,11 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mockito;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
@@ -29,6 +35,9 @@ class CurrencyConversionResourceTest {
     @InjectMock
     CurrencyConversionService currencyConversionService;
 
+    @InjectMock
+    ConversionSeriesService conversionSeriesService;
+
     @ParameterizedTest(name = "should return conversion when given valid data with amount {0}")
     @ValueSource(strings = {"5", "1000.45", "543.4"})
     void Should_ReturnConversion_When_GivenValidBasicData(String amount) {
@@ -268,4 +277,139 @@ class CurrencyConversionResourceTest {
                 .body("fields", equalTo(List.of("convertCurrency.targetCurrency")))
                 .body("message", containsStringIgnoringCase("targetCurrency: must match \"^[A-Z]{3}$\""));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void Should_ReturnConversionsInGivenOrder_When_ConvertingToManyCurrencies() {
+        var convertedAmounts = new LinkedHashMap<String, BigDecimal>();
+        convertedAmounts.put("GBP", new BigDecimal("83.10"));
+        convertedAmounts.put("EUR", new BigDecimal("95.65"));
+        var conversionResult = new BatchConversionResult(convertedAmounts, LocalDate.parse("2025-02-20"));
+
+        Mockito.when(currencyConversionService.convertToMany("USD", List.of("GBP", "EUR"), new BigDecimal("100")))
+                .thenReturn(conversionResult);
+
+        given()
+                .when()
+                .queryParam("sourceCurrency", "USD")
+                .queryParam("targetCurrencies", "GBP", "EUR")
+                .queryParam("amount", "100")
+                .get("/conversion/batch")
+                .then()
+                .statusCode(200)
+                .body("conversions.currency", equalTo(List.of("GBP", "EUR")))
+                .body("conversions.convertedAmount", equalTo(List.of(83.10f, 95.65f)))
+                .body("date", equalTo("2025-02-20"));
+    }
+
+    @Test
+    void Should_Return400Error_When_ConvertingZeroToManyCurrencies() {
+        given()
+                .when()
+                .queryParam("sourceCurrency", "USD")
+                .queryParam("targetCurrencies", "GBP", "EUR")
+                .queryParam("amount", "0")
+                .get("/conversion/batch")
+                .then()
+                .statusCode(400)
+                .body("fields", equalTo(List.of("convertCurrencyBatch.amount")))
+                .body("message", equalTo("Amount must be positive"));
+    }
+
+    @Test
+    void Should_ConvertWithHistoricalRates_When_GivenDate() {
+        var conversionResult = new ConversionResult(new BigDecimal("126.43"), LocalDate.parse("2025-02-14"));
+
+        Mockito.when(currencyConversionService.convertAt("GBP", "USD", new BigDecimal("100"), LocalDate.parse("2025-02-16")))
+                .thenReturn(conversionResult);
+
+        given()
+                .when()
+                .queryParam("sourceCurrency", "GBP")
+                .queryParam("targetCurrency", "USD")
+                .queryParam("amount", "100")
+                .queryParam("date", "2025-02-16")
+                .get("/conversion")
+                .then()
+                .statusCode(200)
+                .body("convertedAmount", equalTo(126.43f))
+                .body("date", equalTo("2025-02-14"));
+    }
+
+    @ParameterizedTest(name = "should return 400 when date is {0}")
+    @ValueSource(strings = {"2025-02-30", "16.02.2025", "yesterday"})
+    void Should_Return400Error_When_GivenInvalidDate(String date) {
+        given()
+                .when()
+                .queryParam("sourceCurrency", "GBP")
+                .queryParam("targetCurrency", "USD")
+                .queryParam("amount", "100")
+                .queryParam("date", date)
+                .get("/conversion")
+                .then()
+                .statusCode(400)
+                .body("fields", equalTo(List.of("convertCurrency.date")));
+    }
+
+    @Test
+    void Should_StreamConversionSeries_When_GivenDateRange() throws Exception {
+        var series = Mockito.mock(ConversionSeries.class);
+        Mockito.when(series.writeTo(Mockito.any())).thenAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(0);
+            output.write(("{\"sourceCurrency\":\"GBP\",\"targetCurrency\":\"USD\",\"conversions\":["
+                    + "{\"date\":\"2025-02-14\",\"convertedAmount\":125.93}]}").getBytes(StandardCharsets.UTF_8));
+            return 1;
+        });
+        Mockito.when(conversionSeriesService.series("GBP", "USD", new BigDecimal("100"),
+                        LocalDate.parse("2025-02-01"), LocalDate.parse("2025-02-28")))
+                .thenReturn(series);
+
+        given()
+                .when()
+                .queryParam("sourceCurrency", "GBP")
+                .queryParam("targetCurrency", "USD")
+                .queryParam("amount", "100")
+                .queryParam("from", "2025-02-01")
+                .queryParam("to", "2025-02-28")
+                .get("/conversion/series")
+                .then()
+                .statusCode(200)
+                .contentType("application/json")
+                .body("conversions.date", equalTo(List.of("2025-02-14")))
+                .body("conversions.convertedAmount", equalTo(List.of(125.93f)));
+    }
+
+    @Test
+    void Should_Return400Error_When_ConversionSeriesIsNotValid() {
+        Mockito.when(conversionSeriesService.series(Mockito.anyString(), Mockito.anyString(), Mockito.any(),
+                        Mockito.any(), Mockito.any()))
+                .thenThrow(new CustomValidationException("Start of the date range can not be after its end",
+                        List.of("convertCurrencySeries.from", "convertCurrencySeries.to")));
+
+        given()
+                .when()
+                .queryParam("sourceCurrency", "GBP")
+                .queryParam("targetCurrency", "USD")
+                .queryParam("amount", "100")
+                .queryParam("from", "2025-02-28")
+                .queryParam("to", "2025-02-01")
+                .get("/conversion/series")
+                .then()
+                .statusCode(400)
+                .body("fields", equalTo(List.of("convertCurrencySeries.from", "convertCurrencySeries.to")));
+    }
+
+    @Test
+    void Should_Return400Error_When_ConversionSeriesStartsAtInvalidDate() {
+        given()
+                .when()
+                .queryParam("sourceCurrency", "GBP")
+                .queryParam("targetCurrency", "USD")
+                .queryParam("amount", "100")
+                .queryParam("from", "2025-02-30")
+                .queryParam("to", "2025-03-31")
+                .get("/conversion/series")
+                .then()
+                .statusCode(400)
+                .body("fields", equalTo(List.of("convertCurrencySeries.from")));
+    }
+}
@@ -0,0 +1,47 @@
+package me.owlaukka.api;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+@QuarkusTest
+class JfrRecordingResourceTest {
+
+    @Test
+    void Should_ReturnRecording_When_RecordingIsStartedAndStopped() {
+        // Given
+        given()
+                .when()
+                .post("/admin/jfr/start")
+                .then()
+                .statusCode(202);
+        given()
+                .when()
+                .post("/admin/jfr/start")
+                .then()
+                .statusCode(409)
+                .body("message", equalTo("A recording is already running"));
+
+        // When
+        var recording = given()
+                .when()
+                .post("/admin/jfr/stop")
+                .then()
+                .statusCode(200)
+                .extract().asByteArray();
+
+        // Then
+        assertArrayEquals(new byte[]{'F', 'L', 'R', 0}, Arrays.copyOf(recording, 4));
+        given()
+                .when()
+                .post("/admin/jfr/stop")
+                .then()
+                .statusCode(409)
+                .body("message", equalTo("No recording is running"));
+    }
+}
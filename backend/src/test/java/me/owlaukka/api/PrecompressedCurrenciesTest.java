@@ -0,0 +1,43 @@
+package me.owlaukka.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrecompressedCurrenciesTest {
+
+    @Test
+    void Should_AcceptGzip_When_ListedWithoutZeroWeight() {
+        assertTrue(PrecompressedCurrencies.acceptsGzip("gzip, deflate, br"));
+        assertTrue(PrecompressedCurrencies.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(PrecompressedCurrencies.acceptsGzip("*"));
+    }
+
+    @Test
+    void Should_NotAcceptGzip_When_MissingOrRefused() {
+        assertFalse(PrecompressedCurrencies.acceptsGzip(null));
+        assertFalse(PrecompressedCurrencies.acceptsGzip("identity"));
+        assertFalse(PrecompressedCurrencies.acceptsGzip("gzip;q=0, *"));
+        assertFalse(PrecompressedCurrencies.acceptsGzip("br, *;q=0"));
+    }
+
+    @Test
+    void Should_ReuseBody_When_CurrenciesHaveNotChanged() {
+        // Given
+        var precompressedCurrencies = new PrecompressedCurrencies(new ObjectMapper(), 1);
+        var first = precompressedCurrencies.response(List.of("USD", "EUR"), "gzip");
+
+        // When
+        var second = precompressedCurrencies.response(List.of("USD", "EUR"), "gzip");
+
+        // Then
+        assertSame(first.getEntity(), second.getEntity());
+        assertNull(precompressedCurrencies.response(List.of("USD", "EUR"), null).getHeaderString("Content-Encoding"));
+    }
+}
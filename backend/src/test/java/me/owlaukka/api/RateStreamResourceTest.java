@@ -0,0 +1,27 @@
+package me.owlaukka.api;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+@QuarkusTest
+class RateStreamResourceTest {
+
+    @ParameterizedTest(name = "should return 400 when pair is {0}")
+    @ValueSource(strings = {"USDEUR", "usd-eur", "USD-EURO"})
+    void Should_Return400Error_When_GivenInvalidPair(String pair) {
+        given()
+                .when()
+                .queryParam("pairs", "GBP-USD")
+                .queryParam("pairs", pair)
+                .get("/rates/stream")
+                .then()
+                .statusCode(400)
+                .body("fields", equalTo(List.of("streamRates.pairs")));
+    }
+}
@@ -0,0 +1,25 @@
+package me.owlaukka.api;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+@QuarkusTest
+class SwopQuotaResourceTest {
+
+    @Test
+    void Should_ReturnRemainingBudget_When_QuotaIsRequested() {
+        // When + Then
+        given()
+                .when()
+                .get("/admin/swop/quota")
+                .then()
+                .statusCode(200)
+                .body("perDay", equalTo(1000))
+                .body("remainingToday", notNullValue())
+                .body("callsTodayByMethod", notNullValue());
+    }
+}
@@ -0,0 +1,107 @@
+package me.owlaukka.api.writers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import me.owlaukka.model.ConversionResponse;
+import me.owlaukka.model.Error;
+import me.owlaukka.model.ValidationError;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the response writers against golden files of what Jackson wrote for the same responses, and against
+ * the Jackson of the build so a change in its output shows up here.
+ */
+class ResponseWritersTest {
+    private static final LocalDate DATE = LocalDate.parse("2025-02-20");
+
+    // Like the ObjectMapper of Quarkus, which writes dates as yyyy-MM-dd
+    private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static Map<String, String> golden;
+
+    @BeforeAll
+    static void readGoldenFiles() throws IOException {
+        golden = new HashMap<>();
+        try (var input = Objects.requireNonNull(
+                ResponseWritersTest.class.getResourceAsStream("/writers/golden-responses.txt"))) {
+            for (var line : new String(input.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                var separator = line.indexOf(' ');
+                golden.put(line.substring(0, separator), line.substring(separator + 1));
+            }
+        }
+    }
+
+    static Map<String, Object> responses() {
+        var responses = new LinkedHashMap<String, Object>();
+        for (var amount : List.of("96.12", "100", "0.01", "0", "0.00", "-12.50", "0.000001", "1E-7", "1E+3",
+                "922337203685477580.7", "12345678901234567890123456789.12")) {
+            responses.put("conversion-" + amount,
+                    new ConversionResponse().convertedAmount(new BigDecimal(amount)).date(DATE));
+        }
+        for (var date : List.of(LocalDate.of(999, 12, 31), LocalDate.of(-1, 1, 1), LocalDate.of(10000, 1, 1))) {
+            responses.put("conversion-date-" + date,
+                    new ConversionResponse().convertedAmount(BigDecimal.ONE).date(date));
+        }
+        responses.put("conversion-nulls", new ConversionResponse());
+        responses.put("error", new Error().code("NOT_FOUND").message("Not found"));
+        responses.put("error-nulls", new Error());
+        responses.put("error-escapes", new Error().code("BAD_REQUEST")
+                .message("\"quoted\" \\ / \t\n\r\b\f \u0000\u001f\u007f"));
+        responses.put("error-unicode", new Error().code("BAD_REQUEST")
+                .message("\u00e9 \u20ac \u2028 \ud83d\ude00 \ud83d"));
+        responses.put("validation-error", new ValidationError()
+                .fields(List.of("amount", "sourceCurrency")).message("Invalid input parameters"));
+        responses.put("validation-error-empty", new ValidationError().fields(List.of()).message("Invalid"));
+        responses.put("validation-error-nulls", new ValidationError().fields(null).message(null));
+        return responses;
+    }
+
+    static List<String> responseNames() {
+        return List.copyOf(responses().keySet());
+    }
+
+    @ParameterizedTest
+    @MethodSource("responseNames")
+    void Should_WriteTheSameBytesAsJackson(String name) throws IOException {
+        // Given
+        var response = responses().get(name);
+
+        // When
+        var written = write(response);
+
+        // Then
+        assertEquals(golden.get(name), written);
+        // As bytes, which Jackson writes with its UTF-8 generator like Quarkus does, not as a String
+        assertEquals(new String(objectMapper.writeValueAsBytes(response), StandardCharsets.UTF_8), written);
+    }
+
+    private static String write(Object response) throws IOException {
+        var output = new ByteArrayOutputStream();
+        if (response instanceof ConversionResponse conversion) {
+            new ConversionResponseWriter()
+                    .writeTo(conversion, ConversionResponse.class, null, null, null, null, output);
+        } else if (response instanceof Error error) {
+            new ErrorWriter().writeTo(error, Error.class, null, null, null, null, output);
+        } else {
+            var error = (ValidationError) response;
+            new ValidationErrorWriter().writeTo(error, ValidationError.class, null, null, null, null, output);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
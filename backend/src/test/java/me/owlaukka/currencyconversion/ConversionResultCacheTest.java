@@ -0,0 +1,157 @@
+package me.owlaukka.currencyconversion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConversionResultCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-02-20T15:00:00Z");
+    private static final LocalDate DATE = LocalDate.parse("2025-02-20");
+
+    private RateSnapshotHolder snapshotHolder;
+    private SimpleMeterRegistry meterRegistry;
+    private ConversionResultCache cache;
+    private AtomicInteger conversions;
+
+    @BeforeEach
+    void setUp() {
+        snapshotHolder = new RateSnapshotHolder(Duration.ofHours(1), () -> NOW);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ConversionResultCache(snapshotHolder, 100, meterRegistry);
+        conversions = new AtomicInteger();
+    }
+
+    private RateSnapshot newSnapshot() {
+        return snapshotHolder.update(new RateSnapshot(
+                0,
+                "swop",
+                EuroRateTable.of(DATE, Map.of(
+                        "EUR", BigDecimal.ONE,
+                        "USD", new BigDecimal("1.045512")
+                )),
+                List.of("EUR", "USD"),
+                NOW
+        ));
+    }
+
+    private Supplier<ConversionResult> converting(String convertedAmount) {
+        return () -> {
+            conversions.incrementAndGet();
+            return new ConversionResult(new BigDecimal(convertedAmount), DATE);
+        };
+    }
+
+    @Test
+    void Should_ReturnCachedResult_When_SameConversionIsRequestedAgain() {
+        // Given
+        newSnapshot();
+        var first = cache.get("USD", "EUR", new BigDecimal("100"), converting("95.65"));
+
+        // When
+        var second = cache.get("USD", "EUR", new BigDecimal("100.00"), converting("95.65"));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, conversions.get());
+        assertEquals(0.5, meterRegistry.get("conversion.result-cache.hit-ratio").gauge().value());
+    }
+
+    @Test
+    void Should_ConvertAgain_When_SnapshotIsReplaced() {
+        // Given
+        newSnapshot();
+        cache.get("USD", "EUR", new BigDecimal("100"), converting("95.65"));
+
+        // When
+        var snapshot = newSnapshot();
+        cache.onSnapshotUpdated(snapshot);
+        var result = cache.get("USD", "EUR", new BigDecimal("100"), converting("95.70"));
+
+        // Then
+        assertEquals(new BigDecimal("95.70"), result.convertedAmount());
+        assertEquals(2, conversions.get());
+    }
+
+    @Test
+    void Should_ConvertAgain_When_SnapshotIsReplacedBeforeInvalidation() {
+        // Given
+        newSnapshot();
+        cache.get("USD", "EUR", new BigDecimal("100"), converting("95.65"));
+
+        // When
+        newSnapshot();
+        var result = cache.get("USD", "EUR", new BigDecimal("100"), converting("95.70"));
+
+        // Then
+        assertEquals(new BigDecimal("95.70"), result.convertedAmount());
+    }
+
+    @Test
+    void Should_NotCache_When_ThereIsNoSnapshot() {
+        // When
+        cache.get("USD", "EUR", new BigDecimal("100"), converting("95.65"));
+        cache.get("USD", "EUR", new BigDecimal("100"), converting("95.65"));
+
+        // Then
+        assertEquals(2, conversions.get());
+    }
+
+    @Test
+    void Should_NotCache_When_CurrencyIsNotInSnapshot() {
+        // Given
+        newSnapshot();
+
+        // When
+        cache.get("USD", "GBP", new BigDecimal("100"), converting("79.41"));
+        cache.get("USD", "GBP", new BigDecimal("100"), converting("79.41"));
+
+        // Then
+        assertEquals(2, conversions.get());
+    }
+
+    @Test
+    void Should_NotCacheFailure_When_ConversionThrows() {
+        // Given
+        newSnapshot();
+
+        // When
+        assertThrows(CustomValidationException.class, () -> cache.get("USD", "EUR", BigDecimal.TEN, () -> {
+            throw new CustomValidationException("Target currency is not valid", List.of("convertCurrency.targetCurrency"));
+        }));
+        cache.get("USD", "EUR", BigDecimal.TEN, converting("9.56"));
+
+        // Then
+        assertEquals(1, conversions.get());
+    }
+
+    @Test
+    void Should_AlwaysConvert_When_CacheIsDisabled() {
+        // Given
+        newSnapshot();
+        var disabled = new ConversionResultCache(snapshotHolder, 0, new SimpleMeterRegistry());
+
+        // When
+        disabled.get("USD", "EUR", new BigDecimal("100"), converting("95.65"));
+        disabled.get("USD", "EUR", new BigDecimal("100"), converting("95.65"));
+
+        // Then
+        assertEquals(2, conversions.get());
+    }
+}
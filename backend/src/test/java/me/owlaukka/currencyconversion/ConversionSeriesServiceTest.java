@@ -0,0 +1,135 @@
+package me.owlaukka.currencyconversion;
+
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.history.RateHistoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConversionSeriesServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private RateHistoryStore rateHistoryStore;
+    private ConversionSeriesService conversionSeriesService;
+
+    @BeforeEach
+    void setUp() {
+        rateHistoryStore = new RateHistoryStore(
+                Optional.of(directory.resolve("rate-history.bin").toString()), LocalDate.parse("2025-01-01"), 365);
+        conversionSeriesService = new ConversionSeriesService(rateHistoryStore);
+
+        // Thursday, Friday and Monday
+        rateHistoryStore.record(EuroRateTable.of(LocalDate.parse("2025-02-13"), Map.of(
+                "GBP", new BigDecimal("0.830277"),
+                "USD", new BigDecimal("1.049706")
+        )));
+        rateHistoryStore.record(EuroRateTable.of(LocalDate.parse("2025-02-14"), Map.of(
+                "GBP", new BigDecimal("0.8302"),
+                "USD", new BigDecimal("1.0455")
+        )));
+        rateHistoryStore.record(EuroRateTable.of(LocalDate.parse("2025-02-17"), Map.of(
+                "GBP", new BigDecimal("0.8289"),
+                "USD", new BigDecimal("1.0462"),
+                "JPY", new BigDecimal("159.01")
+        )));
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateHistoryStore.close();
+    }
+
+    private static String write(ConversionSeries series) throws IOException {
+        var output = new ByteArrayOutputStream();
+        series.writeTo(output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void Should_WriteConversionForEveryDayWithRates_When_GivenDateRange() throws IOException {
+        // When
+        var series = conversionSeriesService.series("GBP", "USD", new BigDecimal("100"),
+                LocalDate.parse("2025-02-01"), LocalDate.parse("2025-02-28"));
+
+        // Then
+        assertEquals("{\"sourceCurrency\":\"GBP\",\"targetCurrency\":\"USD\",\"conversions\":["
+                        + "{\"date\":\"2025-02-13\",\"convertedAmount\":126.43},"
+                        + "{\"date\":\"2025-02-14\",\"convertedAmount\":125.93},"
+                        + "{\"date\":\"2025-02-17\",\"convertedAmount\":126.22}"
+                        + "]}",
+                write(series));
+    }
+
+    @Test
+    void Should_LeaveOutDaysWithoutRatesForBothCurrencies_When_CurrencyIsMissingOnSomeDays() throws IOException {
+        // When
+        var series = conversionSeriesService.series("JPY", "USD", new BigDecimal("1000"),
+                LocalDate.parse("2025-02-13"), LocalDate.parse("2025-02-17"));
+
+        // Then
+        assertEquals("{\"sourceCurrency\":\"JPY\",\"targetCurrency\":\"USD\",\"conversions\":["
+                        + "{\"date\":\"2025-02-17\",\"convertedAmount\":6.58}"
+                        + "]}",
+                write(series));
+    }
+
+    @Test
+    void Should_WriteEmptyConversions_When_RangeHasNoRates() throws IOException {
+        // When
+        var series = conversionSeriesService.series("GBP", "USD", new BigDecimal("100"),
+                LocalDate.parse("2025-02-15"), LocalDate.parse("2025-02-16"));
+
+        // Then
+        assertEquals("{\"sourceCurrency\":\"GBP\",\"targetCurrency\":\"USD\",\"conversions\":[]}", write(series));
+    }
+
+    @Test
+    void Should_ThrowCustomValidationException_When_RangeStartsAfterItEnds() {
+        // When + Then
+        var thrownException = assertThrows(CustomValidationException.class, () ->
+                conversionSeriesService.series("GBP", "USD", new BigDecimal("100"),
+                        LocalDate.parse("2025-02-17"), LocalDate.parse("2025-02-13"))
+        );
+
+        assertEquals(List.of("convertCurrencySeries.from", "convertCurrencySeries.to"), thrownException.getFields());
+    }
+
+    @Test
+    void Should_ThrowCustomValidationException_When_RangeEndsInTheFuture() {
+        // When + Then
+        var thrownException = assertThrows(CustomValidationException.class, () ->
+                conversionSeriesService.series("GBP", "USD", new BigDecimal("100"),
+                        LocalDate.parse("2025-02-13"), LocalDate.now().plusDays(2))
+        );
+
+        assertEquals(List.of("convertCurrencySeries.to"), thrownException.getFields());
+    }
+
+    @Test
+    void Should_ThrowCustomValidationException_When_CurrencyHasNoHistoricalRates() {
+        // When + Then
+        var thrownException = assertThrows(CustomValidationException.class, () ->
+                conversionSeriesService.series("GBP", "MAR", new BigDecimal("100"),
+                        LocalDate.parse("2025-02-13"), LocalDate.parse("2025-02-17"))
+        );
+
+        assertEquals(List.of("convertCurrencySeries.targetCurrency"), thrownException.getFields());
+        assertEquals("Target currency is not valid", thrownException.getMessage());
+    }
+}
@@ -4,8 +4,12 @@ import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 import me.owlaukka.rates.EuroExchangeRate;
+import me.owlaukka.rates.EuroRateTable;
 import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
 import me.owlaukka.rates.ExchangeRateService;
+import me.owlaukka.rates.KnownCurrencies;
+import me.owlaukka.rates.cache.EuroRateCache;
+import me.owlaukka.rates.history.RateHistoryStore;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -16,6 +20,8 @@ import org.mockito.Mockito;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -29,6 +35,15 @@ class CurrencyConversionServiceImplTest {
     @InjectMock
     private ExchangeRateService exchangeRateService;
 
+    @InjectMock
+    private EuroRateCache euroRateCache;
+
+    @InjectMock
+    private RateHistoryStore rateHistoryStore;
+
+    @InjectMock
+    private KnownCurrencies knownCurrencies;
+
     @Nested
     class ConvertCurrency {
 
@@ -112,6 +127,24 @@ class CurrencyConversionServiceImplTest {
             );
         }
 
+        @Test
+        void Should_NotLookUpCurrencies_When_CurrencyIsKnownToBeUnsupported() {
+            // Given
+            var givenSourceCurrencyCode = "GBP";
+            var givenTargetCurrencyCode = "QQQ";
+            var givenAmountToConvert = new BigDecimal("100");
+
+            Mockito.when(knownCurrencies.isKnownUnsupported(givenTargetCurrencyCode)).thenReturn(true);
+
+            // When
+            var exception = assertThrows(CustomValidationException.class, () ->
+                    currencyConversionService.convert(givenSourceCurrencyCode, givenTargetCurrencyCode, givenAmountToConvert));
+
+            // Then
+            assertEquals("Target currency is not valid", exception.getMessage());
+            Mockito.verifyNoInteractions(exchangeRateService);
+        }
+
         @Test
         void Should_ThrowCustomValidationException_When_RequestedSourceCurrencyIsNotInTheResponse() {
             // Given
@@ -173,6 +206,133 @@ class CurrencyConversionServiceImplTest {
         }
     }
 
+    @Nested
+    class ConvertCurrencyToMany {
+
+        @Test
+        void Should_ConvertToAllTargetCurrencies_When_AllCurrenciesAreSupported() {
+            // Given
+            var dateOfRates = LocalDate.parse("2025-02-20");
+            var returnedRates = EuroRateTable.of(dateOfRates, Map.of(
+                    "GBP", new BigDecimal("0.830277"),
+                    "USD", new BigDecimal("1.049706"),
+                    "EUR", BigDecimal.ONE
+            ));
+
+            Mockito.when(euroRateCache.getEuroRates(List.of("GBP", "USD", "EUR")))
+                    .thenReturn(returnedRates);
+
+            // When
+            var conversionResult = currencyConversionService.convertToMany("GBP", List.of("USD", "EUR"), new BigDecimal("100"));
+
+            // Then
+            assertEquals(List.of("USD", "EUR"), List.copyOf(conversionResult.convertedAmounts().keySet()));
+            assertEquals(new BigDecimal("126.43"), conversionResult.convertedAmounts().get("USD"));
+            assertEquals(new BigDecimal("120.44"), conversionResult.convertedAmounts().get("EUR"));
+            assertEquals(dateOfRates, conversionResult.date());
+        }
+
+        @Test
+        void Should_ThrowCustomValidationException_When_SomeTargetCurrenciesAreNotSupported() {
+            // Given
+            var returnedRates = EuroRateTable.of(LocalDate.parse("2025-02-20"), Map.of(
+                    "GBP", new BigDecimal("0.830277"),
+                    "USD", new BigDecimal("1.049706")
+            ));
+
+            Mockito.when(euroRateCache.getEuroRates(Mockito.anyList()))
+                    .thenReturn(returnedRates);
+
+            // When + Then
+            var thrownException = assertThrows(CustomValidationException.class, () ->
+                    currencyConversionService.convertToMany("GBP", List.of("USD", "YEN", "MAR"), new BigDecimal("100"))
+            );
+
+            assertEquals(List.of("convertCurrencyBatch.targetCurrencies"), thrownException.getFields());
+            assertEquals("Target currencies are not valid: YEN, MAR", thrownException.getMessage());
+        }
+
+        @Test
+        void Should_ThrowCustomValidationException_When_SourceCurrencyIsNotSupported() {
+            // Given
+            var returnedRates = EuroRateTable.of(LocalDate.parse("2025-02-20"), Map.of(
+                    "USD", new BigDecimal("1.049706")
+            ));
+
+            Mockito.when(euroRateCache.getEuroRates(Mockito.anyList()))
+                    .thenReturn(returnedRates);
+
+            // When + Then
+            var thrownException = assertThrows(CustomValidationException.class, () ->
+                    currencyConversionService.convertToMany("YEN", List.of("USD"), new BigDecimal("100"))
+            );
+
+            assertEquals(List.of("convertCurrencyBatch.sourceCurrency"), thrownException.getFields());
+        }
+    }
+
+    @Nested
+    class ConvertCurrencyAtDate {
+
+        @Test
+        void Should_ConvertWithRatesOfLatestDayWithRates_When_GivenPastDate() {
+            // Given
+            var requestedDate = LocalDate.parse("2025-02-16");
+            var dateOfRates = LocalDate.parse("2025-02-14");
+            Mockito.when(rateHistoryStore.dateOfRatesOn(requestedDate)).thenReturn(Optional.of(dateOfRates));
+            Mockito.when(rateHistoryStore.rate(dateOfRates, "GBP")).thenReturn(new BigDecimal("0.830277"));
+            Mockito.when(rateHistoryStore.rate(dateOfRates, "USD")).thenReturn(new BigDecimal("1.049706"));
+
+            // When
+            var conversionResult = currencyConversionService.convertAt("GBP", "USD", new BigDecimal("100"), requestedDate);
+
+            // Then
+            assertEquals(new BigDecimal("126.43"), conversionResult.convertedAmount());
+            assertEquals(dateOfRates, conversionResult.date());
+            Mockito.verifyNoInteractions(exchangeRateService);
+        }
+
+        @Test
+        void Should_ThrowCustomValidationException_When_GivenFutureDate() {
+            // When + Then
+            var thrownException = assertThrows(CustomValidationException.class, () ->
+                    currencyConversionService.convertAt("GBP", "USD", new BigDecimal("100"), LocalDate.now().plusDays(2))
+            );
+
+            assertEquals(List.of("convertCurrency.date"), thrownException.getFields());
+            Mockito.verifyNoInteractions(rateHistoryStore);
+        }
+
+        @Test
+        void Should_ThrowCustomValidationException_When_NoRatesAreRecordedNearTheDate() {
+            // Given
+            Mockito.when(rateHistoryStore.dateOfRatesOn(Mockito.any())).thenReturn(Optional.empty());
+
+            // When + Then
+            var thrownException = assertThrows(CustomValidationException.class, () ->
+                    currencyConversionService.convertAt("GBP", "USD", new BigDecimal("100"), LocalDate.parse("1990-01-01"))
+            );
+
+            assertEquals(List.of("convertCurrency.date"), thrownException.getFields());
+        }
+
+        @Test
+        void Should_ThrowCustomValidationException_When_TargetCurrencyHasNoRateAtTheDate() {
+            // Given
+            var dateOfRates = LocalDate.parse("2025-02-14");
+            Mockito.when(rateHistoryStore.dateOfRatesOn(dateOfRates)).thenReturn(Optional.of(dateOfRates));
+            Mockito.when(rateHistoryStore.rate(dateOfRates, "GBP")).thenReturn(new BigDecimal("0.830277"));
+
+            // When + Then
+            var thrownException = assertThrows(CustomValidationException.class, () ->
+                    currencyConversionService.convertAt("GBP", "MAR", new BigDecimal("100"), dateOfRates)
+            );
+
+            assertEquals(List.of("convertCurrency.targetCurrency"), thrownException.getFields());
+            assertEquals("Target currency is not valid", thrownException.getMessage());
+        }
+    }
+
     @Nested
     class AllSupportedCurrencies {
 
@@ -0,0 +1,82 @@
+package me.owlaukka.currencyconversion;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongConversionTest {
+
+    @ParameterizedTest(name = "should convert {0} with rates {1} and {2} to {3}")
+    @CsvSource({
+            "100, 0.830277, 1.049706, 126.43",
+            "5334.53, 3.855912, 1.892903, 2618.77",
+            "0.01, 157.35, 1, 0.00",
+            "0.05, 0.9, 1, 0.06",
+            "9000.99, 0.000012, 165000.5, 123763987541250.00"
+    })
+    void Should_ConvertLikeBigDecimal_When_GivenTypicalValues(String amount, String sourceRate, String targetRate,
+                                                             String expected) {
+        // Given
+        var amountValue = new BigDecimal(amount);
+        var sourceRateValue = new BigDecimal(sourceRate);
+        var targetRateValue = new BigDecimal(targetRate);
+
+        // When
+        var converted = LongConversion.convert(
+                amountValue.unscaledValue().longValueExact(), amountValue.scale(),
+                sourceRateValue.unscaledValue().longValueExact(), sourceRateValue.scale(),
+                targetRateValue.unscaledValue().longValueExact(), targetRateValue.scale()
+        );
+
+        // Then
+        assertEquals(new BigDecimal(expected), BigDecimal.valueOf(converted, 2));
+        assertEquals(CurrencyConversionServiceImpl.convertAmount(amountValue, sourceRateValue, targetRateValue),
+                BigDecimal.valueOf(converted, 2));
+    }
+
+    @Test
+    void Should_GiveSameResultAsBigDecimal_When_GivenRandomValues() {
+        var random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // Given
+            var amount = random.nextLong(1, 10_000_000_000_000L);
+            var amountScale = random.nextInt(3);
+            var sourceRate = random.nextLong(1, 100_000_000_000L);
+            var sourceScale = random.nextInt(9);
+            var targetRate = random.nextLong(1, 100_000_000_000L);
+            var targetScale = random.nextInt(9);
+
+            // When
+            var converted = LongConversion.convert(amount, amountScale, sourceRate, sourceScale, targetRate, targetScale);
+
+            // Then
+            var expected = CurrencyConversionServiceImpl.convertAmount(BigDecimal.valueOf(amount, amountScale),
+                    BigDecimal.valueOf(sourceRate, sourceScale), BigDecimal.valueOf(targetRate, targetScale));
+            if (converted == LongConversion.OVERFLOW) {
+                var amountInEur = BigDecimal.valueOf(amount, amountScale)
+                        .divide(BigDecimal.valueOf(sourceRate, sourceScale), 10, RoundingMode.HALF_UP);
+                assertTrue(expected.unscaledValue().bitLength() >= Long.SIZE - 1
+                                || amountInEur.unscaledValue().bitLength() >= Long.SIZE - 1,
+                        "Only values that do not fit in a long should overflow");
+            } else {
+                assertEquals(expected, BigDecimal.valueOf(converted, 2));
+            }
+        }
+    }
+
+    @Test
+    void Should_ReturnOverflow_When_ResultDoesNotFitInLong() {
+        // When
+        var converted = LongConversion.convert(Long.MAX_VALUE, 0, 1, 6, 1_000_000, 0);
+
+        // Then
+        assertEquals(LongConversion.OVERFLOW, converted);
+    }
+}
@@ -0,0 +1,44 @@
+package me.owlaukka.currencyconversion;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class StartupWarmUpTest {
+
+    @Inject
+    StartupWarmUp startupWarmUp;
+
+    @TestHTTPResource("/")
+    URI baseUri;
+
+    @Test
+    void Should_BeReady_When_WarmUpIsDisabled() {
+        // When + Then
+        given()
+                .when()
+                .get("/q/health/ready")
+                .then()
+                .statusCode(200)
+                .body("checks.name", hasItem("startup-warm-up"));
+    }
+
+    @Test
+    void Should_AnswerEveryRequestWithoutRates_When_WarmingUp() {
+        // When
+        var answered = startupWarmUp.warmUp(baseUri);
+
+        // Then
+        assertEquals(8, answered);
+        assertEquals(HealthCheckResponse.Status.UP, startupWarmUp.call().getStatus());
+    }
+}
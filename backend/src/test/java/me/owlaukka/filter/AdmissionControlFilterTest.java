@@ -0,0 +1,119 @@
+package me.owlaukka.filter;
+
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import me.owlaukka.filter.AdmissionController.Cost;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import me.owlaukka.rates.warmup.RateCacheWarmer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdmissionControlFilterTest {
+
+    private static final Instant NOW = Instant.parse("2025-02-20T12:00:00Z");
+
+    private RateSnapshotHolder snapshotHolder;
+    private RateCacheWarmer rateCacheWarmer;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        snapshotHolder = new RateSnapshotHolder(Duration.ofHours(1), () -> NOW);
+        snapshotHolder.update(new RateSnapshot(
+                0,
+                "swop",
+                EuroRateTable.of(LocalDate.parse("2025-02-20"), Map.of(
+                        "EUR", BigDecimal.ONE,
+                        "USD", new BigDecimal("1.045512"),
+                        "GBP", new BigDecimal("0.829612")
+                )),
+                List.of("EUR", "USD", "GBP"),
+                NOW
+        ));
+        rateCacheWarmer = Mockito.mock(RateCacheWarmer.class);
+        filter = new AdmissionControlFilter(Mockito.mock(AdmissionController.class), snapshotHolder,
+                rateCacheWarmer, Duration.ofSeconds(1));
+    }
+
+    private static MultivaluedHashMap<String, String> query(String... namesAndValues) {
+        var parameters = new MultivaluedHashMap<String, String>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            parameters.add(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return parameters;
+    }
+
+    @Test
+    void Should_TreatConversionAsCheap_When_SnapshotHasBothCurrencies() {
+        // When
+        var cost = filter.costOf("/conversion", query("sourceCurrency", "USD", "targetCurrency", "GBP"));
+
+        // Then
+        assertEquals(Cost.CHEAP, cost);
+    }
+
+    @Test
+    void Should_TreatConversionAsUpstream_When_PairIsNotInSnapshotNorWarm() {
+        // When
+        var cost = filter.costOf("/conversion", query("sourceCurrency", "JPY", "targetCurrency", "SEK"));
+
+        // Then
+        assertEquals(Cost.UPSTREAM, cost);
+    }
+
+    @Test
+    void Should_TreatConversionAsCheap_When_PairWasWarmedUp() {
+        // Given
+        Mockito.when(rateCacheWarmer.isWarm("JPY", "SEK")).thenReturn(true);
+
+        // When
+        var cost = filter.costOf("/conversion", query("sourceCurrency", "JPY", "targetCurrency", "SEK"));
+
+        // Then
+        assertEquals(Cost.CHEAP, cost);
+    }
+
+    @Test
+    void Should_TreatConversionAsCheap_When_RatesAreHistorical() {
+        // When
+        var cost = filter.costOf("/conversion",
+                query("sourceCurrency", "JPY", "targetCurrency", "SEK", "date", "2024-01-02"));
+
+        // Then
+        assertEquals(Cost.CHEAP, cost);
+    }
+
+    @Test
+    void Should_TreatBatchAsUpstream_When_AnyTargetIsNotInSnapshot() {
+        // When
+        var cost = filter.costOf("conversion/batch",
+                query("sourceCurrency", "USD", "targetCurrencies", "GBP", "targetCurrencies", "SEK"));
+
+        // Then
+        assertEquals(Cost.UPSTREAM, cost);
+    }
+
+    @Test
+    void Should_TreatCurrenciesAsCheap() {
+        // When + Then
+        assertEquals(Cost.CHEAP, filter.costOf("/currencies", query()));
+    }
+
+    @Test
+    void Should_NotLimitRequests_When_EndpointIsNotAConversion() {
+        // When + Then
+        assertNull(filter.costOf("/admin/swop/quota", query()));
+    }
+}
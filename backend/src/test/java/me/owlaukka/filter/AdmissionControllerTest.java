@@ -0,0 +1,96 @@
+package me.owlaukka.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.owlaukka.filter.AdmissionController.Cost;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControllerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionController admissionController;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        admissionController = new AdmissionController(true, 4, 0.5, Duration.ofMillis(50), meterRegistry);
+    }
+
+    @Test
+    void Should_ShedUpstreamRequests_When_TheirShareIsTaken() {
+        // Given
+        assertTrue(admissionController.admit(Cost.UPSTREAM));
+        assertTrue(admissionController.admit(Cost.UPSTREAM));
+
+        // When + Then
+        assertFalse(admissionController.admit(Cost.UPSTREAM));
+        assertTrue(admissionController.admit(Cost.CHEAP));
+        assertTrue(admissionController.admit(Cost.CHEAP));
+        assertEquals(1.0, meterRegistry.get("admission.requests").tags("cost", "upstream", "result", "shed")
+                .counter().count());
+    }
+
+    @Test
+    void Should_ShedCheapRequests_When_NoSlotFreesUpBeforeQueueTimeout() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            admissionController.admit(Cost.CHEAP);
+        }
+
+        // When
+        var startedAt = System.nanoTime();
+        var admitted = admissionController.admit(Cost.CHEAP);
+
+        // Then
+        assertFalse(admitted);
+        assertTrue(System.nanoTime() - startedAt >= Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    void Should_AdmitWaitingCheapRequest_When_SlotIsReleased() throws Exception {
+        // Given
+        var slowController = new AdmissionController(true, 1, 0.5, Duration.ofSeconds(5), meterRegistry);
+        slowController.admit(Cost.CHEAP);
+        var waiting = CompletableFuture.supplyAsync(() -> slowController.admit(Cost.CHEAP));
+
+        // When
+        Thread.sleep(50);
+        slowController.release(Cost.CHEAP);
+
+        // Then
+        assertTrue(waiting.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void Should_AdmitUpstreamRequestAgain_When_UpstreamSlotIsReleased() {
+        // Given
+        admissionController.admit(Cost.UPSTREAM);
+        admissionController.admit(Cost.UPSTREAM);
+        assertFalse(admissionController.admit(Cost.UPSTREAM));
+
+        // When
+        admissionController.release(Cost.UPSTREAM);
+
+        // Then
+        assertTrue(admissionController.admit(Cost.UPSTREAM));
+        assertEquals(2.0, meterRegistry.get("admission.in-flight").gauge().value());
+    }
+
+    @Test
+    void Should_AdmitEverything_When_Disabled() {
+        // Given
+        var disabled = new AdmissionController(false, 0, 0, Duration.ZERO, meterRegistry);
+
+        // When + Then
+        assertTrue(disabled.admit(Cost.UPSTREAM));
+        assertTrue(disabled.admit(Cost.CHEAP));
+    }
+}
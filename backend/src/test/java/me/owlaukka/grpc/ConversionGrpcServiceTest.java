@@ -0,0 +1,270 @@
+package me.owlaukka.grpc;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import me.owlaukka.currencyconversion.ConversionResult;
+import me.owlaukka.currencyconversion.CurrencyConversionService;
+import me.owlaukka.currencyconversion.CustomValidationException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+class ConversionGrpcServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final LocalDate DATE = LocalDate.parse("2025-02-20");
+
+    @GrpcClient
+    Conversion conversion;
+
+    @InjectMock
+    CurrencyConversionService currencyConversionService;
+
+    private static ConvertRequest request(String source, String target, long unscaledAmount, int scale) {
+        return ConvertRequest.newBuilder()
+                .setSourceCurrency(source)
+                .setTargetCurrency(target)
+                .setAmount(Decimal.newBuilder().setUnscaled(unscaledAmount).setScale(scale))
+                .build();
+    }
+
+    @Nested
+    class Convert {
+
+        @Test
+        void Should_ReturnConversion_When_GivenValidData() {
+            // Given
+            Mockito.when(currencyConversionService.convert("USD", "EUR", new BigDecimal("100.50")))
+                    .thenReturn(new ConversionResult(new BigDecimal("96.12"), DATE));
+
+            // When
+            var reply = conversion.convert(request("USD", "EUR", 10050, 2)).await().atMost(TIMEOUT);
+
+            // Then
+            assertEquals(9612, reply.getConvertedAmount().getUnscaled());
+            assertEquals(2, reply.getConvertedAmount().getScale());
+            assertEquals(DATE.toEpochDay(), reply.getDateEpochDay());
+        }
+
+        @Test
+        void Should_ConvertAtDate_When_DateIsGiven() {
+            // Given
+            var date = LocalDate.parse("2024-01-02");
+            Mockito.when(currencyConversionService.convertAt("USD", "EUR", new BigDecimal("5"), date))
+                    .thenReturn(new ConversionResult(new BigDecimal("4.55"), date));
+
+            // When
+            var reply = conversion.convert(request("USD", "EUR", 5, 0).toBuilder()
+                    .setDateEpochDay((int) date.toEpochDay())
+                    .build()).await().atMost(TIMEOUT);
+
+            // Then
+            assertEquals(455, reply.getConvertedAmount().getUnscaled());
+            assertEquals(date.toEpochDay(), reply.getDateEpochDay());
+        }
+
+        @Test
+        void Should_ReturnInvalidArgument_When_AmountIsNotPositive() {
+            // When
+            var exception = assertThrows(StatusRuntimeException.class,
+                    () -> conversion.convert(request("USD", "EUR", 0, 2)).await().atMost(TIMEOUT));
+
+            // Then
+            assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+            assertEquals("Amount must be positive", exception.getStatus().getDescription());
+            assertEquals("convert.amount", exception.getTrailers().get(GrpcStatusMapper.INVALID_FIELDS));
+            Mockito.verifyNoInteractions(currencyConversionService);
+        }
+
+        @Test
+        void Should_ReturnInvalidArgument_When_AmountHasTooManyDecimals() {
+            // When
+            var exception = assertThrows(StatusRuntimeException.class,
+                    () -> conversion.convert(request("USD", "EUR", 1005, 3)).await().atMost(TIMEOUT));
+
+            // Then
+            assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+            assertEquals("convert.amount", exception.getTrailers().get(GrpcStatusMapper.INVALID_FIELDS));
+        }
+
+        @Test
+        void Should_ReturnInvalidArgument_When_CurrencyCodeHasWrongLength() {
+            // When
+            var exception = assertThrows(StatusRuntimeException.class,
+                    () -> conversion.convert(request("USDD", "EUR", 100, 0)).await().atMost(TIMEOUT));
+
+            // Then
+            assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+            assertEquals("Invalid input parameters: convert.sourceCurrency: size must be between 3 and 3, "
+                            + "convert.sourceCurrency: must match \"^[A-Z]{3}$\"",
+                    exception.getStatus().getDescription());
+        }
+
+        @Test
+        void Should_ReturnInvalidArgument_When_CurrencyCodeIsNotUppercaseLetters() {
+            // When
+            var exception = assertThrows(StatusRuntimeException.class,
+                    () -> conversion.convert(request("usd", "EU1", 100, 0)).await().atMost(TIMEOUT));
+
+            // Then
+            assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+            assertEquals("Invalid input parameters: convert.sourceCurrency: must match \"^[A-Z]{3}$\", "
+                            + "convert.targetCurrency: must match \"^[A-Z]{3}$\"",
+                    exception.getStatus().getDescription());
+            Mockito.verifyNoInteractions(currencyConversionService);
+        }
+
+        @Test
+        void Should_ReturnInvalidArgument_When_ServiceRejectsCurrencies() {
+            // Given
+            Mockito.when(currencyConversionService.convert("USD", "MAR", new BigDecimal("1")))
+                    .thenThrow(new CustomValidationException("Unsupported currency",
+                            List.of("convertCurrency.targetCurrency")));
+
+            // When
+            var exception = assertThrows(StatusRuntimeException.class,
+                    () -> conversion.convert(request("USD", "MAR", 1, 0)).await().atMost(TIMEOUT));
+
+            // Then
+            assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+            assertEquals("Unsupported currency", exception.getStatus().getDescription());
+            assertEquals("convertCurrency.targetCurrency",
+                    exception.getTrailers().get(GrpcStatusMapper.INVALID_FIELDS));
+        }
+
+        @Test
+        void Should_ReturnUnavailable_When_ExternalIntegrationFails() {
+            // Given
+            Mockito.when(currencyConversionService.convert("USD", "EUR", new BigDecimal("1")))
+                    .thenThrow(new ExchangeRateIntegrationException("Swop failed"));
+
+            // When
+            var exception = assertThrows(StatusRuntimeException.class,
+                    () -> conversion.convert(request("USD", "EUR", 1, 0)).await().atMost(TIMEOUT));
+
+            // Then
+            assertEquals(Status.Code.UNAVAILABLE, exception.getStatus().getCode());
+            assertEquals("Service temporarily unavailable", exception.getStatus().getDescription());
+        }
+
+        @Test
+        void Should_ReturnInternal_When_ConversionThrowsAGenericException() {
+            // Given
+            Mockito.when(currencyConversionService.convert("USD", "EUR", new BigDecimal("1")))
+                    .thenThrow(new RuntimeException("Boom"));
+
+            // When
+            var exception = assertThrows(StatusRuntimeException.class,
+                    () -> conversion.convert(request("USD", "EUR", 1, 0)).await().atMost(TIMEOUT));
+
+            // Then
+            assertEquals(Status.Code.INTERNAL, exception.getStatus().getCode());
+            assertEquals("Something went wrong", exception.getStatus().getDescription());
+        }
+    }
+
+    @Nested
+    class ConvertBatch {
+
+        @Test
+        void Should_ReturnConversionsInOrder_When_AllRequestsAreValid() {
+            // Given
+            Mockito.when(currencyConversionService.convert("USD", "EUR", new BigDecimal("10")))
+                    .thenReturn(new ConversionResult(new BigDecimal("9.56"), DATE));
+            Mockito.when(currencyConversionService.convert("GBP", "USD", new BigDecimal("2.50")))
+                    .thenReturn(new ConversionResult(new BigDecimal("3.15"), DATE));
+
+            // When
+            var reply = conversion.convertBatch(Multi.createFrom().items(
+                    request("USD", "EUR", 10, 0),
+                    request("GBP", "USD", 250, 2)
+            )).await().atMost(TIMEOUT);
+
+            // Then
+            assertEquals(2, reply.getResultsCount());
+            assertEquals(956, reply.getResults(0).getConvertedAmount().getUnscaled());
+            assertEquals(315, reply.getResults(1).getConvertedAmount().getUnscaled());
+        }
+
+        @Test
+        void Should_FailWithInvalidArgument_When_AnyRequestIsInvalid() {
+            // Given
+            Mockito.when(currencyConversionService.convert("USD", "EUR", new BigDecimal("10")))
+                    .thenReturn(new ConversionResult(new BigDecimal("9.56"), DATE));
+
+            // When
+            var exception = assertThrows(StatusRuntimeException.class, () -> conversion.convertBatch(
+                    Multi.createFrom().items(
+                            request("USD", "EUR", 10, 0),
+                            request("USD", "EUR", -10, 0)
+                    )).await().atMost(TIMEOUT));
+
+            // Then
+            assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+            assertEquals("convertBatch[1].amount", exception.getTrailers().get(GrpcStatusMapper.INVALID_FIELDS));
+        }
+
+        @Test
+        void Should_FailWithInvalidArgumentWithoutConvertingMore_When_BatchHasMoreThan50Requests() {
+            // Given
+            Mockito.when(currencyConversionService.convert("USD", "EUR", new BigDecimal("10")))
+                    .thenReturn(new ConversionResult(new BigDecimal("9.56"), DATE));
+
+            // When
+            var exception = assertThrows(StatusRuntimeException.class, () -> conversion.convertBatch(
+                    Multi.createFrom().range(0, 51).map(i -> request("USD", "EUR", 10, 0))
+            ).await().atMost(TIMEOUT));
+
+            // Then
+            assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+            assertEquals("convertBatch", exception.getTrailers().get(GrpcStatusMapper.INVALID_FIELDS));
+            Mockito.verify(currencyConversionService, Mockito.times(50)).convert("USD", "EUR", new BigDecimal("10"));
+        }
+
+        @Test
+        void Should_ConvertAll_When_BatchHas50Requests() {
+            // Given
+            Mockito.when(currencyConversionService.convert("USD", "EUR", new BigDecimal("10")))
+                    .thenReturn(new ConversionResult(new BigDecimal("9.56"), DATE));
+
+            // When
+            var reply = conversion.convertBatch(
+                    Multi.createFrom().range(0, 50).map(i -> request("USD", "EUR", 10, 0))
+            ).await().atMost(TIMEOUT);
+
+            // Then
+            assertEquals(50, reply.getResultsCount());
+        }
+    }
+
+    @Nested
+    class ListCurrencies {
+
+        @Test
+        void Should_ReturnCurrencies() {
+            // Given
+            var currencies = List.of("USD", "EUR", "JPY", "GBP");
+            Mockito.when(currencyConversionService.getAllSupportedCurrencies()).thenReturn(currencies);
+
+            // When
+            var reply = conversion.listCurrencies(ListCurrenciesRequest.getDefaultInstance()).await().atMost(TIMEOUT);
+
+            // Then
+            assertEquals(currencies, reply.getCurrenciesList());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package me.owlaukka.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhaseBreakdownTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void Should_SplitTimeOfNestedPhases_When_AnalyzingRecording() throws Exception {
+        // Given
+        var file = tempDir.resolve("conversion.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(ConversionRequestEvent.class);
+            recording.enable(CurrencyCheckEvent.class);
+            recording.enable(CacheLookupEvent.class);
+            recording.enable(UpstreamCallEvent.class);
+            recording.start();
+
+            var request = new ConversionRequestEvent();
+            request.begin();
+            var check = new CurrencyCheckEvent();
+            check.begin();
+            check.markLookedUp();
+            var lookup = new CacheLookupEvent();
+            lookup.begin();
+            lookup.markLoaded();
+            var upstreamCall = new UpstreamCallEvent();
+            upstreamCall.start();
+            Thread.sleep(20);
+            upstreamCall.attemptStarted();
+            Thread.sleep(40);
+            upstreamCall.finish("swop", "getCurrencies", "CLOSED", null);
+            lookup.finish("currencies", 1);
+            check.finish("USD", "EUR", null);
+            request.finish("convertCurrency", "USD", "EUR", 200);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // When
+        var phases = PhaseBreakdown.analyze(file);
+
+        // Then
+        assertEquals(5, phases.size());
+        var upstreamCall = phases.get("UpstreamCall swop.getCurrencies");
+        assertEquals(1, upstreamCall.count());
+        assertTrue(upstreamCall.totalNanos() >= Duration.ofMillis(40).toNanos());
+        var faultToleranceWait = phases.get("FaultToleranceWait swop.getCurrencies");
+        assertTrue(faultToleranceWait.totalNanos() >= Duration.ofMillis(20).toNanos());
+        assertTrue(faultToleranceWait.totalNanos() < Duration.ofMillis(40).toNanos());
+        assertEquals(1, phases.get("ConversionRequest").count());
+        assertEquals(1, phases.get("CurrencyCheck").count());
+        assertEquals(1, phases.get("CacheLookup currencies").count());
+        assertTrue(PhaseBreakdown.format(phases).contains("UpstreamCall swop.getCurrencies"));
+    }
+}
@@ -0,0 +1,89 @@
+package me.owlaukka.logging;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ThrottledLoggerTest {
+
+    private Logger logger;
+    private AtomicLong nanoTime;
+    private ThrottledLogger throttledLogger;
+
+    @BeforeEach
+    void setUp() {
+        logger = Mockito.mock(Logger.class);
+        Mockito.when(logger.isWarnEnabled()).thenReturn(true);
+        nanoTime = new AtomicLong(1_000_000_000L);
+        throttledLogger = new ThrottledLogger(logger, Duration.ofSeconds(10), nanoTime::get);
+    }
+
+    @Test
+    void Should_LogIdenticalWarningOnlyOnce_When_RepeatedWithinInterval() {
+        // When
+        for (int i = 0; i < 100; i++) {
+            throttledLogger.warn("Invalid source currency provided: {}", "XXX");
+        }
+
+        // Then
+        Mockito.verify(logger).warn("Invalid source currency provided: XXX");
+        Mockito.verify(logger, Mockito.times(1)).warn(Mockito.anyString());
+    }
+
+    @Test
+    void Should_LogOnlyOneWarningPerInterval_When_ArgumentsDiffer() {
+        // When
+        for (int i = 0; i < 26 * 26 * 26; i++) {
+            var code = "" + (char) ('A' + i / 676) + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26);
+            throttledLogger.warn("Invalid source currency provided: {}", code);
+        }
+
+        // Then
+        Mockito.verify(logger).warn("Invalid source currency provided: AAA");
+        Mockito.verify(logger, Mockito.times(1)).warn(Mockito.anyString());
+        Mockito.verify(logger, Mockito.never()).warn(Mockito.anyString(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void Should_LogSuppressedWarningsAtDebug_When_DebugIsEnabled() {
+        // Given
+        Mockito.when(logger.isDebugEnabled()).thenReturn(true);
+        throttledLogger.warn("Invalid source currency provided: {}", "XXX");
+
+        // When
+        throttledLogger.warn("Invalid source currency provided: {}", "YYY");
+
+        // Then
+        Mockito.verify(logger).debug("Invalid source currency provided: {}", new Object[]{"YYY"});
+    }
+
+    @Test
+    void Should_LogBothWarnings_When_FormatsDiffer() {
+        // When
+        throttledLogger.warn("Invalid source currency provided: {}", "XXX");
+        throttledLogger.warn("Invalid target currency provided: {}", "YYY");
+
+        // Then
+        Mockito.verify(logger).warn("Invalid source currency provided: XXX");
+        Mockito.verify(logger).warn("Invalid target currency provided: YYY");
+    }
+
+    @Test
+    void Should_LogAgainWithSuppressedCount_When_IntervalHasPassed() {
+        // Given
+        throttledLogger.warn("Invalid source currency provided: {}", "XXX");
+        throttledLogger.warn("Invalid source currency provided: {}", "YYY");
+        throttledLogger.warn("Invalid source currency provided: {}", "ZZZ");
+
+        // When
+        nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+        throttledLogger.warn("Invalid source currency provided: {}", "QQQ");
+
+        // Then
+        Mockito.verify(logger).warn("{} ({} similar warnings suppressed)", "Invalid source currency provided: QQQ", 2L);
+    }
+}
@@ -0,0 +1,84 @@
+package me.owlaukka.rates;
+
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EuroRateTableTest {
+
+    private static final LocalDate DATE = LocalDate.parse("2025-02-20");
+
+    @Test
+    void Should_ReturnRatesWithOriginalScale_When_BuiltFromUnsortedRates() {
+        // Given
+        var rateTable = EuroRateTable.builder(3)
+                .date(DATE)
+                .add("USD", new BigDecimal("1.0455"))
+                .add("EUR", BigDecimal.ONE)
+                .add("GBP", new BigDecimal("0.830100"))
+                .build();
+
+        // Then
+        assertEquals(List.of("EUR", "GBP", "USD"), rateTable.currencyCodes());
+        assertEquals(new BigDecimal("1.0455"), rateTable.rate("USD"));
+        assertEquals(new BigDecimal("0.830100"), rateTable.rate("GBP"));
+        assertEquals(BigDecimal.ONE, rateTable.rate("EUR"));
+        assertNull(rateTable.rate("JPY"));
+    }
+
+    @Test
+    void Should_KeepFirstRate_When_CurrencyIsAddedTwice() {
+        // Given
+        var rateTable = EuroRateTable.builder(2)
+                .date(DATE)
+                .add("USD", new BigDecimal("1.0455"))
+                .add("USD", new BigDecimal("2"))
+                .build();
+
+        // Then
+        assertEquals(1, rateTable.size());
+        assertEquals(new BigDecimal("1.0455"), rateTable.rate("USD"));
+    }
+
+    @Test
+    void Should_LeaveOutCurrency_When_CodeIsNotThreeLetters() {
+        // Given
+        var rateTable = EuroRateTable.builder(2)
+                .date(DATE)
+                .add("USDT", new BigDecimal("1.04"))
+                .add("usd", new BigDecimal("1.04"))
+                .build();
+
+        // Then
+        assertEquals(0, rateTable.size());
+        assertFalse(rateTable.contains("USDT"));
+    }
+
+    @Test
+    void Should_ThrowIntegrationException_When_RateIsNotPositive() {
+        // Given
+        var builder = EuroRateTable.builder(1).date(DATE);
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationException.class, () -> builder.add("USD", BigDecimal.ZERO));
+    }
+
+    @Test
+    void Should_ThrowBadRequestException_When_RequestingRatesForMissingCurrency() {
+        // Given
+        var rateTable = EuroRateTable.builder(1).date(DATE).add("USD", new BigDecimal("1.0455")).build();
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationBadRequestException.class,
+                () -> rateTable.euroRatesFor("USD", "GBP", "test"));
+    }
+}
@@ -0,0 +1,118 @@
+package me.owlaukka.rates;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KnownCurrenciesTest {
+
+    private static final Instant NOW = Instant.parse("2025-02-20T15:00:00Z");
+
+    private RateSnapshotHolder snapshotHolder;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong nanoTime;
+    private KnownCurrencies knownCurrencies;
+
+    @BeforeEach
+    void setUp() {
+        snapshotHolder = new RateSnapshotHolder(Duration.ofHours(1), () -> NOW);
+        meterRegistry = new SimpleMeterRegistry();
+        nanoTime = new AtomicLong();
+        knownCurrencies = new KnownCurrencies(snapshotHolder, "swop", Duration.ofMinutes(10), meterRegistry, nanoTime::get);
+    }
+
+    private void newSnapshot(List<String> currencies) {
+        newSnapshot("swop", currencies);
+    }
+
+    private void newSnapshot(String provider, List<String> currencies) {
+        snapshotHolder.update(new RateSnapshot(
+                0,
+                provider,
+                EuroRateTable.of(LocalDate.parse("2025-02-20"), Map.of("EUR", BigDecimal.ONE)),
+                currencies,
+                NOW
+        ));
+    }
+
+    @Test
+    void Should_RejectCurrency_When_ItIsNotInTheFreshSnapshot() {
+        // Given
+        newSnapshot(List.of("EUR", "USD", "GBP"));
+
+        // When + Then
+        assertFalse(knownCurrencies.isKnownUnsupported("USD"));
+        assertTrue(knownCurrencies.isKnownUnsupported("QQQ"));
+        assertEquals(1.0, meterRegistry.get("currencies.rejected-locally").counter().count());
+        assertEquals(3.0, meterRegistry.get("currencies.known.size").gauge().value());
+    }
+
+    @Test
+    void Should_UseNewSupportedCurrencies_When_SnapshotIsUpdated() {
+        // Given
+        newSnapshot(List.of("EUR", "USD"));
+        assertTrue(knownCurrencies.isKnownUnsupported("SEK"));
+
+        // When
+        newSnapshot(List.of("EUR", "USD", "SEK"));
+
+        // Then
+        assertFalse(knownCurrencies.isKnownUnsupported("SEK"));
+    }
+
+    @Test
+    void Should_NotRejectCurrency_When_SnapshotIsFromAnotherProvider() {
+        // Given
+        newSnapshot("ecb", List.of("EUR", "USD", "GBP"));
+
+        // When + Then
+        assertFalse(knownCurrencies.isKnownUnsupported("AED"));
+        assertEquals(0.0, meterRegistry.get("currencies.known.size").gauge().value());
+    }
+
+    @Test
+    void Should_RejectCurrency_When_ItIsNotAValidCurrencyCode() {
+        // When + Then
+        assertTrue(knownCurrencies.isKnownUnsupported("usd"));
+        assertTrue(knownCurrencies.isKnownUnsupported("EURO"));
+    }
+
+    @Test
+    void Should_RememberUnsupportedCurrencies_When_ThereIsNoFreshSnapshot() {
+        // Given
+        knownCurrencies.recordLookup(List.of("USD", "QQQ"), List.of("USD"));
+
+        // When + Then
+        assertFalse(knownCurrencies.isKnownUnsupported("USD"));
+        assertTrue(knownCurrencies.isKnownUnsupported("QQQ"));
+        assertFalse(knownCurrencies.isKnownUnsupported("XYZ"));
+        assertEquals(1.0, meterRegistry.get("currencies.negative-cache.size").gauge().value());
+    }
+
+    @Test
+    void Should_ForgetUnsupportedCurrencies_When_TheyHaveExpired() {
+        // Given
+        knownCurrencies.recordLookup(List.of("QQQ"), List.of());
+
+        // When
+        nanoTime.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        // Then
+        assertFalse(knownCurrencies.isKnownUnsupported("QQQ"));
+        assertEquals(0.0, meterRegistry.get("currencies.negative-cache.size").gauge().value());
+    }
+}
@@ -0,0 +1,395 @@
+package me.owlaukka.rates;
+
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationQuotaExceededException;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RoutingExchangeRateServiceImplTest {
+
+    private static final EuroRatesForSourceAndTargetCurrency RATES = new EuroRatesForSourceAndTargetCurrency(
+            new EuroExchangeRate("USD", new BigDecimal("1.2")),
+            new EuroExchangeRate("GBP", new BigDecimal("0.8")),
+            LocalDate.parse("2025-02-20")
+    );
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private ExchangeRateProvider primary;
+    private ExchangeRateProvider secondary;
+    private RateSnapshotHolder snapshotHolder;
+    private RoutingExchangeRateServiceImpl routingService;
+
+    @BeforeEach
+    void setUp() {
+        primary = provider("primary");
+        secondary = provider("secondary");
+        snapshotHolder = new RateSnapshotHolder(Duration.ofHours(1), () -> Instant.parse("2025-02-20T12:00:00Z"));
+        routingService = new RoutingExchangeRateServiceImpl(
+                List.of(primary, secondary), Duration.ofSeconds(30), Duration.ofSeconds(2), now::get, snapshotHolder, true);
+    }
+
+    private static ExchangeRateProvider provider(String name) {
+        var provider = Mockito.mock(ExchangeRateProvider.class);
+        Mockito.when(provider.name()).thenReturn(name);
+        return provider;
+    }
+
+    private void secondaryHas(String... currencyCodes) {
+        Mockito.when(secondary.getCurrencies(List.of(currencyCodes))).thenReturn(List.of(currencyCodes));
+    }
+
+    @Nested
+    class Failover {
+
+        @Test
+        void Should_UseFirstProvider_When_ItSucceeds() {
+            // Given
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP")).thenReturn(RATES);
+
+            // When
+            var rates = routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+
+            // Then
+            assertEquals(RATES, rates);
+            Mockito.verifyNoInteractions(secondary);
+        }
+
+        @Test
+        void Should_FailOverToNextProvider_When_FirstProviderFails() {
+            // Given
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP"))
+                    .thenThrow(new ExchangeRateIntegrationException("Primary is down"));
+            secondaryHas("USD", "GBP");
+            Mockito.when(secondary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP")).thenReturn(RATES);
+
+            // When
+            var rates = routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+
+            // Then
+            assertEquals(RATES, rates);
+        }
+
+        @Test
+        void Should_NotFailOver_When_NextProviderDoesNotHaveTheCurrencies() {
+            // Given
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "AED"))
+                    .thenThrow(new ExchangeRateIntegrationException("Primary is down"));
+            Mockito.when(secondary.getCurrencies(List.of("USD", "AED"))).thenReturn(List.of("USD"));
+
+            // When + Then
+            var thrownException = assertThrows(ExchangeRateIntegrationException.class,
+                    () -> routingService.getEuroRatesForSourceAndTargetCurrency("USD", "AED"));
+            assertEquals("Primary is down", thrownException.getMessage());
+            Mockito.verify(secondary, Mockito.never()).getEuroRatesForSourceAndTargetCurrency("USD", "AED");
+        }
+
+        @Test
+        void Should_FailOverToNextProvider_When_FirstProvidersCircuitIsOpen() {
+            // Given
+            Mockito.when(primary.getEuroRates(List.of("USD", "GBP"))).thenThrow(new CircuitBreakerOpenException());
+            secondaryHas("USD", "GBP");
+            var table = EuroRateTable.of(LocalDate.parse("2025-02-20"), Map.of(
+                    "USD", new BigDecimal("1.2"),
+                    "GBP", new BigDecimal("0.8")
+            ));
+            Mockito.when(secondary.getEuroRates(List.of("USD", "GBP"))).thenReturn(table);
+
+            // When
+            var rates = routingService.getEuroRates(List.of("USD", "GBP"));
+
+            // Then
+            assertEquals(table, rates);
+        }
+
+        @Test
+        void Should_NotFailOverCurrencyLists_When_FirstProviderFails() {
+            // Given
+            Mockito.when(primary.getAllSupportedCurrencies()).thenThrow(new CircuitBreakerOpenException());
+            Mockito.when(primary.getLatestRateTable()).thenThrow(new ExchangeRateIntegrationException("Primary is down"));
+
+            // When + Then
+            assertThrows(CircuitBreakerOpenException.class, () -> routingService.getAllSupportedCurrencies());
+            assertThrows(ExchangeRateIntegrationException.class, () -> routingService.getLatestRateTable());
+            Mockito.verify(secondary, Mockito.never()).getAllSupportedCurrencies();
+            Mockito.verify(secondary, Mockito.never()).getLatestRateTable();
+        }
+
+        @Test
+        void Should_NotFailOver_When_ProviderRejectsTheRequest() {
+            // Given
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "XXX"))
+                    .thenThrow(new ExchangeRateIntegrationBadRequestException("Unknown currency"));
+
+            // When + Then
+            assertThrows(ExchangeRateIntegrationBadRequestException.class,
+                    () -> routingService.getEuroRatesForSourceAndTargetCurrency("USD", "XXX"));
+            Mockito.verifyNoInteractions(secondary);
+        }
+
+        @Test
+        void Should_NotFailOverCurrencyChecks_When_FirstProviderFails() {
+            // Given
+            Mockito.when(primary.getCurrencies(List.of("AED"))).thenThrow(new ExchangeRateIntegrationException("Primary is down"));
+
+            // When + Then
+            var thrownException = assertThrows(ExchangeRateIntegrationException.class,
+                    () -> routingService.getCurrencies(List.of("AED")));
+            assertEquals("Primary is down", thrownException.getMessage());
+            Mockito.verifyNoInteractions(secondary);
+        }
+
+        @Test
+        void Should_ThrowLastFailure_When_AllProvidersFail() {
+            // Given
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP"))
+                    .thenThrow(new ExchangeRateIntegrationException("Primary is down"));
+            secondaryHas("USD", "GBP");
+            Mockito.when(secondary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP"))
+                    .thenThrow(new ExchangeRateIntegrationException("Secondary is down"));
+
+            // When + Then
+            var thrownException = assertThrows(ExchangeRateIntegrationException.class,
+                    () -> routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP"));
+            assertEquals("Secondary is down", thrownException.getMessage());
+        }
+    }
+
+    @Nested
+    class ProviderOrder {
+
+        @Test
+        void Should_TryFailedProviderLast_When_ItFailedWithinCooldown() {
+            // Given
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP"))
+                    .thenThrow(new ExchangeRateIntegrationException("Primary is down"));
+            secondaryHas("USD", "GBP");
+            Mockito.when(secondary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP")).thenReturn(RATES);
+            routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+
+            // When
+            now.addAndGet(Duration.ofSeconds(10).toNanos());
+            routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+
+            // Then
+            Mockito.verify(primary, Mockito.times(1)).getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+            Mockito.verify(secondary, Mockito.times(2)).getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+        }
+
+        @Test
+        void Should_TryFailedProviderFirstAgain_When_CooldownHasPassed() {
+            // Given
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP"))
+                    .thenThrow(new ExchangeRateIntegrationException("Primary is down"))
+                    .thenReturn(RATES);
+            secondaryHas("USD", "GBP");
+            Mockito.when(secondary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP")).thenReturn(RATES);
+            routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+
+            // When
+            now.addAndGet(Duration.ofSeconds(31).toNanos());
+            routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+
+            // Then
+            Mockito.verify(primary, Mockito.times(2)).getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+            Mockito.verify(secondary, Mockito.times(1)).getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+        }
+
+        @Test
+        void Should_TrySlowProviderLast_When_ItsAverageLatencyIsOverThreshold() {
+            // Given
+            Mockito.when(primary.getAllSupportedCurrencies()).thenAnswer(invocation -> {
+                now.addAndGet(Duration.ofSeconds(3).toNanos());
+                return List.of("EUR");
+            });
+            routingService.getAllSupportedCurrencies();
+
+            // When
+            var orderedProviders = routingService.providersInPreferredOrder().stream()
+                    .map(health -> health.provider().name())
+                    .toList();
+
+            // Then
+            assertEquals(List.of("secondary", "primary"), orderedProviders);
+        }
+    }
+
+    @Nested
+    class Snapshot {
+        private static final EuroRateTable SNAPSHOT_RATES = EuroRateTable.of(LocalDate.parse("2025-02-20"), Map.of(
+                "USD", new BigDecimal("1.2"),
+                "GBP", new BigDecimal("0.8")
+        ));
+
+        @Test
+        void Should_AnswerFromSnapshot_When_SnapshotIsFreshAndHasTheCurrencies() {
+            // Given
+            snapshotHolder.update(new RateSnapshot(0, "primary", SNAPSHOT_RATES, List.of("USD", "GBP"), Instant.parse("2025-02-20T11:30:00Z")));
+
+            // When
+            var rates = routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+            var currencies = routingService.getCurrencies(List.of("GBP", "USD"));
+
+            // Then
+            assertEquals(RATES, rates);
+            assertEquals(List.of("GBP", "USD"), currencies);
+            Mockito.verifyNoInteractions(primary, secondary);
+        }
+
+        @Test
+        void Should_UseProviders_When_SnapshotIsStale() {
+            // Given
+            snapshotHolder.update(new RateSnapshot(0, "primary", SNAPSHOT_RATES, List.of("USD", "GBP"), Instant.parse("2025-02-20T10:30:00Z")));
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP")).thenReturn(RATES);
+
+            // When
+            routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+
+            // Then
+            Mockito.verify(primary).getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+        }
+
+        @Test
+        void Should_UseProviders_When_SnapshotDoesNotHaveTheCurrency() {
+            // Given
+            snapshotHolder.update(new RateSnapshot(0, "primary", SNAPSHOT_RATES, List.of("USD", "GBP"), Instant.parse("2025-02-20T11:30:00Z")));
+            Mockito.when(primary.getCurrencies(List.of("USD", "CHF"))).thenReturn(List.of("USD", "CHF"));
+
+            // When
+            var currencies = routingService.getCurrencies(List.of("USD", "CHF"));
+
+            // Then
+            assertEquals(List.of("USD", "CHF"), currencies);
+            Mockito.verify(primary).getCurrencies(List.of("USD", "CHF"));
+        }
+
+        @Test
+        void Should_AskFirstProviderForCurrencies_When_SnapshotIsFromAnotherProvider() {
+            // Given
+            snapshotHolder.update(new RateSnapshot(0, "secondary", SNAPSHOT_RATES, List.of("USD", "GBP"), Instant.parse("2025-02-20T11:30:00Z")));
+            Mockito.when(primary.getCurrencies(List.of("USD", "GBP"))).thenReturn(List.of("USD", "GBP"));
+
+            // When
+            var currencies = routingService.getCurrencies(List.of("USD", "GBP"));
+
+            // Then
+            assertEquals(List.of("USD", "GBP"), currencies);
+            Mockito.verify(primary).getCurrencies(List.of("USD", "GBP"));
+        }
+    }
+
+    @Nested
+    class QuotaExceeded {
+        private static final ExchangeRateIntegrationQuotaExceededException QUOTA_EXCEEDED =
+                new ExchangeRateIntegrationQuotaExceededException("Swop call budget used up");
+
+        @BeforeEach
+        void staleSnapshot() {
+            snapshotHolder.update(new RateSnapshot(
+                    0,
+                    "primary",
+                    EuroRateTable.of(LocalDate.parse("2025-02-18"), Map.of(
+                            "EUR", BigDecimal.ONE,
+                            "USD", new BigDecimal("1.0423"),
+                            "GBP", new BigDecimal("0.8301")
+                    )),
+                    List.of("EUR", "GBP", "USD"),
+                    Instant.parse("2025-02-18T15:00:00Z")
+            ));
+        }
+
+        @Test
+        void Should_ReturnRatesOfLatestSnapshot_When_QuotaIsUsedUp() {
+            // Given
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP")).thenThrow(QUOTA_EXCEEDED);
+            Mockito.when(secondary.getCurrencies(List.of("USD", "GBP"))).thenReturn(List.of());
+
+            // When
+            var rates = routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+
+            // Then
+            var expectedRates = new EuroRatesForSourceAndTargetCurrency(
+                    new EuroExchangeRate("USD", new BigDecimal("1.0423")),
+                    new EuroExchangeRate("GBP", new BigDecimal("0.8301")),
+                    LocalDate.parse("2025-02-18")
+            );
+            assertEquals(expectedRates, rates);
+        }
+
+        @Test
+        void Should_NotCountAsFailure_When_QuotaIsUsedUp() {
+            // Given
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "GBP")).thenThrow(QUOTA_EXCEEDED);
+            Mockito.when(secondary.getCurrencies(List.of("USD", "GBP"))).thenReturn(List.of());
+
+            // When
+            routingService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+
+            // Then
+            assertEquals(List.of("primary", "secondary"), routingService.providersInPreferredOrder().stream()
+                    .map(health -> health.provider().name())
+                    .toList());
+        }
+
+        @Test
+        void Should_ThrowQuotaExceeded_When_LatestSnapshotDoesNotHaveThePair() {
+            // Given
+            Mockito.when(primary.getEuroRatesForSourceAndTargetCurrency("USD", "CHF")).thenThrow(QUOTA_EXCEEDED);
+            Mockito.when(secondary.getCurrencies(List.of("USD", "CHF"))).thenReturn(List.of());
+
+            // When + Then
+            assertThrows(ExchangeRateIntegrationQuotaExceededException.class,
+                    () -> routingService.getEuroRatesForSourceAndTargetCurrency("USD", "CHF"));
+        }
+
+        @Test
+        void Should_ThrowQuotaExceeded_When_StaleAnswersAreTurnedOff() {
+            // Given
+            routingService = new RoutingExchangeRateServiceImpl(
+                    List.of(primary), Duration.ofSeconds(30), Duration.ofSeconds(2), now::get, snapshotHolder, false);
+            Mockito.when(primary.getAllSupportedCurrencies()).thenThrow(QUOTA_EXCEEDED);
+
+            // When + Then
+            assertThrows(ExchangeRateIntegrationQuotaExceededException.class,
+                    () -> routingService.getAllSupportedCurrencies());
+        }
+
+        @Test
+        void Should_ReturnCurrenciesOfLatestSnapshot_When_QuotaIsUsedUp() {
+            // Given
+            Mockito.when(primary.getCurrencies(List.of("USD", "SEK"))).thenThrow(QUOTA_EXCEEDED);
+
+            // When
+            var currencies = routingService.getCurrencies(List.of("USD", "SEK"));
+
+            // Then
+            assertEquals(List.of("USD"), currencies);
+        }
+
+        @Test
+        void Should_ThrowQuotaExceeded_When_RateTableIsAskedFor() {
+            // Given
+            Mockito.when(primary.getLatestRateTable()).thenThrow(QUOTA_EXCEEDED);
+
+            // When + Then
+            assertThrows(ExchangeRateIntegrationQuotaExceededException.class, () -> routingService.getLatestRateTable());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package me.owlaukka.rates.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import me.owlaukka.rates.EuroExchangeRate;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheValueCodecsTest {
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private static final LocalDate DATE_OF_RATES = LocalDate.parse("2025-02-20");
+    private static final EuroRatesForSourceAndTargetCurrency RATES = new EuroRatesForSourceAndTargetCurrency(
+            new EuroExchangeRate("USD", new BigDecimal("1.0455")),
+            new EuroExchangeRate("GBP", new BigDecimal("0.8301")),
+            DATE_OF_RATES
+    );
+
+    private final CacheValueCodecs binaryCodecs = new CacheValueCodecs(OBJECT_MAPPER, CacheValueCodecs.Format.BINARY);
+    private final CacheValueCodecs jsonCodecs = new CacheValueCodecs(OBJECT_MAPPER, CacheValueCodecs.Format.JSON);
+
+    @Nested
+    class Binary {
+
+        @Test
+        void Should_EncodeRatesIntoFixedWidthBinary_When_FormatIsBinary() {
+            // When
+            var encoded = binaryCodecs.encodeRates(RATES);
+
+            // Then
+            assertEquals(29, encoded.length);
+            assertEquals(BinaryCacheValueCodec.MAGIC, encoded[0]);
+            assertEquals(BinaryCacheValueCodec.VERSION, encoded[1]);
+            assertEquals(RATES, binaryCodecs.decodeRates(encoded));
+        }
+
+        @Test
+        void Should_RoundTripAllValueTypes_When_FormatIsBinary() {
+            // Given
+            var currencies = List.of("USD", "GBP", "JPY");
+            var rate = new CachedRate(DATE_OF_RATES, new BigDecimal("157.35"));
+            var rateTable = EuroRateTable.of(DATE_OF_RATES, Map.of("USD", new BigDecimal("1.0455"), "EUR", BigDecimal.ONE));
+
+            // When + Then
+            assertEquals(currencies, binaryCodecs.decodeCurrencies(binaryCodecs.encodeCurrencies(currencies)));
+            assertEquals(rate, binaryCodecs.decodeRate(binaryCodecs.encodeRate(rate)));
+            assertEquals(rateTable, binaryCodecs.decodeRateTable(binaryCodecs.encodeRateTable(rateTable)));
+        }
+
+        @Test
+        void Should_FallBackToJson_When_ValueCanNotBeEncodedAsBinary() {
+            // Given
+            var currencies = List.of("USD", "usd");
+
+            // When
+            var encoded = binaryCodecs.encodeCurrencies(currencies);
+
+            // Then
+            assertEquals('[', encoded[0]);
+            assertEquals(currencies, binaryCodecs.decodeCurrencies(encoded));
+        }
+
+        @Test
+        void Should_ReadKnownFields_When_BinaryVersionIsNewer() {
+            // Given
+            var encoded = Arrays.copyOf(binaryCodecs.encodeRates(RATES), 29 + 4);
+            encoded[1] = BinaryCacheValueCodec.VERSION + 1;
+
+            // When
+            var decoded = binaryCodecs.decodeRates(encoded);
+
+            // Then
+            assertEquals(RATES, decoded);
+        }
+
+        @Test
+        void Should_ThrowIllegalArgumentException_When_BinaryVersionIsInvalid() {
+            // Given
+            var encoded = binaryCodecs.encodeRates(RATES);
+            encoded[1] = 0;
+
+            // When + Then
+            assertThrows(IllegalArgumentException.class, () -> binaryCodecs.decodeRates(encoded));
+        }
+
+        @Test
+        void Should_ThrowIllegalArgumentException_When_BinaryValueIsTruncated() {
+            // Given
+            var encoded = Arrays.copyOf(binaryCodecs.encodeRates(RATES), 20);
+
+            // When + Then
+            assertThrows(IllegalArgumentException.class, () -> binaryCodecs.decodeRates(encoded));
+        }
+    }
+
+    @Nested
+    class Json {
+
+        @Test
+        void Should_WriteJson_When_FormatIsJson() {
+            // When
+            var encoded = jsonCodecs.encodeRates(RATES);
+
+            // Then
+            assertEquals('{', encoded[0]);
+            assertEquals(RATES, binaryCodecs.decodeRates(encoded));
+        }
+
+        @Test
+        void Should_ReadLegacyJson_When_ValueWasWrittenBeforeBinaryFormat() {
+            // Given
+            var legacyRates = """
+                    {"sourceRate":{"currencyCode":"USD","rate":1.0455},"targetRate":{"currencyCode":"GBP","rate":0.8301},"dateOfRates":[2025,2,20]}
+                    """.getBytes(StandardCharsets.UTF_8);
+            var legacyCurrencies = "[\"USD\",\"GBP\"]".getBytes(StandardCharsets.UTF_8);
+
+            // When + Then
+            assertEquals(RATES, binaryCodecs.decode(legacyRates));
+            assertEquals(List.of("USD", "GBP"), binaryCodecs.decode(legacyCurrencies));
+        }
+    }
+
+    @Nested
+    class RedisCodec {
+
+        @Test
+        void Should_HandleCachedTypes_When_AskedByRedisCache() {
+            // Given
+            Type listOfStrings = new ParameterizedType() {
+                public Type[] getActualTypeArguments() {
+                    return new Type[]{String.class};
+                }
+
+                public Type getRawType() {
+                    return List.class;
+                }
+
+                public Type getOwnerType() {
+                    return null;
+                }
+            };
+
+            // When + Then
+            assertTrue(binaryCodecs.canHandle(EuroRatesForSourceAndTargetCurrency.class));
+            assertTrue(binaryCodecs.canHandle(listOfStrings));
+            assertFalse(binaryCodecs.canHandle(String.class));
+        }
+
+        @Test
+        void Should_DecodeEitherCachedType_When_DecodingWithoutType() {
+            // Given
+            var currencies = List.of("USD", "GBP");
+
+            // When + Then
+            assertEquals(RATES, binaryCodecs.decode(binaryCodecs.encode(RATES)));
+            assertEquals(currencies, binaryCodecs.decode(binaryCodecs.encode(currencies)));
+            assertArrayEquals(binaryCodecs.encodeCurrencies(currencies), binaryCodecs.encode(currencies));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package me.owlaukka.rates.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.test.InjectMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.ExchangeRateService;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class EuroRateCacheTest {
+
+    @Inject
+    EuroRateCache euroRateCache;
+
+    @Inject
+    RedisDataSource redisDataSource;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @InjectMock
+    ExchangeRateService exchangeRateService;
+
+    @InjectMock
+    RateSnapshotHolder snapshotHolder;
+
+    private static final LocalDate DATE_OF_RATES = LocalDate.parse("2025-02-20");
+
+    @BeforeEach
+    void setUp() {
+        redisDataSource.flushall();
+    }
+
+    @Test
+    void Should_FetchAllRatesInOneUpstreamCall_When_NothingIsCached() {
+        // Given
+        var currencyCodes = List.of("USD", "GBP", "JPY");
+        var returnedRates = EuroRateTable.of(DATE_OF_RATES, Map.of(
+                "USD", new BigDecimal("1.0455"),
+                "GBP", new BigDecimal("0.8301"),
+                "JPY", new BigDecimal("157.35")
+        ));
+        Mockito.when(exchangeRateService.getEuroRates(currencyCodes)).thenReturn(returnedRates);
+
+        // When
+        var rates = euroRateCache.getEuroRates(currencyCodes);
+
+        // Then
+        assertEquals(returnedRates, rates);
+        Mockito.verify(exchangeRateService, Mockito.times(1)).getEuroRates(Mockito.anyList());
+    }
+
+    @Test
+    void Should_ReturnRatesFromCacheInOneRoundTrip_When_AllRatesAreCached() {
+        // Given
+        var currencyCodes = List.of("USD", "GBP");
+        var returnedRates = EuroRateTable.of(DATE_OF_RATES, Map.of(
+                "USD", new BigDecimal("1.0455"),
+                "GBP", new BigDecimal("0.8301")
+        ));
+        Mockito.when(exchangeRateService.getEuroRates(currencyCodes)).thenReturn(returnedRates);
+        euroRateCache.getEuroRates(currencyCodes);
+        var roundTrips = meterRegistry.get("rates.cache.redis.round-trips").summary();
+        var batchesBefore = roundTrips.count();
+        var roundTripsBefore = roundTrips.totalAmount();
+
+        // When
+        var rates = euroRateCache.getEuroRates(List.of("GBP", "USD"));
+
+        // Then
+        assertEquals(returnedRates, rates);
+        Mockito.verify(exchangeRateService, Mockito.times(1)).getEuroRates(Mockito.anyList());
+        assertEquals(1, roundTrips.count() - batchesBefore);
+        assertEquals(1, roundTrips.totalAmount() - roundTripsBefore);
+    }
+
+    @Test
+    void Should_RecordTwoRoundTrips_When_RatesAreReadAndWritten() {
+        // Given
+        var currencyCodes = List.of("USD");
+        Mockito.when(exchangeRateService.getEuroRates(currencyCodes))
+                .thenReturn(EuroRateTable.of(DATE_OF_RATES, Map.of("USD", new BigDecimal("1.0455"))));
+        var roundTrips = meterRegistry.get("rates.cache.redis.round-trips").summary();
+        var roundTripsBefore = roundTrips.totalAmount();
+
+        // When
+        euroRateCache.getEuroRates(currencyCodes);
+
+        // Then
+        assertEquals(2, roundTrips.totalAmount() - roundTripsBefore);
+    }
+
+    @Test
+    void Should_RecordOnlyTheRead_When_NoRatesAreWritten() {
+        // Given
+        var currencyCodes = List.of("XXX");
+        Mockito.when(exchangeRateService.getEuroRates(currencyCodes))
+                .thenReturn(EuroRateTable.of(DATE_OF_RATES, Map.of("USD", new BigDecimal("1.0455"))).select(currencyCodes));
+        var roundTrips = meterRegistry.get("rates.cache.redis.round-trips").summary();
+        var batchesBefore = roundTrips.count();
+        var roundTripsBefore = roundTrips.totalAmount();
+
+        // When
+        var rates = euroRateCache.getEuroRates(currencyCodes);
+
+        // Then
+        assertEquals(0, rates.size());
+        assertEquals(1, roundTrips.count() - batchesBefore);
+        assertEquals(1, roundTrips.totalAmount() - roundTripsBefore);
+    }
+
+    @Test
+    void Should_FetchAllRequestedRatesInOneUpstreamCall_When_SomeRatesAreMissing() {
+        // Given
+        Mockito.when(exchangeRateService.getEuroRates(List.of("USD")))
+                .thenReturn(EuroRateTable.of(DATE_OF_RATES, Map.of("USD", new BigDecimal("1.0455"))));
+        euroRateCache.getEuroRates(List.of("USD"));
+
+        var returnedRates = EuroRateTable.of(DATE_OF_RATES, Map.of(
+                "USD", new BigDecimal("1.0455"),
+                "CHF", new BigDecimal("0.9402")
+        ));
+        Mockito.when(exchangeRateService.getEuroRates(List.of("USD", "CHF"))).thenReturn(returnedRates);
+
+        // When
+        var rates = euroRateCache.getEuroRates(List.of("USD", "CHF"));
+
+        // Then
+        assertEquals(returnedRates, rates);
+        Mockito.verify(exchangeRateService, Mockito.times(1)).getEuroRates(List.of("USD", "CHF"));
+    }
+
+    @Test
+    void Should_RefreshAllRates_When_CachedRatesAreFromDifferentDates() {
+        // Given
+        Mockito.when(exchangeRateService.getEuroRates(List.of("USD")))
+                .thenReturn(EuroRateTable.of(DATE_OF_RATES.minusDays(1), Map.of("USD", new BigDecimal("1.0401"))));
+        Mockito.when(exchangeRateService.getEuroRates(List.of("GBP")))
+                .thenReturn(EuroRateTable.of(DATE_OF_RATES, Map.of("GBP", new BigDecimal("0.8301"))));
+        euroRateCache.getEuroRates(List.of("USD"));
+        euroRateCache.getEuroRates(List.of("GBP"));
+
+        var returnedRates = EuroRateTable.of(DATE_OF_RATES, Map.of(
+                "USD", new BigDecimal("1.0455"),
+                "GBP", new BigDecimal("0.8301")
+        ));
+        Mockito.when(exchangeRateService.getEuroRates(List.of("USD", "GBP"))).thenReturn(returnedRates);
+
+        // When
+        var rates = euroRateCache.getEuroRates(List.of("USD", "GBP"));
+
+        // Then
+        assertEquals(returnedRates, rates);
+    }
+
+    @Test
+    void Should_ReturnRatesFromSnapshotWithoutRedis_When_FreshSnapshotHasAllRates() {
+        // Given
+        var snapshotRates = EuroRateTable.of(DATE_OF_RATES, Map.of(
+                "USD", new BigDecimal("1.0455"),
+                "GBP", new BigDecimal("0.8301"),
+                "JPY", new BigDecimal("157.35")
+        ));
+        Mockito.when(snapshotHolder.fresh())
+                .thenReturn(new RateSnapshot(1, "swop", snapshotRates, List.of("USD", "GBP", "JPY"), Instant.now()));
+        var roundTrips = meterRegistry.get("rates.cache.redis.round-trips").summary();
+        var batchesBefore = roundTrips.count();
+
+        // When
+        var rates = euroRateCache.getEuroRates(List.of("USD", "GBP"));
+
+        // Then
+        assertEquals(snapshotRates.select(List.of("USD", "GBP")), rates);
+        Mockito.verifyNoInteractions(exchangeRateService);
+        assertEquals(0, roundTrips.count() - batchesBefore);
+    }
+
+    @Test
+    void Should_UseCache_When_SnapshotIsMissingSomeRates() {
+        // Given
+        var snapshotRates = EuroRateTable.of(DATE_OF_RATES, Map.of("USD", new BigDecimal("1.0455")));
+        Mockito.when(snapshotHolder.fresh())
+                .thenReturn(new RateSnapshot(1, "swop", snapshotRates, List.of("USD"), Instant.now()));
+        var returnedRates = EuroRateTable.of(DATE_OF_RATES, Map.of(
+                "USD", new BigDecimal("1.0455"),
+                "CHF", new BigDecimal("0.9402")
+        ));
+        Mockito.when(exchangeRateService.getEuroRates(List.of("USD", "CHF"))).thenReturn(returnedRates);
+
+        // When
+        var rates = euroRateCache.getEuroRates(List.of("USD", "CHF"));
+
+        // Then
+        assertEquals(returnedRates, rates);
+        Mockito.verify(exchangeRateService, Mockito.times(1)).getEuroRates(List.of("USD", "CHF"));
+    }
+}
@@ -0,0 +1,72 @@
+package me.owlaukka.rates.ecbintegration;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import me.owlaukka.rates.EuroExchangeRate;
+import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+@QuarkusTestResource(EcbWireMockResource.class)
+class EcbExchangeRateIntegrationServiceImplTest {
+
+    @Inject
+    EcbExchangeRateIntegrationServiceImpl exchangeRateService;
+
+    @Test
+    void Should_ReturnExchangeRates_When_RequestingRatesForCurrenciesInEcbTable() {
+        // When
+        var rates = exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP");
+
+        // Then
+        var expectedRates = new EuroRatesForSourceAndTargetCurrency(
+                new EuroExchangeRate("USD", new BigDecimal("1.0455")),
+                new EuroExchangeRate("GBP", new BigDecimal("0.8301")),
+                LocalDate.parse("2025-02-20")
+        );
+        assertEquals(expectedRates, rates);
+    }
+
+    @Test
+    void Should_ReturnRateOfOneForEuro_When_RequestingEuro() {
+        // When
+        var rates = exchangeRateService.getEuroRatesForSourceAndTargetCurrency("EUR", "JPY");
+
+        // Then
+        assertEquals(new EuroExchangeRate("EUR", BigDecimal.ONE), rates.sourceRate());
+    }
+
+    @Test
+    void Should_ThrowBadRequestException_When_CurrencyIsNotInEcbTable() {
+        // When + Then
+        assertThrows(ExchangeRateIntegrationBadRequestException.class,
+                () -> exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "BTC"));
+    }
+
+    @Test
+    void Should_ReturnOnlyKnownCurrencies_When_ValidatingCurrencies() {
+        // When
+        var currencies = exchangeRateService.getCurrencies(List.of("USD", "BTC", "EUR"));
+
+        // Then
+        assertEquals(List.of("USD", "EUR"), currencies);
+    }
+
+    @Test
+    void Should_ReturnAllCurrenciesSorted_When_RequestingAllSupportedCurrencies() {
+        // When
+        var currencies = exchangeRateService.getAllSupportedCurrencies();
+
+        // Then
+        assertEquals(List.of("EUR", "GBP", "JPY", "USD"), currencies);
+    }
+}
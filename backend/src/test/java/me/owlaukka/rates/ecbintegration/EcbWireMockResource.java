@@ -0,0 +1,49 @@
+package me.owlaukka.rates.ecbintegration;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.quarkus.test.common.QuarkusTestResourceLifecycleManager;
+
+import java.util.Map;
+
+public class EcbWireMockResource implements QuarkusTestResourceLifecycleManager {
+    private WireMockServer wireMockServer;
+
+    @Override
+    public Map<String, String> start() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+        wireMockServer.start();
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo("/ecb/eurofxref-daily.xml"))
+            .willReturn(WireMock.aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/xml")
+                .withBody("""
+                    <?xml version="1.0" encoding="UTF-8"?>
+                    <gesmes:Envelope xmlns:gesmes="http://www.gesmes.org/xml/2002-08-01" xmlns="http://www.ecb.int/vocabulary/2002-08-01/eurofxref">
+                        <gesmes:subject>Reference rates</gesmes:subject>
+                        <gesmes:Sender>
+                            <gesmes:name>European Central Bank</gesmes:name>
+                        </gesmes:Sender>
+                        <Cube>
+                            <Cube time="2025-02-20">
+                                <Cube currency="USD" rate="1.0455"/>
+                                <Cube currency="JPY" rate="157.35"/>
+                                <Cube currency="GBP" rate="0.8301"/>
+                            </Cube>
+                        </Cube>
+                    </gesmes:Envelope>
+                    """)
+            ));
+
+        return Map.of("rates.ecb.url", wireMockServer.baseUrl() + "/ecb/eurofxref-daily.xml");
+    }
+
+    @Override
+    public void stop() {
+        if (wireMockServer != null) {
+            wireMockServer.stop();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package me.owlaukka.rates.history;
+
+import me.owlaukka.rates.EuroRateTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateHistoryStoreTest {
+
+    private static final LocalDate FIRST_DATE = LocalDate.parse("2025-01-01");
+    private static final LocalDate FRIDAY = LocalDate.parse("2025-02-14");
+
+    @TempDir
+    Path directory;
+
+    private RateHistoryStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private RateHistoryStore open(Path file) {
+        store = new RateHistoryStore(Optional.of(file.toString()), FIRST_DATE, 365);
+        return store;
+    }
+
+    @Test
+    void Should_ReturnRecordedRates_When_DayHasBeenRecorded() {
+        // Given
+        var history = open(directory.resolve("history/rate-history.bin"));
+
+        // When
+        var written = history.record(EuroRateTable.of(FRIDAY, Map.of(
+                "USD", new BigDecimal("1.0455"),
+                "JPY", new BigDecimal("157.35")
+        )));
+
+        // Then
+        assertEquals(2, written);
+        assertTrue(history.hasRates(FRIDAY));
+        assertEquals(new BigDecimal("1.0455"), history.rate(FRIDAY, "USD"));
+        assertEquals(new BigDecimal("157.35"), history.rate(FRIDAY, "JPY"));
+        assertNull(history.rate(FRIDAY, "GBP"));
+        assertNull(history.rate(FRIDAY.minusDays(1), "USD"));
+        assertNull(history.rate(FRIDAY, "not a currency"));
+    }
+
+    @Test
+    void Should_KeepFirstRecordedRate_When_DayIsRecordedAgain() {
+        // Given
+        var history = open(directory.resolve("rate-history.bin"));
+        history.record(EuroRateTable.of(FRIDAY, Map.of("USD", new BigDecimal("1.0455"))));
+
+        // When
+        var written = history.record(EuroRateTable.of(FRIDAY, Map.of(
+                "USD", new BigDecimal("2"),
+                "GBP", new BigDecimal("0.8302")
+        )));
+
+        // Then
+        assertEquals(1, written);
+        assertEquals(new BigDecimal("1.0455"), history.rate(FRIDAY, "USD"));
+        assertEquals(new BigDecimal("0.8302"), history.rate(FRIDAY, "GBP"));
+    }
+
+    @Test
+    void Should_ReturnLatestEarlierDayWithRates_When_DayHasNoRates() {
+        // Given
+        var history = open(directory.resolve("rate-history.bin"));
+        history.record(EuroRateTable.of(FRIDAY, Map.of("USD", new BigDecimal("1.0455"))));
+
+        // When + Then
+        assertEquals(Optional.of(FRIDAY), history.dateOfRatesOn(FRIDAY));
+        assertEquals(Optional.of(FRIDAY), history.dateOfRatesOn(FRIDAY.plusDays(2)));
+        assertEquals(Optional.empty(), history.dateOfRatesOn(FRIDAY.plusDays(8)));
+        assertEquals(Optional.empty(), history.dateOfRatesOn(FRIDAY.minusDays(1)));
+    }
+
+    @Test
+    void Should_NotRecordRates_When_DayIsOutsideOfHistory() {
+        // Given
+        var history = open(directory.resolve("rate-history.bin"));
+
+        // When
+        var written = history.record(EuroRateTable.of(LocalDate.parse("2024-12-31"), Map.of("USD", BigDecimal.ONE)));
+
+        // Then
+        assertEquals(0, written);
+        assertFalse(history.hasRates(LocalDate.parse("2024-12-31")));
+        assertNull(history.rate(LocalDate.parse("2026-01-01"), "USD"));
+    }
+
+    @Test
+    void Should_ReturnPreviouslyRecordedRates_When_FileIsOpenedAgain() {
+        // Given
+        var file = directory.resolve("rate-history.bin");
+        open(file).record(EuroRateTable.of(FRIDAY, Map.of(
+                "USD", new BigDecimal("1.0455"),
+                "GBP", new BigDecimal("0.830277")
+        )));
+        store.close();
+
+        // When
+        var reopened = open(file);
+
+        // Then
+        assertTrue(reopened.hasRates(FRIDAY));
+        assertEquals(new BigDecimal("1.0455"), reopened.rate(FRIDAY, "USD"));
+        assertEquals(new BigDecimal("0.830277"), reopened.rate(FRIDAY, "GBP"));
+    }
+
+    @Test
+    void Should_ThrowIOException_When_FileIsNotRateHistory() throws IOException {
+        // Given
+        var file = directory.resolve("rate-history.bin");
+        Files.writeString(file, "not a rate history file");
+
+        // When + Then
+        assertThrows(IOException.class, () -> RateHistoryFile.open(file, FIRST_DATE, 365));
+    }
+}
@@ -0,0 +1,123 @@
+package me.owlaukka.rates.snapshot;
+
+import io.smallrye.faulttolerance.api.CircuitBreakerMaintenance;
+import io.smallrye.faulttolerance.api.CircuitBreakerState;
+import me.owlaukka.rates.EuroRateTable;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class RateDataReadinessCheckTest {
+
+    private static final Instant FETCHED_AT = Instant.parse("2025-02-20T15:00:00Z");
+
+    private AtomicReference<Instant> now;
+    private RateSnapshotHolder snapshotHolder;
+    private CircuitBreakerMaintenance circuitBreakerMaintenance;
+    private RateDataReadinessCheck readinessCheck;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicReference<>(FETCHED_AT);
+        snapshotHolder = new RateSnapshotHolder(Duration.ofHours(1), now::get);
+        circuitBreakerMaintenance = Mockito.mock(CircuitBreakerMaintenance.class);
+        Mockito.when(circuitBreakerMaintenance.currentState(anyString())).thenThrow(new IllegalArgumentException());
+        readinessCheck = new RateDataReadinessCheck(true, snapshotHolder, circuitBreakerMaintenance, now::get);
+    }
+
+    private void newSnapshot(List<String> currencies) {
+        snapshotHolder.update(new RateSnapshot(
+                0,
+                "swop",
+                EuroRateTable.of(LocalDate.parse("2025-02-20"), Map.of("EUR", BigDecimal.ONE, "USD", new BigDecimal("1.05"))),
+                currencies,
+                FETCHED_AT
+        ));
+    }
+
+    @Test
+    void Should_NotBeReady_When_RateDataIsNotLoaded() {
+        // When
+        var response = readinessCheck.call();
+
+        // Then
+        assertEquals(HealthCheckResponse.Status.DOWN, response.getStatus());
+        assertEquals("Rate data is not loaded yet", response.getData().orElseThrow().get("reason"));
+    }
+
+    @Test
+    void Should_NotBeReady_When_CurrencyListIsNotLoaded() {
+        // Given
+        newSnapshot(List.of());
+
+        // When + Then
+        assertEquals(HealthCheckResponse.Status.DOWN, readinessCheck.call().getStatus());
+    }
+
+    @Test
+    void Should_BeReadyAndReportDataAge_When_RateDataIsFresh() {
+        // Given
+        newSnapshot(List.of("EUR", "USD"));
+        now.set(FETCHED_AT.plus(Duration.ofMinutes(5)));
+
+        // When
+        var response = readinessCheck.call();
+
+        // Then
+        var data = response.getData().orElseThrow();
+        assertEquals(HealthCheckResponse.Status.UP, response.getStatus());
+        assertEquals(300L, data.get("ageSeconds"));
+        assertEquals(false, data.get("degraded"));
+    }
+
+    @Test
+    void Should_BeDegraded_When_RateDataIsStale() {
+        // Given
+        newSnapshot(List.of("EUR", "USD"));
+        now.set(FETCHED_AT.plus(Duration.ofHours(2)));
+
+        // When
+        var response = readinessCheck.call();
+
+        // Then
+        var data = response.getData().orElseThrow();
+        assertEquals(HealthCheckResponse.Status.DOWN, response.getStatus());
+        assertEquals(true, data.get("degraded"));
+        assertEquals(7200L, data.get("ageSeconds"));
+    }
+
+    @Test
+    void Should_ReportCircuitStates_When_CircuitBreakersExist() {
+        // Given
+        Mockito.doReturn(CircuitBreakerState.OPEN).when(circuitBreakerMaintenance).currentState("swop-rates");
+
+        // When
+        var data = readinessCheck.call().getData().orElseThrow();
+
+        // Then
+        assertEquals("OPEN", data.get("circuit.swop-rates"));
+        assertFalse(data.containsKey("circuit.ecb-rates"));
+    }
+
+    @Test
+    void Should_BeReady_When_CheckIsDisabled() {
+        // Given
+        readinessCheck = new RateDataReadinessCheck(false, snapshotHolder, circuitBreakerMaintenance, now::get);
+
+        // When + Then
+        assertEquals(HealthCheckResponse.Status.UP, readinessCheck.call().getStatus());
+    }
+}
@@ -0,0 +1,108 @@
+package me.owlaukka.rates.snapshot;
+
+import me.owlaukka.rates.EuroRateTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    private static final RateSnapshot SNAPSHOT = new RateSnapshot(
+            7,
+            "swop",
+            EuroRateTable.of(LocalDate.parse("2025-02-20"), Map.of(
+                    "EUR", BigDecimal.ONE,
+                    "USD", new BigDecimal("1.0455"),
+                    "JPY", new BigDecimal("157.35")
+            )),
+            List.of("EUR", "JPY", "USD", "CHF"),
+            Instant.parse("2025-02-20T15:00:00Z")
+    );
+
+    @Test
+    void Should_ReadTheSameSnapshot_When_SnapshotWasWritten() throws IOException {
+        // Given
+        var file = directory.resolve("snapshots/rate-snapshot.bin");
+        RateSnapshotFile.write(file, SNAPSHOT);
+
+        // When
+        var snapshot = RateSnapshotFile.read(file);
+
+        // Then
+        assertEquals(SNAPSHOT.withVersion(0), snapshot);
+        assertEquals(32 + 3 * 16 + 4 * 4 + 4, Files.size(file));
+    }
+
+    @Test
+    void Should_ReplaceOldSnapshot_When_WritingAgain() throws IOException {
+        // Given
+        var file = directory.resolve("rate-snapshot.bin");
+        RateSnapshotFile.write(file, SNAPSHOT);
+        var newer = new RateSnapshot(0, "swop", SNAPSHOT.rates(), List.of("EUR"), SNAPSHOT.fetchedAt().plusSeconds(600));
+
+        // When
+        RateSnapshotFile.write(file, newer);
+
+        // Then
+        assertEquals(newer, RateSnapshotFile.read(file));
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void Should_ReadSnapshotOfUnknownProvider_When_FileIsOfVersion1() throws IOException {
+        // Given
+        var file = directory.resolve("rate-snapshot.bin");
+        RateSnapshotFile.write(file, SNAPSHOT);
+        var bytes = Files.readAllBytes(file);
+        var version1 = ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 4)).putInt(4, 1).putInt(28, 0);
+        Files.write(file, version1.array());
+
+        // When
+        var snapshot = RateSnapshotFile.read(file);
+
+        // Then
+        assertNull(snapshot.provider());
+        assertEquals(SNAPSHOT.rates(), snapshot.rates());
+        assertEquals(SNAPSHOT.currencies(), snapshot.currencies());
+    }
+
+    @Test
+    void Should_ThrowIOException_When_FileIsTruncated() throws IOException {
+        // Given
+        var file = directory.resolve("rate-snapshot.bin");
+        RateSnapshotFile.write(file, SNAPSHOT);
+        Files.write(file, Arrays.copyOf(Files.readAllBytes(file), 40));
+
+        // When + Then
+        assertThrows(IOException.class, () -> RateSnapshotFile.read(file));
+    }
+
+    @Test
+    void Should_ThrowIOException_When_FileIsNotASnapshot() throws IOException {
+        // Given
+        var file = directory.resolve("rate-snapshot.bin");
+        Files.writeString(file, "{\"rates\": {}} and some more text to fill the header");
+
+        // When + Then
+        assertThrows(IOException.class, () -> RateSnapshotFile.read(file));
+    }
+}
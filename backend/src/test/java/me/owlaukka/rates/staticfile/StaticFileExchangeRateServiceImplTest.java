@@ -0,0 +1,60 @@
+package me.owlaukka.rates.staticfile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.owlaukka.rates.EuroExchangeRate;
+import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StaticFileExchangeRateServiceImplTest {
+
+    private static final String STATIC_RATES_FILE = "src/test/resources/rates/static-rates.json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void Should_ReturnExchangeRates_When_RequestingRatesForCurrenciesInFile() {
+        // Given
+        var exchangeRateService = new StaticFileExchangeRateServiceImpl(objectMapper, Optional.of(STATIC_RATES_FILE));
+
+        // When
+        var rates = exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "CHF");
+
+        // Then
+        var expectedRates = new EuroRatesForSourceAndTargetCurrency(
+                new EuroExchangeRate("USD", new BigDecimal("1.0455")),
+                new EuroExchangeRate("CHF", new BigDecimal("0.9402")),
+                LocalDate.parse("2025-02-20")
+        );
+        assertEquals(expectedRates, rates);
+        assertEquals(List.of("CHF", "EUR", "GBP", "USD"), exchangeRateService.getAllSupportedCurrencies());
+    }
+
+    @Test
+    void Should_ThrowBadRequestException_When_CurrencyIsNotInFile() {
+        // Given
+        var exchangeRateService = new StaticFileExchangeRateServiceImpl(objectMapper, Optional.of(STATIC_RATES_FILE));
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationBadRequestException.class,
+                () -> exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "JPY"));
+    }
+
+    @Test
+    void Should_ThrowIntegrationException_When_FileIsNotConfigured() {
+        // Given
+        var exchangeRateService = new StaticFileExchangeRateServiceImpl(objectMapper, Optional.empty());
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationException.class, exchangeRateService::getAllSupportedCurrencies);
+    }
+}
@@ -0,0 +1,197 @@
+package me.owlaukka.rates.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateStreamPublisherTest {
+
+    private static final Instant NOW = Instant.parse("2025-02-20T15:00:00Z");
+
+    private RateSnapshotHolder snapshotHolder;
+    private SimpleMeterRegistry meterRegistry;
+    private RateStreamPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        snapshotHolder = new RateSnapshotHolder(Duration.ofHours(1), () -> NOW);
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new RateStreamPublisher(snapshotHolder, 2, 3, meterRegistry);
+    }
+
+    private RateSnapshot newSnapshot(String usdRate, int minutesAfter) {
+        return snapshotHolder.update(new RateSnapshot(
+                0,
+                "swop",
+                EuroRateTable.of(LocalDate.parse("2025-02-20"), Map.of(
+                        "EUR", BigDecimal.ONE,
+                        "USD", new BigDecimal(usdRate),
+                        "GBP", new BigDecimal("0.830277")
+                )),
+                List.of("EUR", "USD", "GBP"),
+                NOW.plusSeconds(60L * minutesAfter)
+        ));
+    }
+
+    /**
+     * Completes every send right away unless told to hold them.
+     */
+    private static class RecordingSink implements RateStreamSink {
+        final List<String> sent = new ArrayList<>();
+        final List<CompletableFuture<Void>> pending = new ArrayList<>();
+        boolean holdSends;
+        boolean closed;
+
+        @Override
+        public CompletionStage<?> send(String id, String data) {
+            sent.add(data);
+            var completion = new CompletableFuture<Void>();
+            if (holdSends) {
+                pending.add(completion);
+            } else {
+                completion.complete(null);
+            }
+            return completion;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    void Should_CancelSubscription_When_SinkHasClosed() {
+        // Given
+        var open = new RecordingSink();
+        var gone = new RecordingSink();
+        publisher.subscribe(List.of("USD-EUR"), open);
+        publisher.subscribe(List.of("USD-EUR"), gone);
+        gone.closed = true;
+
+        // When
+        publisher.cancelClosed();
+        publisher.publish(newSnapshot("1.045512", 0));
+
+        // Then
+        assertEquals(1, publisher.subscriberCount());
+        assertEquals(1, open.sent.size());
+        assertTrue(gone.sent.isEmpty());
+    }
+
+    @Test
+    void Should_SendCurrentAndUpdatedRates_When_Subscribed() {
+        // Given
+        newSnapshot("1.045512", 0);
+        var sink = new RecordingSink();
+
+        // When
+        publisher.subscribe(List.of("USD-EUR", "GBP-MAR"), sink);
+        publisher.publish(newSnapshot("1.05", 10));
+
+        // Then
+        assertEquals(List.of(
+                "{\"version\":1,\"date\":\"2025-02-20\",\"rates\":{\"GBP-MAR\":null,\"USD-EUR\":0.9564691749}}",
+                "{\"version\":2,\"date\":\"2025-02-20\",\"rates\":{\"GBP-MAR\":null,\"USD-EUR\":0.9523809524}}"
+        ), sink.sent);
+    }
+
+    @Test
+    void Should_SerializeUpdateOnlyOnce_When_SubscribersAskForSamePairs() {
+        // Given
+        var first = new RecordingSink();
+        var second = new RecordingSink();
+        publisher.subscribe(List.of("USD-EUR", "GBP-USD"), first);
+        publisher.subscribe(List.of("GBP-USD", "USD-EUR"), second);
+
+        // When
+        publisher.publish(newSnapshot("1.045512", 0));
+
+        // Then
+        assertEquals(1, first.sent.size());
+        assertSame(first.sent.get(0), second.sent.get(0));
+    }
+
+    @Test
+    void Should_DropOldestUpdates_When_SubscriberIsSlow() {
+        // Given
+        var sink = new RecordingSink();
+        sink.holdSends = true;
+        publisher.subscribe(List.of("USD-EUR"), sink);
+
+        // When
+        publisher.publish(newSnapshot("1.01", 0));
+        publisher.publish(newSnapshot("1.02", 1));
+        publisher.publish(newSnapshot("1.03", 2));
+        publisher.publish(newSnapshot("1.04", 3));
+        sink.holdSends = false;
+        sink.pending.get(0).complete(null);
+
+        // Then
+        assertEquals(3, sink.sent.size());
+        assertTrue(sink.sent.get(1).contains("\"version\":3"));
+        assertTrue(sink.sent.get(2).contains("\"version\":4"));
+        assertEquals(1.0, meterRegistry.get("rates.stream.dropped").counter().count());
+        assertFalse(sink.closed);
+    }
+
+    @Test
+    void Should_DisconnectSubscriber_When_ItDropsTooManyUpdatesInARow() {
+        // Given
+        var sink = new RecordingSink();
+        sink.holdSends = true;
+        publisher.subscribe(List.of("USD-EUR"), sink);
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            publisher.publish(newSnapshot("1.0" + i, i));
+        }
+
+        // Then
+        assertTrue(sink.closed);
+        assertEquals(0, publisher.subscriberCount());
+        assertEquals(1.0, meterRegistry.get("rates.stream.slow-consumers.disconnected").counter().count());
+    }
+
+    @Test
+    void Should_Unsubscribe_When_SendingFails() {
+        // Given
+        var sink = new RecordingSink() {
+            @Override
+            public CompletionStage<?> send(String id, String data) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Client is gone"));
+            }
+        };
+        publisher.subscribe(List.of("USD-EUR"), sink);
+
+        // When
+        publisher.publish(newSnapshot("1.045512", 0));
+
+        // Then
+        assertTrue(sink.closed);
+        assertEquals(0, publisher.subscriberCount());
+    }
+}
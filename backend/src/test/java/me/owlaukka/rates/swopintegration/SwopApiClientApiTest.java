@@ -1,5 +1,7 @@
 package me.owlaukka.rates.swopintegration;
 
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
@@ -13,6 +15,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @QuarkusTest
 @QuarkusTestResource(SwopApiWireMockResource.class)
@@ -21,6 +24,8 @@ class SwopApiClientApiTest {
     @Inject
     SwopApiClientApi swopApiClientApi;
 
+    WireMockServer wireMockServer;
+
     @Test
     void testLatestRates() {
         // Given
@@ -53,4 +58,30 @@ class SwopApiClientApiTest {
         assertNotNull(usdRate.date());
         assertFalse(usdRate.date().isAfter(LocalDate.now()));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void Should_SendPrecomputedQueryWithVariables_When_RequestingLatestRates() {
+        // When
+        swopApiClientApi.latest(List.of("EUR", "USD"));
+
+        // Then
+        wireMockServer.verify(WireMock.postRequestedFor(WireMock.urlEqualTo("/graphql"))
+                .withRequestBody(WireMock.matchingJsonPath("$.query", WireMock.equalTo(SwopQueries.LATEST)))
+                .withRequestBody(WireMock.equalToJson("{\"variables\": {\"quoteCurrencies\": [\"EUR\", \"USD\"]}}", false, true)));
+    }
+
+    @Test
+    void Should_ThrowSwopClientException_When_ResponseHasErrors() {
+        // Given
+        var stub = wireMockServer.stubFor(WireMock.post(WireMock.urlEqualTo("/graphql"))
+                .withRequestBody(WireMock.containing("currencyCodes"))
+                .willReturn(WireMock.okJson("{\"errors\": [{\"message\": \"Quota exceeded\"}], \"data\": null}")));
+
+        try {
+            // When + Then
+            assertThrows(SwopClientException.class, () -> swopApiClientApi.currencies(List.of("EUR")));
+        } finally {
+            wireMockServer.removeStub(stub);
+        }
+    }
+}
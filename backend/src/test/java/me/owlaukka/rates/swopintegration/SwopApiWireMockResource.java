@@ -44,7 +44,12 @@ public class SwopApiWireMockResource implements QuarkusTestResourceLifecycleMana
                     """)
             ));
 
-        return Map.of("quarkus.smallrye-graphql-client.swop-api.url", wireMockServer.baseUrl() + "/graphql");
+        return Map.of("swop.url", wireMockServer.baseUrl() + "/graphql");
+    }
+
+    @Override
+    public void inject(TestInjector testInjector) {
+        testInjector.injectIntoFields(wireMockServer, new TestInjector.MatchesType(WireMockServer.class));
     }
 
     @Override
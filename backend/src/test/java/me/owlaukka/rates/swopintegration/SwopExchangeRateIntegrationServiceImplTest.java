@@ -3,12 +3,12 @@ package me.owlaukka.rates.swopintegration;
 import io.quarkus.cache.CacheManager;
 import io.quarkus.test.InjectMock;
 import io.quarkus.test.junit.QuarkusTest;
-import io.smallrye.graphql.client.GraphQLClientException;
 import jakarta.inject.Inject;
 import me.owlaukka.rates.EuroExchangeRate;
 import me.owlaukka.rates.EuroRatesForSourceAndTargetCurrency;
 import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
 import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationQuotaExceededException;
 import me.owlaukka.rates.swopintegration.model.Currency;
 import me.owlaukka.rates.swopintegration.model.Rate;
 import org.junit.jupiter.api.BeforeEach;
@@ -130,7 +130,7 @@ class SwopExchangeRateIntegrationServiceImplTest {
             String targetCurrency = "GBP";
 
             Mockito.when(swopApiClientApi.latest(List.of(sourceCurrency, targetCurrency)))
-                    .thenThrow(new GraphQLClientException("errors from service", List.of()));
+                    .thenThrow(new SwopClientException(SwopFailureKind.TRANSIENT, "errors from service"));
 
             // When + Then
             assertThrows(ExchangeRateIntegrationException.class,
@@ -234,7 +234,7 @@ class SwopExchangeRateIntegrationServiceImplTest {
             var currencyCodes = List.of("USD", "CHF", "GBP");
 
             Mockito.when(swopApiClientApi.currencies(currencyCodes))
-                    .thenThrow(new GraphQLClientException("errors from service", List.of()));
+                    .thenThrow(new SwopClientException(SwopFailureKind.TRANSIENT, "errors from service"));
 
             // When + Then
             assertThrows(ExchangeRateIntegrationException.class,
@@ -293,11 +293,27 @@ class SwopExchangeRateIntegrationServiceImplTest {
         void Should_ThrowIntegrationException_When_ExternalIntegrationFails() {
             // Given
             Mockito.when(swopApiClientApi.currencies())
-                    .thenThrow(new GraphQLClientException("errors from service", List.of()));
+                    .thenThrow(new SwopClientException(SwopFailureKind.TRANSIENT, "errors from service"));
 
             // When + Then
             assertThrows(ExchangeRateIntegrationException.class,
                     () -> exchangeRateService.getAllSupportedCurrencies());
         }
     }
+
+    @Nested
+    class QuotaExceededTests {
+
+        @Test
+        void Should_ThrowQuotaExceededWithoutRetrying_When_QuotaIsUsedUp() {
+            // Given
+            Mockito.when(swopApiClientApi.latest(List.of("USD", "GBP")))
+                    .thenThrow(new ExchangeRateIntegrationQuotaExceededException("Swop call budget used up"));
+
+            // When + Then
+            assertThrows(ExchangeRateIntegrationQuotaExceededException.class,
+                    () -> exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "GBP"));
+            Mockito.verify(swopApiClientApi, Mockito.times(1)).latest(List.of("USD", "GBP"));
+        }
+    }
 }
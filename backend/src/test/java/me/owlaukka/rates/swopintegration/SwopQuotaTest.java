@@ -0,0 +1,155 @@
+package me.owlaukka.rates.swopintegration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationQuotaExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SwopQuotaTest {
+
+    private static final Instant MIDNIGHT = Instant.parse("2025-02-20T00:00:00Z");
+
+    private AtomicReference<Instant> now;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicReference<>(MIDNIGHT.plus(Duration.ofHours(6)));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private SwopQuota quota(long perMinute, long perDay) {
+        return new SwopQuota(perMinute, perDay, 0.2, meterRegistry, now::get);
+    }
+
+    @Test
+    void Should_RefuseCalls_When_BudgetOfTheMinuteIsUsedUp() {
+        // Given
+        var quota = quota(2, 0);
+        quota.acquire("latest");
+        quota.acquire("latest");
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationQuotaExceededException.class, () -> quota.acquire("currencies"));
+        assertEquals(1.0, meterRegistry.get("swop.calls").tags("method", "currencies", "result", "refused")
+                .counter().count());
+    }
+
+    @Test
+    void Should_AllowCallsAgain_When_NextMinuteStarts() {
+        // Given
+        var quota = quota(1, 0);
+        quota.acquire("latest");
+
+        // When
+        now.set(now.get().plus(Duration.ofMinutes(1)));
+
+        // Then
+        assertDoesNotThrow(() -> quota.acquire("latest"));
+    }
+
+    @Test
+    void Should_RefuseCallsUntilTheNextDay_When_BudgetOfTheDayIsUsedUp() {
+        // Given
+        var quota = quota(0, 2);
+        quota.acquire("latest");
+        now.set(now.get().plus(Duration.ofHours(1)));
+        quota.acquire("latest");
+        now.set(now.get().plus(Duration.ofHours(1)));
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationQuotaExceededException.class, () -> quota.acquire("latest"));
+        now.set(MIDNIGHT.plus(Duration.ofDays(1)));
+        assertDoesNotThrow(() -> quota.acquire("latest"));
+    }
+
+    @Test
+    void Should_CountCallsOfTheDayByMethod() {
+        // Given
+        var quota = quota(0, 100);
+
+        // When
+        quota.acquire("latest");
+        quota.acquire("latest");
+        quota.acquire("allCurrencies");
+
+        // Then
+        var status = quota.status();
+        assertEquals(Map.of("latest", 2L, "allCurrencies", 1L), status.callsTodayByMethod());
+        assertEquals(3, status.usedToday());
+        assertEquals(97, status.remainingToday());
+        assertEquals(-1, status.remainingThisMinute());
+        assertEquals(2.0, meterRegistry.get("swop.calls").tags("method", "latest", "result", "allowed")
+                .counter().count());
+    }
+
+    @Test
+    void Should_ForecastExhaustionAtTodaysRateOfCalls() {
+        // Given: 10 calls in the first 6 hours of the day
+        var quota = quota(0, 30);
+        for (int i = 0; i < 10; i++) {
+            quota.acquire("latest");
+        }
+
+        // When
+        var status = quota.status();
+
+        // Then: the remaining 20 calls last another 12 hours
+        assertEquals(MIDNIGHT.plus(Duration.ofHours(18)), status.forecastExhaustion());
+        assertEquals(Duration.ofHours(12).toSeconds(),
+                meterRegistry.get("swop.quota.exhaustion-forecast").gauge().value());
+    }
+
+    @Test
+    void Should_NotForecastExhaustion_When_BudgetLastsTheDay() {
+        // Given
+        var quota = quota(0, 100);
+        quota.acquire("latest");
+
+        // When + Then
+        assertNull(quota.status().forecastExhaustion());
+    }
+
+    @Test
+    void Should_DisallowBackgroundCalls_When_OnlyTheReserveIsLeft() {
+        // Given
+        var quota = quota(0, 10);
+        for (int i = 0; i < 7; i++) {
+            quota.acquire("latest");
+        }
+        assertTrue(quota.allowsBackgroundCalls());
+
+        // When
+        quota.acquire("latest");
+
+        // Then
+        assertFalse(quota.allowsBackgroundCalls());
+    }
+
+    @Test
+    void Should_AllowEverything_When_BudgetsAreUnlimited() {
+        // Given
+        var quota = quota(0, 0);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            quota.acquire("latest");
+        }
+
+        // Then
+        assertTrue(quota.allowsBackgroundCalls());
+        assertNull(quota.status().forecastExhaustion());
+    }
+}
@@ -0,0 +1,32 @@
+package me.owlaukka.rates.swopintegration;
+
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@QuarkusTestResource(SwopApiWireMockResource.class)
+class SwopRateTableClientTest {
+
+    @Inject
+    SwopRateTableClient swopRateTableClient;
+
+    @Test
+    void Should_ReturnFullRateTable_When_RequestingLatestRateTable() {
+        // When
+        var rateTable = swopRateTableClient.latestRateTable();
+
+        // Then
+        assertEquals(LocalDate.parse("2024-02-21"), rateTable.date());
+        assertEquals(List.of("EUR", "USD"), rateTable.currencyCodes());
+        assertEquals(new BigDecimal("39000.50"), rateTable.rate("EUR"));
+        assertEquals(new BigDecimal("42150.75"), rateTable.rate("USD"));
+    }
+}
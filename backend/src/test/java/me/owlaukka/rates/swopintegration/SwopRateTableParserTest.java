@@ -0,0 +1,145 @@
+package me.owlaukka.rates.swopintegration;
+
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SwopRateTableParserTest {
+
+    private static byte[] response(String latest) {
+        return ("{\"data\":{\"latest\":" + latest + "}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void Should_ReadAllRates_When_ResponseIsValid() {
+        // Given
+        var response = response("""
+                [
+                    {"quoteCurrency": "USD", "quote": 1.0455, "date": "2025-02-20", "baseCurrency": "EUR"},
+                    {"quoteCurrency": "JPY", "quote": 157, "date": "2025-02-20"},
+                    {"quoteCurrency": "GBP", "quote": 8.301E-1, "date": "2025-02-20"}
+                ]
+                """);
+
+        // When
+        var rateTable = SwopRateTableParser.parse(response);
+
+        // Then
+        assertEquals(LocalDate.parse("2025-02-20"), rateTable.date());
+        assertEquals(List.of("GBP", "JPY", "USD"), rateTable.currencyCodes());
+        assertEquals(new BigDecimal("1.0455"), rateTable.rate("USD"));
+        assertEquals(new BigDecimal("157"), rateTable.rate("JPY"));
+        assertEquals(0, new BigDecimal("0.8301").compareTo(rateTable.rate("GBP")));
+    }
+
+    @Test
+    void Should_ReadRate_When_QuoteHasMoreDigitsThanFitInALong() {
+        // Given
+        var response = response("""
+                [{"quoteCurrency": "USD", "quote": 1.04550000000000000000000000000, "date": "2025-02-20"}]
+                """);
+
+        // When
+        var rateTable = SwopRateTableParser.parse(response);
+
+        // Then
+        assertEquals(0, new BigDecimal("1.0455").compareTo(rateTable.rate("USD")));
+    }
+
+    @ParameterizedTest(name = "should throw exception when rate is {0}")
+    @ValueSource(strings = {"0", "-0.1", "0.000", "-1E2"})
+    void Should_ThrowIntegrationException_When_SwopResponseRateContainsAQuoteZeroOrLess(String quote) {
+        // Given
+        var response = response("[{\"quoteCurrency\": \"USD\", \"quote\": " + quote + ", \"date\": \"2025-02-20\"}]");
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationException.class, () -> SwopRateTableParser.parse(response));
+    }
+
+    @Test
+    void Should_ThrowIntegrationException_When_SwopResponseRateIsMissingFields() {
+        // Given
+        var response = response("[{\"quoteCurrency\": \"USD\", \"date\": \"2025-02-20\"}]");
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationException.class, () -> SwopRateTableParser.parse(response));
+    }
+
+    @Test
+    void Should_ThrowIntegrationException_When_SwopResponseContainsInconsistentDates() {
+        // Given
+        var response = response("""
+                [
+                    {"quoteCurrency": "USD", "quote": 1.0423, "date": "2025-01-30"},
+                    {"quoteCurrency": "CHF", "quote": 54.58345, "date": "2025-02-04"}
+                ]
+                """);
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationException.class, () -> SwopRateTableParser.parse(response));
+    }
+
+    @Test
+    void Should_ThrowIntegrationException_When_SwopResponseContainsNoRates() {
+        // When + Then
+        assertThrows(ExchangeRateIntegrationException.class, () -> SwopRateTableParser.parse(response("[]")));
+    }
+
+    @Test
+    void Should_ThrowTransientClientException_When_SwopRespondsWithErrors() {
+        // Given
+        var response = "{\"errors\":[{\"message\":\"Internal error\"}],\"data\":null}".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        var exception = assertThrows(SwopClientException.class, () -> SwopRateTableParser.parse(response));
+
+        // Then
+        assertEquals(SwopFailureKind.TRANSIENT, exception.kind());
+    }
+
+    @Test
+    void Should_ThrowBadRequestClientException_When_SwopErrorsAreAboutTheQuery() {
+        // Given
+        var response = """
+                {"errors":[{"message":"Cannot query field","extensions":{"code":"GRAPHQL_VALIDATION_FAILED"}}]}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        var exception = assertThrows(SwopClientException.class, () -> SwopRateTableParser.parse(response));
+
+        // Then
+        assertEquals(SwopFailureKind.BAD_REQUEST, exception.kind());
+    }
+
+    @Test
+    void Should_ReadAllRates_When_ErrorsAreEmpty() {
+        // Given
+        var response = """
+                {"errors":[],"data":{"latest":[{"quoteCurrency":"USD","quote":1.0455,"date":"2025-02-20"}]}}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        // When
+        var rateTable = SwopRateTableParser.parse(response);
+
+        // Then
+        assertEquals(new BigDecimal("1.0455"), rateTable.rate("USD"));
+    }
+
+    @Test
+    void Should_ThrowIntegrationException_When_ResponseIsNotJson() {
+        // Given
+        var response = "<html>Bad gateway</html>".getBytes(StandardCharsets.UTF_8);
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationException.class, () -> SwopRateTableParser.parse(response));
+    }
+}
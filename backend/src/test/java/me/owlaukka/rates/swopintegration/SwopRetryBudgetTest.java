@@ -0,0 +1,68 @@
+package me.owlaukka.rates.swopintegration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SwopRetryBudgetTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SwopRetryBudget retryBudget;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryBudget = new SwopRetryBudget(10, 0.1, meterRegistry);
+    }
+
+    @Test
+    void Should_StopRetrying_When_HalfOfTheTokensAreUsed() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            assertTrue(retryBudget.recordFailureAndAllowRetry());
+        }
+
+        // When
+        var allowed = retryBudget.recordFailureAndAllowRetry();
+
+        // Then
+        assertFalse(allowed);
+        assertEquals(1.0, meterRegistry.get("swop.retry.budget.denied").counter().count());
+        assertEquals(5.0, meterRegistry.get("swop.retry.budget.tokens").gauge().value());
+    }
+
+    @Test
+    void Should_AllowRetriesAgain_When_EnoughCallsSucceed() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            retryBudget.recordFailureAndAllowRetry();
+        }
+
+        // When
+        for (int i = 0; i < 11; i++) {
+            retryBudget.recordSuccess();
+        }
+
+        // Then: 5 + 1.1 tokens, the failure takes one and leaves more than half
+        assertTrue(retryBudget.recordFailureAndAllowRetry());
+    }
+
+    @Test
+    void Should_NotGoOverMaxTokens_When_CallsSucceed() {
+        // Given
+        for (int i = 0; i < 100; i++) {
+            retryBudget.recordSuccess();
+        }
+
+        // When + Then
+        assertEquals(10.0, meterRegistry.get("swop.retry.budget.tokens").gauge().value());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(retryBudget.recordFailureAndAllowRetry());
+        }
+        assertFalse(retryBudget.recordFailureAndAllowRetry());
+    }
+}
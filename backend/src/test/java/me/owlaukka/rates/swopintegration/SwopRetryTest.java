@@ -0,0 +1,206 @@
+package me.owlaukka.rates.swopintegration;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import io.quarkus.cache.CacheManager;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.faulttolerance.api.CircuitBreakerMaintenance;
+import jakarta.inject.Inject;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationBadRequestException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationInvalidResponseException;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationTransientException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Retries of calls to Swop with fault tolerance enabled, against faults injected by WireMock.
+ */
+@QuarkusTest
+@TestProfile(SwopRetryTest.FaultToleranceEnabled.class)
+@QuarkusTestResource(SwopApiWireMockResource.class)
+class SwopRetryTest {
+
+    private static final String USD_CHF_RATES = """
+            {
+                "data": {
+                    "latest": [
+                        {"baseCurrency": "EUR", "quoteCurrency": "USD", "quote": 1.0423, "date": "2025-02-20"},
+                        {"baseCurrency": "EUR", "quoteCurrency": "CHF", "quote": 0.9412, "date": "2025-02-20"}
+                    ]
+                }
+            }
+            """;
+
+    public static class FaultToleranceEnabled implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            // A budget the failures of all tests fit in, it is tested in SwopRetryBudgetTest
+            return Map.of(
+                    "quarkus.fault-tolerance.enabled", "true",
+                    "swop.retry.budget.max-tokens", "1000"
+            );
+        }
+    }
+
+    @Inject
+    SwopExchangeRateIntegrationServiceImpl exchangeRateService;
+
+    @Inject
+    CacheManager cacheManager;
+
+    @Inject
+    CircuitBreakerMaintenance circuitBreakerMaintenance;
+
+    WireMockServer wireMockServer;
+
+    private final List<StubMapping> stubs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache("rates").get().invalidateAll().await().indefinitely();
+        circuitBreakerMaintenance.resetAll();
+        wireMockServer.resetRequests();
+    }
+
+    @AfterEach
+    void removeFaults() {
+        stubs.forEach(wireMockServer::removeStub);
+        stubs.clear();
+        wireMockServer.resetScenarios();
+    }
+
+    private void stubFor(MappingBuilder mapping) {
+        stubs.add(wireMockServer.stubFor(mapping));
+    }
+
+    private static MappingBuilder latestRates() {
+        return WireMock.post(WireMock.urlEqualTo("/graphql"))
+                .withRequestBody(WireMock.containing("quoteCurrencies"));
+    }
+
+    private static MappingBuilder latestRateTable() {
+        return WireMock.post(WireMock.urlEqualTo("/graphql"))
+                .withRequestBody(WireMock.containing("latestRateTable"));
+    }
+
+    private void verifyCalls(int count) {
+        wireMockServer.verify(count, WireMock.postRequestedFor(WireMock.urlEqualTo("/graphql")));
+    }
+
+    @Test
+    void Should_RetryWithBackoff_When_SwopFailsTransiently() {
+        // Given
+        stubFor(latestRates().inScenario("flaky")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(WireMock.aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER))
+                .willSetStateTo("unavailable"));
+        stubFor(latestRates().inScenario("flaky")
+                .whenScenarioStateIs("unavailable")
+                .willReturn(WireMock.aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        stubFor(latestRates().inScenario("flaky")
+                .whenScenarioStateIs("recovered")
+                .willReturn(WireMock.okJson(USD_CHF_RATES)));
+
+        // When
+        var rates = exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "CHF");
+
+        // Then
+        assertEquals(new BigDecimal("0.9412"), rates.targetRate().rate());
+        verifyCalls(3);
+    }
+
+    @Test
+    void Should_GiveUpAfterTwoRetries_When_SwopKeepsFailing() {
+        // Given
+        stubFor(latestRates().willReturn(WireMock.aResponse().withStatus(502)));
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationTransientException.class,
+                () -> exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "CHF"));
+        verifyCalls(3);
+    }
+
+    @Test
+    void Should_NotRetry_When_SwopRejectsTheCurrencies() {
+        // Given
+        stubFor(latestRates().willReturn(WireMock.aResponse().withStatus(400)));
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationBadRequestException.class,
+                () -> exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "CHF"));
+        verifyCalls(1);
+    }
+
+    @Test
+    void Should_NotRetry_When_GraphQLErrorsAreAboutTheInput() {
+        // Given
+        stubFor(latestRates().willReturn(WireMock.okJson("""
+                {"errors": [{"message": "Invalid currency", "extensions": {"code": "BAD_USER_INPUT"}}], "data": null}
+                """)));
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationBadRequestException.class,
+                () -> exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "CHF"));
+        verifyCalls(1);
+    }
+
+    @Test
+    void Should_NotRetry_When_ResponseIsInvalid() {
+        // Given
+        stubFor(latestRates().willReturn(WireMock.okJson("{\"data\": {\"latest\": \"not a list\"}}")));
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationInvalidResponseException.class,
+                () -> exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "CHF"));
+        verifyCalls(1);
+    }
+
+    @Test
+    void Should_RetryRateTable_When_GraphQLErrorsAreTransient() {
+        // Given
+        stubFor(latestRateTable().inScenario("errors")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(WireMock.okJson("{\"errors\": [{\"message\": \"Internal error\"}], \"data\": null}"))
+                .willSetStateTo("recovered"));
+        stubFor(latestRateTable().inScenario("errors")
+                .whenScenarioStateIs("recovered")
+                .willReturn(WireMock.okJson(USD_CHF_RATES)));
+
+        // When
+        var rateTable = exchangeRateService.getLatestRateTable();
+
+        // Then
+        assertEquals(new BigDecimal("0.9412"), rateTable.rate("CHF"));
+        verifyCalls(2);
+    }
+
+    @Test
+    void Should_NotRetryRateTable_When_GraphQLErrorsAreAboutTheQuery() {
+        // Given
+        stubFor(latestRateTable().willReturn(WireMock.okJson("""
+                {"errors": [{"message": "Cannot query field", "extensions": {"code": "GRAPHQL_VALIDATION_FAILED"}}]}
+                """)));
+
+        // When + Then
+        assertThrows(ExchangeRateIntegrationInvalidResponseException.class,
+                () -> exchangeRateService.getLatestRateTable());
+        verifyCalls(1);
+    }
+}
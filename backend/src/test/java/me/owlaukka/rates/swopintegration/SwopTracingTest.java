@@ -0,0 +1,77 @@
+package me.owlaukka.rates.swopintegration;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.quarkus.test.common.QuarkusTestResource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@QuarkusTestResource(SwopApiWireMockResource.class)
+class SwopTracingTest {
+
+    WireMockServer wireMockServer;
+
+    @Inject
+    InMemorySpanExporter spanExporter;
+
+    @Inject
+    Tracer tracer;
+
+    @Inject
+    SwopExchangeRateIntegrationServiceImpl swopExchangeRateIntegrationService;
+
+    @BeforeEach
+    void setUp() {
+        spanExporter.reset();
+        wireMockServer.resetRequests();
+    }
+
+    private SpanData awaitSpan(String name) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            var span = spanExporter.getFinishedSpanItems().stream()
+                    .filter(spanData -> spanData.getName().equals(name))
+                    .findFirst();
+            if (span.isPresent()) {
+                return span.get();
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Span " + name + " was not exported, got "
+                + spanExporter.getFinishedSpanItems().stream().map(SpanData::getName).toList());
+    }
+
+    @Test
+    void Should_TraceSwopCallAndPropagateTraceContext_When_GettingRates() throws InterruptedException {
+        // Given
+        var parent = tracer.spanBuilder("parent").startSpan();
+
+        // When
+        try (var ignored = parent.makeCurrent()) {
+            swopExchangeRateIntegrationService.getEuroRates(List.of("EUR", "USD"));
+        } finally {
+            parent.end();
+        }
+
+        // Then
+        var traceId = parent.getSpanContext().getTraceId();
+        var span = awaitSpan("SwopExchangeRateIntegrationServiceImpl.getEuroRates");
+        assertEquals(traceId, span.getTraceId());
+        assertEquals(parent.getSpanContext().getSpanId(), span.getParentSpanId());
+
+        var requests = wireMockServer.findAll(WireMock.postRequestedFor(WireMock.urlEqualTo("/graphql")));
+        assertEquals(1, requests.size());
+        var traceparent = requests.get(0).getHeader("traceparent");
+        assertTrue(traceparent.contains(traceId), "traceparent " + traceparent + " is not of trace " + traceId);
+    }
+}
@@ -0,0 +1,79 @@
+package me.owlaukka.rates.warmup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PopularPairsTest {
+
+    private static void record(PopularPairs popularPairs, String pair, int times) {
+        for (int i = 0; i < times; i++) {
+            popularPairs.record(pair.substring(0, 3), pair.substring(4));
+        }
+    }
+
+    @Test
+    void Should_ReturnMostRequestedPairsFirst() {
+        // Given
+        var popularPairs = new PopularPairs(2);
+        record(popularPairs, "GBP-USD", 5);
+        record(popularPairs, "USD-EUR", 10);
+        record(popularPairs, "SEK-NOK", 1);
+
+        // When
+        var top = popularPairs.top(2);
+
+        // Then
+        assertEquals(List.of("USD-EUR", "GBP-USD"), top);
+    }
+
+    @Test
+    void Should_KeepPopularPairs_When_ManyOneOffPairsAreRequested() {
+        // Given
+        var popularPairs = new PopularPairs(1);
+        var currencies = List.of("AUD", "BGN", "BRL", "CAD", "CHF", "CNY", "CZK", "DKK", "HKD", "HUF");
+
+        // When
+        for (int round = 0; round < 20; round++) {
+            record(popularPairs, "USD-EUR", 5);
+            for (var source : currencies) {
+                popularPairs.record(source, currencies.get(round % currencies.size()));
+            }
+        }
+
+        // Then
+        assertEquals(List.of("USD-EUR"), popularPairs.top(1));
+    }
+
+    @Test
+    void Should_IgnorePairs_When_CurrencyCodesAreNotValid() {
+        // Given
+        var popularPairs = new PopularPairs(2);
+
+        // When
+        popularPairs.record("usd", "EUR");
+        popularPairs.record("USDD", "EUR");
+        popularPairs.seed(List.of("USD_EUR", "USD-EU", ""));
+
+        // Then
+        assertTrue(popularPairs.top(10).isEmpty());
+    }
+
+    @Test
+    void Should_LetNewPairsOvertakeOldOnes_When_CountsDecay() {
+        // Given
+        var popularPairs = new PopularPairs(1);
+        record(popularPairs, "GBP-USD", 8);
+        popularPairs.decay();
+        popularPairs.decay();
+
+        // When
+        record(popularPairs, "USD-EUR", 3);
+
+        // Then
+        assertEquals(List.of("USD-EUR", "GBP-USD"), popularPairs.top(2));
+    }
+}
@@ -0,0 +1,175 @@
+package me.owlaukka.rates.warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CompositeCacheKey;
+import io.smallrye.mutiny.Uni;
+import me.owlaukka.rates.EuroRateTable;
+import me.owlaukka.rates.ExchangeRateService;
+import me.owlaukka.rates.exceptions.ExchangeRateIntegrationException;
+import me.owlaukka.rates.snapshot.RateSnapshot;
+import me.owlaukka.rates.snapshot.RateSnapshotHolder;
+import me.owlaukka.rates.swopintegration.SwopQuota;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateCacheWarmerTest {
+
+    private static final Instant NOW = Instant.parse("2025-02-20T15:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private ExchangeRateService exchangeRateService;
+    private RateSnapshotHolder snapshotHolder;
+    private PopularPairs popularPairs;
+    private SwopQuota swopQuota;
+    private Cache ratesCache;
+    private Path pairsFile;
+    private RateCacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        exchangeRateService = Mockito.mock(ExchangeRateService.class);
+        snapshotHolder = new RateSnapshotHolder(Duration.ofHours(1), () -> NOW);
+        popularPairs = new PopularPairs(5);
+        swopQuota = new SwopQuota(0, 10, 0.5, new SimpleMeterRegistry(), () -> NOW);
+        ratesCache = Mockito.mock(Cache.class);
+        Mockito.when(ratesCache.invalidate(Mockito.any())).thenReturn(Uni.createFrom().voidItem());
+        pairsFile = directory.resolve("popular-pairs.txt");
+        warmer = new RateCacheWarmer(exchangeRateService, snapshotHolder, popularPairs, swopQuota, ratesCache, 5,
+                Duration.ZERO, Optional.of(pairsFile.toString()));
+    }
+
+    @Test
+    void Should_ReloadRatesOfPopularPairs() {
+        // Given
+        popularPairs.record("USD", "EUR");
+        popularPairs.record("GBP", "USD");
+
+        // When
+        var warmed = warmer.warmUp();
+
+        // Then
+        assertEquals(2, warmed);
+        Mockito.verify(exchangeRateService).getAllSupportedCurrencies();
+        Mockito.verify(ratesCache).invalidate(new CompositeCacheKey("USD", "EUR"));
+        Mockito.verify(exchangeRateService).getEuroRatesForSourceAndTargetCurrency("USD", "EUR");
+        Mockito.verify(exchangeRateService).getEuroRatesForSourceAndTargetCurrency("GBP", "USD");
+        assertTrue(warmer.isWarm("GBP", "USD"));
+        assertFalse(warmer.isWarm("USD", "GBP"));
+    }
+
+    @Test
+    void Should_SkipPairs_When_FreshSnapshotHasThem() {
+        // Given
+        snapshotHolder.update(new RateSnapshot(
+                0,
+                "swop",
+                EuroRateTable.of(LocalDate.parse("2025-02-20"), Map.of(
+                        "EUR", BigDecimal.ONE,
+                        "USD", new BigDecimal("1.045512")
+                )),
+                List.of("EUR", "USD"),
+                NOW
+        ));
+        popularPairs.record("USD", "EUR");
+        popularPairs.record("GBP", "USD");
+
+        // When
+        var warmed = warmer.warmUp();
+
+        // Then
+        assertEquals(1, warmed);
+        Mockito.verify(exchangeRateService, Mockito.never()).getEuroRatesForSourceAndTargetCurrency("USD", "EUR");
+    }
+
+    @Test
+    void Should_StopWarmUp_When_ProviderFails() {
+        // Given
+        popularPairs.record("USD", "EUR");
+        popularPairs.record("USD", "EUR");
+        popularPairs.record("GBP", "USD");
+        Mockito.when(exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "EUR"))
+                .thenThrow(new ExchangeRateIntegrationException("Swop failed"));
+
+        // When
+        var warmed = warmer.warmUp();
+
+        // Then
+        assertEquals(0, warmed);
+        Mockito.verify(exchangeRateService, Mockito.never()).getEuroRatesForSourceAndTargetCurrency("GBP", "USD");
+    }
+
+    @Test
+    void Should_StopWarmUp_When_OnlyTheReserveOfTheSwopQuotaIsLeft() {
+        // Given
+        popularPairs.record("USD", "EUR");
+        popularPairs.record("USD", "EUR");
+        popularPairs.record("GBP", "USD");
+        for (int i = 0; i < 4; i++) {
+            swopQuota.acquire("latest");
+        }
+        Mockito.when(exchangeRateService.getEuroRatesForSourceAndTargetCurrency("USD", "EUR"))
+                .thenAnswer(invocation -> {
+                    swopQuota.acquire("latest");
+                    return null;
+                });
+
+        // When
+        var warmed = warmer.warmUp();
+
+        // Then
+        assertEquals(1, warmed);
+        Mockito.verify(exchangeRateService, Mockito.never()).getEuroRatesForSourceAndTargetCurrency("GBP", "USD");
+    }
+
+    @Test
+    void Should_SkipWarmUp_When_OnlyTheReserveOfTheSwopQuotaIsLeft() {
+        // Given
+        popularPairs.record("USD", "EUR");
+        for (int i = 0; i < 5; i++) {
+            swopQuota.acquire("latest");
+        }
+
+        // When
+        var warmed = warmer.warmUp();
+
+        // Then
+        assertEquals(0, warmed);
+        Mockito.verifyNoInteractions(exchangeRateService);
+    }
+
+    @Test
+    void Should_WarmUpPairsPopularBeforeRestart() throws Exception {
+        // Given
+        popularPairs.record("USD", "EUR");
+        warmer.warmUp();
+        var restartedPairs = new PopularPairs(5);
+        var restarted = new RateCacheWarmer(exchangeRateService, snapshotHolder, restartedPairs, swopQuota,
+                ratesCache, 5, Duration.ZERO, Optional.of(pairsFile.toString()));
+
+        // When
+        restarted.loadPopularPairs(null);
+
+        // Then
+        assertEquals(List.of("USD-EUR"), Files.readAllLines(pairsFile));
+        assertEquals(List.of("USD-EUR"), restartedPairs.top(5));
+    }
+}